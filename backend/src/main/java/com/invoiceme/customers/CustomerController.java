@@ -1,25 +1,33 @@
 package com.invoiceme.customers;
 
 import com.invoiceme.customers.createcustomer.*;
+import com.invoiceme.customers.credit.CreditLedgerService;
 import com.invoiceme.customers.deletecustomer.DeleteCustomerCommand;
-import com.invoiceme.customers.deletecustomer.DeleteCustomerHandler;
 import com.invoiceme.customers.getcustomer.*;
+import com.invoiceme.customers.getstatement.*;
 import com.invoiceme.customers.listcustomers.*;
 import com.invoiceme.customers.reactivatecustomer.ReactivateCustomerCommand;
-import com.invoiceme.customers.reactivatecustomer.ReactivateCustomerHandler;
 import com.invoiceme.customers.shared.CustomerDto;
 import com.invoiceme.customers.updatecustomer.*;
 import com.invoiceme.domain.common.CustomerStatus;
 import com.invoiceme.domain.common.CustomerType;
+import com.invoiceme.domain.common.Money;
 import com.invoiceme.domain.customer.Customer;
+import com.invoiceme.infrastructure.bus.MessageBus;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Map;
 import java.util.UUID;
 
 @RestController
@@ -27,42 +35,32 @@ import java.util.UUID;
 @RequiredArgsConstructor
 public class CustomerController {
     
+    private final MessageBus messageBus;
+    private final CreditLedgerService creditLedgerService;
+    private final StatementExporter statementExporter;
+    
     // Create Customer
-    private final CreateCustomerHandler createHandler;
     private final CreateCustomerMapper createMapper;
     private final CreateCustomerValidator createValidator;
     
-    // Get Customer
-    private final GetCustomerHandler getHandler;
-    
-    // List Customers
-    private final ListCustomersHandler listHandler;
-    
     // Update Customer
-    private final UpdateCustomerHandler updateHandler;
     private final UpdateCustomerMapper updateMapper;
     private final UpdateCustomerValidator updateValidator;
     
-    // Delete Customer
-    private final DeleteCustomerHandler deleteHandler;
-    
-    // Reactivate Customer
-    private final ReactivateCustomerHandler reactivateHandler;
-    
     @PostMapping
     @PreAuthorize("hasAnyRole('SYSADMIN', 'ACCOUNTANT', 'SALES')")
     public ResponseEntity<CustomerDto> createCustomer(@Valid @RequestBody CreateCustomerRequest request) {
         createValidator.validate(request);
         CreateCustomerCommand command = createMapper.requestToCommand(request);
-        var customer = createHandler.handle(command);
-        CustomerDto response = createMapper.toDto(customer);
+        var customer = messageBus.dispatch(command);
+        CustomerDto response = createMapper.toDto(customer, Money.zero());
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
     
     @GetMapping("/{id}")
     public ResponseEntity<CustomerDetailResponse> getCustomer(@PathVariable UUID id) {
         GetCustomerQuery query = new GetCustomerQuery(id);
-        CustomerDetailResult result = getHandler.handle(query);
+        CustomerDetailResult result = messageBus.dispatch(query);
         
         CustomerDetailResponse response = CustomerDetailResponse.builder()
             .id(result.getCustomer().getId())
@@ -72,7 +70,7 @@ public class CustomerController {
             .phone(result.getCustomer().getPhone())
             .address(result.getCustomer().getAddress())
             .customerType(result.getCustomer().getCustomerType())
-            .creditBalance(result.getCustomer().getCreditBalance())
+            .creditBalance(result.getCreditBalance())
             .status(result.getCustomer().getStatus())
             .createdAt(result.getCustomer().getCreatedAt())
             .updatedAt(result.getCustomer().getUpdatedAt())
@@ -82,17 +80,42 @@ public class CustomerController {
                 .build())
             .totalInvoices(result.getTotalInvoices())
             .unpaidInvoices(result.getUnpaidInvoices())
+            .paymentBehavior(result.getPaymentStats() != null
+                ? com.invoiceme.customers.shared.PaymentBehaviorDto.from(result.getPaymentStats())
+                : null)
             .build();
         
         return ResponseEntity.ok(response);
     }
     
+    @GetMapping("/{id}/statement")
+    @PreAuthorize("hasAnyRole('SYSADMIN', 'ACCOUNTANT', 'SALES')")
+    public ResponseEntity<StreamingResponseBody> getStatement(
+            @PathVariable UUID id,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "json") String format) {
+        
+        StatementFormat statementFormat = StatementFormat.fromParam(format);
+        // Validated before streaming starts: once the body is committed errors can no longer become a 4xx
+        CustomerStatement statement = messageBus.dispatch(new GetStatementQuery(id, from, to));
+        
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok().contentType(statementFormat.getMediaType());
+        if (statementFormat != StatementFormat.JSON) {
+            response.header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"statement-%s-%s-%s.%s\"".formatted(
+                id, statement.getFrom(), statement.getTo(), statementFormat.getExtension()));
+        }
+        return response.body(out -> statementExporter.export(statement, statementFormat, out));
+    }
+    
     @GetMapping
     public ResponseEntity<PagedCustomerResponse> listCustomers(
             @RequestParam(required = false) CustomerStatus status,
             @RequestParam(required = false) CustomerType customerType,
             @RequestParam(required = false) String search,
             @RequestParam(required = false) Boolean hasOutstandingBalance,
+            @RequestParam(required = false) Boolean hasOverdueBalance,
+            @RequestParam(required = false) BigDecimal minOpenBalance,
             @RequestParam(defaultValue = "0") Integer page,
             @RequestParam(defaultValue = "20") Integer size,
             @RequestParam(required = false) String sort) {
@@ -102,12 +125,16 @@ public class CustomerController {
             .customerType(customerType)
             .search(search)
             .hasOutstandingBalance(hasOutstandingBalance)
+            .hasOverdueBalance(hasOverdueBalance)
+            .minOpenBalance(minOpenBalance)
             .page(page)
             .size(size)
             .sort(sort)
             .build();
         
-        Page<com.invoiceme.domain.customer.Customer> customerPage = listHandler.handle(query);
+        Page<com.invoiceme.domain.customer.Customer> customerPage = messageBus.dispatch(query);
+        Map<UUID, Money> creditBalances = creditLedgerService.getBalances(
+            customerPage.getContent().stream().map(Customer::getId).toList());
         
         PagedCustomerResponse response = PagedCustomerResponse.builder()
             .content(customerPage.getContent().stream()
@@ -120,7 +147,7 @@ public class CustomerController {
                     dto.setPhone(customer.getPhone());
                     dto.setAddress(customer.getAddress());
                     dto.setCustomerType(customer.getCustomerType());
-                    dto.setCreditBalance(customer.getCreditBalance());
+                    dto.setCreditBalance(creditBalances.getOrDefault(customer.getId(), Money.zero()));
                     dto.setStatus(customer.getStatus());
                     dto.setCreatedAt(customer.getCreatedAt());
                     dto.setUpdatedAt(customer.getUpdatedAt());
@@ -146,8 +173,8 @@ public class CustomerController {
         
         updateValidator.validate(id, request);
         UpdateCustomerCommand command = updateMapper.toCommand(id, request);
-        var customer = updateHandler.handle(command);
-        CustomerDto response = updateMapper.toDto(customer);
+        var customer = messageBus.dispatch(command);
+        CustomerDto response = updateMapper.toDto(customer, creditLedgerService.getBalance(customer.getId()));
         return ResponseEntity.ok(response);
     }
     
@@ -155,7 +182,7 @@ public class CustomerController {
     @PreAuthorize("hasRole('SYSADMIN')")
     public ResponseEntity<Void> deleteCustomer(@PathVariable UUID id) {
         DeleteCustomerCommand command = new DeleteCustomerCommand(id);
-        deleteHandler.handle(command);
+        messageBus.dispatch(command);
         return ResponseEntity.status(HttpStatus.NO_CONTENT).build();
     }
     
@@ -163,7 +190,7 @@ public class CustomerController {
     @PreAuthorize("hasRole('SYSADMIN')")
     public ResponseEntity<CustomerDto> reactivateCustomer(@PathVariable UUID id) {
         ReactivateCustomerCommand command = new ReactivateCustomerCommand(id);
-        Customer customer = reactivateHandler.handle(command);
+        Customer customer = messageBus.dispatch(command);
         
         CustomerDto response = new CustomerDto();
         response.setId(customer.getId());
@@ -173,7 +200,7 @@ public class CustomerController {
         response.setPhone(customer.getPhone());
         response.setAddress(customer.getAddress());
         response.setCustomerType(customer.getCustomerType());
-        response.setCreditBalance(customer.getCreditBalance());
+        response.setCreditBalance(creditLedgerService.getBalance(customer.getId()));
         response.setStatus(customer.getStatus());
         response.setCreatedAt(customer.getCreatedAt());
         response.setUpdatedAt(customer.getUpdatedAt());
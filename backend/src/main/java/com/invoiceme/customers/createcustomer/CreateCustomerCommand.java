@@ -3,6 +3,8 @@ package com.invoiceme.customers.createcustomer;
 import com.invoiceme.domain.common.Address;
 import com.invoiceme.domain.common.CustomerType;
 import com.invoiceme.domain.common.Email;
+import com.invoiceme.domain.customer.Customer;
+import com.invoiceme.infrastructure.bus.Command;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -12,7 +14,7 @@ import lombok.NoArgsConstructor;
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
-public class CreateCustomerCommand {
+public class CreateCustomerCommand implements Command<Customer> {
     private String companyName;
     private String contactName;
     private Email email;
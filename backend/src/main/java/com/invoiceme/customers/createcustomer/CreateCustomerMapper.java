@@ -4,6 +4,7 @@ import com.invoiceme.customers.shared.AddressDto;
 import com.invoiceme.customers.shared.CustomerDto;
 import com.invoiceme.domain.common.Address;
 import com.invoiceme.domain.common.Email;
+import com.invoiceme.domain.common.Money;
 import com.invoiceme.domain.customer.Customer;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
@@ -15,7 +16,8 @@ public interface CreateCustomerMapper {
     @Mapping(target = "address", expression = "java(toAddress(request.getAddress()))")
     CreateCustomerCommand requestToCommand(CreateCustomerRequest request);
     
-    CustomerDto toDto(Customer customer);
+    @Mapping(target = "creditBalance", source = "creditBalance")
+    CustomerDto toDto(Customer customer, Money creditBalance);
     
     default String map(Email email) {
         return email == null ? null : email.getValue();
@@ -0,0 +1,139 @@
+package com.invoiceme.customers.credit;
+
+import com.invoiceme.domain.common.CreditEntryType;
+import com.invoiceme.domain.common.Money;
+import com.invoiceme.domain.customer.CreditLedgerEntry;
+import com.invoiceme.domain.customer.Customer;
+import com.invoiceme.domain.invoice.Invoice;
+import com.invoiceme.infrastructure.persistence.CreditLedgerRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Reads and writes customer credit through the append-only ledger.
+ *
+ * Credits (overpayments, refunds) are plain inserts and never wait on each other. Applying credit to
+ * an invoice is a reservation: under a per-customer transaction-scoped advisory lock the balance is
+ * read and a negative entry inserted, so two invoices can never both consume the same credit. The
+ * reservation is part of the caller's transaction and disappears with it on rollback.
+ */
+@Service
+@RequiredArgsConstructor
+public class CreditLedgerService {
+    
+    private final CreditLedgerRepository creditLedgerRepository;
+    
+    @Transactional(readOnly = true)
+    public Money getBalance(UUID customerId) {
+        BigDecimal balance = creditLedgerRepository.balanceOf(customerId);
+        return balance != null ? Money.of(balance) : Money.zero();
+    }
+    
+    /**
+     * Balances for a page of customers in one query; customers without credit map to zero.
+     */
+    @Transactional(readOnly = true)
+    public Map<UUID, Money> getBalances(Collection<UUID> customerIds) {
+        Map<UUID, Money> balances = new HashMap<>();
+        if (customerIds.isEmpty()) {
+            return balances;
+        }
+        for (Object[] row : creditLedgerRepository.balancesOf(customerIds)) {
+            balances.put((UUID) row[0], Money.of((BigDecimal) row[1]));
+        }
+        return balances;
+    }
+    
+    @Transactional
+    public CreditLedgerEntry applyCredit(Customer customer, Money amount, CreditEntryType source, UUID referenceId) {
+        CreditLedgerEntry entry = customer.applyCredit(amount, getBalance(customer.getId()), source, referenceId);
+        return creditLedgerRepository.save(entry);
+    }
+    
+    /**
+     * Reserves up to the invoice total from the customer's credit for this invoice.
+     *
+     * @return the amount reserved, zero when the customer has no credit
+     */
+    @Transactional
+    public Money reserveForInvoice(Customer customer, Invoice invoice) {
+        creditLedgerRepository.lockForReservation(customer.getId());
+        
+        Money balance = getBalance(customer.getId());
+        if (!balance.isPositive()) {
+            return Money.zero();
+        }
+        Money amount = balance.isGreaterThan(invoice.getTotalAmount()) ? invoice.getTotalAmount() : balance;
+        if (!amount.isPositive()) {
+            return Money.zero();
+        }
+        
+        CreditLedgerEntry entry = customer.deductCredit(amount, balance, invoice.getId(), invoice.getInvoiceNumber().toString());
+        try {
+            creditLedgerRepository.saveAndFlush(entry);
+        } catch (DataIntegrityViolationException e) {
+            throw new IllegalStateException("Credit has already been applied to invoice " + invoice.getInvoiceNumber(), e);
+        }
+        return amount;
+    }
+    
+    /**
+     * Reserves credit for several invoices at once, in the given order: each invoice takes up to its total from
+     * what its customer has left after the invoices before it. Only customers that have credit are locked,
+     * in id order so that concurrent batches cannot deadlock; balances are read in one query under the locks.
+     *
+     * @param customers the invoices' customers by id
+     * @return the amount reserved per invoice id; invoices that got no credit are absent
+     */
+    @Transactional
+    public Map<UUID, Money> reserveForInvoices(Map<UUID, Customer> customers, List<Invoice> invoices) {
+        Map<UUID, Money> reserved = new HashMap<>();
+        List<UUID> withCredit = getBalances(customers.keySet()).entrySet().stream()
+            .filter(balance -> balance.getValue().isPositive())
+            .map(Map.Entry::getKey)
+            .sorted()
+            .toList();
+        if (withCredit.isEmpty()) {
+            return reserved;
+        }
+        withCredit.forEach(creditLedgerRepository::lockForReservation);
+        Map<UUID, Money> balances = getBalances(withCredit);
+        
+        List<CreditLedgerEntry> entries = new ArrayList<>();
+        for (Invoice invoice : invoices) {
+            Money balance = balances.get(invoice.getCustomerId());
+            if (balance == null || !balance.isPositive() || !invoice.getTotalAmount().isPositive()) {
+                continue;
+            }
+            Money amount = balance.isGreaterThan(invoice.getTotalAmount()) ? invoice.getTotalAmount() : balance;
+            entries.add(customers.get(invoice.getCustomerId())
+                .deductCredit(amount, balance, invoice.getId(), invoice.getInvoiceNumber().toString()));
+            balances.put(invoice.getCustomerId(), balance.subtract(amount));
+            reserved.put(invoice.getId(), amount);
+        }
+        try {
+            creditLedgerRepository.saveAllAndFlush(entries);
+        } catch (DataIntegrityViolationException e) {
+            throw new IllegalStateException("Credit has already been applied to one of the invoices", e);
+        }
+        return reserved;
+    }
+    
+    /**
+     * Folds recent entries into the per-customer snapshots. Called by CreditLedgerCompactionJob.
+     */
+    @Transactional
+    public int compact(int minEntries) {
+        return creditLedgerRepository.compactSnapshots(minEntries);
+    }
+}
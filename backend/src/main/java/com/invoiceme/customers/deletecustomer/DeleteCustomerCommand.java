@@ -1,5 +1,6 @@
 package com.invoiceme.customers.deletecustomer;
 
+import com.invoiceme.infrastructure.bus.Command;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -9,7 +10,7 @@ import java.util.UUID;
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
-public class DeleteCustomerCommand {
+public class DeleteCustomerCommand implements Command<Void> {
     private UUID customerId;
 }
 
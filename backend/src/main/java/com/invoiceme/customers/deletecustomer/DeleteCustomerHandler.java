@@ -1,9 +1,11 @@
 package com.invoiceme.customers.deletecustomer;
 
+import com.invoiceme.customers.credit.CreditLedgerService;
 import com.invoiceme.domain.common.DomainEventPublisher;
 import com.invoiceme.domain.customer.Customer;
+import com.invoiceme.infrastructure.persistence.CustomerReceivables;
+import com.invoiceme.infrastructure.persistence.CustomerReceivablesRepository;
 import com.invoiceme.infrastructure.persistence.CustomerRepository;
-import com.invoiceme.infrastructure.persistence.InvoiceRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -15,7 +17,8 @@ import java.util.UUID;
 public class DeleteCustomerHandler {
     
     private final CustomerRepository customerRepository;
-    private final InvoiceRepository invoiceRepository;
+    private final CustomerReceivablesRepository customerReceivablesRepository;
+    private final CreditLedgerService creditLedgerService;
     private final DomainEventPublisher eventPublisher;
     
     @Transactional
@@ -24,28 +27,23 @@ public class DeleteCustomerHandler {
             .orElseThrow(() -> new IllegalArgumentException("Customer not found: " + command.getCustomerId()));
         
         // Check if customer can be deleted (business rule)
-        // Check for outstanding invoices
-        var customerInvoices = invoiceRepository.findByCustomerId(
-            customer.getId(),
-            org.springframework.data.domain.PageRequest.of(0, Integer.MAX_VALUE)
-        );
-        
-        boolean hasUnpaidInvoices = customerInvoices.getContent().stream()
-            .anyMatch(inv -> (inv.getStatus() == com.invoiceme.domain.common.InvoiceStatus.SENT || 
-                             inv.getStatus() == com.invoiceme.domain.common.InvoiceStatus.OVERDUE) &&
-                            inv.getBalanceDue().isPositive());
+        // Check for outstanding invoices (single-row lookup in the receivables rollup)
+        boolean hasUnpaidInvoices = customerReceivablesRepository.findById(customer.getId())
+            .map(CustomerReceivables::hasOpenInvoices)
+            .orElse(false);
         
         if (hasUnpaidInvoices) {
             throw new IllegalStateException("Cannot delete customer with outstanding invoices");
         }
         
         // Check if customer can be deleted (domain method)
-        if (!customer.canBeDeleted()) {
+        var creditBalance = creditLedgerService.getBalance(customer.getId());
+        if (!customer.canBeDeleted(creditBalance)) {
             throw new IllegalStateException("Customer cannot be deleted. Outstanding balance or active templates exist.");
         }
         
         // Mark as inactive (soft delete)
-        customer.markAsInactive();
+        customer.markAsInactive(creditBalance);
         
         Customer savedCustomer = customerRepository.save(customer);
         
@@ -2,6 +2,7 @@ package com.invoiceme.customers.getcustomer;
 
 import com.invoiceme.customers.shared.CustomerDto;
 import com.invoiceme.customers.shared.MoneyDto;
+import com.invoiceme.customers.shared.PaymentBehaviorDto;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -15,5 +16,6 @@ public class CustomerDetailResponse extends CustomerDto {
     private MoneyDto outstandingBalance;
     private Integer totalInvoices;
     private Integer unpaidInvoices;
+    private PaymentBehaviorDto paymentBehavior;
 }
 
@@ -2,6 +2,7 @@ package com.invoiceme.customers.getcustomer;
 
 import com.invoiceme.domain.common.Money;
 import com.invoiceme.domain.customer.Customer;
+import com.invoiceme.infrastructure.persistence.PaymentStatsTotals;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -13,8 +14,10 @@ import lombok.NoArgsConstructor;
 @AllArgsConstructor
 public class CustomerDetailResult {
     private Customer customer;
+    private Money creditBalance;
     private Money outstandingBalance;
     private Integer totalInvoices;
     private Integer unpaidInvoices;
+    private PaymentStatsTotals paymentStats;
 }
 
@@ -1,6 +1,8 @@
 package com.invoiceme.customers.getcustomer;
 
+import com.invoiceme.customers.credit.CreditLedgerService;
 import com.invoiceme.domain.customer.Customer;
+import com.invoiceme.infrastructure.persistence.CustomerPaymentStatsRepository;
 import com.invoiceme.infrastructure.persistence.CustomerRepository;
 import com.invoiceme.infrastructure.persistence.InvoiceRepository;
 import lombok.RequiredArgsConstructor;
@@ -14,6 +16,8 @@ public class GetCustomerHandler {
     
     private final CustomerRepository customerRepository;
     private final InvoiceRepository invoiceRepository;
+    private final CreditLedgerService creditLedgerService;
+    private final CustomerPaymentStatsRepository paymentStatsRepository;
     
     public CustomerDetailResult handle(GetCustomerQuery query) {
         Customer customer = customerRepository.findById(query.getCustomerId())
@@ -37,9 +41,11 @@ public class GetCustomerHandler {
         
         return CustomerDetailResult.builder()
             .customer(customer)
+            .creditBalance(creditLedgerService.getBalance(customer.getId()))
             .outstandingBalance(outstandingBalance != null ? com.invoiceme.domain.common.Money.of(outstandingBalance) : com.invoiceme.domain.common.Money.zero())
             .totalInvoices((int) totalInvoices)
             .unpaidInvoices((int) unpaidInvoices)
+            .paymentStats(paymentStatsRepository.findById(customer.getId()).orElse(null))
             .build();
     }
 }
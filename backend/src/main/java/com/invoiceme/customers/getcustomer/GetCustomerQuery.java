@@ -1,5 +1,6 @@
 package com.invoiceme.customers.getcustomer;
 
+import com.invoiceme.infrastructure.bus.Query;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -9,7 +10,7 @@ import java.util.UUID;
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
-public class GetCustomerQuery {
+public class GetCustomerQuery implements Query<CustomerDetailResult> {
     private UUID customerId;
 }
 
@@ -0,0 +1,61 @@
+package com.invoiceme.customers.getstatement;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * RFC 4180 CSV with opening and closing balance rows around the entries.
+ */
+class CsvStatementWriter implements StatementWriter {
+    
+    private final Writer writer;
+    private CustomerStatement statement;
+    
+    CsvStatementWriter(OutputStream out) {
+        this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+    }
+    
+    @Override
+    public void begin(CustomerStatement statement, BigDecimal openingBalance) throws IOException {
+        this.statement = statement;
+        writer.write("date,type,reference,description,amount,running_balance\r\n");
+        row(statement.getFrom().toString(), "OPENING_BALANCE", "", "Opening balance", "", openingBalance.toPlainString());
+    }
+    
+    @Override
+    public void line(StatementLine line) throws IOException {
+        row(line.date().toString(), line.type(), line.reference(), line.description(),
+            line.amount().toPlainString(), line.runningBalance().toPlainString());
+    }
+    
+    @Override
+    public void end(BigDecimal closingBalance) throws IOException {
+        row(statement.getTo().toString(), "CLOSING_BALANCE", "", "Closing balance", "", closingBalance.toPlainString());
+        writer.flush();
+    }
+    
+    private void row(String... values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            writer.write(escape(values[i]));
+        }
+        writer.write("\r\n");
+    }
+    
+    private static String escape(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
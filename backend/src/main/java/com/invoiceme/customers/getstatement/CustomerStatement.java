@@ -0,0 +1,21 @@
+package com.invoiceme.customers.getstatement;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * A validated statement request. The entries are not loaded here: {@link StatementExporter} streams
+ * them straight from the database into the response.
+ */
+@Value
+@Builder
+public class CustomerStatement {
+    UUID customerId;
+    String companyName;
+    String email;
+    LocalDate from;
+    LocalDate to;
+}
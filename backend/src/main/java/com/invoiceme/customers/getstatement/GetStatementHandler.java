@@ -0,0 +1,37 @@
+package com.invoiceme.customers.getstatement;
+
+import com.invoiceme.domain.customer.Customer;
+import com.invoiceme.infrastructure.persistence.CustomerRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+
+@Service
+@RequiredArgsConstructor
+public class GetStatementHandler {
+    
+    private final CustomerRepository customerRepository;
+    
+    @Transactional(readOnly = true)
+    public CustomerStatement handle(GetStatementQuery query) {
+        Customer customer = customerRepository.findById(query.getCustomerId())
+            .orElseThrow(() -> new IllegalArgumentException("Customer not found: " + query.getCustomerId()));
+        
+        LocalDate to = query.getTo() != null ? query.getTo() : LocalDate.now();
+        LocalDate from = query.getFrom() != null ? query.getFrom() : to.minusYears(1);
+        
+        if (from.isAfter(to)) {
+            throw new IllegalArgumentException("Statement 'from' date must not be after 'to' date");
+        }
+        
+        return CustomerStatement.builder()
+            .customerId(customer.getId())
+            .companyName(customer.getCompanyName())
+            .email(customer.getEmail().getValue())
+            .from(from)
+            .to(to)
+            .build();
+    }
+}
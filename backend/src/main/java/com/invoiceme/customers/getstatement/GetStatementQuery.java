@@ -0,0 +1,18 @@
+package com.invoiceme.customers.getstatement;
+
+import com.invoiceme.infrastructure.bus.Query;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class GetStatementQuery implements Query<CustomerStatement> {
+    private UUID customerId;
+    private LocalDate from; // Optional - defaults to one year before "to"
+    private LocalDate to;   // Optional - defaults to today
+}
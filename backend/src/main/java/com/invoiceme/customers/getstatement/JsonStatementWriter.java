@@ -0,0 +1,51 @@
+package com.invoiceme.customers.getstatement;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+
+class JsonStatementWriter implements StatementWriter {
+    
+    private final JsonGenerator generator;
+    
+    JsonStatementWriter(ObjectMapper objectMapper, OutputStream out) throws IOException {
+        this.generator = objectMapper.getFactory().createGenerator(out);
+        this.generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+    }
+    
+    @Override
+    public void begin(CustomerStatement statement, BigDecimal openingBalance) throws IOException {
+        generator.writeStartObject();
+        generator.writeStringField("customerId", statement.getCustomerId().toString());
+        generator.writeStringField("companyName", statement.getCompanyName());
+        generator.writeStringField("email", statement.getEmail());
+        generator.writeStringField("from", statement.getFrom().toString());
+        generator.writeStringField("to", statement.getTo().toString());
+        generator.writeStringField("currency", "USD");
+        generator.writeNumberField("openingBalance", openingBalance);
+        generator.writeArrayFieldStart("lines");
+    }
+    
+    @Override
+    public void line(StatementLine line) throws IOException {
+        generator.writeStartObject();
+        generator.writeStringField("date", line.date().toString());
+        generator.writeStringField("type", line.type());
+        generator.writeStringField("reference", line.reference());
+        generator.writeStringField("description", line.description());
+        generator.writeNumberField("amount", line.amount());
+        generator.writeNumberField("runningBalance", line.runningBalance());
+        generator.writeEndObject();
+    }
+    
+    @Override
+    public void end(BigDecimal closingBalance) throws IOException {
+        generator.writeEndArray();
+        generator.writeNumberField("closingBalance", closingBalance);
+        generator.writeEndObject();
+        generator.close();
+    }
+}
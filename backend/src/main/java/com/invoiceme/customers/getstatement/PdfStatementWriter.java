@@ -0,0 +1,75 @@
+package com.invoiceme.customers.getstatement;
+
+import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.PdfWriter;
+import com.itextpdf.layout.Document;
+import com.itextpdf.layout.element.Cell;
+import com.itextpdf.layout.element.Paragraph;
+import com.itextpdf.layout.element.Table;
+import com.itextpdf.layout.properties.TextAlignment;
+import com.itextpdf.layout.properties.UnitValue;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+
+/**
+ * Uses iText's large-table mode: rows are flushed to the output every {@link #FLUSH_EVERY} lines, so memory
+ * stays flat no matter how many pages the statement spans.
+ */
+class PdfStatementWriter implements StatementWriter {
+    
+    private static final int FLUSH_EVERY = 100;
+    private static final float[] COLUMN_WIDTHS = { 12, 14, 16, 30, 14, 14 };
+    
+    private final PdfWriter pdfWriter;
+    private Document document;
+    private Table table;
+    private int pendingRows;
+    
+    PdfStatementWriter(OutputStream out) {
+        this.pdfWriter = new PdfWriter(out);
+        this.pdfWriter.setCloseStream(false);
+    }
+    
+    @Override
+    public void begin(CustomerStatement statement, BigDecimal openingBalance) {
+        document = new Document(new PdfDocument(pdfWriter));
+        document.add(new Paragraph("Statement of Account").setBold().setFontSize(16));
+        document.add(new Paragraph(statement.getCompanyName() + "\n" + statement.getEmail()));
+        document.add(new Paragraph("Period: " + statement.getFrom() + " to " + statement.getTo()));
+        document.add(new Paragraph("Opening balance: " + openingBalance.toPlainString() + " USD"));
+        
+        table = new Table(UnitValue.createPercentArray(COLUMN_WIDTHS), true).useAllAvailableWidth();
+        for (String header : new String[] { "Date", "Type", "Reference", "Description", "Amount", "Balance" }) {
+            table.addHeaderCell(new Cell().add(new Paragraph(header).setBold()));
+        }
+        document.add(table);
+    }
+    
+    @Override
+    public void line(StatementLine line) {
+        table.addCell(line.date().toString());
+        table.addCell(line.type());
+        table.addCell(line.reference() != null ? line.reference() : "");
+        table.addCell(line.description() != null ? line.description() : "");
+        table.addCell(amountCell(line.amount()));
+        table.addCell(amountCell(line.runningBalance()));
+        
+        if (++pendingRows == FLUSH_EVERY) {
+            table.flush();
+            pendingRows = 0;
+        }
+    }
+    
+    @Override
+    public void end(BigDecimal closingBalance) {
+        table.complete();
+        document.add(new Paragraph("Closing balance: " + closingBalance.toPlainString() + " USD").setBold());
+        document.close();
+    }
+    
+    private static Cell amountCell(BigDecimal amount) {
+        return new Cell().add(new Paragraph(amount.toPlainString())).setTextAlignment(TextAlignment.RIGHT);
+    }
+}
@@ -0,0 +1,66 @@
+package com.invoiceme.customers.getstatement;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+
+/**
+ * Writes a validated statement to the response stream. The opening balance and the lines are read in one
+ * read-only REPEATABLE READ transaction (replica eligible), so a payment committed mid-export cannot make
+ * the running balances disagree with the opening balance.
+ */
+@Service
+public class StatementExporter {
+    
+    private final StatementRepository statementRepository;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate snapshotTransaction;
+    
+    public StatementExporter(StatementRepository statementRepository, ObjectMapper objectMapper,
+                             PlatformTransactionManager transactionManager) {
+        this.statementRepository = statementRepository;
+        this.objectMapper = objectMapper;
+        this.snapshotTransaction = new TransactionTemplate(transactionManager);
+        this.snapshotTransaction.setReadOnly(true);
+        this.snapshotTransaction.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+    }
+    
+    public void export(CustomerStatement statement, StatementFormat format, OutputStream out) throws IOException {
+        StatementWriter writer = switch (format) {
+            case JSON -> new JsonStatementWriter(objectMapper, out);
+            case CSV -> new CsvStatementWriter(out);
+            case PDF -> new PdfStatementWriter(out);
+        };
+        
+        try {
+            snapshotTransaction.executeWithoutResult(status -> {
+                try {
+                    BigDecimal opening = statementRepository.openingBalance(statement.getCustomerId(), statement.getFrom());
+                    writer.begin(statement, opening);
+                    BigDecimal closing = statementRepository.streamLines(
+                        statement.getCustomerId(), statement.getFrom(), statement.getTo(), opening,
+                        line -> {
+                            try {
+                                writer.line(line);
+                            } catch (IOException e) {
+                                throw new UncheckedIOException(e);
+                            }
+                        });
+                    writer.end(closing);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            // Client disconnects surface here; let the container see the original IOException
+            throw e.getCause();
+        }
+    }
+}
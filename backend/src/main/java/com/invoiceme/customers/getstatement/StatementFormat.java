@@ -0,0 +1,35 @@
+package com.invoiceme.customers.getstatement;
+
+import org.springframework.http.MediaType;
+
+import java.util.Locale;
+
+public enum StatementFormat {
+    JSON(MediaType.APPLICATION_JSON, "json"),
+    CSV(MediaType.parseMediaType("text/csv"), "csv"),
+    PDF(MediaType.APPLICATION_PDF, "pdf");
+    
+    private final MediaType mediaType;
+    private final String extension;
+    
+    StatementFormat(MediaType mediaType, String extension) {
+        this.mediaType = mediaType;
+        this.extension = extension;
+    }
+    
+    public MediaType getMediaType() {
+        return mediaType;
+    }
+    
+    public String getExtension() {
+        return extension;
+    }
+    
+    public static StatementFormat fromParam(String format) {
+        try {
+            return valueOf(format.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unsupported statement format: " + format + ". Use json, csv or pdf");
+        }
+    }
+}
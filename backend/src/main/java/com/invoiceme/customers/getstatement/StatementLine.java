@@ -0,0 +1,18 @@
+package com.invoiceme.customers.getstatement;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * One statement entry. Positive amounts increase what the customer owes (invoices, late fees,
+ * credit applied to an invoice); negative amounts reduce it (payments, refunds credited).
+ */
+public record StatementLine(
+    LocalDate date,
+    String type,
+    String reference,
+    String description,
+    BigDecimal amount,
+    BigDecimal runningBalance
+) {
+}
@@ -0,0 +1,137 @@
+package com.invoiceme.customers.getstatement;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Reads customer statement entries straight from invoices, line items and payments with plain JDBC, so a
+ * multi-year statement is streamed row by row instead of being hydrated into entities.
+ *
+ * Entries (positive amounts increase what the customer owes):
+ * - INVOICE: invoice total excluding late fees, on the issue date
+ * - CREDIT_APPLIED: account credit consumed by the invoice, on the issue date
+ * - LATE_FEE: late fee line items, on the day they were added
+ * - PAYMENT / REFUND: completed payments and refunds credited to the account, on the payment date
+ *
+ * Callers must run both queries in the same transaction so the opening balance and the lines agree.
+ */
+@Repository
+class StatementRepository {
+    
+    private static final int FETCH_SIZE = 500;
+    
+    private static final String ENTRIES = """
+        WITH entries AS (
+            SELECT i.issue_date AS entry_date, 0 AS entry_order, i.created_at AS entry_ts, i.id AS source_id,
+                   'INVOICE' AS entry_type, i.invoice_number AS reference,
+                   'Invoice ' || i.invoice_number AS description,
+                   i.total_amount - COALESCE(fees.late_fees, 0) AS amount
+            FROM invoices i
+            LEFT JOIN LATERAL (
+                SELECT SUM(li.line_total) AS late_fees
+                FROM line_items li
+                WHERE li.invoice_id = i.id AND li.description LIKE 'Late Fee - %'
+            ) fees ON true
+            WHERE i.customer_id = :customerId AND i.status NOT IN ('DRAFT', 'CANCELLED')
+            UNION ALL
+            SELECT i.issue_date, 1, li.created_at, li.id,
+                   'CREDIT_APPLIED', i.invoice_number,
+                   'Account credit applied to ' || i.invoice_number,
+                   -li.line_total
+            FROM line_items li
+            JOIN invoices i ON i.id = li.invoice_id
+            WHERE i.customer_id = :customerId AND i.status NOT IN ('DRAFT', 'CANCELLED')
+              AND li.description = 'Account Credit Applied'
+            UNION ALL
+            SELECT CAST(li.created_at AS DATE), 2, li.created_at, li.id,
+                   'LATE_FEE', i.invoice_number, li.description, li.line_total
+            FROM line_items li
+            JOIN invoices i ON i.id = li.invoice_id
+            WHERE i.customer_id = :customerId AND i.status NOT IN ('DRAFT', 'CANCELLED')
+              AND li.description LIKE 'Late Fee - %'
+            UNION ALL
+            SELECT p.payment_date, 3, p.created_at, p.id,
+                   CASE WHEN p.status = 'REFUNDED' THEN 'REFUND' ELSE 'PAYMENT' END,
+                   COALESCE(p.payment_reference, i.invoice_number),
+                   CASE WHEN p.status = 'REFUNDED'
+                        THEN 'Refund on ' || i.invoice_number || ' credited to account'
+                        ELSE 'Payment on ' || i.invoice_number || ' (' || CAST(p.payment_method AS TEXT) || ')'
+                   END,
+                   -p.amount
+            FROM payments p
+            JOIN invoices i ON i.id = p.invoice_id
+            WHERE p.customer_id = :customerId AND p.status IN ('COMPLETED', 'REFUNDED')
+        )
+        """;
+    
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    
+    StatementRepository(DataSource dataSource) {
+        JdbcTemplate template = new JdbcTemplate(dataSource);
+        // PostgreSQL only honours the fetch size inside a transaction; without it the driver buffers every row
+        template.setFetchSize(FETCH_SIZE);
+        this.jdbcTemplate = new NamedParameterJdbcTemplate(template);
+    }
+    
+    /**
+     * Sum of every entry dated before {@code from}.
+     */
+    BigDecimal openingBalance(UUID customerId, LocalDate from) {
+        BigDecimal balance = jdbcTemplate.queryForObject(
+            ENTRIES + "SELECT COALESCE(SUM(amount), 0) FROM entries WHERE entry_date < :from",
+            new MapSqlParameterSource()
+                .addValue("customerId", customerId)
+                .addValue("from", from),
+            BigDecimal.class
+        );
+        return (balance != null ? balance : BigDecimal.ZERO).setScale(2, RoundingMode.HALF_UP);
+    }
+    
+    /**
+     * Streams the entries dated within [from, to] in posting order. The running balance is a window sum
+     * seeded with {@code openingBalance}, so nothing is accumulated on the Java side. Returns the closing balance.
+     */
+    BigDecimal streamLines(UUID customerId, LocalDate from, LocalDate to, BigDecimal openingBalance,
+                           Consumer<StatementLine> consumer) {
+        BigDecimal[] closing = { openingBalance };
+        jdbcTemplate.query(
+            ENTRIES + """
+                SELECT entry_date, entry_type, reference, description, amount,
+                       CAST(:opening AS NUMERIC(19, 2)) + SUM(amount) OVER (
+                           ORDER BY entry_date, entry_order, entry_ts, source_id
+                           ROWS UNBOUNDED PRECEDING
+                       ) AS running_balance
+                FROM entries
+                WHERE entry_date BETWEEN :from AND :to
+                ORDER BY entry_date, entry_order, entry_ts, source_id
+                """,
+            new MapSqlParameterSource()
+                .addValue("customerId", customerId)
+                .addValue("from", from)
+                .addValue("to", to)
+                .addValue("opening", openingBalance),
+            rs -> {
+                StatementLine line = new StatementLine(
+                    rs.getObject("entry_date", LocalDate.class),
+                    rs.getString("entry_type"),
+                    rs.getString("reference"),
+                    rs.getString("description"),
+                    rs.getBigDecimal("amount"),
+                    rs.getBigDecimal("running_balance")
+                );
+                closing[0] = line.runningBalance();
+                consumer.accept(line);
+            }
+        );
+        return closing[0];
+    }
+}
@@ -0,0 +1,17 @@
+package com.invoiceme.customers.getstatement;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+
+/**
+ * Renders a statement incrementally: begin once, one call per line as rows arrive from the database, end once.
+ * Implementations must not buffer lines, and must leave the underlying stream open.
+ */
+interface StatementWriter {
+    
+    void begin(CustomerStatement statement, BigDecimal openingBalance) throws IOException;
+    
+    void line(StatementLine line) throws IOException;
+    
+    void end(BigDecimal closingBalance) throws IOException;
+}
@@ -10,6 +10,7 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 @Service
 @RequiredArgsConstructor
@@ -17,6 +18,7 @@ public class ListCustomersHandler {
     
     private final CustomerRepository customerRepository;
     
+    @Transactional(readOnly = true)
     public Page<Customer> handle(ListCustomersQuery query) {
         // Build pagination
         Sort sort = buildSort(query.getSort());
@@ -26,16 +28,14 @@ public class ListCustomersHandler {
             sort
         );
         
-        // Handle outstanding balance filter
-        if (Boolean.TRUE.equals(query.getHasOutstandingBalance())) {
-            return customerRepository.findCustomersWithOutstandingBalance(pageable);
-        }
-        
-        // Use repository filter method
+        // Use repository filter method; balance filters and sorts read the customer_receivables rollup
         return customerRepository.findByFilters(
             query.getStatus(),
             query.getCustomerType(),
             query.getSearch(),
+            query.getHasOutstandingBalance(),
+            query.getHasOverdueBalance(),
+            query.getMinOpenBalance(),
             pageable
         );
     }
@@ -2,20 +2,27 @@ package com.invoiceme.customers.listcustomers;
 
 import com.invoiceme.domain.common.CustomerStatus;
 import com.invoiceme.domain.common.CustomerType;
+import com.invoiceme.domain.customer.Customer;
+import com.invoiceme.infrastructure.bus.Query;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Page;
+
+import java.math.BigDecimal;
 
 @Data
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
-public class ListCustomersQuery {
+public class ListCustomersQuery implements Query<Page<Customer>> {
     private CustomerStatus status;
     private CustomerType customerType;
     private String search;
     private Boolean hasOutstandingBalance;
+    private Boolean hasOverdueBalance;
+    private BigDecimal minOpenBalance;
     private Integer page;
     private Integer size;
     private String sort;
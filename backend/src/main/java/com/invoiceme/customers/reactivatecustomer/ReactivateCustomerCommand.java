@@ -1,5 +1,7 @@
 package com.invoiceme.customers.reactivatecustomer;
 
+import com.invoiceme.domain.customer.Customer;
+import com.invoiceme.infrastructure.bus.Command;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -9,7 +11,7 @@ import java.util.UUID;
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
-public class ReactivateCustomerCommand {
+public class ReactivateCustomerCommand implements Command<Customer> {
     private UUID customerId;
 }
 
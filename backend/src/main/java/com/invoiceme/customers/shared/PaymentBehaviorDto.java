@@ -0,0 +1,35 @@
+package com.invoiceme.customers.shared;
+
+import com.invoiceme.infrastructure.persistence.PaymentStatsTotals;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * How promptly a customer (or all customers together) pays. Averages are null without paid invoices or
+ * payments to average over.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PaymentBehaviorDto {
+    private Long paidInvoices;
+    private BigDecimal averageDaysToPay;
+    private BigDecimal averageDaysLate;
+    private BigDecimal onTimeRatio; // 0..1
+    private BigDecimal daysSalesOutstanding; // payment-amount-weighted days from issue to payment
+    
+    public static PaymentBehaviorDto from(PaymentStatsTotals totals) {
+        return PaymentBehaviorDto.builder()
+            .paidInvoices(totals.getPaidInvoiceCount())
+            .averageDaysToPay(totals.averageDaysToPay())
+            .averageDaysLate(totals.averageDaysLate())
+            .onTimeRatio(totals.onTimeRatio())
+            .daysSalesOutstanding(totals.daysSalesOutstanding())
+            .build();
+    }
+}
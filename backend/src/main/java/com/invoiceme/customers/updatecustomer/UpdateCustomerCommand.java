@@ -3,6 +3,8 @@ package com.invoiceme.customers.updatecustomer;
 import com.invoiceme.domain.common.Address;
 import com.invoiceme.domain.common.CustomerStatus;
 import com.invoiceme.domain.common.CustomerType;
+import com.invoiceme.domain.customer.Customer;
+import com.invoiceme.infrastructure.bus.Command;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -14,7 +16,7 @@ import java.util.UUID;
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
-public class UpdateCustomerCommand {
+public class UpdateCustomerCommand implements Command<Customer> {
     private UUID customerId;
     private String companyName;
     private String contactName;
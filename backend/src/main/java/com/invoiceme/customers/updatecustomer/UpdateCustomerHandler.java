@@ -1,5 +1,6 @@
 package com.invoiceme.customers.updatecustomer;
 
+import com.invoiceme.customers.credit.CreditLedgerService;
 import com.invoiceme.domain.common.DomainEventPublisher;
 import com.invoiceme.domain.customer.Customer;
 import com.invoiceme.infrastructure.persistence.CustomerRepository;
@@ -12,6 +13,7 @@ import org.springframework.transaction.annotation.Transactional;
 public class UpdateCustomerHandler {
     
     private final CustomerRepository customerRepository;
+    private final CreditLedgerService creditLedgerService;
     private final DomainEventPublisher eventPublisher;
     
     @Transactional
@@ -31,7 +33,7 @@ public class UpdateCustomerHandler {
         // Update status if provided
         if (command.getStatus() != null && command.getStatus() != customer.getStatus()) {
             if (command.getStatus() == com.invoiceme.domain.common.CustomerStatus.INACTIVE) {
-                customer.markAsInactive();
+                customer.markAsInactive(creditLedgerService.getBalance(customer.getId()));
             } else {
                 // For other status changes, we'd need a method on Customer aggregate
                 // For now, we'll handle it via reflection or add a method
@@ -2,16 +2,18 @@ package com.invoiceme.dashboard;
 
 import com.invoiceme.dashboard.getagingreport.AgingReportResponse;
 import com.invoiceme.dashboard.getagingreport.GetAgingReportQuery;
-import com.invoiceme.dashboard.getagingreport.GetAgingReportHandler;
+import com.invoiceme.dashboard.getcashforecast.CashForecastResponse;
+import com.invoiceme.dashboard.getcashforecast.ForecastGranularity;
+import com.invoiceme.dashboard.getcashforecast.GetCashForecastQuery;
+import com.invoiceme.dashboard.getcollections.CollectionsResponse;
+import com.invoiceme.dashboard.getcollections.GetCollectionsQuery;
 import com.invoiceme.dashboard.getinvoicestatus.GetInvoiceStatusQuery;
-import com.invoiceme.dashboard.getinvoicestatus.GetInvoiceStatusHandler;
 import com.invoiceme.dashboard.getinvoicestatus.InvoiceStatusResponse;
 import com.invoiceme.dashboard.getmetrics.DashboardMetricsResponse;
 import com.invoiceme.dashboard.getmetrics.GetMetricsQuery;
-import com.invoiceme.dashboard.getmetrics.GetMetricsHandler;
 import com.invoiceme.dashboard.getrevenuetrend.GetRevenueTrendQuery;
-import com.invoiceme.dashboard.getrevenuetrend.GetRevenueTrendHandler;
 import com.invoiceme.dashboard.getrevenuetrend.RevenueTrendResponse;
+import com.invoiceme.infrastructure.bus.MessageBus;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -22,16 +24,13 @@ import org.springframework.web.bind.annotation.*;
 @RequiredArgsConstructor
 public class DashboardController {
     
-    private final GetMetricsHandler getMetricsHandler;
-    private final GetRevenueTrendHandler getRevenueTrendHandler;
-    private final GetInvoiceStatusHandler getInvoiceStatusHandler;
-    private final GetAgingReportHandler getAgingReportHandler;
+    private final MessageBus messageBus;
     
     @GetMapping("/metrics")
     @PreAuthorize("hasAnyRole('SYSADMIN', 'ACCOUNTANT', 'SALES')")
     public ResponseEntity<DashboardMetricsResponse> getMetrics() {
         GetMetricsQuery query = new GetMetricsQuery();
-        DashboardMetricsResponse response = getMetricsHandler.handle(query);
+        DashboardMetricsResponse response = messageBus.dispatch(query);
         return ResponseEntity.ok(response);
     }
     
@@ -53,7 +52,7 @@ public class DashboardController {
             .endDate(endDate != null ? endDate : java.time.LocalDate.now())
             .period(period != null ? period : "MONTHLY")
             .build();
-        RevenueTrendResponse response = getRevenueTrendHandler.handle(query);
+        RevenueTrendResponse response = messageBus.dispatch(query);
         return ResponseEntity.ok(response);
     }
     
@@ -61,7 +60,7 @@ public class DashboardController {
     @PreAuthorize("hasAnyRole('SYSADMIN', 'ACCOUNTANT', 'SALES')")
     public ResponseEntity<InvoiceStatusResponse> getInvoiceStatus() {
         GetInvoiceStatusQuery query = new GetInvoiceStatusQuery();
-        InvoiceStatusResponse response = getInvoiceStatusHandler.handle(query);
+        InvoiceStatusResponse response = messageBus.dispatch(query);
         return ResponseEntity.ok(response);
     }
     
@@ -69,8 +68,25 @@ public class DashboardController {
     @PreAuthorize("hasAnyRole('SYSADMIN', 'ACCOUNTANT', 'SALES')")
     public ResponseEntity<AgingReportResponse> getAgingReport() {
         GetAgingReportQuery query = new GetAgingReportQuery();
-        AgingReportResponse response = getAgingReportHandler.handle(query);
+        AgingReportResponse response = messageBus.dispatch(query);
+        return ResponseEntity.ok(response);
+    }
+    
+    @GetMapping("/collections")
+    @PreAuthorize("hasAnyRole('SYSADMIN', 'ACCOUNTANT', 'SALES')")
+    public ResponseEntity<CollectionsResponse> getCollections() {
+        GetCollectionsQuery query = new GetCollectionsQuery();
+        CollectionsResponse response = messageBus.dispatch(query);
+        return ResponseEntity.ok(response);
+    }
+    
+    @GetMapping("/cash-forecast")
+    @PreAuthorize("hasAnyRole('SYSADMIN', 'ACCOUNTANT', 'SALES')")
+    public ResponseEntity<CashForecastResponse> getCashForecast(
+            @RequestParam(defaultValue = "90") Integer horizonDays,
+            @RequestParam(defaultValue = "day") String granularity) {
+        GetCashForecastQuery query = new GetCashForecastQuery(horizonDays, ForecastGranularity.fromParam(granularity));
+        CashForecastResponse response = messageBus.dispatch(query);
         return ResponseEntity.ok(response);
     }
 }
-
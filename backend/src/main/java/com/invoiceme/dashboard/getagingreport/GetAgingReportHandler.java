@@ -1,14 +1,15 @@
 package com.invoiceme.dashboard.getagingreport;
 
-import com.invoiceme.domain.common.InvoiceStatus;
 import com.invoiceme.domain.common.Money;
-import com.invoiceme.domain.invoice.Invoice;
+import com.invoiceme.infrastructure.analytics.ReceivablesColumns;
+import com.invoiceme.infrastructure.analytics.ReceivablesSnapshot;
+import com.invoiceme.infrastructure.cache.DashboardCache;
+import com.invoiceme.infrastructure.persistence.AgingBucketTotals;
 import com.invoiceme.infrastructure.persistence.InvoiceRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDate;
-import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -16,78 +17,52 @@ import java.util.List;
 @RequiredArgsConstructor
 public class GetAgingReportHandler {
     
+    private static final String[] BUCKET_LABELS = {"0-30", "31-60", "61-90", "90+"};
+    
     private final InvoiceRepository invoiceRepository;
+    private final DashboardCache dashboardCache;
+    private final ReceivablesSnapshot receivablesSnapshot;
     
     public AgingReportResponse handle(GetAgingReportQuery query) {
-        LocalDate today = LocalDate.now();
-        
-        // Get all outstanding invoices (SENT or OVERDUE)
-        List<Invoice> outstandingInvoices = new ArrayList<>(
-            invoiceRepository.findByStatus(
-                InvoiceStatus.SENT,
-                org.springframework.data.domain.PageRequest.of(0, Integer.MAX_VALUE)
-            ).getContent()
-        );
-        outstandingInvoices.addAll(
-            invoiceRepository.findByStatus(
-                InvoiceStatus.OVERDUE,
-                org.springframework.data.domain.PageRequest.of(0, Integer.MAX_VALUE)
-            ).getContent()
-        );
-        
+        if (receivablesSnapshot.isReady()) {
+            // In-memory scan: cheaper than a cache lookup going stale
+            return computeInMemory();
+        }
+        return dashboardCache.get("aging-report", () -> compute(query));
+    }
+    
+    private AgingReportResponse computeInMemory() {
+        ReceivablesColumns.Totals[] buckets = receivablesSnapshot.aging(LocalDate.now());
         List<AgingReportResponse.AgingReportData> data = new ArrayList<>();
-        
-        // 0-30 days
-        var bucket0_30 = outstandingInvoices.stream()
-            .filter(invoice -> {
-                long days = ChronoUnit.DAYS.between(invoice.getDueDate(), today);
-                return days >= 0 && days <= 30;
-            })
-            .toList();
-        data.add(createBucket("0-30", bucket0_30));
-        
-        // 31-60 days
-        var bucket31_60 = outstandingInvoices.stream()
-            .filter(invoice -> {
-                long days = ChronoUnit.DAYS.between(invoice.getDueDate(), today);
-                return days >= 31 && days <= 60;
-            })
-            .toList();
-        data.add(createBucket("31-60", bucket31_60));
-        
-        // 61-90 days
-        var bucket61_90 = outstandingInvoices.stream()
-            .filter(invoice -> {
-                long days = ChronoUnit.DAYS.between(invoice.getDueDate(), today);
-                return days >= 61 && days <= 90;
-            })
-            .toList();
-        data.add(createBucket("61-90", bucket61_90));
-        
-        // 90+ days
-        var bucket90Plus = outstandingInvoices.stream()
-            .filter(invoice -> {
-                long days = ChronoUnit.DAYS.between(invoice.getDueDate(), today);
-                return days > 90;
-            })
-            .toList();
-        data.add(createBucket("90+", bucket90Plus));
-        
+        for (int i = 0; i < BUCKET_LABELS.length; i++) {
+            data.add(AgingReportResponse.AgingReportData.builder()
+                .bucket(BUCKET_LABELS[i])
+                .count((int) buckets[i].count())
+                .amount(buckets[i].amount())
+                .build());
+        }
         return AgingReportResponse.builder()
-            .data(data) // Changed from buckets to data
+            .data(data)
             .build();
     }
     
-    private AgingReportResponse.AgingReportData createBucket(String bucket, List<Invoice> invoices) {
-        Money amount = invoices.stream()
-            .map(Invoice::getBalanceDue)
-            .reduce(Money.zero(), Money::add);
+    private AgingReportResponse compute(GetAgingReportQuery query) {
+        // Bucketed and summed in the database; buckets with no invoices have no row
+        AgingBucketTotals[] rows = new AgingBucketTotals[BUCKET_LABELS.length];
+        for (AgingBucketTotals row : invoiceRepository.agingBuckets(LocalDate.now())) {
+            rows[row.getBucket()] = row;
+        }
         
-        return AgingReportResponse.AgingReportData.builder()
-            .bucket(bucket) // Changed from range to bucket
-            .count(invoices.size()) // Changed from invoiceCount to count
-            .amount(amount) // Changed from totalAmount to amount
+        List<AgingReportResponse.AgingReportData> data = new ArrayList<>();
+        for (int i = 0; i < BUCKET_LABELS.length; i++) {
+            data.add(AgingReportResponse.AgingReportData.builder()
+                .bucket(BUCKET_LABELS[i])
+                .count(rows[i] == null ? 0 : (int) rows[i].getInvoiceCount())
+                .amount(rows[i] == null ? Money.zero() : Money.of(rows[i].getBalanceDue()))
+                .build());
+        }
+        return AgingReportResponse.builder()
+            .data(data)
             .build();
     }
 }
-
@@ -1,12 +1,14 @@
 package com.invoiceme.dashboard.getagingreport;
 
+import com.invoiceme.infrastructure.bus.DeduplicateInFlight;
+import com.invoiceme.infrastructure.bus.Query;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
 @Data
 @NoArgsConstructor
-public class GetAgingReportQuery {
+public class GetAgingReportQuery implements Query<AgingReportResponse>, DeduplicateInFlight {
     // No parameters - returns aging buckets
 }
 
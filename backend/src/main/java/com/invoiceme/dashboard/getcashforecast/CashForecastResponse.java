@@ -0,0 +1,36 @@
+package com.invoiceme.dashboard.getcashforecast;
+
+import com.invoiceme.domain.common.Money;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CashForecastResponse {
+    private LocalDate asOfDate;
+    private Integer horizonDays;
+    private ForecastGranularity granularity;
+    private List<ForecastPeriod> periods;
+    private Integer openInvoices;
+    private Money totalOpen; // Balance due on SENT and OVERDUE invoices
+    private Money expectedWithinHorizon;
+    private Money expectedBeyondHorizon;
+    private Money atRisk; // Already later than the customer has ever paid
+    
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class ForecastPeriod {
+        private LocalDate startDate;
+        private LocalDate endDate; // Inclusive
+        private Money expectedInflow;
+    }
+}
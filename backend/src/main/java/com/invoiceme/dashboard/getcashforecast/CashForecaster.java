@@ -0,0 +1,111 @@
+package com.invoiceme.dashboard.getcashforecast;
+
+import com.invoiceme.infrastructure.analytics.OpenInvoices;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Projects expected inflows from open invoices. Each invoice's balance is spread over the days its customer
+ * historically pays relative to the due date, conditioned on it still being unpaid today: for an invoice 20
+ * days past due, only the part of the distribution at 20+ days late counts. Balances past every observed
+ * lateness are reported as at risk rather than projected.
+ *
+ * One pass over the invoices, split into row ranges on the common fork/join pool; each range sums into its
+ * own per-day array.
+ */
+public final class CashForecaster {
+    
+    private static final int LEAF_ROWS = 16_384;
+    
+    private CashForecaster() {
+    }
+    
+    public static Forecast forecast(OpenInvoices invoices, PaymentTimingProfiles profiles, LocalDate today, int horizonDays) {
+        List<UUID> customerIds = invoices.customerIds();
+        PaymentTimingProfiles.Profile[] byCustomer = new PaymentTimingProfiles.Profile[customerIds.size()];
+        for (int i = 0; i < byCustomer.length; i++) {
+            byCustomer[i] = profiles.forCustomer(customerIds.get(i));
+        }
+        return ForkJoinPool.commonPool().invoke(new ForecastTask(
+            invoices, byCustomer, (int) today.toEpochDay(), horizonDays, 0, invoices.size()));
+    }
+    
+    /**
+     * Amounts in cents; {@code daily[0]} is today.
+     */
+    public record Forecast(double[] daily, double beyondHorizon, double atRisk, long open, int invoices) {
+        
+        Forecast plus(Forecast other) {
+            double[] sum = new double[daily.length];
+            for (int day = 0; day < sum.length; day++) {
+                sum[day] = daily[day] + other.daily[day];
+            }
+            return new Forecast(sum, beyondHorizon + other.beyondHorizon, atRisk + other.atRisk,
+                open + other.open, invoices + other.invoices);
+        }
+    }
+    
+    private static final class ForecastTask extends RecursiveTask<Forecast> {
+        
+        private final OpenInvoices invoices;
+        private final PaymentTimingProfiles.Profile[] profiles;
+        private final int today;
+        private final int horizonDays;
+        private final int from;
+        private final int to;
+        
+        ForecastTask(OpenInvoices invoices, PaymentTimingProfiles.Profile[] profiles, int today, int horizonDays,
+                     int from, int to) {
+            this.invoices = invoices;
+            this.profiles = profiles;
+            this.today = today;
+            this.horizonDays = horizonDays;
+            this.from = from;
+            this.to = to;
+        }
+        
+        @Override
+        protected Forecast compute() {
+            if (to - from > LEAF_ROWS) {
+                int mid = (from + to) >>> 1;
+                ForecastTask right = new ForecastTask(invoices, profiles, today, horizonDays, mid, to);
+                right.fork();
+                Forecast left = new ForecastTask(invoices, profiles, today, horizonDays, from, mid).compute();
+                return left.plus(right.join());
+            }
+            
+            double[] daily = new double[horizonDays];
+            double beyondHorizon = 0;
+            double atRisk = 0;
+            long open = 0;
+            for (int row = from; row < to; row++) {
+                long balance = invoices.balanceCents(row);
+                int dueDay = invoices.dueDay(row);
+                PaymentTimingProfiles.Profile profile = profiles[invoices.customer(row)];
+                open += balance;
+                
+                // Paying earlier than today is no longer possible
+                int first = profile.firstAtLeast(today - dueDay);
+                double remaining = profile.remaining[first];
+                if (remaining <= 0) {
+                    atRisk += balance;
+                    continue;
+                }
+                for (int i = first; i < profile.daysLate.length; i++) {
+                    double expected = balance * profile.probability[i] / remaining;
+                    int day = dueDay + profile.daysLate[i] - today;
+                    if (day < horizonDays) {
+                        daily[day] += expected;
+                    } else {
+                        beyondHorizon += expected;
+                    }
+                }
+            }
+            return new Forecast(daily, beyondHorizon, atRisk, open, to - from);
+        }
+    }
+}
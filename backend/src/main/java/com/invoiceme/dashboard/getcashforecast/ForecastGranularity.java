@@ -0,0 +1,26 @@
+package com.invoiceme.dashboard.getcashforecast;
+
+import java.util.Locale;
+
+public enum ForecastGranularity {
+    DAY(1),
+    WEEK(7);
+    
+    private final int days;
+    
+    ForecastGranularity(int days) {
+        this.days = days;
+    }
+    
+    public int getDays() {
+        return days;
+    }
+    
+    public static ForecastGranularity fromParam(String granularity) {
+        try {
+            return valueOf(granularity.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unsupported forecast granularity: " + granularity + ". Use day or week");
+        }
+    }
+}
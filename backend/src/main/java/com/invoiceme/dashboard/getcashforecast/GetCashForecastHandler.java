@@ -0,0 +1,99 @@
+package com.invoiceme.dashboard.getcashforecast;
+
+import com.invoiceme.domain.common.Money;
+import com.invoiceme.infrastructure.analytics.OpenInvoices;
+import com.invoiceme.infrastructure.analytics.ReceivablesSnapshot;
+import com.invoiceme.infrastructure.cache.DashboardCache;
+import com.invoiceme.infrastructure.persistence.PaymentTimingRepository;
+import com.invoiceme.infrastructure.persistence.ReceivablesRowRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+public class GetCashForecastHandler {
+    
+    public static final int MAX_HORIZON_DAYS = 365;
+    
+    private final PaymentTimingRepository paymentTimingRepository;
+    private final ReceivablesRowRepository receivablesRowRepository;
+    private final ReceivablesSnapshot receivablesSnapshot;
+    private final DashboardCache dashboardCache;
+    
+    @Value("${app.analytics.receivables-snapshot.fetch-size:10000}")
+    private int fetchSize;
+    
+    public CashForecastResponse handle(GetCashForecastQuery query) {
+        int horizonDays = query.getHorizonDays() != null ? query.getHorizonDays() : 90;
+        if (horizonDays < 1 || horizonDays > MAX_HORIZON_DAYS) {
+            throw new IllegalArgumentException("horizonDays must be between 1 and " + MAX_HORIZON_DAYS);
+        }
+        ForecastGranularity granularity = query.getGranularity() != null ? query.getGranularity() : ForecastGranularity.DAY;
+        
+        if (receivablesSnapshot.isReady()) {
+            return compute(receivablesSnapshot.openInvoices(), horizonDays, granularity);
+        }
+        return dashboardCache.get("cash-forecast:" + horizonDays + ":" + granularity,
+            () -> compute(streamOpenInvoices(), horizonDays, granularity));
+    }
+    
+    /**
+     * One streaming pass; runs inside the cache loader's read-only transaction, so the driver uses a cursor.
+     */
+    private OpenInvoices streamOpenInvoices() {
+        OpenInvoices.Builder builder = OpenInvoices.builder(fetchSize);
+        receivablesRowRepository.streamOpen(fetchSize,
+            row -> builder.add(row.customerId(), row.dueDate(), row.balanceCents()));
+        return builder.build();
+    }
+    
+    private PaymentTimingProfiles profiles() {
+        // Shared by every horizon and granularity; invalidated with the dashboard cache on each payment
+        return dashboardCache.get("payment-timing-profiles", () -> PaymentTimingProfiles.from(
+            paymentTimingRepository.findPaymentTimings(
+                PaymentTimingProfiles.MIN_DAYS_LATE, PaymentTimingProfiles.MAX_DAYS_LATE)));
+    }
+    
+    private CashForecastResponse compute(OpenInvoices invoices, int horizonDays, ForecastGranularity granularity) {
+        LocalDate today = LocalDate.now();
+        CashForecaster.Forecast forecast = CashForecaster.forecast(invoices, profiles(), today, horizonDays);
+        
+        List<CashForecastResponse.ForecastPeriod> periods = new ArrayList<>();
+        double withinHorizon = 0;
+        for (int start = 0; start < horizonDays; start += granularity.getDays()) {
+            int end = Math.min(horizonDays, start + granularity.getDays());
+            double inflow = 0;
+            for (int day = start; day < end; day++) {
+                inflow += forecast.daily()[day];
+            }
+            withinHorizon += inflow;
+            periods.add(CashForecastResponse.ForecastPeriod.builder()
+                .startDate(today.plusDays(start))
+                .endDate(today.plusDays(end - 1))
+                .expectedInflow(money(inflow))
+                .build());
+        }
+        
+        return CashForecastResponse.builder()
+            .asOfDate(today)
+            .horizonDays(horizonDays)
+            .granularity(granularity)
+            .periods(periods)
+            .openInvoices(forecast.invoices())
+            .totalOpen(money(forecast.open()))
+            .expectedWithinHorizon(money(withinHorizon))
+            .expectedBeyondHorizon(money(forecast.beyondHorizon()))
+            .atRisk(money(forecast.atRisk()))
+            .build();
+    }
+    
+    private static Money money(double cents) {
+        return Money.of(BigDecimal.valueOf(Math.round(cents), 2));
+    }
+}
@@ -0,0 +1,15 @@
+package com.invoiceme.dashboard.getcashforecast;
+
+import com.invoiceme.infrastructure.bus.DeduplicateInFlight;
+import com.invoiceme.infrastructure.bus.Query;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class GetCashForecastQuery implements Query<CashForecastResponse>, DeduplicateInFlight {
+    private Integer horizonDays;
+    private ForecastGranularity granularity;
+}
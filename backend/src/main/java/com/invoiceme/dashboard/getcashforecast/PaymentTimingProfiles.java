@@ -0,0 +1,98 @@
+package com.invoiceme.dashboard.getcashforecast;
+
+import com.invoiceme.infrastructure.persistence.PaymentTimingRepository.PaymentTiming;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+
+/**
+ * Per-customer distributions of days late (payment date minus due date), weighted by amount paid. Customers
+ * without payment history use the distribution over all customers; with no history at all, invoices are
+ * expected on their due date.
+ */
+public final class PaymentTimingProfiles {
+    
+    public static final int MIN_DAYS_LATE = -30;
+    public static final int MAX_DAYS_LATE = 180;
+    
+    static final Profile ON_DUE_DATE = new Profile(new int[] {0}, new double[] {1.0});
+    
+    private final Map<UUID, Profile> byCustomer;
+    private final Profile fallback;
+    
+    private PaymentTimingProfiles(Map<UUID, Profile> byCustomer, Profile fallback) {
+        this.byCustomer = byCustomer;
+        this.fallback = fallback;
+    }
+    
+    public static PaymentTimingProfiles from(List<PaymentTiming> timings) {
+        Map<UUID, TreeMap<Integer, Double>> amounts = new HashMap<>();
+        TreeMap<Integer, Double> overall = new TreeMap<>();
+        for (PaymentTiming timing : timings) {
+            double amount = timing.amount().doubleValue();
+            amounts.computeIfAbsent(timing.customerId(), id -> new TreeMap<>()).merge(timing.daysLate(), amount, Double::sum);
+            overall.merge(timing.daysLate(), amount, Double::sum);
+        }
+        
+        Map<UUID, Profile> byCustomer = new HashMap<>();
+        amounts.forEach((customerId, byDaysLate) -> byCustomer.put(customerId, Profile.of(byDaysLate)));
+        return new PaymentTimingProfiles(byCustomer, overall.isEmpty() ? ON_DUE_DATE : Profile.of(overall));
+    }
+    
+    public Profile forCustomer(UUID customerId) {
+        return byCustomer.getOrDefault(customerId, fallback);
+    }
+    
+    /**
+     * Sparse distribution: ascending days-late values with their probabilities, plus the probability mass at
+     * or after each position for conditioning on "still unpaid".
+     */
+    static final class Profile {
+        
+        final int[] daysLate;
+        final double[] probability;
+        final double[] remaining;
+        
+        Profile(int[] daysLate, double[] probability) {
+            this.daysLate = daysLate;
+            this.probability = probability;
+            this.remaining = new double[daysLate.length + 1];
+            for (int i = daysLate.length - 1; i >= 0; i--) {
+                remaining[i] = remaining[i + 1] + probability[i];
+            }
+        }
+        
+        static Profile of(TreeMap<Integer, Double> amountByDaysLate) {
+            double total = amountByDaysLate.values().stream().mapToDouble(Double::doubleValue).sum();
+            int[] daysLate = new int[amountByDaysLate.size()];
+            double[] probability = new double[amountByDaysLate.size()];
+            int i = 0;
+            for (Map.Entry<Integer, Double> entry : amountByDaysLate.entrySet()) {
+                daysLate[i] = entry.getKey();
+                probability[i] = entry.getValue() / total;
+                i++;
+            }
+            return new Profile(daysLate, probability);
+        }
+        
+        /**
+         * @return first position whose days late is at least {@code minDaysLate}
+         */
+        int firstAtLeast(int minDaysLate) {
+            int low = 0;
+            int high = daysLate.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (daysLate[mid] < minDaysLate) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.invoiceme.dashboard.getcollections;
+
+import com.invoiceme.customers.shared.PaymentBehaviorDto;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CollectionsResponse {
+    private PaymentBehaviorDto companyWide;
+    private List<CustomerPaymentBehavior> slowestPayers; // Longest average days past due first
+    private Boolean backfillPending; // History is still being folded in; figures may be partial
+    
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class CustomerPaymentBehavior {
+        private UUID customerId;
+        private String companyName;
+        private PaymentBehaviorDto paymentBehavior;
+    }
+}
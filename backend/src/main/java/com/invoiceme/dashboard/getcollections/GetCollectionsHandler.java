@@ -0,0 +1,55 @@
+package com.invoiceme.dashboard.getcollections;
+
+import com.invoiceme.customers.shared.PaymentBehaviorDto;
+import com.invoiceme.domain.customer.Customer;
+import com.invoiceme.infrastructure.cache.DashboardCache;
+import com.invoiceme.infrastructure.persistence.CustomerPaymentStats;
+import com.invoiceme.infrastructure.persistence.CustomerPaymentStatsRepository;
+import com.invoiceme.infrastructure.persistence.CustomerRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+public class GetCollectionsHandler {
+    
+    private static final int SLOWEST_PAYERS = 10;
+    
+    private final CustomerPaymentStatsRepository paymentStatsRepository;
+    private final CustomerRepository customerRepository;
+    private final DashboardCache dashboardCache;
+    
+    public CollectionsResponse handle(GetCollectionsQuery query) {
+        return dashboardCache.get("collections", this::compute);
+    }
+    
+    private CollectionsResponse compute() {
+        // One row per customer: summing the table is cheap and never touches invoices or payments
+        List<CustomerPaymentStats> slowest = paymentStatsRepository.findSlowestPayers(PageRequest.of(0, SLOWEST_PAYERS));
+        Map<UUID, Customer> customers = customerRepository.findAllById(
+                slowest.stream().map(CustomerPaymentStats::getCustomerId).toList())
+            .stream()
+            .collect(Collectors.toMap(Customer::getId, Function.identity()));
+        
+        return CollectionsResponse.builder()
+            .companyWide(PaymentBehaviorDto.from(paymentStatsRepository.totals()))
+            .slowestPayers(slowest.stream()
+                .map(stats -> CollectionsResponse.CustomerPaymentBehavior.builder()
+                    .customerId(stats.getCustomerId())
+                    .companyName(customers.containsKey(stats.getCustomerId())
+                        ? customers.get(stats.getCustomerId()).getCompanyName()
+                        : null)
+                    .paymentBehavior(PaymentBehaviorDto.from(stats))
+                    .build())
+                .toList())
+            .backfillPending(paymentStatsRepository.countPending() > 0)
+            .build();
+    }
+}
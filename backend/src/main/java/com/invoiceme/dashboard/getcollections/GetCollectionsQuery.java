@@ -0,0 +1,12 @@
+package com.invoiceme.dashboard.getcollections;
+
+import com.invoiceme.infrastructure.bus.DeduplicateInFlight;
+import com.invoiceme.infrastructure.bus.Query;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+public class GetCollectionsQuery implements Query<CollectionsResponse>, DeduplicateInFlight {
+    // No parameters - returns company-wide payment behavior and the slowest payers
+}
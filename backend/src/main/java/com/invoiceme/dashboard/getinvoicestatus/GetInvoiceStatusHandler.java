@@ -1,9 +1,8 @@
 package com.invoiceme.dashboard.getinvoicestatus;
 
+import com.invoiceme.dashboard.shared.StatusBreakdown;
+import com.invoiceme.dashboard.shared.StatusBreakdownService;
 import com.invoiceme.domain.common.InvoiceStatus;
-import com.invoiceme.domain.common.Money;
-import com.invoiceme.domain.invoice.Invoice;
-import com.invoiceme.infrastructure.persistence.InvoiceRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
@@ -15,19 +14,20 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class GetInvoiceStatusHandler {
     
-    private final InvoiceRepository invoiceRepository;
+    private final StatusBreakdownService statusBreakdownService;
     
     public InvoiceStatusResponse handle(GetInvoiceStatusQuery query) {
+        // Already cached; mapping it per request is cheaper than caching a second copy
+        StatusBreakdown breakdown = statusBreakdownService.current();
+        
         List<InvoiceStatusResponse.InvoiceStatusData> data = Arrays.stream(InvoiceStatus.values())
             .map(status -> {
-                long count = invoiceRepository.countByStatus(status);
-                var totalAmount = invoiceRepository.sumTotalAmountByStatus(status)
-                    .orElse(java.math.BigDecimal.ZERO);
+                StatusBreakdown.StatusTotals totals = breakdown.get(status);
                 
                 return InvoiceStatusResponse.InvoiceStatusData.builder()
                     .status(status.name())
-                    .count((int) count)
-                    .amount(Money.of(totalAmount)) // Changed from totalAmount to amount
+                    .count((int) totals.count())
+                    .amount(totals.totalAmount()) // Changed from totalAmount to amount
                     .build();
             })
             .collect(Collectors.toList());
@@ -37,4 +37,3 @@ public class GetInvoiceStatusHandler {
             .build();
     }
 }
-
@@ -1,12 +1,14 @@
 package com.invoiceme.dashboard.getinvoicestatus;
 
+import com.invoiceme.infrastructure.bus.DeduplicateInFlight;
+import com.invoiceme.infrastructure.bus.Query;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
 @Data
 @NoArgsConstructor
-public class GetInvoiceStatusQuery {
+public class GetInvoiceStatusQuery implements Query<InvoiceStatusResponse>, DeduplicateInFlight {
     // No parameters - returns status breakdown
 }
 
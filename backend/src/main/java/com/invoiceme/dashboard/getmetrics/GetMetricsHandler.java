@@ -1,17 +1,19 @@
 package com.invoiceme.dashboard.getmetrics;
 
+import com.invoiceme.dashboard.shared.StatusBreakdown;
+import com.invoiceme.dashboard.shared.StatusBreakdownService;
 import com.invoiceme.domain.common.InvoiceStatus;
 import com.invoiceme.domain.common.Money;
-import com.invoiceme.domain.invoice.Invoice;
+import com.invoiceme.infrastructure.analytics.ReceivablesColumns;
+import com.invoiceme.infrastructure.analytics.ReceivablesSnapshot;
+import com.invoiceme.infrastructure.cache.DashboardCache;
 import com.invoiceme.infrastructure.persistence.CustomerRepository;
 import com.invoiceme.infrastructure.persistence.InvoiceRepository;
 import lombok.RequiredArgsConstructor;
-import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDate;
-import java.util.ArrayList;
-import java.util.List;
+import java.util.Map;
 
 @Service
 @RequiredArgsConstructor
@@ -19,9 +21,42 @@ public class GetMetricsHandler {
     
     private final InvoiceRepository invoiceRepository;
     private final CustomerRepository customerRepository;
+    private final StatusBreakdownService statusBreakdownService;
+    private final DashboardCache dashboardCache;
+    private final ReceivablesSnapshot receivablesSnapshot;
     
-    @Cacheable(value = "dashboardMetrics", key = "'metrics'")
     public DashboardMetricsResponse handle(GetMetricsQuery query) {
+        if (receivablesSnapshot.isReady()) {
+            return computeInMemory();
+        }
+        return dashboardCache.get("metrics", () -> compute(query));
+    }
+    
+    private DashboardMetricsResponse computeInMemory() {
+        LocalDate today = LocalDate.now();
+        ReceivablesColumns.Totals revenueMTD = receivablesSnapshot.issuedBetween(
+            InvoiceStatus.PAID, today.withDayOfMonth(1), today);
+        Map<InvoiceStatus, ReceivablesColumns.Totals> byStatus = receivablesSnapshot.statusTotals();
+        ReceivablesColumns.Totals sent = byStatus.get(InvoiceStatus.SENT);
+        ReceivablesColumns.Totals overdue = byStatus.get(InvoiceStatus.OVERDUE);
+        
+        // Customer counts are not part of the snapshot; this stays a single indexed count
+        long activeCustomersCount = customerRepository.countByStatus(
+            com.invoiceme.domain.common.CustomerStatus.ACTIVE
+        );
+        
+        return DashboardMetricsResponse.builder()
+            .totalRevenueMTD(revenueMTD.amount())
+            .outstandingInvoicesCount((int) (sent.count() + overdue.count()))
+            .outstandingInvoicesAmount(sent.amount().add(overdue.amount()))
+            .overdueInvoicesCount((int) overdue.count())
+            .overdueInvoicesAmount(overdue.amount())
+            .activeCustomers((int) activeCustomersCount)
+            .asOfDate(today)
+            .build();
+    }
+    
+    private DashboardMetricsResponse compute(GetMetricsQuery query) {
         LocalDate today = LocalDate.now();
         LocalDate firstOfMonth = today.withDayOfMonth(1);
         
@@ -33,31 +68,11 @@ public class GetMetricsHandler {
         ).orElse(java.math.BigDecimal.ZERO);
         Money revenueMTDMoney = Money.of(revenueMTD);
         
-        // Outstanding invoices (SENT or OVERDUE status)
-        List<Invoice> outstandingInvoices = new ArrayList<>(
-            invoiceRepository.findByStatus(
-                InvoiceStatus.SENT,
-                org.springframework.data.domain.PageRequest.of(0, Integer.MAX_VALUE)
-            ).getContent()
-        );
-        outstandingInvoices.addAll(
-            invoiceRepository.findByStatus(
-                InvoiceStatus.OVERDUE,
-                org.springframework.data.domain.PageRequest.of(0, Integer.MAX_VALUE)
-            ).getContent()
-        );
-        
-        int outstandingCount = outstandingInvoices.size();
-        Money outstandingAmount = outstandingInvoices.stream()
-            .map(invoice -> invoice.getBalanceDue())
-            .reduce(Money.zero(), Money::add);
-        
-        // Overdue invoices
-        var overdueInvoices = invoiceRepository.findOverdueInvoices(today);
-        int overdueCount = overdueInvoices.size();
-        Money overdueAmount = overdueInvoices.stream()
-            .map(invoice -> invoice.getBalanceDue())
-            .reduce(Money.zero(), Money::add);
+        // Outstanding (SENT or OVERDUE) and overdue totals from the shared per-status breakdown; overdue counts
+        // only invoices with a balance left
+        StatusBreakdown breakdown = statusBreakdownService.current();
+        StatusBreakdown.StatusTotals outstanding = breakdown.combined(InvoiceStatus.SENT, InvoiceStatus.OVERDUE);
+        StatusBreakdown.StatusTotals overdue = breakdown.get(InvoiceStatus.OVERDUE);
         
         // Active customers
         long activeCustomersCount = customerRepository.countByStatus(
@@ -66,10 +81,10 @@ public class GetMetricsHandler {
         
         return DashboardMetricsResponse.builder()
             .totalRevenueMTD(revenueMTDMoney)
-            .outstandingInvoicesCount(outstandingCount)
-            .outstandingInvoicesAmount(outstandingAmount)
-            .overdueInvoicesCount(overdueCount)
-            .overdueInvoicesAmount(overdueAmount)
+            .outstandingInvoicesCount((int) outstanding.count())
+            .outstandingInvoicesAmount(outstanding.balanceDue())
+            .overdueInvoicesCount((int) overdue.openCount())
+            .overdueInvoicesAmount(overdue.balanceDue())
             .activeCustomers((int) activeCustomersCount)
             .asOfDate(today)
             .build();
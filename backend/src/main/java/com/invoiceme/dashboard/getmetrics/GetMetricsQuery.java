@@ -1,12 +1,14 @@
 package com.invoiceme.dashboard.getmetrics;
 
+import com.invoiceme.infrastructure.bus.DeduplicateInFlight;
+import com.invoiceme.infrastructure.bus.Query;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
 @Data
 @NoArgsConstructor
-public class GetMetricsQuery {
+public class GetMetricsQuery implements Query<DashboardMetricsResponse>, DeduplicateInFlight {
     // No parameters - returns current metrics
 }
 
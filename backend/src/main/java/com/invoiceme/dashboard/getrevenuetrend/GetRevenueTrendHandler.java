@@ -3,6 +3,7 @@ package com.invoiceme.dashboard.getrevenuetrend;
 import com.invoiceme.domain.common.InvoiceStatus;
 import com.invoiceme.domain.common.Money;
 import com.invoiceme.domain.invoice.Invoice;
+import com.invoiceme.infrastructure.cache.DashboardCache;
 import com.invoiceme.infrastructure.persistence.InvoiceRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
@@ -18,8 +19,22 @@ import java.util.stream.Collectors;
 public class GetRevenueTrendHandler {
     
     private final InvoiceRepository invoiceRepository;
+    private final DashboardCache dashboardCache;
     
     public RevenueTrendResponse handle(GetRevenueTrendQuery query) {
+        // Only the default range is cached: custom dates and periods come from the client, and caching every
+        // combination would grow the dashboard cache without bound
+        boolean defaultRange = query.getStartDate() == null && query.getEndDate() == null;
+        if (defaultRange && (query.getPeriod() == null || "MONTHLY".equals(query.getPeriod()))) {
+            return dashboardCache.get("revenue-trend:MONTHLY", () -> compute(query));
+        }
+        if (defaultRange && "WEEKLY".equals(query.getPeriod())) {
+            return dashboardCache.get("revenue-trend:WEEKLY", () -> compute(query));
+        }
+        return compute(query);
+    }
+    
+    private RevenueTrendResponse compute(GetRevenueTrendQuery query) {
         LocalDate startDate = query.getStartDate() != null 
             ? query.getStartDate() 
             : LocalDate.now().minusMonths(12);
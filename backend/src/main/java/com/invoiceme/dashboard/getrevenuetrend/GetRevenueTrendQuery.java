@@ -1,5 +1,7 @@
 package com.invoiceme.dashboard.getrevenuetrend;
 
+import com.invoiceme.infrastructure.bus.DeduplicateInFlight;
+import com.invoiceme.infrastructure.bus.Query;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -11,7 +13,7 @@ import java.time.LocalDate;
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
-public class GetRevenueTrendQuery {
+public class GetRevenueTrendQuery implements Query<RevenueTrendResponse>, DeduplicateInFlight {
     private LocalDate startDate;
     private LocalDate endDate;
     private String period; // MONTHLY, WEEKLY, DAILY
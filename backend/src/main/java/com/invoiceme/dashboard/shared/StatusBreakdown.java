@@ -0,0 +1,53 @@
+package com.invoiceme.dashboard.shared;
+
+import com.invoiceme.domain.common.InvoiceStatus;
+import com.invoiceme.domain.common.Money;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Pre-aggregated invoice counts and amounts per status. Every status is present; statuses with no invoices
+ * report zero.
+ */
+public final class StatusBreakdown {
+    
+    private static final StatusTotals EMPTY = new StatusTotals(0, 0, Money.zero(), Money.zero());
+    
+    private final Map<InvoiceStatus, StatusTotals> totals;
+    
+    StatusBreakdown(Map<InvoiceStatus, StatusTotals> totals) {
+        this.totals = Collections.unmodifiableMap(new EnumMap<>(totals));
+    }
+    
+    public StatusTotals get(InvoiceStatus status) {
+        return totals.getOrDefault(status, EMPTY);
+    }
+    
+    /**
+     * Sums the given statuses, e.g. SENT + OVERDUE for everything still outstanding.
+     */
+    public StatusTotals combined(InvoiceStatus... statuses) {
+        StatusTotals result = EMPTY;
+        for (InvoiceStatus status : statuses) {
+            result = result.plus(get(status));
+        }
+        return result;
+    }
+    
+    /**
+     * @param openCount invoices with a balance due above zero
+     */
+    public record StatusTotals(long count, long openCount, Money totalAmount, Money balanceDue) {
+        
+        StatusTotals plus(StatusTotals other) {
+            return new StatusTotals(
+                count + other.count,
+                openCount + other.openCount,
+                totalAmount.add(other.totalAmount),
+                balanceDue.add(other.balanceDue)
+            );
+        }
+    }
+}
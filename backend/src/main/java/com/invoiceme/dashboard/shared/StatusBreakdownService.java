@@ -0,0 +1,44 @@
+package com.invoiceme.dashboard.shared;
+
+import com.invoiceme.domain.common.InvoiceStatus;
+import com.invoiceme.domain.common.Money;
+import com.invoiceme.infrastructure.cache.DashboardCache;
+import com.invoiceme.infrastructure.persistence.InvoiceRepository;
+import com.invoiceme.infrastructure.persistence.InvoiceStatusTotals;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Serves the per-status invoice breakdown from the dashboard cache so the status, metrics and aging handlers
+ * share a single GROUP BY query. Invalidated with the rest of the dashboard cache by
+ * DashboardCacheInvalidationListener.
+ */
+@Service
+@RequiredArgsConstructor
+public class StatusBreakdownService {
+    
+    private static final String CACHE_KEY = "status-breakdown";
+    
+    private final InvoiceRepository invoiceRepository;
+    private final DashboardCache dashboardCache;
+    
+    public StatusBreakdown current() {
+        return dashboardCache.get(CACHE_KEY, this::load);
+    }
+    
+    private StatusBreakdown load() {
+        Map<InvoiceStatus, StatusBreakdown.StatusTotals> totals = new EnumMap<>(InvoiceStatus.class);
+        for (InvoiceStatusTotals row : invoiceRepository.statusTotals()) {
+            totals.put(InvoiceStatus.valueOf(row.getStatus()), new StatusBreakdown.StatusTotals(
+                row.getInvoiceCount(),
+                row.getOpenCount(),
+                Money.of(row.getTotalAmount()),
+                Money.of(row.getBalanceDue())
+            ));
+        }
+        return new StatusBreakdown(totals);
+    }
+}
@@ -0,0 +1,8 @@
+package com.invoiceme.domain.common;
+
+public enum CreditEntryType {
+    OPENING_BALANCE,
+    OVERPAYMENT,
+    REFUND,
+    APPLIED_TO_INVOICE
+}
@@ -7,5 +7,13 @@ public interface DomainEvent {
     UUID getEventId();
     Instant getOccurredAt();
     String getEventType();
+    
+    /**
+     * The invoice or customer the event is about; events about the same aggregate are replayed in order.
+     * Null for events spanning many aggregates.
+     */
+    default UUID getAggregateId() {
+        return null;
+    }
 }
 
@@ -1,24 +1,47 @@
 package com.invoiceme.domain.common;
 
+import com.invoiceme.infrastructure.persistence.DomainEventStore;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Appends events to the event store, in the caller's transaction, then hands them to the listeners.
+ */
 @Component
 public class DomainEventPublisher {
     
     private final ApplicationEventPublisher applicationEventPublisher;
+    private final DomainEventStore eventStore;
     
-    public DomainEventPublisher(ApplicationEventPublisher applicationEventPublisher) {
+    public DomainEventPublisher(ApplicationEventPublisher applicationEventPublisher, DomainEventStore eventStore) {
         this.applicationEventPublisher = applicationEventPublisher;
+        this.eventStore = eventStore;
     }
     
     public void publishEvents(AggregateRoot aggregate) {
-        aggregate.getDomainEvents().forEach(applicationEventPublisher::publishEvent);
+        List<DomainEvent> events = List.copyOf(aggregate.getDomainEvents());
+        eventStore.append(events);
+        events.forEach(applicationEventPublisher::publishEvent);
         aggregate.clearDomainEvents();
     }
     
+    /**
+     * Same as {@link #publishEvents(AggregateRoot)} for each aggregate, with one event store insert for all.
+     */
+    public void publishEvents(Collection<? extends AggregateRoot> aggregates) {
+        List<DomainEvent> events = new ArrayList<>();
+        aggregates.forEach(aggregate -> events.addAll(aggregate.getDomainEvents()));
+        eventStore.append(events);
+        events.forEach(applicationEventPublisher::publishEvent);
+        aggregates.forEach(AggregateRoot::clearDomainEvents);
+    }
+    
     public void publishEvent(DomainEvent event) {
+        eventStore.append(List.of(event));
         applicationEventPublisher.publishEvent(event);
     }
 }
-
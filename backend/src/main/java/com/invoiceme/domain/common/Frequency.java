@@ -1,8 +1,21 @@
 package com.invoiceme.domain.common;
 
+import java.time.LocalDate;
+
 public enum Frequency {
     MONTHLY,
     QUARTERLY,
-    ANNUALLY
+    ANNUALLY;
+    
+    /**
+     * The n-th billing date of a schedule starting on {@code start} (n = 0 is the start date itself).
+     * Always computed from the start date so month-end schedules do not drift (Jan 31, Feb 28, Mar 31).
+     */
+    public LocalDate occurrence(LocalDate start, int n) {
+        return switch (this) {
+            case MONTHLY -> start.plusMonths(n);
+            case QUARTERLY -> start.plusMonths(3L * n);
+            case ANNUALLY -> start.plusYears(n);
+        };
+    }
 }
-
@@ -16,7 +16,7 @@ import java.util.regex.Pattern;
 @EqualsAndHashCode
 public class InvoiceNumber {
     
-    private static final Pattern INVOICE_NUMBER_PATTERN = Pattern.compile("^INV-(\\d{4})-(\\d{4})$");
+    private static final Pattern INVOICE_NUMBER_PATTERN = Pattern.compile("^INV-(\\d{4})-(\\d{4,8})$");
     
     @Column(name = "invoice_number", length = 15, nullable = false, unique = true, columnDefinition = "varchar(15)")
     private String value;
@@ -27,7 +27,10 @@ public class InvoiceNumber {
     }
     
     public static InvoiceNumber generate(int sequenceNumber) {
-        int year = Year.now().getValue();
+        return generate(Year.now().getValue(), sequenceNumber);
+    }
+    
+    public static InvoiceNumber generate(int year, int sequenceNumber) {
         return new InvoiceNumber(String.format("INV-%d-%04d", year, sequenceNumber));
     }
     
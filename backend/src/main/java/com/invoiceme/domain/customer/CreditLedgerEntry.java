@@ -0,0 +1,55 @@
+package com.invoiceme.domain.customer;
+
+import com.invoiceme.domain.common.CreditEntryType;
+import com.invoiceme.domain.common.Money;
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * One insert-only change to a customer's credit. Amounts are signed: credits are positive,
+ * credit applied to an invoice is negative. Entries are never updated; see {@link Customer#applyCredit}
+ * and {@link Customer#deductCredit} for how they are created.
+ */
+@Entity
+@Table(name = "customer_credit_ledger")
+@org.hibernate.annotations.Immutable
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class CreditLedgerEntry {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+    
+    @Column(name = "customer_id", nullable = false, updatable = false)
+    private UUID customerId;
+    
+    @org.hibernate.annotations.Type(com.invoiceme.infrastructure.persistence.PostgreSQLEnumType.class)
+    @Column(name = "entry_type", nullable = false, updatable = false, columnDefinition = "credit_entry_type_enum")
+    private CreditEntryType entryType;
+    
+    @Embedded
+    @AttributeOverride(name = "amount", column = @Column(name = "amount", nullable = false, updatable = false, precision = 19, scale = 2))
+    private Money amount;
+    
+    @Column(name = "reference_id", updatable = false)
+    private UUID referenceId;
+    
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private Instant createdAt;
+    
+    static CreditLedgerEntry of(UUID customerId, CreditEntryType entryType, Money amount, UUID referenceId) {
+        CreditLedgerEntry entry = new CreditLedgerEntry();
+        entry.customerId = customerId;
+        entry.entryType = entryType;
+        entry.amount = amount;
+        entry.referenceId = referenceId;
+        entry.createdAt = Instant.now();
+        return entry;
+    }
+}
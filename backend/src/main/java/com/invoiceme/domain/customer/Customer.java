@@ -14,6 +14,8 @@ import java.util.UUID;
 
 @Entity
 @Table(name = "customers")
+@Cacheable
+@org.hibernate.annotations.Cache(usage = org.hibernate.annotations.CacheConcurrencyStrategy.READ_WRITE, region = "customer")
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 public class Customer extends AggregateRoot {
@@ -38,26 +40,18 @@ public class Customer extends AggregateRoot {
     @Embedded
     private Address address;
     
-    @Convert(converter = com.invoiceme.infrastructure.persistence.CustomerTypeConverter.class)
+    @org.hibernate.annotations.Type(com.invoiceme.infrastructure.persistence.PostgreSQLEnumType.class)
     @Column(name = "customer_type", nullable = false, columnDefinition = "customer_type_enum")
-    @org.hibernate.annotations.ColumnTransformer(
-        read = "customer_type::text",
-        write = "?::customer_type_enum"
-    )
     private CustomerType customerType;
     
-    @Embedded
-    @AttributeOverride(name = "amount", column = @Column(name = "credit_balance", nullable = false, precision = 19, scale = 2))
-    private Money creditBalance;
-    
-    @Convert(converter = com.invoiceme.infrastructure.persistence.CustomerStatusConverter.class)
+    @org.hibernate.annotations.Type(com.invoiceme.infrastructure.persistence.PostgreSQLEnumType.class)
     @Column(name = "status", nullable = false, columnDefinition = "customer_status_enum")
-    @org.hibernate.annotations.ColumnTransformer(
-        read = "status::text",
-        write = "?::customer_status_enum"
-    )
     private CustomerStatus status;
     
+    @Version
+    @Column(name = "version", nullable = false)
+    private Integer version;
+    
     @Column(name = "created_at", nullable = false, updatable = false)
     private Instant createdAt;
     
@@ -68,12 +62,12 @@ public class Customer extends AggregateRoot {
     protected void onCreate() {
         createdAt = Instant.now();
         updatedAt = Instant.now();
-        if (creditBalance == null) {
-            creditBalance = Money.zero();
-        }
         if (status == null) {
             status = CustomerStatus.ACTIVE;
         }
+        if (version == null) {
+            version = 1;
+        }
     }
     
     @PreUpdate
@@ -87,55 +81,66 @@ public class Customer extends AggregateRoot {
         customer.companyName = companyName;
         customer.email = email;
         customer.customerType = customerType;
-        customer.creditBalance = Money.zero();
         customer.status = CustomerStatus.ACTIVE;
+        customer.version = 1;
         return customer;
     }
     
     // Behavior methods
     
-    public void applyCredit(Money amount) {
+    /**
+     * Records credit for this customer as a new ledger entry. The customer row itself is not
+     * modified, so concurrent credits for the same customer do not conflict.
+     *
+     * @param currentBalance balance before this entry, as reported in the event
+     */
+    public CreditLedgerEntry applyCredit(Money amount, Money currentBalance, CreditEntryType source, UUID referenceId) {
         if (amount == null || !amount.isPositive()) {
             throw new IllegalArgumentException("Credit amount must be positive");
         }
-        
-        Money previousBalance = this.creditBalance;
-        this.creditBalance = this.creditBalance.add(amount);
+        if (source == CreditEntryType.APPLIED_TO_INVOICE) {
+            throw new IllegalArgumentException("Use deductCredit to apply credit to an invoice");
+        }
         
         addDomainEvent(new CreditAppliedEvent(
             this.id,
             this.companyName,
             amount,
-            previousBalance,
-            this.creditBalance,
-            "Manual Credit"
+            currentBalance,
+            currentBalance.add(amount),
+            source.name()
         ));
+        
+        return CreditLedgerEntry.of(this.id, source, amount, referenceId);
     }
     
-    public void deductCredit(Money amount) {
+    /**
+     * Records credit applied to an invoice as a negative ledger entry. The caller must hold the
+     * customer's credit reservation lock while reading currentBalance and saving the entry.
+     */
+    public CreditLedgerEntry deductCredit(Money amount, Money currentBalance, UUID invoiceId, String invoiceNumber) {
         if (amount == null || !amount.isPositive()) {
             throw new IllegalArgumentException("Credit amount must be positive");
         }
         
-        if (creditBalance.isLessThan(amount)) {
+        if (currentBalance.isLessThan(amount)) {
             throw new IllegalStateException("Insufficient credit balance");
         }
         
-        Money previousBalance = this.creditBalance;
-        this.creditBalance = this.creditBalance.subtract(amount);
-        
         addDomainEvent(new CreditDeductedEvent(
             this.id,
             this.companyName,
             amount,
-            previousBalance,
-            this.creditBalance,
-            null, // invoiceId - will be set by caller
-            null  // invoiceNumber - will be set by caller
+            currentBalance,
+            currentBalance.subtract(amount),
+            invoiceId,
+            invoiceNumber
         ));
+        
+        return CreditLedgerEntry.of(this.id, CreditEntryType.APPLIED_TO_INVOICE, Money.zero().subtract(amount), invoiceId);
     }
     
-    public boolean canBeDeleted() {
+    public boolean canBeDeleted(Money creditBalance) {
         // Business rule: Customer can be deleted only if:
         // - All invoices are paid (balance = $0) OR cancelled
         // - No active recurring invoice templates
@@ -145,8 +150,8 @@ public class Customer extends AggregateRoot {
         return creditBalance.isZero() && status != CustomerStatus.INACTIVE;
     }
     
-    public void markAsInactive() {
-        if (!canBeDeleted()) {
+    public void markAsInactive(Money creditBalance) {
+        if (!canBeDeleted(creditBalance)) {
             throw new IllegalStateException("Customer cannot be deleted. Outstanding balance or active templates exist.");
         }
         
@@ -24,5 +24,9 @@ public class CreditAppliedEvent extends BaseDomainEvent {
         this.newBalance = newBalance;
         this.source = source;
     }
+    
+    @Override
+    public UUID getAggregateId() {
+        return customerId;
+    }
 }
-
@@ -27,5 +27,9 @@ public class CreditDeductedEvent extends BaseDomainEvent {
         this.invoiceId = invoiceId;
         this.invoiceNumber = invoiceNumber;
     }
+    
+    @Override
+    public UUID getAggregateId() {
+        return customerId;
+    }
 }
-
@@ -19,5 +19,9 @@ public class CustomerDeactivatedEvent extends BaseDomainEvent {
         this.reason = reason;
         this.deactivatedAt = Instant.now();
     }
+    
+    @Override
+    public UUID getAggregateId() {
+        return customerId;
+    }
 }
-
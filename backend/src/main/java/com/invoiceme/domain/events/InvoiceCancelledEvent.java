@@ -29,5 +29,9 @@ public class InvoiceCancelledEvent extends BaseDomainEvent {
         this.cancelledAt = Instant.now();
         this.previousStatus = previousStatus;
     }
+    
+    @Override
+    public UUID getAggregateId() {
+        return invoiceId;
+    }
 }
-
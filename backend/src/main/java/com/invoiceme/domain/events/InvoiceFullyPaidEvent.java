@@ -28,5 +28,9 @@ public class InvoiceFullyPaidEvent extends BaseDomainEvent {
         this.paidDate = paidDate;
         this.paymentCount = paymentCount;
     }
+    
+    @Override
+    public UUID getAggregateId() {
+        return invoiceId;
+    }
 }
-
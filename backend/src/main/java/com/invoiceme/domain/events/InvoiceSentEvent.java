@@ -35,5 +35,9 @@ public class InvoiceSentEvent extends BaseDomainEvent {
         this.lineItemsCount = lineItemsCount;
         this.creditApplied = creditApplied;
     }
+    
+    @Override
+    public UUID getAggregateId() {
+        return invoiceId;
+    }
 }
-
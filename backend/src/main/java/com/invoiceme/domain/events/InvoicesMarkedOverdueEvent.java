@@ -0,0 +1,30 @@
+package com.invoiceme.domain.events;
+
+import com.invoiceme.domain.common.Money;
+import lombok.Getter;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * One chunk of the set-based SENT -> OVERDUE transition. Published once per chunk rather than once per
+ * invoice, so a large backlog does not fan out into thousands of listener invocations.
+ */
+@Getter
+public class InvoicesMarkedOverdueEvent extends BaseDomainEvent {
+    private final LocalDate asOfDate;
+    private final List<UUID> invoiceIds;
+    private final Set<UUID> customerIds;
+    private final Money totalBalanceDue;
+    
+    public InvoicesMarkedOverdueEvent(LocalDate asOfDate, List<UUID> invoiceIds, Set<UUID> customerIds,
+                                      Money totalBalanceDue) {
+        super();
+        this.asOfDate = asOfDate;
+        this.invoiceIds = List.copyOf(invoiceIds);
+        this.customerIds = Set.copyOf(customerIds);
+        this.totalBalanceDue = totalBalanceDue;
+    }
+}
@@ -16,10 +16,12 @@ public class LateFeeAppliedEvent extends BaseDomainEvent {
     private final Money newBalance;
     private final Integer daysOverdue;
     private final String month;
+    private final String previousStatus;
     
     public LateFeeAppliedEvent(UUID invoiceId, String invoiceNumber, UUID customerId,
                               String customerName, String customerEmail, Money lateFeeAmount,
-                              Money newBalance, Integer daysOverdue, String month) {
+                              Money newBalance, Integer daysOverdue, String month,
+                              String previousStatus) {
         super();
         this.invoiceId = invoiceId;
         this.invoiceNumber = invoiceNumber;
@@ -30,6 +32,11 @@ public class LateFeeAppliedEvent extends BaseDomainEvent {
         this.newBalance = newBalance;
         this.daysOverdue = daysOverdue;
         this.month = month;
+        this.previousStatus = previousStatus;
+    }
+    
+    @Override
+    public UUID getAggregateId() {
+        return invoiceId;
     }
 }
-
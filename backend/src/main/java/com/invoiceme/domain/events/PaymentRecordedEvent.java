@@ -18,11 +18,13 @@ public class PaymentRecordedEvent extends BaseDomainEvent {
     private final LocalDate paymentDate;
     private final Money remainingBalance;
     private final Money overpaymentAmount;
+    private final String previousInvoiceStatus;
     
     public PaymentRecordedEvent(UUID paymentId, UUID invoiceId, String invoiceNumber,
                                UUID customerId, String customerName, Money amount,
                                String paymentMethod, LocalDate paymentDate,
-                               Money remainingBalance, Money overpaymentAmount) {
+                               Money remainingBalance, Money overpaymentAmount,
+                               String previousInvoiceStatus) {
         super();
         this.paymentId = paymentId;
         this.invoiceId = invoiceId;
@@ -34,6 +36,11 @@ public class PaymentRecordedEvent extends BaseDomainEvent {
         this.paymentDate = paymentDate;
         this.remainingBalance = remainingBalance;
         this.overpaymentAmount = overpaymentAmount;
+        this.previousInvoiceStatus = previousInvoiceStatus;
+    }
+    
+    @Override
+    public UUID getAggregateId() {
+        return invoiceId;
     }
 }
-
@@ -36,5 +36,9 @@ public class RefundIssuedEvent extends BaseDomainEvent {
         this.newInvoiceBalance = newInvoiceBalance;
         this.invoiceStatus = invoiceStatus;
     }
+    
+    @Override
+    public UUID getAggregateId() {
+        return invoiceId;
+    }
 }
-
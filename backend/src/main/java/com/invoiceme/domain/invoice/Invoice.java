@@ -15,8 +15,13 @@ import java.math.RoundingMode;
 import java.time.Instant;
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 
 @Entity
@@ -30,6 +35,7 @@ public class Invoice extends AggregateRoot {
     private UUID id;
     
     @Embedded
+    // Unique across partitions through the invoice_numbers table (V23)
     @AttributeOverride(name = "value", column = @Column(name = "invoice_number", nullable = false, unique = true, length = 20, columnDefinition = "varchar(20)"))
     private InvoiceNumber invoiceNumber;
     
@@ -42,20 +48,12 @@ public class Invoice extends AggregateRoot {
     @Column(name = "due_date", nullable = false)
     private LocalDate dueDate;
     
-    @Convert(converter = com.invoiceme.infrastructure.persistence.InvoiceStatusConverter.class)
+    @org.hibernate.annotations.Type(com.invoiceme.infrastructure.persistence.PostgreSQLEnumType.class)
     @Column(name = "status", nullable = false, columnDefinition = "invoice_status_enum")
-    @org.hibernate.annotations.ColumnTransformer(
-        read = "status::text",
-        write = "?::invoice_status_enum"
-    )
     private InvoiceStatus status;
     
-    @Convert(converter = com.invoiceme.infrastructure.persistence.PaymentTermsConverter.class)
+    @org.hibernate.annotations.Type(com.invoiceme.infrastructure.persistence.PostgreSQLEnumType.class)
     @Column(name = "payment_terms", nullable = false, columnDefinition = "payment_terms_enum")
-    @org.hibernate.annotations.ColumnTransformer(
-        read = "payment_terms::text",
-        write = "?::payment_terms_enum"
-    )
     private PaymentTerms paymentTerms;
     
     @OneToMany(mappedBy = "invoice", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
@@ -170,7 +168,8 @@ public class Invoice extends AggregateRoot {
         lineItem.setInvoice(this);
         lineItems.add(lineItem);
         recalculateTotals();
-        version++;
+        // Version is managed by Hibernate; bumping it here would make the flush compare against the wrong value
+        this.updatedAt = Instant.now();
     }
     
     public void removeLineItem(UUID lineItemId) {
@@ -196,7 +195,80 @@ public class Invoice extends AggregateRoot {
         }
         
         recalculateTotals();
-        version++;
+        this.updatedAt = Instant.now();
+    }
+    
+    /**
+     * Applies a set of line item additions, updates and removals as one change.
+     * Only the touched line items become dirty, totals are recalculated once and
+     * the version is bumped once by Hibernate when the invoice row is flushed.
+     * DRAFT invoices only: once sent, totals and balances feed the receivables
+     * rollups, and no event carries a line item change to them.
+     */
+    public void applyLineItemChanges(List<LineItem> additions, List<LineItemChange> updates, Collection<UUID> removals) {
+        if (status != InvoiceStatus.DRAFT) {
+            throw new IllegalStateException("Can only change line items of DRAFT invoices. Current status: " + status);
+        }
+        
+        List<LineItem> toAdd = additions != null ? additions : List.of();
+        List<LineItemChange> toUpdate = updates != null ? updates : List.of();
+        Set<UUID> toRemove = removals != null ? new HashSet<>(removals) : Set.of();
+        
+        if (toAdd.isEmpty() && toUpdate.isEmpty() && toRemove.isEmpty()) {
+            return;
+        }
+        
+        Map<UUID, LineItem> existingById = new HashMap<>();
+        for (LineItem item : lineItems) {
+            if (item.getId() != null) {
+                existingById.put(item.getId(), item);
+            }
+        }
+        
+        // Validate everything before mutating so a bad operation leaves the invoice untouched
+        for (UUID lineItemId : toRemove) {
+            if (!existingById.containsKey(lineItemId)) {
+                throw new IllegalArgumentException("Line item not found: " + lineItemId);
+            }
+        }
+        Set<UUID> updatedIds = new HashSet<>();
+        for (LineItemChange change : toUpdate) {
+            if (change.getLineItemId() == null || !existingById.containsKey(change.getLineItemId())) {
+                throw new IllegalArgumentException("Line item not found: " + change.getLineItemId());
+            }
+            if (toRemove.contains(change.getLineItemId())) {
+                throw new IllegalArgumentException("Line item cannot be both updated and removed: " + change.getLineItemId());
+            }
+            if (!updatedIds.add(change.getLineItemId())) {
+                throw new IllegalArgumentException("Line item updated more than once: " + change.getLineItemId());
+            }
+        }
+        if (lineItems.size() - toRemove.size() + toAdd.size() < 1) {
+            throw new IllegalStateException("Invoice must have at least one line item");
+        }
+        
+        for (LineItemChange change : toUpdate) {
+            existingById.get(change.getLineItemId()).apply(change);
+        }
+        
+        if (!toRemove.isEmpty()) {
+            lineItems.removeIf(item -> item.getId() != null && toRemove.contains(item.getId()));
+        }
+        
+        int nextSortOrder = lineItems.stream()
+            .map(LineItem::getSortOrder)
+            .max(Comparator.naturalOrder())
+            .map(max -> max + 1)
+            .orElse(0);
+        for (LineItem lineItem : toAdd) {
+            lineItem.setInvoice(this);
+            lineItem.assignSortOrder(nextSortOrder++);
+            lineItems.add(lineItem);
+        }
+        
+        recalculateTotals();
+        // Marks the invoice row dirty even when totals are unchanged, so the version moves exactly once
+        this.updatedAt = Instant.now();
     }
     
     public void markAsSent() {
@@ -343,11 +415,8 @@ public class Invoice extends AggregateRoot {
         }
         
         // Check if late fee already exists for current month
-        String currentMonth = java.time.format.DateTimeFormatter.ofPattern("MMMM yyyy").format(java.time.LocalDate.now());
-        boolean lateFeeExists = lineItems.stream()
-            .anyMatch(item -> item.getDescription().startsWith("Late Fee - " + currentMonth));
-        
-        if (lateFeeExists) {
+        String currentMonth = currentLateFeeMonth();
+        if (hasLateFeeForCurrentMonth()) {
             throw new IllegalStateException("Late fee already applied for " + currentMonth);
         }
         
@@ -362,6 +431,7 @@ public class Invoice extends AggregateRoot {
             lineItems.size()
         );
         
+        String previousStatus = this.status.name();
         addLineItem(lateFeeLineItem);
         
         // Update status to OVERDUE if not already
@@ -378,7 +448,8 @@ public class Invoice extends AggregateRoot {
             lateFeeAmount,
             this.balanceDue,
             calculateDaysOverdue(),
-            currentMonth
+            currentMonth,
+            previousStatus
         ));
     }
     
@@ -409,6 +480,18 @@ public class Invoice extends AggregateRoot {
         ));
     }
     
+    /**
+     * Whether this month's late fee is already on the invoice; {@link #addLateFee} refuses a second one.
+     */
+    public boolean hasLateFeeForCurrentMonth() {
+        String prefix = "Late Fee - " + currentLateFeeMonth();
+        return lineItems.stream().anyMatch(item -> item.getDescription().startsWith(prefix));
+    }
+    
+    private static String currentLateFeeMonth() {
+        return java.time.format.DateTimeFormatter.ofPattern("MMMM yyyy").format(java.time.LocalDate.now());
+    }
+    
     public boolean isOverdue() {
         if (status != InvoiceStatus.SENT && status != InvoiceStatus.OVERDUE) {
             return false;
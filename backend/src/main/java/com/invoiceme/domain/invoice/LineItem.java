@@ -10,6 +10,7 @@ import lombok.NoArgsConstructor;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.time.Instant;
+import java.time.LocalDate;
 import java.util.UUID;
 
 @Entity
@@ -26,6 +27,10 @@ public class LineItem {
     @JoinColumn(name = "invoice_id", nullable = false)
     private Invoice invoice;
     
+    // Partition key, copied from the invoice; the FK cascades later issue date changes in the database
+    @Column(name = "issue_date", nullable = false, updatable = false)
+    private LocalDate issueDate;
+    
     @Column(name = "description", nullable = false, length = 500)
     private String description;
     
@@ -36,12 +41,8 @@ public class LineItem {
     @AttributeOverride(name = "amount", column = @Column(name = "unit_price", nullable = false, precision = 19, scale = 2))
     private Money unitPrice;
     
-    @Convert(converter = com.invoiceme.infrastructure.persistence.DiscountTypeConverter.class)
+    @org.hibernate.annotations.Type(com.invoiceme.infrastructure.persistence.PostgreSQLEnumType.class)
     @Column(name = "discount_type", nullable = false, columnDefinition = "discount_type_enum")
-    @org.hibernate.annotations.ColumnTransformer(
-        read = "discount_type::text",
-        write = "?::discount_type_enum"
-    )
     private DiscountType discountType;
     
     @Embedded
@@ -54,15 +55,23 @@ public class LineItem {
     @Column(name = "sort_order", nullable = false)
     private Integer sortOrder;
     
+    @Embedded
+    @AttributeOverride(name = "amount", column = @Column(name = "line_total", nullable = false, precision = 19, scale = 2))
+    private Money lineTotal;
+    
     @Column(name = "created_at", nullable = false, updatable = false)
     private Instant createdAt;
     
     @PrePersist
     protected void onCreate() {
         createdAt = Instant.now();
+        issueDate = invoice.getIssueDate();
         if (sortOrder == null) {
             sortOrder = 0;
         }
+        if (lineTotal == null) {
+            lineTotal = calculateLineTotal();
+        }
     }
     
     public static LineItem create(String description, Integer quantity, Money unitPrice,
@@ -76,6 +85,7 @@ public class LineItem {
         item.discountValue = discountValue != null ? discountValue : Money.zero();
         item.taxRate = taxRate != null ? taxRate : BigDecimal.ZERO;
         item.sortOrder = sortOrder != null ? sortOrder : 0;
+        item.lineTotal = item.calculateLineTotal();
         return item;
     }
     
@@ -114,5 +124,38 @@ public class LineItem {
     public void setInvoice(Invoice invoice) {
         this.invoice = invoice;
     }
+    
+    /**
+     * Applies a partial change to this line item. Null fields are left untouched so that
+     * Hibernate's dirty checking only issues an UPDATE when a value actually changed.
+     */
+    void apply(LineItemChange change) {
+        if (change.getDescription() != null) {
+            this.description = change.getDescription();
+        }
+        if (change.getQuantity() != null) {
+            this.quantity = change.getQuantity();
+        }
+        if (change.getUnitPrice() != null) {
+            this.unitPrice = change.getUnitPrice();
+        }
+        if (change.getDiscountType() != null) {
+            this.discountType = change.getDiscountType();
+        }
+        if (change.getDiscountValue() != null) {
+            this.discountValue = change.getDiscountValue();
+        }
+        if (change.getTaxRate() != null) {
+            this.taxRate = change.getTaxRate();
+        }
+        if (change.getSortOrder() != null) {
+            this.sortOrder = change.getSortOrder();
+        }
+        this.lineTotal = calculateLineTotal();
+    }
+    
+    void assignSortOrder(int sortOrder) {
+        this.sortOrder = sortOrder;
+    }
 }
 
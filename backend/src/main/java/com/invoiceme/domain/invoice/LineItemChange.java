@@ -0,0 +1,28 @@
+package com.invoiceme.domain.invoice;
+
+import com.invoiceme.domain.common.DiscountType;
+import com.invoiceme.domain.common.Money;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/**
+ * Partial update for an existing line item, keyed by line item id.
+ * Null fields mean "keep the current value".
+ */
+@Getter
+@Builder
+@AllArgsConstructor
+public class LineItemChange {
+    private final UUID lineItemId;
+    private final String description;
+    private final Integer quantity;
+    private final Money unitPrice;
+    private final DiscountType discountType;
+    private final Money discountValue;
+    private final BigDecimal taxRate;
+    private final Integer sortOrder;
+}
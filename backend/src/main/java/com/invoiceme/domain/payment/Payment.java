@@ -27,6 +27,10 @@ public class Payment extends AggregateRoot {
     @Column(name = "invoice_id", nullable = false)
     private UUID invoiceId;
     
+    // Completes the (invoice_id, issue_date) reference into the partitioned invoices table
+    @Column(name = "invoice_issue_date", nullable = false, updatable = false)
+    private LocalDate invoiceIssueDate;
+    
     @Column(name = "customer_id", nullable = false)
     private UUID customerId;
     
@@ -34,12 +38,8 @@ public class Payment extends AggregateRoot {
     @AttributeOverride(name = "amount", column = @Column(name = "amount", nullable = false, precision = 19, scale = 2))
     private Money amount;
     
-    @Convert(converter = com.invoiceme.infrastructure.persistence.PaymentMethodConverter.class)
+    @org.hibernate.annotations.Type(com.invoiceme.infrastructure.persistence.PostgreSQLEnumType.class)
     @Column(name = "payment_method", nullable = false, columnDefinition = "payment_method_enum")
-    @org.hibernate.annotations.ColumnTransformer(
-        read = "payment_method::text",
-        write = "?::payment_method_enum"
-    )
     private PaymentMethod paymentMethod;
     
     @Column(name = "payment_date", nullable = false)
@@ -48,12 +48,8 @@ public class Payment extends AggregateRoot {
     @Column(name = "payment_reference", length = 100)
     private String paymentReference;
     
-    @Convert(converter = com.invoiceme.infrastructure.persistence.PaymentStatusConverter.class)
+    @org.hibernate.annotations.Type(com.invoiceme.infrastructure.persistence.PostgreSQLEnumType.class)
     @Column(name = "status", nullable = false, columnDefinition = "payment_status_enum")
-    @org.hibernate.annotations.ColumnTransformer(
-        read = "status::text",
-        write = "?::payment_status_enum"
-    )
     private PaymentStatus status;
     
     @Column(name = "created_by_user_id")
@@ -92,6 +88,7 @@ public class Payment extends AggregateRoot {
         // Create payment entity
         Payment payment = new Payment();
         payment.invoiceId = invoice.getId();
+        payment.invoiceIssueDate = invoice.getIssueDate();
         payment.customerId = customer.getId();
         payment.amount = amount;
         payment.paymentMethod = method;
@@ -100,6 +97,7 @@ public class Payment extends AggregateRoot {
         payment.status = PaymentStatus.COMPLETED;
         
         // Record payment on invoice (updates invoice balance)
+        String previousInvoiceStatus = invoice.getStatus().name();
         invoice.recordPayment(amount);
         
         // Calculate overpayment
@@ -119,7 +117,8 @@ public class Payment extends AggregateRoot {
             method.name(),
             paymentDate,
             remainingBalance.isNegative() ? Money.zero() : remainingBalance,
-            overpaymentAmount
+            overpaymentAmount,
+            previousInvoiceStatus
         ));
         
         return payment;
@@ -130,6 +129,7 @@ public class Payment extends AggregateRoot {
                                        UUID createdByUserId, String reason) {
         Payment refund = new Payment();
         refund.invoiceId = invoice.getId();
+        refund.invoiceIssueDate = invoice.getIssueDate();
         refund.customerId = customer.getId();
         refund.amount = refundAmount; // Store as positive for tracking
         refund.paymentMethod = PaymentMethod.ACH; // Refunds typically via ACH
@@ -0,0 +1,199 @@
+package com.invoiceme.domain.recurring;
+
+import com.invoiceme.domain.common.Frequency;
+import com.invoiceme.domain.common.InvoiceNumber;
+import com.invoiceme.domain.common.PaymentTerms;
+import com.invoiceme.domain.common.TemplateStatus;
+import com.invoiceme.domain.invoice.Invoice;
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+@Entity
+@Table(name = "recurring_invoice_templates")
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class RecurringInvoiceTemplate {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+    
+    @Column(name = "customer_id", nullable = false)
+    private UUID customerId;
+    
+    @Column(name = "template_name", nullable = false, length = 255)
+    private String templateName;
+    
+    @org.hibernate.annotations.Type(com.invoiceme.infrastructure.persistence.PostgreSQLEnumType.class)
+    @Column(name = "frequency", nullable = false, columnDefinition = "frequency_enum")
+    private Frequency frequency;
+    
+    @Column(name = "start_date", nullable = false)
+    private LocalDate startDate;
+    
+    @Column(name = "end_date")
+    private LocalDate endDate;
+    
+    @Column(name = "next_invoice_date", nullable = false)
+    private LocalDate nextInvoiceDate;
+    
+    // Number of billing periods consumed (generated or skipped); the next date is derived from it
+    @Column(name = "periods_elapsed", nullable = false)
+    private Integer periodsElapsed;
+    
+    @org.hibernate.annotations.Type(com.invoiceme.infrastructure.persistence.PostgreSQLEnumType.class)
+    @Column(name = "status", nullable = false, columnDefinition = "template_status_enum")
+    private TemplateStatus status;
+    
+    @org.hibernate.annotations.Type(com.invoiceme.infrastructure.persistence.PostgreSQLEnumType.class)
+    @Column(name = "payment_terms", nullable = false, columnDefinition = "payment_terms_enum")
+    private PaymentTerms paymentTerms;
+    
+    @Column(name = "auto_send", nullable = false)
+    private boolean autoSend;
+    
+    @Column(name = "notes", columnDefinition = "TEXT")
+    private String notes;
+    
+    @Column(name = "created_by_user_id")
+    private UUID createdByUserId;
+    
+    @OneToMany(mappedBy = "template", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
+    @OrderBy("sortOrder ASC")
+    private List<TemplateLineItem> lineItems = new ArrayList<>();
+    
+    @Version
+    @Column(name = "version", nullable = false)
+    private Integer version;
+    
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private Instant createdAt;
+    
+    @Column(name = "updated_at", nullable = false)
+    private Instant updatedAt;
+    
+    @PrePersist
+    protected void onCreate() {
+        createdAt = Instant.now();
+        updatedAt = Instant.now();
+        if (version == null) {
+            version = 1;
+        }
+    }
+    
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = Instant.now();
+    }
+    
+    // Factory method
+    public static RecurringInvoiceTemplate create(UUID customerId, String templateName, Frequency frequency,
+                                                  LocalDate startDate, LocalDate endDate, PaymentTerms paymentTerms,
+                                                  boolean autoSend, String notes, UUID createdByUserId) {
+        if (templateName == null || templateName.isBlank()) {
+            throw new IllegalArgumentException("Template name is required");
+        }
+        if (frequency == null || startDate == null) {
+            throw new IllegalArgumentException("Frequency and start date are required");
+        }
+        if (endDate != null && endDate.isBefore(startDate)) {
+            throw new IllegalArgumentException("End date must not be before start date");
+        }
+        if (paymentTerms == PaymentTerms.CUSTOM) {
+            throw new IllegalArgumentException("Recurring templates support NET_30 or DUE_ON_RECEIPT payment terms");
+        }
+        
+        RecurringInvoiceTemplate template = new RecurringInvoiceTemplate();
+        template.customerId = customerId;
+        template.templateName = templateName;
+        template.frequency = frequency;
+        template.startDate = startDate;
+        template.endDate = endDate;
+        template.nextInvoiceDate = startDate;
+        template.periodsElapsed = 0;
+        template.status = TemplateStatus.ACTIVE;
+        template.paymentTerms = paymentTerms != null ? paymentTerms : PaymentTerms.NET_30;
+        template.autoSend = autoSend;
+        template.notes = notes;
+        template.createdByUserId = createdByUserId;
+        template.version = 1;
+        return template;
+    }
+    
+    // Behavior methods
+    
+    public void addLineItem(TemplateLineItem lineItem) {
+        lineItem.setTemplate(this);
+        lineItems.add(lineItem);
+    }
+    
+    /**
+     * Builds the DRAFT invoice for the current billing date and advances the schedule by one period.
+     * The caller persists both in the same transaction, so a period is never billed twice.
+     */
+    public Invoice generateInvoice(InvoiceNumber invoiceNumber) {
+        if (status != TemplateStatus.ACTIVE) {
+            throw new IllegalStateException("Can only generate invoices from ACTIVE templates. Current status: " + status);
+        }
+        if (lineItems.isEmpty()) {
+            throw new IllegalStateException("Template has no line items: " + id);
+        }
+        
+        LocalDate issueDate = nextInvoiceDate;
+        Invoice invoice = Invoice.create(customerId, invoiceNumber, issueDate, dueDateFor(issueDate), paymentTerms);
+        for (TemplateLineItem item : lineItems) {
+            invoice.addLineItem(item.toLineItem());
+        }
+        if (notes != null) {
+            invoice.updateNotes(notes);
+        }
+        
+        advance();
+        return invoice;
+    }
+    
+    public void pause() {
+        if (status != TemplateStatus.ACTIVE) {
+            throw new IllegalStateException("Can only pause ACTIVE templates. Current status: " + status);
+        }
+        this.status = TemplateStatus.PAUSED;
+    }
+    
+    /**
+     * Reactivates a paused template. Periods that fell due while it was paused are skipped rather than
+     * back-billed.
+     */
+    public void resume(LocalDate today) {
+        if (status != TemplateStatus.PAUSED) {
+            throw new IllegalStateException("Can only resume PAUSED templates. Current status: " + status);
+        }
+        this.status = TemplateStatus.ACTIVE;
+        while (status == TemplateStatus.ACTIVE && nextInvoiceDate.isBefore(today)) {
+            advance();
+        }
+    }
+    
+    private void advance() {
+        periodsElapsed++;
+        nextInvoiceDate = frequency.occurrence(startDate, periodsElapsed);
+        if (endDate != null && nextInvoiceDate.isAfter(endDate)) {
+            status = TemplateStatus.COMPLETED;
+        }
+    }
+    
+    private LocalDate dueDateFor(LocalDate issueDate) {
+        return switch (paymentTerms) {
+            case NET_30 -> issueDate.plusDays(30);
+            case DUE_ON_RECEIPT -> issueDate;
+            case CUSTOM -> throw new IllegalStateException("CUSTOM payment terms are not supported on templates");
+        };
+    }
+}
@@ -0,0 +1,83 @@
+package com.invoiceme.domain.recurring;
+
+import com.invoiceme.domain.common.DiscountType;
+import com.invoiceme.domain.common.Money;
+import com.invoiceme.domain.invoice.LineItem;
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+@Entity
+@Table(name = "template_line_items")
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class TemplateLineItem {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+    
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "template_id", nullable = false)
+    private RecurringInvoiceTemplate template;
+    
+    @Column(name = "description", nullable = false, length = 500)
+    private String description;
+    
+    @Column(name = "quantity", nullable = false)
+    private Integer quantity;
+    
+    @Embedded
+    @AttributeOverride(name = "amount", column = @Column(name = "unit_price", nullable = false, precision = 19, scale = 2))
+    private Money unitPrice;
+    
+    @org.hibernate.annotations.Type(com.invoiceme.infrastructure.persistence.PostgreSQLEnumType.class)
+    @Column(name = "discount_type", nullable = false, columnDefinition = "discount_type_enum")
+    private DiscountType discountType;
+    
+    @Embedded
+    @AttributeOverride(name = "amount", column = @Column(name = "discount_value", nullable = false, precision = 10, scale = 2))
+    private Money discountValue;
+    
+    @Column(name = "tax_rate", nullable = false, precision = 5, scale = 2)
+    private BigDecimal taxRate;
+    
+    @Column(name = "sort_order", nullable = false)
+    private Integer sortOrder;
+    
+    public static TemplateLineItem create(String description, Integer quantity, Money unitPrice,
+                                          DiscountType discountType, Money discountValue,
+                                          BigDecimal taxRate, Integer sortOrder) {
+        if (description == null || description.isBlank()) {
+            throw new IllegalArgumentException("Line item description is required");
+        }
+        if (quantity == null || quantity < 1) {
+            throw new IllegalArgumentException("Line item quantity must be at least 1");
+        }
+        if (unitPrice == null || unitPrice.isNegative()) {
+            throw new IllegalArgumentException("Line item unit price must not be negative");
+        }
+        
+        TemplateLineItem item = new TemplateLineItem();
+        item.description = description;
+        item.quantity = quantity;
+        item.unitPrice = unitPrice;
+        item.discountType = discountType != null ? discountType : DiscountType.NONE;
+        item.discountValue = discountValue != null ? discountValue : Money.zero();
+        item.taxRate = taxRate != null ? taxRate : BigDecimal.ZERO;
+        item.sortOrder = sortOrder != null ? sortOrder : 0;
+        return item;
+    }
+    
+    LineItem toLineItem() {
+        return LineItem.create(description, quantity, unitPrice, discountType, discountValue, taxRate, sortOrder);
+    }
+    
+    void setTemplate(RecurringInvoiceTemplate template) {
+        this.template = template;
+    }
+}
@@ -0,0 +1,100 @@
+package com.invoiceme.infrastructure.analytics;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Compact columns of open invoices (customer index, due date as epoch day, balance in cents) for a single
+ * computation, e.g. the cash forecast. Built either from {@link ReceivablesSnapshot} or by streaming rows
+ * from the database through a {@link Builder}.
+ */
+public final class OpenInvoices {
+    
+    private final int[] customers;
+    private final int[] dueDays;
+    private final long[] balanceCents;
+    private final int size;
+    private final List<UUID> customerIds;
+    
+    private OpenInvoices(int[] customers, int[] dueDays, long[] balanceCents, int size, List<UUID> customerIds) {
+        this.customers = customers;
+        this.dueDays = dueDays;
+        this.balanceCents = balanceCents;
+        this.size = size;
+        this.customerIds = customerIds;
+    }
+    
+    public static Builder builder(int expectedSize) {
+        return new Builder(expectedSize);
+    }
+    
+    public int size() {
+        return size;
+    }
+    
+    public int customer(int row) {
+        return customers[row];
+    }
+    
+    public int dueDay(int row) {
+        return dueDays[row];
+    }
+    
+    public long balanceCents(int row) {
+        return balanceCents[row];
+    }
+    
+    /**
+     * Customer ids by the index {@link #customer} returns.
+     */
+    public List<UUID> customerIds() {
+        return customerIds;
+    }
+    
+    public static final class Builder {
+        
+        private int[] customers;
+        private int[] dueDays;
+        private long[] balanceCents;
+        private int size;
+        private final Map<UUID, Integer> customerIndex = new HashMap<>();
+        private final List<UUID> customerIds = new ArrayList<>();
+        
+        private Builder(int expectedSize) {
+            int capacity = Math.max(16, expectedSize);
+            customers = new int[capacity];
+            dueDays = new int[capacity];
+            balanceCents = new long[capacity];
+        }
+        
+        public Builder add(UUID customerId, LocalDate dueDate, long balance) {
+            return add(customerId, (int) dueDate.toEpochDay(), balance);
+        }
+        
+        public Builder add(UUID customerId, int dueDay, long balance) {
+            if (size == customers.length) {
+                int capacity = customers.length + (customers.length >> 1);
+                customers = Arrays.copyOf(customers, capacity);
+                dueDays = Arrays.copyOf(dueDays, capacity);
+                balanceCents = Arrays.copyOf(balanceCents, capacity);
+            }
+            customers[size] = customerIndex.computeIfAbsent(customerId, id -> {
+                customerIds.add(id);
+                return customerIds.size() - 1;
+            });
+            dueDays[size] = dueDay;
+            balanceCents[size] = balance;
+            size++;
+            return this;
+        }
+        
+        public OpenInvoices build() {
+            return new OpenInvoices(customers, dueDays, balanceCents, size, List.copyOf(customerIds));
+        }
+    }
+}
@@ -0,0 +1,323 @@
+package com.invoiceme.infrastructure.analytics;
+
+import com.invoiceme.domain.common.InvoiceStatus;
+import com.invoiceme.domain.common.Money;
+import com.invoiceme.infrastructure.persistence.ReceivablesRow;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+/**
+ * Invoices stored column-wise in primitive arrays: customer index, issue and due date as epoch days, status
+ * ordinal, balance and total in cents. Queries are parallel scans over fixed-size row ranges, each summing
+ * into its own long[] that is merged at the end; nothing is boxed per row.
+ *
+ * Not thread-safe: {@link ReceivablesSnapshot} guards access.
+ */
+public class ReceivablesColumns {
+    
+    /**
+     * Aging bucket upper bounds in days past due; the last bucket is open-ended.
+     */
+    public static final int[] AGING_BUCKET_LIMITS = {30, 60, 90};
+    
+    private static final InvoiceStatus[] STATUSES = InvoiceStatus.values();
+    private static final byte SENT = (byte) InvoiceStatus.SENT.ordinal();
+    private static final byte OVERDUE = (byte) InvoiceStatus.OVERDUE.ordinal();
+    private static final int SCAN_CHUNK_ROWS = 1 << 16;
+    
+    // Rough per-object sizes for the heap estimate (64-bit JVM)
+    private static final long REFERENCE_BYTES = 8;
+    private static final long UUID_BYTES = 32;
+    private static final long MAP_ENTRY_BYTES = 32 + 16 + REFERENCE_BYTES;
+    private static final long ROW_BYTES = REFERENCE_BYTES + 3 * Integer.BYTES + Byte.BYTES + 2 * Long.BYTES;
+    
+    private UUID[] invoiceIds;
+    private int[] customers;
+    private int[] issueDays;
+    private int[] dueDays;
+    private byte[] statuses;
+    private long[] balanceCents;
+    private long[] totalCents;
+    private int size;
+    
+    private final Map<UUID, Integer> rowsByInvoice = new HashMap<>();
+    private final Map<UUID, Integer> customerIndex = new HashMap<>();
+    private final List<UUID> customerIds = new ArrayList<>();
+    
+    public ReceivablesColumns(int initialCapacity) {
+        int capacity = Math.max(16, initialCapacity);
+        invoiceIds = new UUID[capacity];
+        customers = new int[capacity];
+        issueDays = new int[capacity];
+        dueDays = new int[capacity];
+        statuses = new byte[capacity];
+        balanceCents = new long[capacity];
+        totalCents = new long[capacity];
+    }
+    
+    public int size() {
+        return size;
+    }
+    
+    public boolean contains(UUID invoiceId) {
+        return rowsByInvoice.containsKey(invoiceId);
+    }
+    
+    /**
+     * Adds the invoice or overwrites its existing row.
+     */
+    public void upsert(ReceivablesRow row) {
+        Integer existing = rowsByInvoice.get(row.invoiceId());
+        int index;
+        if (existing != null) {
+            index = existing;
+        } else {
+            ensureCapacity(size + 1);
+            index = size++;
+            invoiceIds[index] = row.invoiceId();
+            rowsByInvoice.put(row.invoiceId(), index);
+        }
+        customers[index] = customerIndex(row.customerId());
+        issueDays[index] = (int) row.issueDate().toEpochDay();
+        dueDays[index] = (int) row.dueDate().toEpochDay();
+        statuses[index] = (byte) row.status().ordinal();
+        balanceCents[index] = row.balanceCents();
+        totalCents[index] = row.totalCents();
+    }
+    
+    /**
+     * Drops the invoice's row by moving the last row into its place.
+     *
+     * @return false if the invoice was not held
+     */
+    public boolean remove(UUID invoiceId) {
+        Integer index = rowsByInvoice.remove(invoiceId);
+        if (index == null) {
+            return false;
+        }
+        int last = --size;
+        if (index != last) {
+            invoiceIds[index] = invoiceIds[last];
+            customers[index] = customers[last];
+            issueDays[index] = issueDays[last];
+            dueDays[index] = dueDays[last];
+            statuses[index] = statuses[last];
+            balanceCents[index] = balanceCents[last];
+            totalCents[index] = totalCents[last];
+            rowsByInvoice.put(invoiceIds[index], index);
+        }
+        invoiceIds[last] = null;
+        return true;
+    }
+    
+    /**
+     * Open invoices (SENT, OVERDUE) by days past due: 0-30, 31-60, 61-90, 90+. Invoices not yet due are not
+     * counted.
+     */
+    public Totals[] aging(LocalDate today) {
+        int todayDay = (int) today.toEpochDay();
+        int buckets = AGING_BUCKET_LIMITS.length + 1;
+        long[] sums = scan(2 * buckets, (row, out) -> {
+            if (!isOpen(statuses[row])) {
+                return;
+            }
+            int daysPastDue = todayDay - dueDays[row];
+            if (daysPastDue < 0) {
+                return;
+            }
+            int bucket = 0;
+            while (bucket < AGING_BUCKET_LIMITS.length && daysPastDue > AGING_BUCKET_LIMITS[bucket]) {
+                bucket++;
+            }
+            out[2 * bucket]++;
+            out[2 * bucket + 1] += balanceCents[row];
+        });
+        Totals[] result = new Totals[buckets];
+        for (int bucket = 0; bucket < buckets; bucket++) {
+            result[bucket] = new Totals(sums[2 * bucket], sums[2 * bucket + 1]);
+        }
+        return result;
+    }
+    
+    /**
+     * Count and balance due per status of the invoices held (open invoices and recently paid ones).
+     */
+    public Map<InvoiceStatus, Totals> statusTotals() {
+        long[] sums = scan(2 * STATUSES.length, (row, out) -> {
+            out[2 * statuses[row]]++;
+            out[2 * statuses[row] + 1] += balanceCents[row];
+        });
+        Map<InvoiceStatus, Totals> result = new EnumMap<>(InvoiceStatus.class);
+        for (InvoiceStatus status : STATUSES) {
+            result.put(status, new Totals(sums[2 * status.ordinal()], sums[2 * status.ordinal() + 1]));
+        }
+        return result;
+    }
+    
+    /**
+     * Open invoice count and balance due per customer; customers with nothing open are absent.
+     */
+    public Map<UUID, Totals> outstandingByCustomer() {
+        int customerCount = customerIds.size();
+        long[] sums = scan(2 * customerCount, (row, out) -> {
+            if (isOpen(statuses[row])) {
+                out[2 * customers[row]]++;
+                out[2 * customers[row] + 1] += balanceCents[row];
+            }
+        });
+        Map<UUID, Totals> result = new HashMap<>();
+        for (int customer = 0; customer < customerCount; customer++) {
+            if (sums[2 * customer] > 0) {
+                result.put(customerIds.get(customer), new Totals(sums[2 * customer], sums[2 * customer + 1]));
+            }
+        }
+        return result;
+    }
+    
+    /**
+     * Open invoices due between today and {@code days} from now, both inclusive.
+     */
+    public Totals dueWithin(LocalDate today, int days) {
+        int from = (int) today.toEpochDay();
+        int to = from + days;
+        long[] sums = scan(2, (row, out) -> {
+            if (isOpen(statuses[row]) && dueDays[row] >= from && dueDays[row] <= to) {
+                out[0]++;
+                out[1] += balanceCents[row];
+            }
+        });
+        return new Totals(sums[0], sums[1]);
+    }
+    
+    /**
+     * Drops the rows of invoices in the status issued before the date.
+     *
+     * @return number of rows dropped
+     */
+    public int removeIssuedBefore(InvoiceStatus status, LocalDate date) {
+        byte wanted = (byte) status.ordinal();
+        int day = (int) date.toEpochDay();
+        int removed = 0;
+        // Backwards: remove() moves the last row, already checked, into the freed slot
+        for (int row = size - 1; row >= 0; row--) {
+            if (statuses[row] == wanted && issueDays[row] < day) {
+                remove(invoiceIds[row]);
+                removed++;
+            }
+        }
+        return removed;
+    }
+    
+    /**
+     * Count and total amount of invoices in the status issued between the dates, both inclusive.
+     */
+    public Totals issuedBetween(InvoiceStatus status, LocalDate from, LocalDate to) {
+        byte wanted = (byte) status.ordinal();
+        int fromDay = (int) from.toEpochDay();
+        int toDay = (int) to.toEpochDay();
+        long[] sums = scan(2, (row, out) -> {
+            if (statuses[row] == wanted && issueDays[row] >= fromDay && issueDays[row] <= toDay) {
+                out[0]++;
+                out[1] += totalCents[row];
+            }
+        });
+        return new Totals(sums[0], sums[1]);
+    }
+    
+    /**
+     * Copies the open invoices (SENT, OVERDUE) out into compact columns.
+     */
+    public OpenInvoices openInvoices() {
+        OpenInvoices.Builder builder = OpenInvoices.builder(size);
+        for (int row = 0; row < size; row++) {
+            if (isOpen(statuses[row]) && balanceCents[row] > 0) {
+                builder.add(customerIds.get(customers[row]), dueDays[row], balanceCents[row]);
+            }
+        }
+        return builder.build();
+    }
+    
+    /**
+     * Estimated heap held: the column arrays at their current capacity plus the invoice and customer lookup
+     * maps.
+     */
+    public long estimatedHeapBytes() {
+        long columns = (long) invoiceIds.length * ROW_BYTES;
+        long invoiceLookup = rowsByInvoice.size() * (MAP_ENTRY_BYTES + UUID_BYTES);
+        long customerLookup = customerIds.size() * (MAP_ENTRY_BYTES + UUID_BYTES + REFERENCE_BYTES);
+        return columns + invoiceLookup + customerLookup;
+    }
+    
+    private static boolean isOpen(byte status) {
+        return status == SENT || status == OVERDUE;
+    }
+    
+    private int customerIndex(UUID customerId) {
+        return customerIndex.computeIfAbsent(customerId, id -> {
+            customerIds.add(id);
+            return customerIds.size() - 1;
+        });
+    }
+    
+    private void ensureCapacity(int required) {
+        if (required <= invoiceIds.length) {
+            return;
+        }
+        int capacity = Math.max(required, invoiceIds.length + (invoiceIds.length >> 1));
+        invoiceIds = Arrays.copyOf(invoiceIds, capacity);
+        customers = Arrays.copyOf(customers, capacity);
+        issueDays = Arrays.copyOf(issueDays, capacity);
+        dueDays = Arrays.copyOf(dueDays, capacity);
+        statuses = Arrays.copyOf(statuses, capacity);
+        balanceCents = Arrays.copyOf(balanceCents, capacity);
+        totalCents = Arrays.copyOf(totalCents, capacity);
+    }
+    
+    private long[] scan(int slots, RowScanner scanner) {
+        int rows = size;
+        int chunks = (rows + SCAN_CHUNK_ROWS - 1) / SCAN_CHUNK_ROWS;
+        return IntStream.range(0, chunks)
+            .parallel()
+            .mapToObj(chunk -> {
+                long[] out = new long[slots];
+                int end = Math.min(rows, (chunk + 1) * SCAN_CHUNK_ROWS);
+                for (int row = chunk * SCAN_CHUNK_ROWS; row < end; row++) {
+                    scanner.accept(row, out);
+                }
+                return out;
+            })
+            .reduce(new long[slots], ReceivablesColumns::sum);
+    }
+    
+    private static long[] sum(long[] a, long[] b) {
+        long[] result = new long[a.length];
+        for (int i = 0; i < a.length; i++) {
+            result[i] = a[i] + b[i];
+        }
+        return result;
+    }
+    
+    @FunctionalInterface
+    private interface RowScanner {
+        void accept(int row, long[] out);
+    }
+    
+    /**
+     * Invoice count and an amount in cents.
+     */
+    public record Totals(long count, long cents) {
+        
+        public Money amount() {
+            return Money.of(BigDecimal.valueOf(cents, 2));
+        }
+    }
+}
@@ -0,0 +1,235 @@
+package com.invoiceme.infrastructure.analytics;
+
+import com.invoiceme.domain.common.InvoiceStatus;
+import com.invoiceme.infrastructure.persistence.ReceivablesRow;
+import com.invoiceme.infrastructure.persistence.ReceivablesRowRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+
+/**
+ * Optional in-process copy of the receivables the dashboard aggregates: every open invoice (SENT, OVERDUE)
+ * plus PAID invoices issued this month, held in {@link ReceivablesColumns}. When ready, the aging report and
+ * dashboard metrics are computed from it instead of PostgreSQL.
+ *
+ * Loaded at startup by one streaming scan, then kept current by {@link #refresh}: ReceivablesSnapshotListener
+ * passes the invoices each committed domain event touched, and their rows are re-read from the database. The
+ * listener also sends those invoice ids to the other nodes over the cache invalidation bus, so every node's
+ * snapshot follows writes made anywhere.
+ * Refreshes are serialized, so a later refresh always applies a later committed state; invoices touched while
+ * a scan runs are refreshed again once it has been swapped in. The first refresh of a new month drops the
+ * previous month's PAID invoices, so a long-running node holds one month of them, not every month since
+ * startup.
+ *
+ * Disabled by default (app.analytics.receivables-snapshot.enabled); size the heap for about 200 bytes per
+ * held invoice (see the analytics.receivables.heap gauge).
+ */
+@Component
+@Slf4j
+public class ReceivablesSnapshot {
+    
+    private final ReceivablesRowRepository rowRepository;
+    private final TransactionTemplate loadTransaction;
+    private final boolean enabled;
+    private final int fetchSize;
+    private final int initialCapacity;
+    
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Object refreshMutex = new Object();
+    private final Set<UUID> touchedWhileLoading = ConcurrentHashMap.newKeySet();
+    
+    private volatile ReceivablesColumns columns = new ReceivablesColumns(0);
+    // Earliest issue date of the PAID invoices held; guarded by the write lock
+    private LocalDate heldPaidFrom = paidIssuedFrom();
+    private volatile boolean loading;
+    private volatile boolean ready;
+    
+    public ReceivablesSnapshot(
+            ReceivablesRowRepository rowRepository,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${app.analytics.receivables-snapshot.enabled:false}") boolean enabled,
+            @Value("${app.analytics.receivables-snapshot.fetch-size:10000}") int fetchSize,
+            @Value("${app.analytics.receivables-snapshot.initial-capacity:100000}") int initialCapacity) {
+        this.rowRepository = rowRepository;
+        this.loadTransaction = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.fetchSize = fetchSize;
+        this.initialCapacity = initialCapacity;
+        
+        Gauge.builder("analytics.receivables.ready", this, s -> s.ready ? 1 : 0).register(meterRegistry);
+        Gauge.builder("analytics.receivables.rows", this, s -> s.read(ReceivablesColumns::size)).register(meterRegistry);
+        Gauge.builder("analytics.receivables.heap", this, s -> s.read(ReceivablesColumns::estimatedHeapBytes))
+            .baseUnit("bytes")
+            .register(meterRegistry);
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        if (!enabled) {
+            return;
+        }
+        Thread loader = new Thread(() -> {
+            try {
+                load();
+            } catch (RuntimeException e) {
+                log.error("Loading the receivables snapshot failed; dashboard queries stay on the database", e);
+            }
+        }, "receivables-snapshot-load");
+        loader.setDaemon(true);
+        loader.start();
+    }
+    
+    public boolean isEnabled() {
+        return enabled;
+    }
+    
+    public boolean isReady() {
+        return ready;
+    }
+    
+    /**
+     * Replaces the snapshot with a fresh scan of the database. Queries keep using the previous contents (or
+     * the database, on first load) until the scan completes.
+     */
+    public void load() {
+        long startedAt = System.currentTimeMillis();
+        loading = true;
+        try {
+            ReceivablesColumns loaded = new ReceivablesColumns(initialCapacity);
+            LocalDate paidIssuedFrom = paidIssuedFrom();
+            // Not read-only: read from the primary, whose state the event-driven refreshes also see
+            loadTransaction.executeWithoutResult(status ->
+                rowRepository.streamOpenAndRecentlyPaid(paidIssuedFrom, fetchSize, loaded::upsert));
+            
+            lock.writeLock().lock();
+            try {
+                columns = loaded;
+                heldPaidFrom = paidIssuedFrom;
+                ready = true;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            log.info("Loaded receivables snapshot: {} invoices, ~{} MB heap, {} ms",
+                loaded.size(), loaded.estimatedHeapBytes() / (1024 * 1024), System.currentTimeMillis() - startedAt);
+        } finally {
+            loading = false;
+        }
+        
+        Set<UUID> touched = new HashSet<>(touchedWhileLoading);
+        touchedWhileLoading.removeAll(touched);
+        refresh(touched);
+    }
+    
+    /**
+     * Re-reads the invoices from the database and updates, adds or drops their rows.
+     */
+    public void refresh(Collection<UUID> invoiceIds) {
+        if (invoiceIds.isEmpty()) {
+            return;
+        }
+        if (loading) {
+            // The scan may predate these changes; refreshed again once it has been swapped in
+            touchedWhileLoading.addAll(invoiceIds);
+        }
+        if (!ready) {
+            return;
+        }
+        
+        synchronized (refreshMutex) {
+            List<ReceivablesRow> rows = rowRepository.findByInvoiceIds(invoiceIds);
+            LocalDate paidIssuedFrom = paidIssuedFrom();
+            Set<UUID> found = new HashSet<>();
+            
+            lock.writeLock().lock();
+            try {
+                if (paidIssuedFrom.isAfter(heldPaidFrom)) {
+                    int dropped = columns.removeIssuedBefore(InvoiceStatus.PAID, paidIssuedFrom);
+                    heldPaidFrom = paidIssuedFrom;
+                    log.info("Dropped {} PAID invoices issued before {} from the receivables snapshot",
+                        dropped, paidIssuedFrom);
+                }
+                for (ReceivablesRow row : rows) {
+                    found.add(row.invoiceId());
+                    if (isHeld(row, paidIssuedFrom)) {
+                        columns.upsert(row);
+                    } else {
+                        columns.remove(row.invoiceId());
+                    }
+                }
+                for (UUID invoiceId : invoiceIds) {
+                    if (!found.contains(invoiceId)) {
+                        columns.remove(invoiceId);
+                    }
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+    
+    public ReceivablesColumns.Totals[] aging(LocalDate today) {
+        return read(c -> c.aging(today));
+    }
+    
+    public Map<InvoiceStatus, ReceivablesColumns.Totals> statusTotals() {
+        return read(ReceivablesColumns::statusTotals);
+    }
+    
+    public Map<UUID, ReceivablesColumns.Totals> outstandingByCustomer() {
+        return read(ReceivablesColumns::outstandingByCustomer);
+    }
+    
+    public ReceivablesColumns.Totals dueWithin(LocalDate today, int days) {
+        return read(c -> c.dueWithin(today, days));
+    }
+    
+    public OpenInvoices openInvoices() {
+        return read(ReceivablesColumns::openInvoices);
+    }
+    
+    /**
+     * Only covers PAID invoices issued this month or later.
+     */
+    public ReceivablesColumns.Totals issuedBetween(InvoiceStatus status, LocalDate from, LocalDate to) {
+        return read(c -> c.issuedBetween(status, from, to));
+    }
+    
+    private <T> T read(Function<ReceivablesColumns, T> query) {
+        lock.readLock().lock();
+        try {
+            return query.apply(columns);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    private static LocalDate paidIssuedFrom() {
+        return LocalDate.now().withDayOfMonth(1);
+    }
+    
+    private static boolean isHeld(ReceivablesRow row, LocalDate paidIssuedFrom) {
+        return switch (row.status()) {
+            case SENT, OVERDUE -> true;
+            case PAID -> !row.issueDate().isBefore(paidIssuedFrom);
+            default -> false;
+        };
+    }
+}
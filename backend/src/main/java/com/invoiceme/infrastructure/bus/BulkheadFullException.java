@@ -0,0 +1,11 @@
+package com.invoiceme.infrastructure.bus;
+
+/**
+ * Thrown when a message type's concurrency limit is reached and no slot frees up within the wait time.
+ */
+public class BulkheadFullException extends RuntimeException {
+    
+    public BulkheadFullException(String messageName, int limit) {
+        super("Too many concurrent " + messageName + " requests (limit " + limit + "). Please retry shortly.");
+    }
+}
@@ -0,0 +1,63 @@
+package com.invoiceme.infrastructure.bus;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Caps concurrent dispatches per message type (app.bus.bulkheads), so expensive reports cannot take
+ * every pooled connection away from payment writes. Waits up to app.bus.bulkhead-wait-ms for a slot.
+ */
+@Component
+@Order(300)
+@RequiredArgsConstructor
+public class BulkheadMiddleware implements BusMiddleware {
+    
+    private final BusProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Semaphore> semaphores = new ConcurrentHashMap<>();
+    
+    @Override
+    public Object invoke(Dispatch dispatch, Next next) {
+        Integer limit = properties.getBulkheads().get(dispatch.name());
+        if (limit == null || limit <= 0) {
+            return next.proceed();
+        }
+        
+        Semaphore semaphore = semaphores.computeIfAbsent(dispatch.name(), name -> createSemaphore(name, limit));
+        boolean acquired;
+        try {
+            acquired = semaphore.tryAcquire(properties.getBulkheadWaitMs(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new BulkheadFullException(dispatch.name(), limit);
+        }
+        if (!acquired) {
+            throw new BulkheadFullException(dispatch.name(), limit);
+        }
+        
+        try {
+            return next.proceed();
+        } finally {
+            semaphore.release();
+        }
+    }
+    
+    private Semaphore createSemaphore(String name, int limit) {
+        Semaphore semaphore = new Semaphore(limit, true);
+        Gauge.builder("invoiceme.bus.bulkhead.available", semaphore, Semaphore::availablePermits)
+            .tag("message", name)
+            .register(meterRegistry);
+        Gauge.builder("invoiceme.bus.bulkhead.waiting", semaphore, Semaphore::getQueueLength)
+            .tag("message", name)
+            .register(meterRegistry);
+        return semaphore;
+    }
+}
@@ -0,0 +1,15 @@
+package com.invoiceme.infrastructure.bus;
+
+/**
+ * One step of the dispatch pipeline. Implementations are Spring beans ordered with @Order;
+ * lower values wrap higher ones.
+ */
+public interface BusMiddleware {
+    
+    Object invoke(Dispatch dispatch, Next next);
+    
+    @FunctionalInterface
+    interface Next {
+        Object proceed();
+    }
+}
@@ -0,0 +1,42 @@
+package com.invoiceme.infrastructure.bus;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * app.bus.* settings for the message bus middleware.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.bus")
+public class BusProperties {
+    
+    /**
+     * Max concurrent dispatches per message simple name (e.g. GetAgingReportQuery: 1). Unlisted: unlimited.
+     */
+    private Map<String, Integer> bulkheads = new HashMap<>();
+    
+    /**
+     * How long a dispatch waits for a bulkhead slot before failing with 503.
+     */
+    private long bulkheadWaitMs = 2000;
+    
+    /**
+     * Attempts (including the first) for RetryOnConflict commands hitting optimistic-lock conflicts.
+     */
+    private int conflictMaxAttempts = 5;
+    
+    /**
+     * Backoff before the first conflict retry; doubles on each further attempt (with jitter).
+     */
+    private long conflictBackoffMs = 20;
+    
+    /**
+     * Upper bound for a single conflict backoff.
+     */
+    private long conflictMaxBackoffMs = 500;
+}
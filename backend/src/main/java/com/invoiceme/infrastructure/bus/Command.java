@@ -0,0 +1,7 @@
+package com.invoiceme.infrastructure.bus;
+
+/**
+ * A message that changes state. Dispatched inside a read-write transaction.
+ */
+public interface Command<R> extends Message<R> {
+}
@@ -0,0 +1,8 @@
+package com.invoiceme.infrastructure.bus;
+
+/**
+ * Marks a query whose concurrent identical dispatches (by equals/hashCode) share one execution.
+ * Only for queries whose results are plain DTOs, safe to hand to several threads.
+ */
+public interface DeduplicateInFlight {
+}
@@ -0,0 +1,50 @@
+package com.invoiceme.infrastructure.bus;
+
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Coalesces concurrent identical {@link DeduplicateInFlight} messages: the first dispatch runs, the
+ * others wait for and share its result. Runs before the bulkhead so duplicates don't consume slots.
+ */
+@Component
+@Order(200)
+public class DeduplicationMiddleware implements BusMiddleware {
+    
+    private final ConcurrentHashMap<Message<?>, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    
+    @Override
+    public Object invoke(Dispatch dispatch, Next next) {
+        if (!(dispatch.message() instanceof DeduplicateInFlight)) {
+            return next.proceed();
+        }
+        
+        CompletableFuture<Object> mine = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlight.putIfAbsent(dispatch.message(), mine);
+        if (existing != null) {
+            try {
+                return existing.join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException runtimeException) {
+                    throw runtimeException;
+                }
+                throw e;
+            }
+        }
+        
+        try {
+            Object result = next.proceed();
+            mine.complete(result);
+            return result;
+        } catch (RuntimeException e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(dispatch.message(), mine);
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.invoiceme.infrastructure.bus;
+
+/**
+ * A message on its way through the pipeline, with the name used for metrics and limits
+ * (the message's simple class name, e.g. RecordPaymentCommand).
+ */
+public record Dispatch(Message<?> message, String name, String handlerName) {
+    
+    public boolean isCommand() {
+        return message instanceof Command<?>;
+    }
+    
+    public String kind() {
+        return isCommand() ? "command" : "query";
+    }
+}
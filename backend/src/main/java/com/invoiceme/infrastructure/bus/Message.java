@@ -0,0 +1,7 @@
+package com.invoiceme.infrastructure.bus;
+
+/**
+ * A request dispatched through the {@link MessageBus}. R is the result type returned by its handler.
+ */
+public interface Message<R> {
+}
@@ -0,0 +1,102 @@
+package com.invoiceme.infrastructure.bus;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.context.ApplicationContext;
+import org.springframework.core.annotation.AnnotationAwareOrderComparator;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * In-process dispatcher for {@link Command}s and {@link Query}s.
+ *
+ * Handlers are discovered at startup: any com.invoiceme bean whose class name ends in "Handler" and has a
+ * public {@code handle(X)} method where X is a Message. Each dispatch passes through the
+ * {@link BusMiddleware} beans in @Order before reaching the handler (invoked through its Spring proxy,
+ * so the handler's own @Transactional still applies).
+ */
+@Component
+@Slf4j
+public class MessageBus implements SmartInitializingSingleton {
+    
+    private final ApplicationContext applicationContext;
+    private final List<BusMiddleware> middleware;
+    private final Map<Class<?>, HandlerRef> handlers = new HashMap<>();
+    
+    public MessageBus(ApplicationContext applicationContext, List<BusMiddleware> middleware) {
+        this.applicationContext = applicationContext;
+        this.middleware = new ArrayList<>(middleware);
+        AnnotationAwareOrderComparator.sort(this.middleware);
+    }
+    
+    @Override
+    public void afterSingletonsInstantiated() {
+        for (String beanName : applicationContext.getBeanDefinitionNames()) {
+            Class<?> type = applicationContext.getType(beanName);
+            if (type == null) {
+                continue;
+            }
+            Class<?> userClass = ClassUtils.getUserClass(type);
+            if (!userClass.getName().startsWith("com.invoiceme.") || !userClass.getSimpleName().endsWith("Handler")) {
+                continue;
+            }
+            
+            for (Method method : userClass.getMethods()) {
+                if (method.getName().equals("handle")
+                        && method.getParameterCount() == 1
+                        && Message.class.isAssignableFrom(method.getParameterTypes()[0])
+                        && !Modifier.isStatic(method.getModifiers())) {
+                    Class<?> messageType = method.getParameterTypes()[0];
+                    HandlerRef previous = handlers.put(messageType, new HandlerRef(beanName, method, userClass.getSimpleName()));
+                    if (previous != null) {
+                        throw new IllegalStateException("Two handlers for " + messageType.getName() + ": "
+                            + previous.handlerName() + " and " + userClass.getSimpleName());
+                    }
+                }
+            }
+        }
+        log.info("Message bus registered {} handlers through {} middleware", handlers.size(), middleware.size());
+    }
+    
+    @SuppressWarnings("unchecked")
+    public <R> R dispatch(Message<R> message) {
+        HandlerRef handler = handlers.get(message.getClass());
+        if (handler == null) {
+            throw new IllegalStateException("No handler registered for " + message.getClass().getName());
+        }
+        
+        Dispatch dispatch = new Dispatch(message, message.getClass().getSimpleName(), handler.handlerName());
+        return (R) invoke(dispatch, handler, 0);
+    }
+    
+    private Object invoke(Dispatch dispatch, HandlerRef handler, int index) {
+        if (index == middleware.size()) {
+            return invokeHandler(handler, dispatch.message());
+        }
+        return middleware.get(index).invoke(dispatch, () -> invoke(dispatch, handler, index + 1));
+    }
+    
+    private Object invokeHandler(HandlerRef handler, Message<?> message) {
+        Object bean = applicationContext.getBean(handler.beanName());
+        try {
+            return handler.method().invoke(bean, message);
+        } catch (InvocationTargetException e) {
+            ReflectionUtils.rethrowRuntimeException(e.getTargetException());
+            throw new IllegalStateException(e.getTargetException());
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+    
+    private record HandlerRef(String beanName, Method method, String handlerName) {
+    }
+}
@@ -0,0 +1,105 @@
+package com.invoiceme.infrastructure.bus;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Replays {@link RetryOnConflict} commands after an optimistic-lock conflict. Sits outside the
+ * transaction step, so every attempt runs in a fresh transaction and reloads its aggregates.
+ *
+ * Attempts back off exponentially from app.bus.conflict-backoff-ms up to conflict-max-backoff-ms, with
+ * half of each delay randomised so writers that collided once don't collide again in lockstep.
+ *
+ * Metrics: invoiceme.bus.conflicts{message, aggregate, outcome=retried|exhausted} counts conflicts by the
+ * entity whose version check failed; invoiceme.bus.attempts{message} records attempts per dispatch, so
+ * conflicts / attempts count gives the conflict rate.
+ */
+@Component
+@Order(400)
+@Slf4j
+@RequiredArgsConstructor
+public class OptimisticLockRetryMiddleware implements BusMiddleware {
+    
+    private final BusProperties properties;
+    private final MeterRegistry meterRegistry;
+    
+    @Override
+    public Object invoke(Dispatch dispatch, Next next) {
+        if (!(dispatch.message() instanceof RetryOnConflict)) {
+            return next.proceed();
+        }
+        
+        int maxAttempts = Math.max(1, properties.getConflictMaxAttempts());
+        for (int attempt = 1; ; attempt++) {
+            try {
+                Object result = next.proceed();
+                recordAttempts(dispatch, attempt);
+                return result;
+            } catch (OptimisticLockingFailureException e) {
+                String aggregate = aggregateType(e);
+                if (attempt >= maxAttempts) {
+                    recordConflict(dispatch, aggregate, "exhausted");
+                    recordAttempts(dispatch, attempt);
+                    log.warn("{} still conflicting on {} after {} attempts", dispatch.name(), aggregate, attempt);
+                    throw e;
+                }
+                recordConflict(dispatch, aggregate, "retried");
+                long delay = backoff(attempt);
+                log.debug("{} hit a version conflict on {} (attempt {}/{}), retrying in {} ms",
+                    dispatch.name(), aggregate, attempt, maxAttempts, delay);
+                pause(delay);
+            }
+        }
+    }
+    
+    long backoff(int attempt) {
+        long base = Math.max(1, properties.getConflictBackoffMs());
+        long cap = Math.max(base, properties.getConflictMaxBackoffMs());
+        long ceiling = Math.min(cap, base << Math.min(attempt - 1, 20));
+        long half = ceiling / 2;
+        return half + ThreadLocalRandom.current().nextLong(ceiling - half + 1);
+    }
+    
+    private String aggregateType(OptimisticLockingFailureException e) {
+        if (e instanceof ObjectOptimisticLockingFailureException objectFailure
+                && objectFailure.getPersistentClassName() != null) {
+            String className = objectFailure.getPersistentClassName();
+            return className.substring(className.lastIndexOf('.') + 1);
+        }
+        return "unknown";
+    }
+    
+    private void recordConflict(Dispatch dispatch, String aggregate, String outcome) {
+        Counter.builder("invoiceme.bus.conflicts")
+            .tag("message", dispatch.name())
+            .tag("aggregate", aggregate)
+            .tag("outcome", outcome)
+            .register(meterRegistry)
+            .increment();
+    }
+    
+    private void recordAttempts(Dispatch dispatch, int attempts) {
+        DistributionSummary.builder("invoiceme.bus.attempts")
+            .tag("message", dispatch.name())
+            .register(meterRegistry)
+            .record(attempts);
+    }
+    
+    private void pause(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while retrying after a version conflict", e);
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package com.invoiceme.infrastructure.bus;
+
+/**
+ * A message that only reads state. Query handlers declare their own read-only transactions.
+ */
+public interface Query<R> extends Message<R> {
+}
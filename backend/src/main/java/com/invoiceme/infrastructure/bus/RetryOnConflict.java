@@ -0,0 +1,8 @@
+package com.invoiceme.infrastructure.bus;
+
+/**
+ * Marks a command that can be replayed from scratch after an optimistic-lock conflict: it carries no
+ * client-supplied version and its handler reloads every aggregate it touches.
+ */
+public interface RetryOnConflict {
+}
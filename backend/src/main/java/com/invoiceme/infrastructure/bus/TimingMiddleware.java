@@ -0,0 +1,39 @@
+package com.invoiceme.infrastructure.bus;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * Outermost step: records invoiceme.bus.dispatch per message, including time spent waiting for a
+ * bulkhead slot and in conflict retries. The timer count doubles as per-message throughput.
+ */
+@Component
+@Order(100)
+@RequiredArgsConstructor
+public class TimingMiddleware implements BusMiddleware {
+    
+    private final MeterRegistry meterRegistry;
+    
+    @Override
+    public Object invoke(Dispatch dispatch, Next next) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "success";
+        
+        try {
+            return next.proceed();
+        } catch (RuntimeException e) {
+            outcome = e instanceof BulkheadFullException ? "rejected" : "error";
+            throw e;
+        } finally {
+            sample.stop(Timer.builder("invoiceme.bus.dispatch")
+                .tag("message", dispatch.name())
+                .tag("kind", dispatch.kind())
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry));
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.invoiceme.infrastructure.bus;
+
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Innermost step: runs each command attempt in its own read-write transaction, so conflicts surface
+ * at commit inside the retry step. Queries pass straight through; their handlers declare read-only
+ * transactions (or none, when served from the dashboard cache) themselves.
+ */
+@Component
+@Order(500)
+public class TransactionMiddleware implements BusMiddleware {
+    
+    private final TransactionTemplate transactionTemplate;
+    
+    public TransactionMiddleware(PlatformTransactionManager transactionManager) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+    
+    @Override
+    public Object invoke(Dispatch dispatch, Next next) {
+        if (!dispatch.isCommand()) {
+            return next.proceed();
+        }
+        return transactionTemplate.execute(status -> next.proceed());
+    }
+}
@@ -0,0 +1,271 @@
+package com.invoiceme.infrastructure.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Propagates cache invalidations to every application node through PostgreSQL LISTEN/NOTIFY.
+ *
+ * Local code publishes a scope, either a bare name ("dashboard") or a name with an argument
+ * ({@code "l2-customer:<id>"}); scopes are de-duplicated and flushed as a single NOTIFY per flush interval.
+ * Each node keeps one dedicated, unpooled LISTEN connection to the primary, drains notifications in batches,
+ * drops its own messages and runs each subscribed scope handler once per batch.
+ * Payload format: {@code <nodeId>|<scope>,<scope>,...}
+ */
+@Component
+@Slf4j
+public class CacheInvalidationBus {
+    
+    static final String CHANNEL = "invoiceme_cache_invalidation";
+    
+    // NOTIFY payloads must stay below 8000 bytes
+    private static final int MAX_PAYLOAD_LENGTH = 7000;
+    
+    private final JdbcTemplate jdbcTemplate;
+    private final DataSourceProperties dataSourceProperties;
+    private final String nodeId = UUID.randomUUID().toString();
+    private final Set<String> pendingScopes = ConcurrentHashMap.newKeySet();
+    private final Map<String, List<Consumer<String>>> subscribers = new ConcurrentHashMap<>();
+    
+    private final boolean enabled;
+    private final long flushIntervalMs;
+    private final long pollTimeoutMs;
+    
+    private final Counter published;
+    private final Counter received;
+    private final Counter applied;
+    
+    private ScheduledExecutorService flushScheduler;
+    private Thread listenerThread;
+    private volatile boolean running;
+    
+    public CacheInvalidationBus(
+            JdbcTemplate jdbcTemplate,
+            DataSourceProperties dataSourceProperties,
+            MeterRegistry meterRegistry,
+            @Value("${app.cache.invalidation.enabled:true}") boolean enabled,
+            @Value("${app.cache.invalidation.flush-interval-ms:200}") long flushIntervalMs,
+            @Value("${app.cache.invalidation.poll-timeout-ms:500}") long pollTimeoutMs) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.dataSourceProperties = dataSourceProperties;
+        this.enabled = enabled;
+        this.flushIntervalMs = flushIntervalMs;
+        this.pollTimeoutMs = pollTimeoutMs;
+        this.published = Counter.builder("cache.invalidation.messages").tag("direction", "published")
+            .register(meterRegistry);
+        this.received = Counter.builder("cache.invalidation.messages").tag("direction", "received")
+            .register(meterRegistry);
+        this.applied = Counter.builder("cache.invalidation.scopes.applied").register(meterRegistry);
+    }
+    
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            log.info("Cross-node cache invalidation disabled");
+            return;
+        }
+        
+        running = true;
+        flushScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "cache-invalidation-flush");
+            thread.setDaemon(true);
+            return thread;
+        });
+        flushScheduler.scheduleWithFixedDelay(this::flush, flushIntervalMs, flushIntervalMs, TimeUnit.MILLISECONDS);
+        
+        listenerThread = new Thread(this::listenLoop, "cache-invalidation-listen");
+        listenerThread.setDaemon(true);
+        listenerThread.start();
+        log.info("Cross-node cache invalidation started (node {})", nodeId);
+    }
+    
+    @PreDestroy
+    public void stop() {
+        running = false;
+        if (flushScheduler != null) {
+            flush();
+            flushScheduler.shutdownNow();
+        }
+        if (listenerThread != null) {
+            listenerThread.interrupt();
+        }
+    }
+    
+    /**
+     * Registers a handler run on this node whenever another node publishes the scope.
+     */
+    public void subscribe(String scope, Runnable handler) {
+        subscribe(scope, argument -> handler.run());
+    }
+    
+    /**
+     * Registers a handler for "name:argument" scopes. The handler receives the argument, or null when
+     * everything under the name must be invalidated (bare name published, or messages may have been missed).
+     */
+    public void subscribe(String name, Consumer<String> handler) {
+        subscribers.computeIfAbsent(name, key -> new CopyOnWriteArrayList<>()).add(handler);
+    }
+    
+    /**
+     * Queues an invalidation for the other nodes. The local node is expected to have invalidated already.
+     */
+    public void publish(String scope) {
+        if (enabled) {
+            pendingScopes.add(scope);
+        }
+    }
+    
+    public String getNodeId() {
+        return nodeId;
+    }
+    
+    void flush() {
+        if (pendingScopes.isEmpty()) {
+            return;
+        }
+        
+        List<String> scopes = new ArrayList<>();
+        for (String scope : pendingScopes) {
+            if (pendingScopes.remove(scope)) {
+                scopes.add(scope);
+            }
+        }
+        
+        try {
+            for (String payload : toPayloads(scopes)) {
+                jdbcTemplate.queryForObject("SELECT pg_notify(?, ?)::text", String.class, CHANNEL, payload);
+                published.increment();
+            }
+        } catch (Exception e) {
+            // Re-queue so the next flush retries; other nodes fall back to TTL expiry meanwhile
+            pendingScopes.addAll(scopes);
+            log.warn("Failed to publish cache invalidation: {}", e.getMessage());
+        }
+    }
+    
+    private List<String> toPayloads(List<String> scopes) {
+        List<String> payloads = new ArrayList<>();
+        StringBuilder current = new StringBuilder(nodeId).append('|');
+        int emptyLength = current.length();
+        
+        for (String scope : scopes) {
+            if (current.length() > emptyLength && current.length() + scope.length() + 1 > MAX_PAYLOAD_LENGTH) {
+                payloads.add(current.toString());
+                current = new StringBuilder(nodeId).append('|');
+            }
+            if (current.length() > emptyLength) {
+                current.append(',');
+            }
+            current.append(scope);
+        }
+        payloads.add(current.toString());
+        return payloads;
+    }
+    
+    private void listenLoop() {
+        while (running) {
+            try (Connection connection = openListenConnection()) {
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications((int) pollTimeoutMs);
+                    if (notifications != null && notifications.length > 0) {
+                        dispatch(notifications);
+                    }
+                }
+            } catch (SQLException e) {
+                if (!running) {
+                    return;
+                }
+                log.warn("Cache invalidation LISTEN connection lost, reconnecting: {}", e.getMessage());
+                // Anything published while disconnected was missed - invalidate everything locally
+                dispatchScopes(subscribers.keySet());
+                sleepBeforeReconnect();
+            }
+        }
+    }
+    
+    private Connection openListenConnection() throws SQLException {
+        Connection connection = DriverManager.getConnection(
+            dataSourceProperties.determineUrl(),
+            dataSourceProperties.determineUsername(),
+            dataSourceProperties.determinePassword()
+        );
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("LISTEN " + CHANNEL);
+        }
+        return connection;
+    }
+    
+    private void dispatch(PGNotification[] notifications) {
+        Set<String> scopes = new LinkedHashSet<>();
+        
+        for (PGNotification notification : notifications) {
+            received.increment();
+            String payload = notification.getParameter();
+            int separator = payload.indexOf('|');
+            if (separator < 0 || payload.substring(0, separator).equals(nodeId)) {
+                continue;
+            }
+            for (String scope : payload.substring(separator + 1).split(",")) {
+                if (!scope.isEmpty()) {
+                    scopes.add(scope);
+                }
+            }
+        }
+        
+        dispatchScopes(scopes);
+    }
+    
+    private void dispatchScopes(Set<String> scopes) {
+        for (String scope : scopes) {
+            int separator = scope.indexOf(':');
+            String name = separator < 0 ? scope : scope.substring(0, separator);
+            String argument = separator < 0 ? null : scope.substring(separator + 1);
+            
+            for (Consumer<String> handler : subscribers.getOrDefault(name, List.of())) {
+                try {
+                    handler.accept(argument);
+                    applied.increment();
+                } catch (Exception e) {
+                    log.error("Cache invalidation handler for scope {} failed", scope, e);
+                }
+            }
+        }
+    }
+    
+    private void sleepBeforeReconnect() {
+        try {
+            Thread.sleep(1000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            running = false;
+        }
+    }
+}
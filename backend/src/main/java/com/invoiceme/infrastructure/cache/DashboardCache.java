@@ -0,0 +1,227 @@
+package com.invoiceme.infrastructure.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Stale-while-revalidate cache for dashboard query results.
+ *
+ * - A fresh entry is returned as-is.
+ * - A stale entry (invalidated, or older than fresh-for) is returned immediately while exactly one
+ *   background recomputation runs for that key.
+ * - A missing entry (or one older than max-stale) is computed once; concurrent callers wait on the same load.
+ *
+ * Invalidations are coalesced: every call inside the invalidation window results in a single generation bump.
+ * Loaders run in a read-only transaction so they are eligible for replica routing.
+ */
+@Component
+@Slf4j
+public class DashboardCache {
+    
+    private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final AtomicLong generation = new AtomicLong();
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+    
+    private final TransactionTemplate readOnlyTransaction;
+    private final Duration freshFor;
+    private final Duration maxStale;
+    private final long invalidationWindowMs;
+    private final ExecutorService refreshExecutor;
+    private final ScheduledExecutorService invalidationScheduler;
+    
+    private final Counter hits;
+    private final Counter staleHits;
+    private final Counter misses;
+    private final Counter invalidationsRequested;
+    private final Counter invalidationsApplied;
+    private final Timer recomputeTimer;
+    
+    public DashboardCache(
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${app.dashboard-cache.fresh-for:60s}") Duration freshFor,
+            @Value("${app.dashboard-cache.max-stale:10m}") Duration maxStale,
+            @Value("${app.dashboard-cache.invalidation-window-ms:2000}") long invalidationWindowMs) {
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.freshFor = freshFor;
+        this.maxStale = maxStale;
+        this.invalidationWindowMs = invalidationWindowMs;
+        this.refreshExecutor = Executors.newFixedThreadPool(2, daemonThreads("dashboard-refresh-"));
+        this.invalidationScheduler = Executors.newSingleThreadScheduledExecutor(daemonThreads("dashboard-invalidate-"));
+        
+        this.hits = Counter.builder("dashboard.cache.requests").tag("result", "hit").register(meterRegistry);
+        this.staleHits = Counter.builder("dashboard.cache.requests").tag("result", "stale").register(meterRegistry);
+        this.misses = Counter.builder("dashboard.cache.requests").tag("result", "miss").register(meterRegistry);
+        this.invalidationsRequested = Counter.builder("dashboard.cache.invalidations")
+            .tag("phase", "requested").register(meterRegistry);
+        this.invalidationsApplied = Counter.builder("dashboard.cache.invalidations")
+            .tag("phase", "applied").register(meterRegistry);
+        this.recomputeTimer = Timer.builder("dashboard.cache.recompute").register(meterRegistry);
+        Gauge.builder("dashboard.cache.size", entries, ConcurrentHashMap::size).register(meterRegistry);
+    }
+    
+    @SuppressWarnings("unchecked")
+    public <T> T get(String key, Supplier<T> loader) {
+        Entry entry = entries.get(key);
+        long now = System.currentTimeMillis();
+        
+        if (entry != null) {
+            long age = now - entry.computedAt;
+            boolean current = entry.generation == generation.get();
+            
+            if (current && age < freshFor.toMillis()) {
+                hits.increment();
+                return (T) entry.value;
+            }
+            
+            if (age < maxStale.toMillis()) {
+                staleHits.increment();
+                refreshInBackground(key, loader);
+                return (T) entry.value;
+            }
+        }
+        
+        misses.increment();
+        return (T) loadSingleFlight(key, loader);
+    }
+    
+    /**
+     * Marks every entry stale once the invalidation window closes. Calls within the window are coalesced.
+     */
+    public void invalidateAll() {
+        invalidationsRequested.increment();
+        
+        if (invalidationWindowMs <= 0) {
+            applyInvalidation();
+            return;
+        }
+        
+        if (flushScheduled.compareAndSet(false, true)) {
+            invalidationScheduler.schedule(() -> {
+                flushScheduled.set(false);
+                applyInvalidation();
+            }, invalidationWindowMs, TimeUnit.MILLISECONDS);
+        }
+    }
+    
+    /**
+     * Drops all entries so the next read recomputes synchronously. Intended for tests and admin tooling.
+     */
+    public void clear() {
+        generation.incrementAndGet();
+        entries.clear();
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        invalidationScheduler.shutdownNow();
+        refreshExecutor.shutdownNow();
+    }
+    
+    private void applyInvalidation() {
+        generation.incrementAndGet();
+        invalidationsApplied.increment();
+        
+        // Entries past max-stale would be recomputed synchronously anyway; drop them to bound the map
+        long cutoff = System.currentTimeMillis() - maxStale.toMillis();
+        entries.values().removeIf(entry -> entry.computedAt < cutoff);
+        log.debug("Dashboard cache invalidated (generation {})", generation.get());
+    }
+    
+    private Object loadSingleFlight(String key, Supplier<?> loader) {
+        CompletableFuture<Object> mine = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlight.putIfAbsent(key, mine);
+        
+        if (existing != null) {
+            try {
+                return existing.join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException runtimeException) {
+                    throw runtimeException;
+                }
+                throw e;
+            }
+        }
+        
+        try {
+            Object value = load(key, loader);
+            mine.complete(value);
+            return value;
+        } catch (RuntimeException e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, mine);
+        }
+    }
+    
+    private void refreshInBackground(String key, Supplier<?> loader) {
+        CompletableFuture<Object> mine = new CompletableFuture<>();
+        if (inFlight.putIfAbsent(key, mine) != null) {
+            return;
+        }
+        
+        try {
+            refreshExecutor.execute(() -> {
+                try {
+                    mine.complete(load(key, loader));
+                } catch (RuntimeException e) {
+                    // Keep serving the stale value; the next read will try again
+                    log.error("Background refresh of dashboard cache key {} failed", key, e);
+                    mine.completeExceptionally(e);
+                } finally {
+                    inFlight.remove(key, mine);
+                }
+            });
+        } catch (RuntimeException e) {
+            inFlight.remove(key, mine);
+            mine.completeExceptionally(e);
+            log.warn("Could not schedule dashboard cache refresh for key {}: {}", key, e.getMessage());
+        }
+    }
+    
+    private Object load(String key, Supplier<?> loader) {
+        // Capture the generation first so an invalidation during the load leaves the result stale
+        long loadGeneration = generation.get();
+        long startedAt = System.currentTimeMillis();
+        Object value = recomputeTimer.record(() -> readOnlyTransaction.execute(status -> loader.get()));
+        entries.merge(key, new Entry(value, startedAt, loadGeneration),
+            (previous, loaded) -> loaded.generation >= previous.generation ? loaded : previous);
+        return value;
+    }
+    
+    private static java.util.concurrent.ThreadFactory daemonThreads(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+    
+    private record Entry(Object value, long computedAt, long generation) {
+    }
+}
@@ -0,0 +1,106 @@
+package com.invoiceme.infrastructure.cache;
+
+import com.invoiceme.domain.customer.Customer;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Cache;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCommitDeleteEventListener;
+import org.hibernate.event.spi.PostCommitInsertEventListener;
+import org.hibernate.event.spi.PostCommitUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+
+/**
+ * Keeps the per-node Hibernate second-level cache for customers coherent across nodes.
+ *
+ * Hibernate's read-write strategy already handles the local node (soft locks during the transaction,
+ * version checks on put, release on rollback of an optimistic-lock failure, query cache invalidation through
+ * the update timestamps). This component publishes each committed customer insert, update and delete on the
+ * invalidation bus; the other nodes evict the entry and their cached query results (e.g.
+ * CustomerRepository.countByStatus), which their own update timestamps know nothing about.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class SecondLevelCacheCoherence
+        implements PostCommitInsertEventListener, PostCommitUpdateEventListener, PostCommitDeleteEventListener {
+    
+    static final String CUSTOMER_SCOPE = "l2-customer";
+    
+    private final EntityManagerFactory entityManagerFactory;
+    private final CacheInvalidationBus invalidationBus;
+    
+    @PostConstruct
+    void register() {
+        EventListenerRegistry registry = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+            .getServiceRegistry()
+            .getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_COMMIT_INSERT, this);
+        registry.appendListeners(EventType.POST_COMMIT_UPDATE, this);
+        registry.appendListeners(EventType.POST_COMMIT_DELETE, this);
+        
+        invalidationBus.subscribe(CUSTOMER_SCOPE, this::evictCustomer);
+    }
+    
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        if (event.getEntity() instanceof Customer) {
+            invalidationBus.publish(CUSTOMER_SCOPE + ":" + event.getId());
+        }
+    }
+    
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        if (event.getEntity() instanceof Customer) {
+            invalidationBus.publish(CUSTOMER_SCOPE + ":" + event.getId());
+        }
+    }
+    
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        if (event.getEntity() instanceof Customer) {
+            invalidationBus.publish(CUSTOMER_SCOPE + ":" + event.getId());
+        }
+    }
+    
+    @Override
+    public void onPostInsertCommitFailed(PostInsertEvent event) {
+        // Rolled back: nothing changed in the database
+    }
+    
+    @Override
+    public void onPostUpdateCommitFailed(PostUpdateEvent event) {
+        // Rolled back: nothing changed in the database, the local soft lock is released by Hibernate
+    }
+    
+    @Override
+    public void onPostDeleteCommitFailed(PostDeleteEvent event) {
+        // Rolled back: nothing changed in the database
+    }
+    
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return persister.getMappedClass() == Customer.class;
+    }
+    
+    private void evictCustomer(String id) {
+        Cache cache = entityManagerFactory.getCache().unwrap(Cache.class);
+        if (id == null) {
+            cache.evict(Customer.class);
+        } else {
+            cache.evict(Customer.class, UUID.fromString(id));
+        }
+        cache.evictQueryRegions();
+        log.debug("Evicted customer {} from second-level cache after remote change", id != null ? id : "(all)");
+    }
+}
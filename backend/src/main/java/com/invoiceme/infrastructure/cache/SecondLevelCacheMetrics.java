@@ -0,0 +1,62 @@
+package com.invoiceme.infrastructure.cache;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.stereotype.Component;
+
+/**
+ * Publishes hibernate.second.level.cache.hit.ratio per region, alongside the raw hit/miss counters
+ * that Spring Boot binds from Hibernate statistics.
+ */
+@Component
+@RequiredArgsConstructor
+public class SecondLevelCacheMetrics implements MeterBinder {
+    
+    private final EntityManagerFactory entityManagerFactory;
+    
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        
+        for (String region : statistics.getSecondLevelCacheRegionNames()) {
+            if (!isDomainDataRegion(statistics, region)) {
+                continue;
+            }
+            Gauge.builder("hibernate.second.level.cache.hit.ratio", statistics, stats -> hitRatio(stats, region))
+                .tag("region", region)
+                .register(registry);
+        }
+        
+        Gauge.builder("hibernate.query.cache.hit.ratio", statistics, SecondLevelCacheMetrics::queryHitRatio)
+            .register(registry);
+    }
+    
+    private static boolean isDomainDataRegion(Statistics statistics, String region) {
+        try {
+            return statistics.getDomainDataRegionStatistics(region) != null;
+        } catch (IllegalArgumentException e) {
+            // Query results and update timestamps regions are reported by the query cache gauge
+            return false;
+        }
+    }
+    
+    private static double hitRatio(Statistics statistics, String region) {
+        CacheRegionStatistics regionStatistics = statistics.getDomainDataRegionStatistics(region);
+        if (regionStatistics == null) {
+            return 0;
+        }
+        long requests = regionStatistics.getHitCount() + regionStatistics.getMissCount();
+        return requests == 0 ? 0 : (double) regionStatistics.getHitCount() / requests;
+    }
+    
+    private static double queryHitRatio(Statistics statistics) {
+        long requests = statistics.getQueryCacheHitCount() + statistics.getQueryCacheMissCount();
+        return requests == 0 ? 0 : (double) statistics.getQueryCacheHitCount() / requests;
+    }
+}
@@ -1,25 +1,76 @@
 package com.invoiceme.infrastructure.config;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.scheduling.annotation.EnableAsync;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
-import java.util.concurrent.Executor;
-
+/**
+ * Executors for @Async event listeners, one per group (app.async.executors.*), so that a slow SES call cannot
+ * hold up activity feed writes or cache invalidation. Listeners name theirs in @Async; taskExecutor is the
+ * fallback for @Async methods that don't. Background jobs start on jobCoordinatorExecutor and fan out to
+ * their own {@link WorkerPool}.
+ */
 @Configuration
 @EnableAsync
 public class AsyncConfig {
     
+    public static final String EMAIL = "emailExecutor";
+    public static final String ACTIVITY_FEED = "activityFeedExecutor";
+    public static final String DASHBOARD_CACHE = "dashboardCacheExecutor";
+    public static final String RECEIVABLES_SNAPSHOT = "receivablesSnapshotExecutor";
+    public static final String JOB_COORDINATOR = "jobCoordinatorExecutor";
+    public static final String PROJECTION_REPLAY = "projectionReplayWorkers";
+    public static final String PAYMENT_STATS_BACKFILL = "paymentStatsBackfillWorkers";
+    public static final String RECURRING_INVOICE = "recurringInvoiceWorkers";
+    
     @Bean(name = "taskExecutor")
-    public Executor taskExecutor() {
-        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
-        executor.setCorePoolSize(5);
-        executor.setMaxPoolSize(10);
-        executor.setQueueCapacity(100);
-        executor.setThreadNamePrefix("async-event-");
-        executor.initialize();
-        return executor;
+    public ThreadPoolTaskExecutor taskExecutor(AsyncProperties properties, MeterRegistry meterRegistry) {
+        return MeteredExecutors.create("default", properties.executor("default"), meterRegistry);
+    }
+    
+    @Bean(name = EMAIL)
+    public ThreadPoolTaskExecutor emailExecutor(AsyncProperties properties, MeterRegistry meterRegistry) {
+        return MeteredExecutors.create("email", properties.executor("email"), meterRegistry);
+    }
+    
+    @Bean(name = ACTIVITY_FEED)
+    public ThreadPoolTaskExecutor activityFeedExecutor(AsyncProperties properties, MeterRegistry meterRegistry) {
+        return MeteredExecutors.create("activity-feed", properties.executor("activity-feed"), meterRegistry);
+    }
+    
+    @Bean(name = DASHBOARD_CACHE)
+    public ThreadPoolTaskExecutor dashboardCacheExecutor(AsyncProperties properties, MeterRegistry meterRegistry) {
+        return MeteredExecutors.create("dashboard-cache", properties.executor("dashboard-cache"), meterRegistry);
+    }
+    
+    @Bean(name = RECEIVABLES_SNAPSHOT)
+    public ThreadPoolTaskExecutor receivablesSnapshotExecutor(AsyncProperties properties, MeterRegistry meterRegistry) {
+        return MeteredExecutors.create("receivables-snapshot", properties.executor("receivables-snapshot"), meterRegistry);
+    }
+    
+    @Bean(name = JOB_COORDINATOR)
+    public ThreadPoolTaskExecutor jobCoordinatorExecutor(AsyncProperties properties, MeterRegistry meterRegistry) {
+        return MeteredExecutors.create("job-coordinator", properties.executor("job-coordinator"), meterRegistry);
+    }
+    
+    @Bean(name = PROJECTION_REPLAY)
+    public WorkerPool projectionReplayWorkers(AsyncProperties properties, MeterRegistry meterRegistry) {
+        return workerPool("projection-replay", properties, meterRegistry);
+    }
+    
+    @Bean(name = PAYMENT_STATS_BACKFILL)
+    public WorkerPool paymentStatsBackfillWorkers(AsyncProperties properties, MeterRegistry meterRegistry) {
+        return workerPool("payment-stats-backfill", properties, meterRegistry);
+    }
+    
+    @Bean(name = RECURRING_INVOICE)
+    public WorkerPool recurringInvoiceWorkers(AsyncProperties properties, MeterRegistry meterRegistry) {
+        return workerPool("recurring-invoice", properties, meterRegistry);
+    }
+    
+    private static WorkerPool workerPool(String name, AsyncProperties properties, MeterRegistry meterRegistry) {
+        return new WorkerPool(name, MeteredExecutors.create(name, properties.executor(name), meterRegistry));
     }
 }
-
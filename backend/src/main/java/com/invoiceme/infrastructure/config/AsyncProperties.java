@@ -0,0 +1,60 @@
+package com.invoiceme.infrastructure.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * app.async.* settings: one executor per group of @Async event listeners, so a slow dependency (SES) only
+ * backs up its own listeners.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.async")
+public class AsyncProperties {
+    
+    /**
+     * Executor settings by name (email, activity-feed, dashboard-cache, receivables-snapshot, default,
+     * job-coordinator, bulk-&lt;job type&gt; for bulk job workers and the background job {@link WorkerPool}s).
+     * Unlisted executors use the {@link ExecutorSettings} defaults.
+     */
+    private Map<String, ExecutorSettings> executors = new HashMap<>();
+    
+    public ExecutorSettings executor(String name) {
+        return executors.getOrDefault(name, new ExecutorSettings());
+    }
+    
+    @Data
+    public static class ExecutorSettings {
+        
+        private int coreSize = 2;
+        
+        private int maxSize = 4;
+        
+        private int queueCapacity = 500;
+        
+        /**
+         * What happens to a task once the queue is full and all max-size threads are busy.
+         */
+        private Overflow overflow = Overflow.CALLER_RUNS;
+        
+        /**
+         * How long shutdown waits for queued tasks to finish.
+         */
+        private int shutdownWaitSeconds = 30;
+    }
+    
+    public enum Overflow {
+        /**
+         * Run the task on the publishing thread: slows the caller down instead of losing the task.
+         */
+        CALLER_RUNS,
+        /**
+         * Drop the oldest queued task; only for idempotent work that a later task redoes (cache invalidation).
+         */
+        DISCARD_OLDEST
+    }
+}
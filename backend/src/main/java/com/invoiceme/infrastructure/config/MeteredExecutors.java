@@ -0,0 +1,81 @@
+package com.invoiceme.infrastructure.config;
+
+import com.invoiceme.infrastructure.config.AsyncProperties.ExecutorSettings;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Builds bounded {@link ThreadPoolTaskExecutor}s that report, tagged with executor=name:
+ * async.executor.queued and async.executor.active (gauges), async.executor.rejected (tasks that overflowed),
+ * async.executor.wait (time queued) and async.executor.duration (time running).
+ */
+@Slf4j
+public final class MeteredExecutors {
+    
+    private MeteredExecutors() {
+    }
+    
+    public static ThreadPoolTaskExecutor create(String name, ExecutorSettings settings, MeterRegistry meterRegistry) {
+        Timer wait = Timer.builder("async.executor.wait").tag("executor", name).register(meterRegistry);
+        Timer duration = Timer.builder("async.executor.duration").tag("executor", name).register(meterRegistry);
+        Counter rejected = Counter.builder("async.executor.rejected").tag("executor", name).register(meterRegistry);
+        
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(settings.getCoreSize());
+        executor.setMaxPoolSize(Math.max(settings.getCoreSize(), settings.getMaxSize()));
+        executor.setQueueCapacity(settings.getQueueCapacity());
+        executor.setThreadNamePrefix("async-" + name + "-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(settings.getShutdownWaitSeconds());
+        executor.setRejectedExecutionHandler(overflow(name, settings.getOverflow(), rejected));
+        // decorate() runs when the task is submitted, so the gap until run() is its time in the queue
+        executor.setTaskDecorator(task -> {
+            long submitted = System.nanoTime();
+            return () -> {
+                long started = System.nanoTime();
+                wait.record(started - submitted, TimeUnit.NANOSECONDS);
+                try {
+                    task.run();
+                } finally {
+                    duration.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+                }
+            };
+        });
+        executor.initialize();
+        
+        Gauge.builder("async.executor.queued", executor, e -> e.getThreadPoolExecutor().getQueue().size())
+            .tag("executor", name)
+            .register(meterRegistry);
+        Gauge.builder("async.executor.active", executor, ThreadPoolTaskExecutor::getActiveCount)
+            .tag("executor", name)
+            .register(meterRegistry);
+        return executor;
+    }
+    
+    private static RejectedExecutionHandler overflow(String name, AsyncProperties.Overflow overflow, Counter rejected) {
+        RejectedExecutionHandler policy = switch (overflow) {
+            case CALLER_RUNS -> new ThreadPoolExecutor.CallerRunsPolicy();
+            // Not DiscardOldestPolicy: it resubmits through execute(), which would decorate the task a second time
+            case DISCARD_OLDEST -> (task, pool) -> {
+                if (!pool.isShutdown()) {
+                    pool.getQueue().poll();
+                    pool.getQueue().offer(task);
+                }
+            };
+        };
+        return (task, pool) -> {
+            rejected.increment();
+            // Counted rather than logged per task: a saturated executor would flood the log
+            log.debug("Async executor {} is saturated; applying {}", name, overflow);
+            policy.rejectedExecution(task, pool);
+        };
+    }
+}
@@ -0,0 +1,93 @@
+package com.invoiceme.infrastructure.config;
+
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+/**
+ * Parallel workers of a background job (projection replay, payment stats backfill, recurring invoice run) on a
+ * {@link MeteredExecutors} executor, sized by app.async.executors.&lt;name&gt;.max-size. {@link #runAll} runs a
+ * batch of tasks and returns once every one has finished. On shutdown running tasks are interrupted and tasks
+ * not started yet are cancelled, so a coordinator waiting in {@link #runAll} gets an exception instead of
+ * blocking the context close; the jobs all resume from what they committed.
+ */
+public class WorkerPool {
+    
+    private final String name;
+    private final ThreadPoolTaskExecutor executor;
+    private final Set<Future<?>> inFlight = new HashSet<>();
+    private volatile boolean stopped;
+    
+    public WorkerPool(String name, ThreadPoolTaskExecutor executor) {
+        this.name = name;
+        this.executor = executor;
+    }
+    
+    /**
+     * Number of tasks that run at once.
+     */
+    public int size() {
+        return executor.getMaxPoolSize();
+    }
+    
+    /**
+     * Runs the tasks and waits for all of them. If one fails, the others are interrupted.
+     *
+     * @throws IllegalStateException if a task failed, the caller was interrupted or the pool shut down
+     */
+    public void runAll(List<? extends Runnable> tasks) {
+        List<Future<?>> futures = new ArrayList<>();
+        try {
+            for (Runnable task : tasks) {
+                if (stopped) {
+                    throw new IllegalStateException("Workers " + name + " stopped by shutdown");
+                }
+                track(executor.submit(task), futures);
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Workers " + name + " interrupted", e);
+        } catch (CancellationException e) {
+            throw new IllegalStateException("Workers " + name + " stopped by shutdown", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Worker " + name + " failed: " + e.getCause().getMessage(), e.getCause());
+        } finally {
+            futures.forEach(future -> future.cancel(true));
+            synchronized (inFlight) {
+                futures.forEach(inFlight::remove);
+            }
+        }
+    }
+    
+    /**
+     * Called by the container on context close (inferred destroy method).
+     */
+    public void shutdown() {
+        synchronized (inFlight) {
+            stopped = true;
+            inFlight.forEach(future -> future.cancel(true));
+        }
+        executor.shutdown();
+    }
+    
+    private void track(Future<?> future, List<Future<?>> futures) {
+        futures.add(future);
+        synchronized (inFlight) {
+            // A task submitted while the executor shuts down may be dropped and never complete
+            if (stopped) {
+                future.cancel(true);
+            } else {
+                inFlight.add(future);
+            }
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.invoiceme.infrastructure.datasource;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Keeps a request on the primary from its first write until the request ends, then releases the per-thread
+ * primary pin so pooled servlet threads go back to reading from replicas.
+ */
+public class PrimaryPinResetFilter extends OncePerRequestFilter {
+    
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        ReplicaRoutingDataSource.beginRequest();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            ReplicaRoutingDataSource.clearPrimaryPin();
+        }
+    }
+}
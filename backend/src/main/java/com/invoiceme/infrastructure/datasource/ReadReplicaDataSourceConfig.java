@@ -0,0 +1,121 @@
+package com.invoiceme.infrastructure.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.flyway.FlywayDataSource;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Splits the single application DataSource into a primary pool plus one pool per read replica.
+ *
+ * Only active when app.datasource.replica.enabled=true; otherwise Spring Boot's default single
+ * Hikari pool is used unchanged. Flyway always migrates against the primary.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "app.datasource.replica", name = "enabled", havingValue = "true")
+public class ReadReplicaDataSourceConfig {
+    
+    @Value("${app.datasource.replica.urls}")
+    private String replicaUrls;
+    
+    @Value("${app.datasource.replica.username:${spring.datasource.username}}")
+    private String replicaUsername;
+    
+    @Value("${app.datasource.replica.password:${spring.datasource.password}}")
+    private String replicaPassword;
+    
+    @Value("${app.datasource.replica.maximum-pool-size:5}")
+    private int replicaPoolSize;
+    
+    @Value("${app.datasource.replica.max-lag-ms:5000}")
+    private long maxLagMs;
+    
+    @Bean
+    @FlywayDataSource
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder()
+            .type(HikariDataSource.class)
+            .build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+    
+    @Bean
+    public ReplicaLagMonitor replicaLagMonitor(MeterRegistry meterRegistry) {
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        String[] urls = Arrays.stream(replicaUrls.split(","))
+            .map(String::trim)
+            .filter(url -> !url.isEmpty())
+            .toArray(String[]::new);
+        
+        if (urls.length == 0) {
+            throw new IllegalStateException("app.datasource.replica.urls must list at least one JDBC URL");
+        }
+        
+        for (int i = 0; i < urls.length; i++) {
+            HikariDataSource replica = new HikariDataSource();
+            replica.setJdbcUrl(urls[i]);
+            replica.setUsername(replicaUsername);
+            replica.setPassword(replicaPassword);
+            replica.setDriverClassName("org.postgresql.Driver");
+            replica.setMaximumPoolSize(replicaPoolSize);
+            replica.setMinimumIdle(1);
+            replica.setReadOnly(true);
+            replica.setPoolName(ReplicaRoutingDataSource.replicaKey(i));
+            // Fail fast so a dead replica falls back to primary instead of stalling the request
+            replica.setConnectionTimeout(2000);
+            replica.setInitializationFailTimeout(-1);
+            // Replica pools are not beans, so Boot's Hikari metrics binding does not see them
+            replica.setMetricRegistry(meterRegistry);
+            replicas.put(ReplicaRoutingDataSource.replicaKey(i), replica);
+        }
+        
+        ReplicaLagMonitor monitor = new ReplicaLagMonitor(replicas, Duration.ofMillis(maxLagMs));
+        for (String key : replicas.keySet()) {
+            Gauge.builder("db.replica.lag", monitor, m -> m.getLastLagSeconds().getOrDefault(key, Double.NaN))
+                .tag("replica", key)
+                .baseUnit("seconds")
+                .register(meterRegistry);
+        }
+        return monitor;
+    }
+    
+    @Bean
+    @Primary
+    public DataSource dataSource(
+            @Qualifier("primaryDataSource") HikariDataSource primaryDataSource,
+            ReplicaLagMonitor replicaLagMonitor) {
+        Map<Object, Object> targets = new HashMap<>(replicaLagMonitor.getReplicas());
+        targets.put(ReplicaRoutingDataSource.PRIMARY, primaryDataSource);
+        
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(replicaLagMonitor);
+        routing.setTargetDataSources(targets);
+        routing.setDefaultTargetDataSource(primaryDataSource);
+        routing.afterPropertiesSet();
+        
+        // Defer the physical connection until the transaction's read-only flag is known
+        return new LazyConnectionDataSourceProxy(routing);
+    }
+    
+    @Bean
+    public PrimaryPinResetFilter primaryPinResetFilter() {
+        return new PrimaryPinResetFilter();
+    }
+}
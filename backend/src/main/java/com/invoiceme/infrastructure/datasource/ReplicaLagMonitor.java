@@ -0,0 +1,111 @@
+package com.invoiceme.infrastructure.datasource;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Periodically measures replay lag on each replica and keeps the list of replicas that are safe to read from.
+ *
+ * A replica leaves rotation when its lag exceeds the configured threshold or the probe fails, and rejoins
+ * on the next successful probe under the threshold.
+ */
+@Slf4j
+public class ReplicaLagMonitor {
+    
+    // Zero when the replica has replayed everything it received; otherwise seconds since the last replayed commit
+    private static final String LAG_QUERY =
+        "SELECT CASE " +
+        "WHEN NOT pg_is_in_recovery() OR pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0 " +
+        "ELSE COALESCE(EXTRACT(EPOCH FROM (now() - pg_last_xact_replay_timestamp())), 0) END";
+    
+    private final Map<String, DataSource> replicas;
+    private final Duration maxLag;
+    private final Map<String, Double> lastLagSeconds = new ConcurrentHashMap<>();
+    private volatile List<String> healthyReplicaKeys;
+    
+    public ReplicaLagMonitor(Map<String, DataSource> replicas, Duration maxLag) {
+        this.replicas = new LinkedHashMap<>(replicas);
+        this.maxLag = maxLag;
+        // Optimistic until the first probe runs
+        this.healthyReplicaKeys = List.copyOf(this.replicas.keySet());
+    }
+    
+    public Map<String, DataSource> getReplicas() {
+        return Collections.unmodifiableMap(replicas);
+    }
+    
+    public List<String> getHealthyReplicaKeys() {
+        return healthyReplicaKeys;
+    }
+    
+    public Map<String, Double> getLastLagSeconds() {
+        return Collections.unmodifiableMap(lastLagSeconds);
+    }
+    
+    public synchronized void markUnhealthy(String key) {
+        List<String> remaining = new ArrayList<>(healthyReplicaKeys);
+        if (remaining.remove(key)) {
+            healthyReplicaKeys = List.copyOf(remaining);
+        }
+    }
+    
+    @Scheduled(
+        fixedDelayString = "${app.datasource.replica.lag-check-interval-ms:5000}",
+        initialDelayString = "${app.datasource.replica.lag-check-interval-ms:5000}"
+    )
+    public void checkReplicas() {
+        List<String> healthy = new ArrayList<>();
+        
+        for (Map.Entry<String, DataSource> entry : replicas.entrySet()) {
+            String key = entry.getKey();
+            try (Connection connection = entry.getValue().getConnection();
+                 Statement statement = connection.createStatement();
+                 ResultSet rs = statement.executeQuery(LAG_QUERY)) {
+                rs.next();
+                double lagSeconds = rs.getDouble(1);
+                lastLagSeconds.put(key, lagSeconds);
+                
+                if (lagSeconds * 1000 <= maxLag.toMillis()) {
+                    healthy.add(key);
+                } else {
+                    log.warn("Replica {} lagging by {}s (max {}s), routing reads to primary",
+                        key, lagSeconds, maxLag.toSeconds());
+                }
+            } catch (Exception e) {
+                lastLagSeconds.remove(key);
+                log.warn("Replica {} lag probe failed: {}", key, e.getMessage());
+            }
+        }
+        
+        synchronized (this) {
+            healthyReplicaKeys = List.copyOf(healthy);
+        }
+    }
+    
+    /**
+     * Closes the replica pools; invoked by Spring on shutdown.
+     */
+    public void close() {
+        replicas.values().forEach(dataSource -> {
+            if (dataSource instanceof AutoCloseable closeable) {
+                try {
+                    closeable.close();
+                } catch (Exception e) {
+                    log.warn("Failed to close replica pool: {}", e.getMessage());
+                }
+            }
+        });
+    }
+}
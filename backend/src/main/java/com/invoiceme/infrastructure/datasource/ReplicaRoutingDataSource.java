@@ -0,0 +1,121 @@
+package com.invoiceme.infrastructure.datasource;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Routes connections for read-only transactions to a healthy replica and everything else to the primary.
+ *
+ * Must sit behind a LazyConnectionDataSourceProxy so the physical connection is only fetched once the
+ * transaction's read-only flag has been bound to the current thread.
+ *
+ * Once a thread has used the primary for a read-write transaction it stays pinned to the primary, so it never
+ * reads its own writes from a lagging replica: inside an HTTP request until {@link #clearPrimaryPin()} (end of
+ * the request, see {@link PrimaryPinResetFilter}), elsewhere (scheduled jobs, async listeners, job workers)
+ * until that transaction completes, so pooled threads do not stay on the primary for good.
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+    
+    public static final String PRIMARY = "primary";
+    
+    private static final ThreadLocal<Boolean> PINNED_TO_PRIMARY = new ThreadLocal<>();
+    private static final ThreadLocal<Boolean> IN_REQUEST = new ThreadLocal<>();
+    
+    private final ReplicaLagMonitor lagMonitor;
+    private final AtomicInteger roundRobin = new AtomicInteger();
+    
+    public ReplicaRoutingDataSource(ReplicaLagMonitor lagMonitor) {
+        this.lagMonitor = lagMonitor;
+    }
+    
+    public static String replicaKey(int index) {
+        return "replica-" + index;
+    }
+    
+    /**
+     * Keeps the primary pin of this thread until {@link #clearPrimaryPin()} instead of until the end of the
+     * pinning transaction.
+     */
+    public static void beginRequest() {
+        IN_REQUEST.set(Boolean.TRUE);
+    }
+    
+    public static void clearPrimaryPin() {
+        PINNED_TO_PRIMARY.remove();
+        IN_REQUEST.remove();
+    }
+    
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            return PRIMARY;
+        }
+        
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            pinToPrimary();
+            return PRIMARY;
+        }
+        
+        if (Boolean.TRUE.equals(PINNED_TO_PRIMARY.get())) {
+            return PRIMARY;
+        }
+        
+        List<String> healthy = lagMonitor.getHealthyReplicaKeys();
+        if (healthy.isEmpty()) {
+            return PRIMARY;
+        }
+        
+        return healthy.get(Math.floorMod(roundRobin.getAndIncrement(), healthy.size()));
+    }
+    
+    @Override
+    public Connection getConnection() throws SQLException {
+        Object key = determineCurrentLookupKey();
+        if (PRIMARY.equals(key)) {
+            return primary().getConnection();
+        }
+        
+        try {
+            return getResolvedDataSources().get(key).getConnection();
+        } catch (SQLException e) {
+            // Replica unreachable or pool exhausted - take it out of rotation and serve from primary
+            log.warn("Replica {} unavailable, falling back to primary: {}", key, e.getMessage());
+            lagMonitor.markUnhealthy((String) key);
+            return primary().getConnection();
+        }
+    }
+    
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return primary().getConnection(username, password);
+    }
+    
+    private static void pinToPrimary() {
+        if (Boolean.TRUE.equals(PINNED_TO_PRIMARY.get())) {
+            return;
+        }
+        if (Boolean.TRUE.equals(IN_REQUEST.get())) {
+            PINNED_TO_PRIMARY.set(Boolean.TRUE);
+        } else if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            PINNED_TO_PRIMARY.set(Boolean.TRUE);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    PINNED_TO_PRIMARY.remove();
+                }
+            });
+        }
+    }
+    
+    private javax.sql.DataSource primary() {
+        return getResolvedDataSources().get(PRIMARY);
+    }
+}
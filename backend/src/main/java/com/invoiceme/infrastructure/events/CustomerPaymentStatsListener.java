@@ -0,0 +1,40 @@
+package com.invoiceme.infrastructure.events;
+
+import com.invoiceme.domain.events.InvoiceFullyPaidEvent;
+import com.invoiceme.domain.events.PaymentRecordedEvent;
+import com.invoiceme.infrastructure.persistence.CustomerPaymentStatsRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Adds each settled invoice and recorded payment to customer_payment_stats. Runs before commit, like
+ * {@link CustomerReceivablesListener}, so every event is counted exactly once: together with the change it
+ * describes, or not at all.
+ *
+ * An invoice that is reopened by a refund and paid again counts as paid twice until the next recompute.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class CustomerPaymentStatsListener {
+    
+    private final CustomerPaymentStatsRepository paymentStatsRepository;
+    
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void handleInvoiceFullyPaid(InvoiceFullyPaidEvent event) {
+        if (paymentStatsRepository.recordInvoicePaid(event.getInvoiceId()) == 0) {
+            log.warn("No payment stats row updated for paid invoice {}", event.getInvoiceId());
+        }
+    }
+    
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void handlePaymentRecorded(PaymentRecordedEvent event) {
+        if (paymentStatsRepository.recordPayment(event.getInvoiceId(), event.getAmount().getAmount(),
+                event.getPaymentDate()) == 0) {
+            log.warn("No payment stats row updated for payment on invoice {}", event.getInvoiceId());
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package com.invoiceme.infrastructure.events;
+
+import com.invoiceme.domain.common.DomainEvent;
+import com.invoiceme.domain.common.InvoiceStatus;
+import com.invoiceme.domain.events.CreditDeductedEvent;
+import com.invoiceme.domain.events.InvoiceCancelledEvent;
+import com.invoiceme.domain.events.InvoiceFullyPaidEvent;
+import com.invoiceme.domain.events.InvoiceSentEvent;
+import com.invoiceme.domain.events.InvoicesMarkedOverdueEvent;
+import com.invoiceme.domain.events.LateFeeAppliedEvent;
+import com.invoiceme.domain.events.PaymentRecordedEvent;
+import com.invoiceme.domain.events.RefundIssuedEvent;
+import com.invoiceme.domain.invoice.Invoice;
+import com.invoiceme.infrastructure.persistence.CustomerReceivablesRepository;
+import com.invoiceme.infrastructure.persistence.InvoiceRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Keeps customer_receivables in step with invoices and payments. Unlike the other listeners this one runs
+ * synchronously before commit, inside the transaction that changed the invoice or payment, so the rollup
+ * commits (or rolls back) together with the change it reflects.
+ *
+ * Each event adds its signed change to the customer's row, as {@link CustomerPaymentStatsListener} does, so
+ * the row lock is held only for one UPDATE's worth of work and nothing is re-aggregated. Refunds and credit
+ * deductions leave the rollup alone: refunds go to customer credit and credit is applied before an invoice
+ * is sent, so the send carries it. The projection rebuild recomputes rows from scratch instead
+ * ({@link com.invoiceme.infrastructure.projection.CustomerReceivablesProjection}).
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class CustomerReceivablesListener {
+    
+    private final CustomerReceivablesRepository customerReceivablesRepository;
+    private final InvoiceRepository invoiceRepository;
+    
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void handleInvoiceSent(InvoiceSentEvent event) {
+        BigDecimal total = event.getTotalAmount().getAmount();
+        applyDelta(event.getCustomerId(), total, 1, BigDecimal.ZERO, total, event);
+    }
+    
+    /**
+     * Only invoices settled by credit when sent (no payments); a payment that settles an invoice is counted by
+     * {@link #handlePaymentRecorded}.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void handleInvoiceFullyPaid(InvoiceFullyPaidEvent event) {
+        if (event.getPaymentCount() != null && event.getPaymentCount() == 0) {
+            applyDelta(event.getCustomerId(), BigDecimal.ZERO, 0, BigDecimal.ZERO,
+                event.getTotalAmount().getAmount(), event);
+        }
+    }
+    
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void handlePaymentRecorded(PaymentRecordedEvent event) {
+        BigDecimal applied = event.getAmount().subtract(event.getOverpaymentAmount()).getAmount();
+        int closed = event.getRemainingBalance().isZero() ? 1 : 0;
+        BigDecimal overdue = InvoiceStatus.OVERDUE.name().equals(event.getPreviousInvoiceStatus())
+            ? applied : BigDecimal.ZERO;
+        applyDelta(event.getCustomerId(), applied.negate(), -closed, overdue.negate(), BigDecimal.ZERO, event);
+        customerReceivablesRepository.recordPayment(event.getCustomerId(), event.getAmount().getAmount(),
+            event.getPaymentDate());
+    }
+    
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void handleLateFeeApplied(LateFeeAppliedEvent event) {
+        BigDecimal fee = event.getLateFeeAmount().getAmount();
+        // A SENT invoice becomes OVERDUE with the fee, bringing its whole balance into the overdue total
+        BigDecimal overdue = InvoiceStatus.OVERDUE.name().equals(event.getPreviousStatus())
+            ? fee : event.getNewBalance().getAmount();
+        applyDelta(event.getCustomerId(), fee, 0, overdue, fee, event);
+    }
+    
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void handleInvoiceCancelled(InvoiceCancelledEvent event) {
+        InvoiceStatus previousStatus = InvoiceStatus.valueOf(event.getPreviousStatus());
+        if (previousStatus == InvoiceStatus.DRAFT) {
+            return;
+        }
+        
+        // Cancelling leaves the invoice's amounts as they were; only unpaid invoices can be cancelled
+        Invoice invoice = invoiceRepository.findById(event.getInvoiceId())
+            .orElseThrow(() -> new IllegalStateException("Invoice not found: " + event.getInvoiceId()));
+        BigDecimal balance = invoice.getBalanceDue().getAmount();
+        boolean open = invoice.getBalanceDue().isPositive();
+        BigDecimal overdue = previousStatus == InvoiceStatus.OVERDUE ? balance : BigDecimal.ZERO;
+        applyDelta(event.getCustomerId(), open ? balance.negate() : BigDecimal.ZERO, open ? -1 : 0,
+            overdue.negate(), invoice.getTotalAmount().getAmount().negate(), event);
+    }
+    
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void handleInvoicesMarkedOverdue(InvoicesMarkedOverdueEvent event) {
+        if (!event.getInvoiceIds().isEmpty()) {
+            customerReceivablesRepository.recordOverdue(event.getInvoiceIds());
+        }
+    }
+    
+    private void applyDelta(UUID customerId, BigDecimal openBalance, int openCount, BigDecimal overdueBalance,
+                            BigDecimal lifetimeBilled, DomainEvent event) {
+        if (customerReceivablesRepository.applyDelta(customerId, openBalance, openCount, overdueBalance,
+                lifetimeBilled) == 0) {
+            log.warn("No receivables row updated for customer {} after {}", customerId, event.getEventType());
+        }
+    }
+    
+    /**
+     * Customers whose receivables the event may change; the projection rebuild recomputes these.
+     */
+    public static Set<UUID> affectedCustomers(DomainEvent event) {
+        Set<UUID> customerIds = new HashSet<>();
+        if (event instanceof InvoicesMarkedOverdueEvent e) {
+            customerIds.addAll(e.getCustomerIds());
+        } else if (event instanceof InvoiceSentEvent e) {
+            customerIds.add(e.getCustomerId());
+        } else if (event instanceof PaymentRecordedEvent e) {
+            customerIds.add(e.getCustomerId());
+        } else if (event instanceof InvoiceFullyPaidEvent e) {
+            customerIds.add(e.getCustomerId());
+        } else if (event instanceof InvoiceCancelledEvent e) {
+            customerIds.add(e.getCustomerId());
+        } else if (event instanceof LateFeeAppliedEvent e) {
+            customerIds.add(e.getCustomerId());
+        } else if (event instanceof RefundIssuedEvent e) {
+            customerIds.add(e.getCustomerId());
+        } else if (event instanceof CreditDeductedEvent e) {
+            customerIds.add(e.getCustomerId());
+        }
+        return customerIds;
+    }
+}
@@ -1,10 +1,17 @@
 package com.invoiceme.infrastructure.events;
 
+import com.invoiceme.domain.events.InvoiceCancelledEvent;
+import com.invoiceme.domain.events.InvoicesMarkedOverdueEvent;
+import com.invoiceme.domain.events.LateFeeAppliedEvent;
 import com.invoiceme.domain.events.PaymentRecordedEvent;
 import com.invoiceme.domain.events.InvoiceSentEvent;
+import com.invoiceme.domain.events.RefundIssuedEvent;
+import com.invoiceme.infrastructure.cache.CacheInvalidationBus;
+import com.invoiceme.infrastructure.cache.DashboardCache;
+import com.invoiceme.infrastructure.config.AsyncConfig;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.cache.CacheManager;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.event.TransactionPhase;
@@ -15,33 +22,67 @@ import org.springframework.transaction.event.TransactionalEventListener;
 @RequiredArgsConstructor
 public class DashboardCacheInvalidationListener {
     
-    private final CacheManager cacheManager;
+    static final String SCOPE = "dashboard";
     
-    @Async
+    private final DashboardCache dashboardCache;
+    private final CacheInvalidationBus invalidationBus;
+    
+    @PostConstruct
+    void subscribeToRemoteInvalidations() {
+        // Writes handled by other nodes
+        invalidationBus.subscribe(SCOPE, dashboardCache::invalidateAll);
+    }
+    
+    @Async(AsyncConfig.DASHBOARD_CACHE)
     @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
     public void handlePaymentRecorded(PaymentRecordedEvent event) {
         log.debug("Invalidating dashboard cache due to PaymentRecordedEvent");
         invalidateCache();
     }
     
-    @Async
+    @Async(AsyncConfig.DASHBOARD_CACHE)
     @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
     public void handleInvoiceSent(InvoiceSentEvent event) {
         log.debug("Invalidating dashboard cache due to InvoiceSentEvent");
         invalidateCache();
     }
     
+    @Async(AsyncConfig.DASHBOARD_CACHE)
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void handleInvoiceCancelled(InvoiceCancelledEvent event) {
+        log.debug("Invalidating dashboard cache due to InvoiceCancelledEvent");
+        invalidateCache();
+    }
+    
+    @Async(AsyncConfig.DASHBOARD_CACHE)
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void handleLateFeeApplied(LateFeeAppliedEvent event) {
+        log.debug("Invalidating dashboard cache due to LateFeeAppliedEvent");
+        invalidateCache();
+    }
+    
+    @Async(AsyncConfig.DASHBOARD_CACHE)
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void handleInvoicesMarkedOverdue(InvoicesMarkedOverdueEvent event) {
+        log.debug("Invalidating dashboard cache due to InvoicesMarkedOverdueEvent ({} invoices)", event.getInvoiceIds().size());
+        invalidateCache();
+    }
+    
+    @Async(AsyncConfig.DASHBOARD_CACHE)
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void handleRefundIssued(RefundIssuedEvent event) {
+        log.debug("Invalidating dashboard cache due to RefundIssuedEvent");
+        invalidateCache();
+    }
+    
     private void invalidateCache() {
         try {
-            var dashboardCache = cacheManager.getCache("dashboardMetrics");
-            if (dashboardCache != null) {
-                dashboardCache.clear();
-                log.debug("Dashboard cache invalidated");
-            }
+            // Coalesced inside the cache's invalidation window; readers keep getting the previous value meanwhile
+            dashboardCache.invalidateAll();
+            invalidationBus.publish(SCOPE);
         } catch (Exception e) {
             log.error("Failed to invalidate dashboard cache", e);
             // Don't throw - cache invalidation failures shouldn't break the transaction
         }
     }
 }
-
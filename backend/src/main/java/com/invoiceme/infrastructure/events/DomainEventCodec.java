@@ -0,0 +1,168 @@
+package com.invoiceme.infrastructure.events;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.cfg.JsonNodeFeature;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.invoiceme.domain.common.DomainEvent;
+import com.invoiceme.domain.common.Money;
+import com.invoiceme.domain.events.BaseDomainEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.annotation.ClassPathScanningCandidateComponentProvider;
+import org.springframework.core.type.filter.AssignableTypeFilter;
+import org.springframework.objenesis.SpringObjenesis;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Serializes domain events for the event store: a JSON object of the event's own fields (nulls left out, Money
+ * as a bare decimal), without the id, type and timestamp that the store keeps in columns.
+ *
+ * Decoding does not call a constructor: the event is instantiated empty and its fields are set by name, so
+ * events keep their immutable constructors. A field added to an event later decodes as null for events stored
+ * before; a field that was removed is ignored.
+ */
+@Component
+@Slf4j
+public class DomainEventCodec {
+    
+    private static final String EVENTS_PACKAGE = "com.invoiceme.domain.events";
+    
+    private final ObjectMapper objectMapper;
+    private final SpringObjenesis objenesis = new SpringObjenesis();
+    private final Map<String, EventType> types = new HashMap<>();
+    
+    private final Field eventIdField;
+    private final Field occurredAtField;
+    private final Field eventTypeField;
+    
+    public DomainEventCodec(ObjectMapper objectMapper) {
+        SimpleModule money = new SimpleModule("event-money");
+        money.addSerializer(Money.class, new JsonSerializer<>() {
+            @Override
+            public void serialize(Money value, JsonGenerator generator, SerializerProvider provider) throws IOException {
+                generator.writeNumber(value.getAmount());
+            }
+        });
+        money.addDeserializer(Money.class, new JsonDeserializer<>() {
+            @Override
+            public Money deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+                return Money.of(parser.getDecimalValue());
+            }
+        });
+        this.objectMapper = objectMapper.copy()
+            .registerModule(money)
+            .configure(JsonNodeFeature.STRIP_TRAILING_BIGDECIMAL_ZEROES, false)
+            .enable(JsonGenerator.Feature.WRITE_BIGDECIMAL_AS_PLAIN)
+            .enable(DeserializationFeature.USE_BIG_DECIMAL_FOR_FLOATS);
+        
+        this.eventIdField = accessible(BaseDomainEvent.class, "eventId");
+        this.occurredAtField = accessible(BaseDomainEvent.class, "occurredAt");
+        this.eventTypeField = accessible(BaseDomainEvent.class, "eventType");
+        
+        ClassPathScanningCandidateComponentProvider scanner = new ClassPathScanningCandidateComponentProvider(false);
+        scanner.addIncludeFilter(new AssignableTypeFilter(BaseDomainEvent.class));
+        for (BeanDefinition candidate : scanner.findCandidateComponents(EVENTS_PACKAGE)) {
+            Class<?> type = ClassUtils.resolveClassName(candidate.getBeanClassName(), getClass().getClassLoader());
+            register(type.asSubclass(BaseDomainEvent.class));
+        }
+        log.info("Domain event codec knows {} event types", types.size());
+    }
+    
+    public byte[] encode(DomainEvent event) {
+        EventType type = types.get(event.getEventType());
+        if (type == null || type.type() != event.getClass()) {
+            throw new IllegalArgumentException("Unknown domain event type: " + event.getClass().getName());
+        }
+        ObjectNode payload = objectMapper.createObjectNode();
+        try {
+            for (Field field : type.fields()) {
+                Object value = field.get(event);
+                if (value != null) {
+                    payload.set(field.getName(), objectMapper.valueToTree(value));
+                }
+            }
+            return objectMapper.writeValueAsBytes(payload);
+        } catch (IllegalAccessException | IOException e) {
+            throw new IllegalStateException("Could not encode " + event.getEventType(), e);
+        }
+    }
+    
+    /**
+     * @return the event, or null if no event class of that type exists (any more)
+     */
+    public DomainEvent decode(String eventType, UUID eventId, Instant occurredAt, byte[] payload) {
+        EventType type = types.get(eventType);
+        if (type == null) {
+            return null;
+        }
+        try {
+            BaseDomainEvent event = objenesis.newInstance(type.type());
+            eventIdField.set(event, eventId);
+            occurredAtField.set(event, occurredAt);
+            eventTypeField.set(event, eventType);
+            
+            JsonNode fields = objectMapper.readTree(payload);
+            Iterator<Map.Entry<String, JsonNode>> values = fields.fields();
+            while (values.hasNext()) {
+                Map.Entry<String, JsonNode> value = values.next();
+                Field field = type.fieldsByName().get(value.getKey());
+                if (field != null) {
+                    field.set(event, objectMapper.convertValue(value.getValue(),
+                        objectMapper.constructType(field.getGenericType())));
+                }
+            }
+            return event;
+        } catch (IllegalAccessException | IOException e) {
+            throw new IllegalStateException("Could not decode " + eventType + " " + eventId, e);
+        }
+    }
+    
+    private void register(Class<? extends BaseDomainEvent> type) {
+        List<Field> fields = new ArrayList<>();
+        for (Class<?> c = type; c != BaseDomainEvent.class; c = c.getSuperclass()) {
+            for (Field field : c.getDeclaredFields()) {
+                if (!Modifier.isStatic(field.getModifiers()) && !Modifier.isTransient(field.getModifiers())) {
+                    field.setAccessible(true);
+                    fields.add(field);
+                }
+            }
+        }
+        Map<String, Field> byName = new HashMap<>();
+        fields.forEach(field -> byName.put(field.getName(), field));
+        types.put(type.getSimpleName(), new EventType(type, List.copyOf(fields), byName));
+    }
+    
+    private static Field accessible(Class<?> type, String name) {
+        try {
+            Field field = type.getDeclaredField(name);
+            field.setAccessible(true);
+            return field;
+        } catch (NoSuchFieldException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+    
+    private record EventType(Class<? extends BaseDomainEvent> type, List<Field> fields, Map<String, Field> fieldsByName) {
+    }
+}
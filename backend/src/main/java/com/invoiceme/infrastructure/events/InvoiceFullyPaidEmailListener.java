@@ -2,6 +2,7 @@ package com.invoiceme.infrastructure.events;
 
 import com.invoiceme.domain.customer.Customer;
 import com.invoiceme.domain.events.InvoiceFullyPaidEvent;
+import com.invoiceme.infrastructure.config.AsyncConfig;
 import com.invoiceme.infrastructure.email.EmailService;
 import com.invoiceme.infrastructure.persistence.CustomerRepository;
 import lombok.RequiredArgsConstructor;
@@ -19,7 +20,7 @@ public class InvoiceFullyPaidEmailListener {
     private final EmailService emailService;
     private final CustomerRepository customerRepository;
     
-    @Async
+    @Async(AsyncConfig.EMAIL)
     @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
     public void handleInvoiceFullyPaid(InvoiceFullyPaidEvent event) {
         log.info("Handling InvoiceFullyPaidEvent for invoice {}", event.getInvoiceNumber());
@@ -1,6 +1,7 @@
 package com.invoiceme.infrastructure.events;
 
 import com.invoiceme.domain.events.InvoiceSentEvent;
+import com.invoiceme.infrastructure.config.AsyncConfig;
 import com.invoiceme.infrastructure.email.EmailService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -16,7 +17,7 @@ public class InvoiceSentEmailListener {
     
     private final EmailService emailService;
     
-    @Async
+    @Async(AsyncConfig.EMAIL)
     @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
     public void handleInvoiceSent(InvoiceSentEvent event) {
         log.info("Handling InvoiceSentEvent for invoice {}", event.getInvoiceNumber());
@@ -2,6 +2,7 @@ package com.invoiceme.infrastructure.events;
 
 import com.invoiceme.domain.customer.Customer;
 import com.invoiceme.domain.events.PaymentRecordedEvent;
+import com.invoiceme.infrastructure.config.AsyncConfig;
 import com.invoiceme.infrastructure.email.EmailService;
 import com.invoiceme.infrastructure.persistence.CustomerRepository;
 import lombok.RequiredArgsConstructor;
@@ -19,7 +20,7 @@ public class PaymentRecordedEmailListener {
     private final EmailService emailService;
     private final CustomerRepository customerRepository;
     
-    @Async
+    @Async(AsyncConfig.EMAIL)
     @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
     public void handlePaymentRecorded(PaymentRecordedEvent event) {
         log.info("Handling PaymentRecordedEvent for payment {}", event.getPaymentId());
@@ -0,0 +1,143 @@
+package com.invoiceme.infrastructure.events;
+
+import com.invoiceme.domain.common.DomainEvent;
+import com.invoiceme.domain.events.InvoiceCancelledEvent;
+import com.invoiceme.domain.events.InvoiceFullyPaidEvent;
+import com.invoiceme.domain.events.InvoiceSentEvent;
+import com.invoiceme.domain.events.InvoicesMarkedOverdueEvent;
+import com.invoiceme.domain.events.LateFeeAppliedEvent;
+import com.invoiceme.domain.events.PaymentRecordedEvent;
+import com.invoiceme.domain.events.RefundIssuedEvent;
+import com.invoiceme.infrastructure.analytics.ReceivablesSnapshot;
+import com.invoiceme.infrastructure.cache.CacheInvalidationBus;
+import com.invoiceme.infrastructure.config.AsyncConfig;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Feeds the invoices touched by each committed event to the in-memory {@link ReceivablesSnapshot}, on this
+ * node and, through the cache invalidation bus, on the others. Ids arriving from other nodes are gathered and
+ * refreshed together on the snapshot executor; a bare scope (a large change, or messages possibly missed
+ * while the bus reconnected) reloads the whole snapshot.
+ */
+@Component
+@Slf4j
+public class ReceivablesSnapshotListener {
+    
+    static final String SCOPE = "receivables";
+    
+    // Above this many invoices in one event, other nodes reload rather than refresh each one
+    static final int MAX_BROADCAST_IDS = 500;
+    
+    private final ReceivablesSnapshot receivablesSnapshot;
+    private final CacheInvalidationBus invalidationBus;
+    private final Executor snapshotExecutor;
+    
+    private final Set<UUID> remotelyTouched = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean refreshScheduled = new AtomicBoolean();
+    private final AtomicBoolean reloadScheduled = new AtomicBoolean();
+    
+    public ReceivablesSnapshotListener(
+            ReceivablesSnapshot receivablesSnapshot,
+            CacheInvalidationBus invalidationBus,
+            @Qualifier(AsyncConfig.RECEIVABLES_SNAPSHOT) Executor snapshotExecutor) {
+        this.receivablesSnapshot = receivablesSnapshot;
+        this.invalidationBus = invalidationBus;
+        this.snapshotExecutor = snapshotExecutor;
+    }
+    
+    @PostConstruct
+    void subscribeToRemoteChanges() {
+        // Writes handled by other nodes
+        invalidationBus.subscribe(SCOPE, this::onRemoteChange);
+    }
+    
+    @Async(AsyncConfig.RECEIVABLES_SNAPSHOT)
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void handleDomainEvent(DomainEvent event) {
+        List<UUID> invoiceIds = touchedInvoices(event);
+        if (invoiceIds.isEmpty() || !receivablesSnapshot.isEnabled()) {
+            return;
+        }
+        try {
+            receivablesSnapshot.refresh(invoiceIds);
+        } catch (Exception e) {
+            // The snapshot stays behind for these invoices until their next change or the next reload
+            log.error("Failed to refresh receivables snapshot after {}", event.getEventType(), e);
+        }
+        if (invoiceIds.size() > MAX_BROADCAST_IDS) {
+            invalidationBus.publish(SCOPE);
+        } else {
+            invoiceIds.forEach(invoiceId -> invalidationBus.publish(SCOPE + ":" + invoiceId));
+        }
+    }
+    
+    private void onRemoteChange(String invoiceId) {
+        if (!receivablesSnapshot.isEnabled()) {
+            return;
+        }
+        if (invoiceId == null) {
+            if (reloadScheduled.compareAndSet(false, true)) {
+                snapshotExecutor.execute(this::reload);
+            }
+            return;
+        }
+        remotelyTouched.add(UUID.fromString(invoiceId));
+        if (refreshScheduled.compareAndSet(false, true)) {
+            snapshotExecutor.execute(this::refreshRemotelyTouched);
+        }
+    }
+    
+    private void refreshRemotelyTouched() {
+        // Cleared first: ids added from here on schedule another run
+        refreshScheduled.set(false);
+        Set<UUID> invoiceIds = new HashSet<>(remotelyTouched);
+        remotelyTouched.removeAll(invoiceIds);
+        try {
+            receivablesSnapshot.refresh(invoiceIds);
+        } catch (Exception e) {
+            log.error("Failed to refresh receivables snapshot after changes on another node", e);
+        }
+    }
+    
+    private void reload() {
+        reloadScheduled.set(false);
+        try {
+            receivablesSnapshot.load();
+        } catch (Exception e) {
+            log.error("Failed to reload receivables snapshot after changes on another node", e);
+        }
+    }
+    
+    private List<UUID> touchedInvoices(DomainEvent event) {
+        if (event instanceof InvoicesMarkedOverdueEvent e) {
+            return e.getInvoiceIds();
+        } else if (event instanceof InvoiceSentEvent e) {
+            return List.of(e.getInvoiceId());
+        } else if (event instanceof PaymentRecordedEvent e) {
+            return List.of(e.getInvoiceId());
+        } else if (event instanceof InvoiceFullyPaidEvent e) {
+            return List.of(e.getInvoiceId());
+        } else if (event instanceof InvoiceCancelledEvent e) {
+            return List.of(e.getInvoiceId());
+        } else if (event instanceof LateFeeAppliedEvent e) {
+            return List.of(e.getInvoiceId());
+        } else if (event instanceof RefundIssuedEvent e) {
+            return List.of(e.getInvoiceId());
+        }
+        return List.of();
+    }
+}
@@ -1,5 +1,6 @@
 package com.invoiceme.infrastructure.exception;
 
+import com.invoiceme.infrastructure.bus.BulkheadFullException;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ProblemDetail;
@@ -62,6 +63,22 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.CONFLICT).body(problemDetail);
     }
     
+    @ExceptionHandler(BulkheadFullException.class)
+    public ResponseEntity<ProblemDetail> handleBulkheadFull(BulkheadFullException ex) {
+        log.warn("Bulkhead full: {}", ex.getMessage());
+        
+        ProblemDetail problemDetail = ProblemDetail.forStatusAndDetail(
+            HttpStatus.SERVICE_UNAVAILABLE,
+            ex.getMessage()
+        );
+        problemDetail.setTitle("Service Unavailable");
+        problemDetail.setType(URI.create("https://invoiceme.com/problems/service-unavailable"));
+        
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+            .header("Retry-After", "1")
+            .body(problemDetail);
+    }
+    
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<ProblemDetail> handleValidationException(MethodArgumentNotValidException ex) {
         log.warn("Validation error: {}", ex.getMessage());
@@ -0,0 +1,400 @@
+package com.invoiceme.infrastructure.jobs;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.invoiceme.infrastructure.config.AsyncProperties;
+import com.invoiceme.infrastructure.config.MeteredExecutors;
+import com.invoiceme.infrastructure.persistence.BulkJobRepository;
+import com.invoiceme.infrastructure.persistence.BulkJobRepository.BulkJob;
+import com.invoiceme.infrastructure.persistence.BulkJobRepository.PendingUnit;
+import com.invoiceme.infrastructure.persistence.BulkJobRepository.UnitCompletion;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Runs {@link BulkJobType} jobs in the background, outside any request.
+ *
+ * Submitting plans the job in the caller's thread and stores it with its units (bulk_jobs, V27), then returns;
+ * the job waits QUEUED until one of app.jobs.max-running slots on this node is free. Its units are then
+ * processed on the type's executor (app.async.executors.bulk-&lt;type&gt;, metered like the @Async ones), each
+ * unit marked done in a short transaction of its own, so no
+ * transaction or HTTP request stays open for the length of the job. Cancelling lets the units in progress
+ * finish and leaves the rest PENDING.
+ *
+ * Each job's coordinator thread refreshes its heartbeat every app.jobs.heartbeat-interval-ms, while the job
+ * waits for a slot and while its workers run, so a busy scheduler cannot make a live job look dead. Unfinished
+ * jobs whose heartbeat is older than app.jobs.stale-after-ms (the node died or was redeployed) are taken over
+ * by whichever node checks first and resume with their PENDING units. A node that finds it no longer owns a
+ * job (its heartbeat, a unit or the job's end is refused) stops working on it and leaves it to the new owner.
+ *
+ * Progress: GET /api/v1/jobs/{id}, bulk.jobs.active and bulk.job.items{type,outcome}.
+ */
+@Service
+@Slf4j
+public class BulkJobRunner {
+    
+    private static final int MAX_REPORTED_FAILURES = 100;
+    private static final TypeReference<List<String>> ITEMS = new TypeReference<>() {
+    };
+    
+    private final Map<String, BulkJobType<?>> types = new LinkedHashMap<>();
+    private final Map<String, Map<String, Counter>> itemCounters = new LinkedHashMap<>();
+    private final Map<String, ThreadPoolTaskExecutor> executors = new LinkedHashMap<>();
+    private final BulkJobRepository repository;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transaction;
+    private final Semaphore slots;
+    private final long heartbeatIntervalMs;
+    private final long staleAfterMs;
+    private final String node;
+    
+    // Jobs owned by this node, queued or running
+    private final Set<UUID> active = ConcurrentHashMap.newKeySet();
+    private volatile boolean stopping;
+    
+    public BulkJobRunner(
+            List<BulkJobType<?>> types,
+            BulkJobRepository repository,
+            ObjectMapper objectMapper,
+            PlatformTransactionManager transactionManager,
+            AsyncProperties asyncProperties,
+            MeterRegistry meterRegistry,
+            @Value("${app.jobs.max-running:1}") int maxRunning,
+            @Value("${app.jobs.heartbeat-interval-ms:15000}") long heartbeatIntervalMs,
+            @Value("${app.jobs.stale-after-ms:60000}") long staleAfterMs) {
+        this.repository = repository;
+        this.objectMapper = objectMapper;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.slots = new Semaphore(Math.max(1, maxRunning), true);
+        this.heartbeatIntervalMs = heartbeatIntervalMs;
+        this.staleAfterMs = staleAfterMs;
+        this.node = ManagementFactory.getRuntimeMXBean().getName();
+        
+        for (BulkJobType<?> type : types) {
+            if (this.types.put(type.name(), type) != null) {
+                throw new IllegalStateException("Two bulk job types named " + type.name());
+            }
+            Map<String, Counter> counters = new LinkedHashMap<>();
+            for (String outcome : List.of("succeeded", "skipped", "failed")) {
+                counters.put(outcome, Counter.builder("bulk.job.items")
+                    .tag("type", type.name())
+                    .tag("outcome", outcome)
+                    .register(meterRegistry));
+            }
+            itemCounters.put(type.name(), counters);
+            String executor = "bulk-" + type.name().toLowerCase(Locale.ROOT).replace('_', '-');
+            executors.put(type.name(),
+                MeteredExecutors.create(executor, asyncProperties.executor(executor), meterRegistry));
+        }
+        Gauge.builder("bulk.jobs.active", active, Set::size).register(meterRegistry);
+    }
+    
+    /**
+     * Plans and stores the job, then starts it in the background.
+     *
+     * @param createdBy who submitted it (user name, or "scheduler")
+     */
+    public <P> BulkJobStatus submit(BulkJobType<P> type, P parameters, String createdBy) {
+        if (types.get(type.name()) != type) {
+            throw new IllegalArgumentException("Unknown bulk job type: " + type.name());
+        }
+        List<List<String>> plan = type.plan(parameters);
+        List<String> units = new ArrayList<>(plan.size());
+        int totalItems = 0;
+        for (List<String> unit : plan) {
+            if (!unit.isEmpty()) {
+                units.add(json(unit));
+                totalItems += unit.size();
+            }
+        }
+        UUID jobId = UUID.randomUUID();
+        String parametersJson = json(parameters);
+        int items = totalItems;
+        transaction.executeWithoutResult(status ->
+            repository.insert(jobId, type.name(), parametersJson, createdBy, node, units, items));
+        log.info("Submitted {} job {}: {} items in {} units", type.name(), jobId, totalItems, units.size());
+        launch(jobId);
+        return status(jobId);
+    }
+    
+    public BulkJobStatus status(UUID jobId) {
+        BulkJob job = repository.find(jobId)
+            .orElseThrow(() -> new IllegalArgumentException("Job not found: " + jobId));
+        return job.toStatus(job.failed() > 0 ? repository.findFailures(jobId, MAX_REPORTED_FAILURES) : List.of());
+    }
+    
+    public List<BulkJobStatus> recent(int limit) {
+        return repository.findRecent(limit).stream().map(job -> job.toStatus(List.of())).toList();
+    }
+    
+    /**
+     * Asks the job to stop after the units in progress; it ends CANCELLED. Works from any node.
+     */
+    public BulkJobStatus cancel(UUID jobId) {
+        status(jobId);
+        if (!repository.requestCancel(jobId)) {
+            throw new IllegalStateException("Job " + jobId + " has already finished");
+        }
+        log.info("Cancellation requested for job {}", jobId);
+        return status(jobId);
+    }
+    
+    /**
+     * Lets the units in progress finish and leaves the rest PENDING for whichever node takes the jobs over
+     * (this one, after a restart).
+     */
+    @PreDestroy
+    public void shutdown() {
+        stopping = true;
+        executors.values().forEach(ThreadPoolTaskExecutor::shutdown);
+    }
+    
+    /**
+     * Resumes jobs that a previous run of the application (or a node that has since died) left unfinished.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeStaleJobs() {
+        try {
+            for (UUID jobId : repository.claimStale(node, staleAfterMs)) {
+                log.info("Taking over unfinished job {}", jobId);
+                launch(jobId);
+            }
+        } catch (RuntimeException e) {
+            log.error("Could not take over unfinished jobs", e);
+        }
+    }
+    
+    @Scheduled(fixedDelayString = "${app.jobs.heartbeat-interval-ms:15000}",
+               initialDelayString = "${app.jobs.heartbeat-interval-ms:15000}")
+    public void takeOverStaleJobs() {
+        resumeStaleJobs();
+    }
+    
+    private void launch(UUID jobId) {
+        if (!active.add(jobId)) {
+            return;
+        }
+        Thread coordinator = new Thread(() -> {
+            try {
+                if (awaitSlot(jobId)) {
+                    try {
+                        run(jobId);
+                    } finally {
+                        slots.release();
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (RuntimeException e) {
+                // Left unfinished; its heartbeat goes stale and the job is taken over
+                log.error("Job {} stopped", jobId, e);
+            } finally {
+                active.remove(jobId);
+            }
+        }, "bulk-job-" + jobId);
+        coordinator.setDaemon(true);
+        coordinator.start();
+    }
+    
+    /**
+     * Waits for a free slot, keeping the queued job's heartbeat fresh meanwhile.
+     *
+     * @return false if the job was taken over or finished elsewhere while waiting
+     */
+    private boolean awaitSlot(UUID jobId) throws InterruptedException {
+        while (!slots.tryAcquire(heartbeatIntervalMs, TimeUnit.MILLISECONDS)) {
+            if (!heartbeat(jobId)) {
+                log.info("Job {} was taken over by another node while queued", jobId);
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    /**
+     * @return false only if the job is no longer this node's; a failed update counts as still owned
+     */
+    private boolean heartbeat(UUID jobId) {
+        try {
+            return repository.heartbeat(jobId, node);
+        } catch (RuntimeException e) {
+            log.warn("Could not refresh heartbeat of job {}: {}", jobId, e.getMessage());
+            return true;
+        }
+    }
+    
+    private void run(UUID jobId) {
+        BulkJob job = repository.find(jobId).orElseThrow(() -> new IllegalStateException("Job vanished: " + jobId));
+        if (job.state().isFinished()) {
+            return;
+        }
+        BulkJobType<?> type = types.get(job.type());
+        if (type == null) {
+            repository.finish(jobId, node, BulkJobState.FAILED, "Unknown job type " + job.type());
+            return;
+        }
+        if (!repository.markRunning(jobId, node)) {
+            log.info("Job {} was taken over by another node before it started", jobId);
+            return;
+        }
+        type.onStart(jobId);
+        AtomicBoolean owned = new AtomicBoolean(true);
+        BulkJobState state = BulkJobState.FAILED;
+        try {
+            state = runUnits(job, type, owned);
+            if (stopping) {
+                // Left RUNNING with its PENDING units; its heartbeat goes stale and another node takes it over
+                log.info("Job {} ({}) paused by shutdown", jobId, job.type());
+                state = BulkJobState.RUNNING;
+                return;
+            }
+            if (owned.get() && !repository.finish(jobId, node, state, null)) {
+                owned.set(false);
+            }
+        } catch (RuntimeException e) {
+            // Units already done stay done; failing to record this leaves the job to be taken over
+            repository.finish(jobId, node, BulkJobState.FAILED, e.getMessage());
+            throw e;
+        } finally {
+            type.onFinish(jobId, owned.get() ? state : BulkJobState.RUNNING);
+        }
+        if (owned.get()) {
+            log.info("Job {} ({}) {}", jobId, job.type(), state);
+        } else {
+            log.warn("Job {} ({}) was taken over by another node; stopped working on it here", jobId, job.type());
+        }
+    }
+    
+    private <P> BulkJobState runUnits(BulkJob job, BulkJobType<P> type, AtomicBoolean owned) {
+        P parameters = read(job.parameters(), type.parametersType());
+        Queue<PendingUnit> pending = new ConcurrentLinkedQueue<>(repository.findPendingUnits(job.id()));
+        if (pending.isEmpty()) {
+            return BulkJobState.COMPLETED;
+        }
+        ThreadPoolTaskExecutor executor = executors.get(type.name());
+        int workers = Math.max(1, Math.min(executor.getMaxPoolSize(), pending.size()));
+        List<Future<?>> futures = new ArrayList<>();
+        try {
+            for (int i = 0; i < workers; i++) {
+                futures.add(executor.submit(() -> work(job.id(), type, parameters, pending, owned)));
+            }
+            for (Future<?> future : futures) {
+                awaitWorker(job.id(), future, owned);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Job " + job.id() + " interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Job " + job.id() + " failed: " + e.getCause().getMessage(), e.getCause());
+        } finally {
+            // The executor is shared with later jobs of the type; stop only this job's workers
+            futures.forEach(future -> future.cancel(true));
+        }
+        return pending.isEmpty() ? BulkJobState.COMPLETED : BulkJobState.CANCELLED;
+    }
+    
+    /**
+     * Waits for one worker, refreshing the job's heartbeat every interval; a refused heartbeat tells the
+     * workers to stop.
+     */
+    private void awaitWorker(UUID jobId, Future<?> future, AtomicBoolean owned)
+            throws InterruptedException, ExecutionException {
+        while (true) {
+            try {
+                future.get(heartbeatIntervalMs, TimeUnit.MILLISECONDS);
+                return;
+            } catch (TimeoutException e) {
+                if (owned.get() && !heartbeat(jobId)) {
+                    owned.set(false);
+                }
+            }
+        }
+    }
+    
+    private <P> void work(UUID jobId, BulkJobType<P> type, P parameters, Queue<PendingUnit> pending,
+                          AtomicBoolean owned) {
+        Map<String, Counter> counters = itemCounters.get(type.name());
+        while (owned.get() && !stopping && !Thread.currentThread().isInterrupted()
+                && !repository.isCancelRequested(jobId)) {
+            PendingUnit unit = pending.poll();
+            if (unit == null) {
+                return;
+            }
+            List<String> items = read(unit.items(), ITEMS);
+            UnitResult result;
+            try {
+                result = type.process(parameters, items);
+            } catch (RuntimeException e) {
+                log.warn("Job {}: unit {} failed: {}", jobId, unit.index(), e.getMessage());
+                result = new UnitResult();
+                for (String item : items) {
+                    result.failed(item, e.getMessage());
+                }
+            }
+            UnitResult done = result;
+            UnitCompletion completion = transaction.execute(status ->
+                repository.completeUnit(jobId, node, unit.index(), done));
+            if (completion == UnitCompletion.NOT_OWNER) {
+                owned.set(false);
+            } else if (completion == UnitCompletion.COUNTED) {
+                counters.get("succeeded").increment(done.getSucceeded());
+                counters.get("skipped").increment(done.getSkipped());
+                counters.get("failed").increment(done.getFailed());
+            }
+        }
+    }
+    
+    private String json(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Could not serialize job parameters: " + e.getMessage(), e);
+        }
+    }
+    
+    private <T> T read(String json, Class<T> type) {
+        try {
+            return objectMapper.readValue(json, type);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not read stored job data: " + e.getMessage(), e);
+        }
+    }
+    
+    private <T> T read(String json, TypeReference<T> type) {
+        try {
+            return objectMapper.readValue(json, type);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not read stored job data: " + e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.invoiceme.infrastructure.jobs;
+
+public enum BulkJobState {
+    QUEUED,
+    RUNNING,
+    COMPLETED,
+    CANCELLED,
+    FAILED;
+    
+    public boolean isFinished() {
+        return this == COMPLETED || this == CANCELLED || this == FAILED;
+    }
+}
@@ -0,0 +1,31 @@
+package com.invoiceme.infrastructure.jobs;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Progress of a bulk job, as returned by GET /api/v1/jobs/{id}.
+ *
+ * @param cancelRequested the job stops after the units in progress; it ends CANCELLED
+ * @param failures        the first failed items with the reason
+ */
+public record BulkJobStatus(
+    UUID id,
+    String type,
+    BulkJobState status,
+    boolean cancelRequested,
+    int totalUnits,
+    int completedUnits,
+    int totalItems,
+    int succeeded,
+    int skipped,
+    int failed,
+    List<UnitResult.Failure> failures,
+    String createdBy,
+    Instant createdAt,
+    Instant startedAt,
+    Instant completedAt,
+    String error
+) {
+}
@@ -0,0 +1,46 @@
+package com.invoiceme.infrastructure.jobs;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * A kind of bulk job that {@link BulkJobRunner} can run.
+ *
+ * A job is planned once, when it is submitted, into units of item ids; the units are then handed out in order
+ * to the threads of the type's executor, app.async.executors.bulk-&lt;name&gt; (e.g. bulk-late-fees). A unit
+ * may be processed again if the node stops between its work committing and the unit being marked done, so
+ * {@link #process} must be safe to repeat (e.g. skip items that are already in their target state).
+ *
+ * @param <P> the job's parameters, stored as JSON with the job
+ */
+public interface BulkJobType<P> {
+    
+    /**
+     * Stored in bulk_jobs.job_type; must not change once jobs of the type exist.
+     */
+    String name();
+    
+    Class<P> parametersType();
+    
+    /**
+     * Splits the job into units of item ids, in the submitting thread. Throws IllegalArgumentException to
+     * reject the parameters.
+     */
+    List<List<String>> plan(P parameters);
+    
+    /**
+     * Processes one unit in its own transaction(s). Per-item problems are reported in the result; an exception
+     * counts every item of the unit as failed.
+     */
+    UnitResult process(P parameters, List<String> items);
+    
+    default void onStart(UUID jobId) {
+    }
+    
+    /**
+     * Called when this node stops running the job: with its final state, or RUNNING if the job is left for
+     * another node (taken over, or this node is shutting down).
+     */
+    default void onFinish(UUID jobId, BulkJobState state) {
+    }
+}
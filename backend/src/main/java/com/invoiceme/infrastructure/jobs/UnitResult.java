@@ -0,0 +1,54 @@
+package com.invoiceme.infrastructure.jobs;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Outcome of one unit of a bulk job: how many items succeeded, were skipped (nothing to do) or failed.
+ */
+public class UnitResult {
+    
+    private int succeeded;
+    private int skipped;
+    private final List<Failure> failures = new ArrayList<>();
+    
+    public void succeeded() {
+        succeeded++;
+    }
+    
+    public void skipped() {
+        skipped++;
+    }
+    
+    public void failed(String item, String reason) {
+        failures.add(new Failure(item, reason));
+    }
+    
+    /**
+     * Adds another result's counts and failures to this one.
+     */
+    public void add(UnitResult other) {
+        succeeded += other.succeeded;
+        skipped += other.skipped;
+        failures.addAll(other.failures);
+    }
+    
+    public int getSucceeded() {
+        return succeeded;
+    }
+    
+    public int getSkipped() {
+        return skipped;
+    }
+    
+    public int getFailed() {
+        return failures.size();
+    }
+    
+    public List<Failure> getFailures() {
+        return failures;
+    }
+    
+    public record Failure(String item, String reason) {
+    }
+}
@@ -0,0 +1,34 @@
+package com.invoiceme.infrastructure.metrics;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostLoadEvent;
+import org.hibernate.event.spi.PostLoadEventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Counts entities hydrated from JDBC result sets (or the second-level cache) on the current thread.
+ */
+@Component
+@RequiredArgsConstructor
+public class EntityLoadCounter implements PostLoadEventListener {
+    
+    private final EntityManagerFactory entityManagerFactory;
+    
+    @PostConstruct
+    void register() {
+        entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+            .getServiceRegistry()
+            .getService(EventListenerRegistry.class)
+            .appendListeners(EventType.POST_LOAD, this);
+    }
+    
+    @Override
+    public void onPostLoad(PostLoadEvent event) {
+        PersistenceActivity.entityLoaded();
+    }
+}
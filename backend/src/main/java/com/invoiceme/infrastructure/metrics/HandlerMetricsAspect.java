@@ -0,0 +1,62 @@
+package com.invoiceme.infrastructure.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+
+/**
+ * Times every command/query handler ({@code com.invoiceme..*Handler.handle(..)}) and records how many
+ * SQL statements it issued and how many entities it hydrated.
+ *
+ * Meters (tagged by handler simple name):
+ * - invoiceme.handler: latency histogram, additionally tagged outcome and exception
+ * - invoiceme.handler.db.statements: statements per invocation
+ * - invoiceme.handler.entities.loaded: entities hydrated per invocation
+ */
+@Aspect
+@Component
+@RequiredArgsConstructor
+public class HandlerMetricsAspect {
+    
+    private final MeterRegistry meterRegistry;
+    
+    @Around("execution(public * com.invoiceme..*Handler.handle(..))")
+    public Object measure(ProceedingJoinPoint joinPoint) throws Throwable {
+        String handler = joinPoint.getSignature().getDeclaringType().getSimpleName();
+        PersistenceActivity.Snapshot before = PersistenceActivity.snapshot();
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "success";
+        String exception = "none";
+        
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable t) {
+            outcome = "error";
+            exception = t.getClass().getSimpleName();
+            throw t;
+        } finally {
+            sample.stop(Timer.builder("invoiceme.handler")
+                .description("Command and query handler latency")
+                .tag("handler", handler)
+                .tag("outcome", outcome)
+                .tag("exception", exception)
+                .publishPercentileHistogram()
+                .register(meterRegistry));
+            
+            PersistenceActivity.Snapshot activity = PersistenceActivity.snapshot().since(before);
+            DistributionSummary.builder("invoiceme.handler.db.statements")
+                .tag("handler", handler)
+                .register(meterRegistry)
+                .record(activity.statements());
+            DistributionSummary.builder("invoiceme.handler.entities.loaded")
+                .tag("handler", handler)
+                .register(meterRegistry)
+                .record(activity.entitiesLoaded());
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.invoiceme.infrastructure.metrics;
+
+/**
+ * Per-thread running totals of JDBC statements prepared and entities hydrated by Hibernate.
+ *
+ * Totals are never reset; callers take a snapshot before and after a unit of work and record the
+ * difference, which keeps nested measurements (request -> handler) independent of each other.
+ */
+public final class PersistenceActivity {
+    
+    private static final ThreadLocal<long[]> COUNTERS = ThreadLocal.withInitial(() -> new long[2]);
+    
+    private static final int STATEMENTS = 0;
+    private static final int ENTITIES_LOADED = 1;
+    
+    private PersistenceActivity() {
+    }
+    
+    static void statementPrepared() {
+        COUNTERS.get()[STATEMENTS]++;
+    }
+    
+    static void entityLoaded() {
+        COUNTERS.get()[ENTITIES_LOADED]++;
+    }
+    
+    public static Snapshot snapshot() {
+        long[] counters = COUNTERS.get();
+        return new Snapshot(counters[STATEMENTS], counters[ENTITIES_LOADED]);
+    }
+    
+    public record Snapshot(long statements, long entitiesLoaded) {
+        
+        public Snapshot since(Snapshot start) {
+            return new Snapshot(statements - start.statements, entitiesLoaded - start.entitiesLoaded);
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.invoiceme.infrastructure.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * Records SQL statements and hydrated entities per HTTP request (http.server.requests.db.statements /
+ * http.server.requests.entities.loaded), tagged with method and URI template like http.server.requests.
+ */
+@Component
+@RequiredArgsConstructor
+public class RequestPersistenceMetricsFilter extends OncePerRequestFilter {
+    
+    private final MeterRegistry meterRegistry;
+    
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        PersistenceActivity.Snapshot before = PersistenceActivity.snapshot();
+        
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            // Unmatched requests (404s, actuator scrapes handled elsewhere) would explode tag cardinality
+            if (pattern != null) {
+                PersistenceActivity.Snapshot activity = PersistenceActivity.snapshot().since(before);
+                String uri = pattern.toString();
+                DistributionSummary.builder("http.server.requests.db.statements")
+                    .tag("method", request.getMethod())
+                    .tag("uri", uri)
+                    .register(meterRegistry)
+                    .record(activity.statements());
+                DistributionSummary.builder("http.server.requests.entities.loaded")
+                    .tag("method", request.getMethod())
+                    .tag("uri", uri)
+                    .register(meterRegistry)
+                    .record(activity.entitiesLoaded());
+            }
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.invoiceme.infrastructure.metrics;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Counts every SQL statement Hibernate prepares on the current thread. Registered through
+ * hibernate.session_factory.statement_inspector; the SQL is passed through unchanged.
+ */
+public class StatementCountingInspector implements StatementInspector {
+    
+    @Override
+    public String inspect(String sql) {
+        PersistenceActivity.statementPrepared();
+        return sql;
+    }
+}
@@ -33,6 +33,9 @@ public class ActivityFeed {
     @Column(name = "user_id")
     private UUID userId;
     
+    @Column(name = "event_id")
+    private UUID eventId; // Set for entries written from the event store (ActivityFeedProjection)
+    
     public static ActivityFeed create(UUID aggregateId, String eventType, String description, UUID userId) {
         ActivityFeed entry = new ActivityFeed();
         entry.aggregateId = aggregateId;
@@ -0,0 +1,15 @@
+package com.invoiceme.infrastructure.persistence;
+
+import java.math.BigDecimal;
+
+/**
+ * One row of {@link InvoiceRepository#agingBuckets}: invoice count and balance due for an aging bucket.
+ */
+public interface AgingBucketTotals {
+    
+    int getBucket();
+    
+    long getInvoiceCount();
+    
+    BigDecimal getBalanceDue();
+}
@@ -0,0 +1,226 @@
+package com.invoiceme.infrastructure.persistence;
+
+import com.invoiceme.infrastructure.jobs.BulkJobState;
+import com.invoiceme.infrastructure.jobs.BulkJobStatus;
+import com.invoiceme.infrastructure.jobs.UnitResult;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Bulk jobs, their units of work and failed items (bulk_jobs, bulk_job_units, bulk_job_failures).
+ */
+@Repository
+@RequiredArgsConstructor
+public class BulkJobRepository {
+    
+    private static final String JOB_COLUMNS =
+        "SELECT id, job_type, status, parameters, cancel_requested, total_units, completed_units, total_items, " +
+        "succeeded, skipped, failed, created_by, created_at, started_at, completed_at, error FROM bulk_jobs ";
+    
+    private static final RowMapper<BulkJob> JOB_MAPPER = (rs, rowNum) -> new BulkJob(
+        rs.getObject("id", UUID.class),
+        rs.getString("job_type"),
+        BulkJobState.valueOf(rs.getString("status")),
+        rs.getString("parameters"),
+        rs.getBoolean("cancel_requested"),
+        rs.getInt("total_units"),
+        rs.getInt("completed_units"),
+        rs.getInt("total_items"),
+        rs.getInt("succeeded"),
+        rs.getInt("skipped"),
+        rs.getInt("failed"),
+        rs.getString("created_by"),
+        instant(rs, "created_at"),
+        instant(rs, "started_at"),
+        instant(rs, "completed_at"),
+        rs.getString("error"));
+    
+    private final JdbcTemplate jdbcTemplate;
+    
+    /**
+     * Creates a QUEUED job owned by {@code node} with its units, all PENDING.
+     *
+     * @param units JSON array of item ids per unit, in processing order
+     */
+    public void insert(UUID id, String type, String parameters, String createdBy, String node,
+                       List<String> units, int totalItems) {
+        jdbcTemplate.update(
+            "INSERT INTO bulk_jobs (id, job_type, status, parameters, total_units, total_items, owner_node, created_by) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?)",
+            id, type, BulkJobState.QUEUED.name(), parameters, units.size(), totalItems, node, createdBy);
+        List<Object[]> rows = new ArrayList<>(units.size());
+        for (int i = 0; i < units.size(); i++) {
+            rows.add(new Object[] {id, i, units.get(i)});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO bulk_job_units (job_id, unit_index, items) VALUES (?, ?, ?)", rows);
+    }
+    
+    public Optional<BulkJob> find(UUID id) {
+        return jdbcTemplate.query(JOB_COLUMNS + "WHERE id = ?", JOB_MAPPER, id).stream().findFirst();
+    }
+    
+    public List<BulkJob> findRecent(int limit) {
+        return jdbcTemplate.query(JOB_COLUMNS + "ORDER BY created_at DESC LIMIT ?", JOB_MAPPER, limit);
+    }
+    
+    public List<UnitResult.Failure> findFailures(UUID jobId, int limit) {
+        return jdbcTemplate.query(
+            "SELECT item, reason FROM bulk_job_failures WHERE job_id = ? ORDER BY unit_index LIMIT ?",
+            (rs, rowNum) -> new UnitResult.Failure(rs.getString("item"), rs.getString("reason")),
+            jobId, limit);
+    }
+    
+    /**
+     * Units not yet done, in index order.
+     */
+    public List<PendingUnit> findPendingUnits(UUID jobId) {
+        return jdbcTemplate.query(
+            "SELECT unit_index, items FROM bulk_job_units WHERE job_id = ? AND status = 'PENDING' ORDER BY unit_index",
+            (rs, rowNum) -> new PendingUnit(rs.getInt("unit_index"), rs.getString("items")),
+            jobId);
+    }
+    
+    /**
+     * @return false if another node has taken the job over
+     */
+    public boolean markRunning(UUID jobId, String node) {
+        return jdbcTemplate.update(
+            "UPDATE bulk_jobs SET status = ?, heartbeat_at = CURRENT_TIMESTAMP, " +
+            "started_at = COALESCE(started_at, CURRENT_TIMESTAMP) WHERE id = ? AND owner_node = ?",
+            BulkJobState.RUNNING.name(), jobId, node) > 0;
+    }
+    
+    /**
+     * Marks the unit done and adds its result to the job's totals, once: a unit that is already done (processed
+     * again after a takeover) changes nothing, and neither does a node that no longer owns the job. Locks the
+     * job row, so a takeover waits for the unit to be recorded. Call inside a transaction.
+     */
+    public UnitCompletion completeUnit(UUID jobId, String node, int unitIndex, UnitResult result) {
+        if (jdbcTemplate.queryForList("SELECT id FROM bulk_jobs WHERE id = ? AND owner_node = ? FOR UPDATE",
+                UUID.class, jobId, node).isEmpty()) {
+            return UnitCompletion.NOT_OWNER;
+        }
+        int updated = jdbcTemplate.update(
+            "UPDATE bulk_job_units SET status = 'DONE', completed_at = CURRENT_TIMESTAMP " +
+            "WHERE job_id = ? AND unit_index = ? AND status = 'PENDING'",
+            jobId, unitIndex);
+        if (updated == 0) {
+            return UnitCompletion.ALREADY_DONE;
+        }
+        jdbcTemplate.update(
+            "UPDATE bulk_jobs SET completed_units = completed_units + 1, succeeded = succeeded + ?, " +
+            "skipped = skipped + ?, failed = failed + ?, heartbeat_at = CURRENT_TIMESTAMP WHERE id = ?",
+            result.getSucceeded(), result.getSkipped(), result.getFailed(), jobId);
+        if (!result.getFailures().isEmpty()) {
+            List<Object[]> rows = new ArrayList<>(result.getFailures().size());
+            for (UnitResult.Failure failure : result.getFailures()) {
+                rows.add(new Object[] {jobId, unitIndex, failure.item(), failure.reason()});
+            }
+            jdbcTemplate.batchUpdate(
+                "INSERT INTO bulk_job_failures (job_id, unit_index, item, reason) VALUES (?, ?, ?, ?)", rows);
+        }
+        return UnitCompletion.COUNTED;
+    }
+    
+    /**
+     * @return false if another node has taken the job over
+     */
+    public boolean finish(UUID jobId, String node, BulkJobState state, String error) {
+        return jdbcTemplate.update(
+            "UPDATE bulk_jobs SET status = ?, error = ?, completed_at = CURRENT_TIMESTAMP " +
+            "WHERE id = ? AND owner_node = ?",
+            state.name(), error, jobId, node) > 0;
+    }
+    
+    /**
+     * @return false if the job does not exist or has already finished
+     */
+    public boolean requestCancel(UUID jobId) {
+        return jdbcTemplate.update(
+            "UPDATE bulk_jobs SET cancel_requested = TRUE WHERE id = ? AND status IN ('QUEUED', 'RUNNING')",
+            jobId) > 0;
+    }
+    
+    public boolean isCancelRequested(UUID jobId) {
+        Boolean requested = jdbcTemplate.queryForObject(
+            "SELECT cancel_requested FROM bulk_jobs WHERE id = ?", Boolean.class, jobId);
+        return Boolean.TRUE.equals(requested);
+    }
+    
+    /**
+     * @return false if the job has finished or another node has taken it over
+     */
+    public boolean heartbeat(UUID jobId, String node) {
+        return jdbcTemplate.update(
+            "UPDATE bulk_jobs SET heartbeat_at = CURRENT_TIMESTAMP " +
+            "WHERE id = ? AND owner_node = ? AND status IN ('QUEUED', 'RUNNING')",
+            jobId, node) > 0;
+    }
+    
+    /**
+     * Takes over unfinished jobs whose owner has not sent a heartbeat for {@code staleAfterMs}, measured on the
+     * database clock. Concurrent callers never claim the same job.
+     */
+    public List<UUID> claimStale(String node, long staleAfterMs) {
+        return jdbcTemplate.queryForList(
+            "UPDATE bulk_jobs SET owner_node = ?, heartbeat_at = CURRENT_TIMESTAMP " +
+            "WHERE id IN (SELECT id FROM bulk_jobs WHERE status IN ('QUEUED', 'RUNNING') " +
+            "             AND heartbeat_at < CURRENT_TIMESTAMP - ? * INTERVAL '1 millisecond' " +
+            "             FOR UPDATE SKIP LOCKED) " +
+            "RETURNING id",
+            UUID.class, node, staleAfterMs);
+    }
+    
+    private static Instant instant(ResultSet rs, String column) throws SQLException {
+        Timestamp timestamp = rs.getTimestamp(column);
+        return timestamp != null ? timestamp.toInstant() : null;
+    }
+    
+    public record BulkJob(
+        UUID id,
+        String type,
+        BulkJobState state,
+        String parameters,
+        boolean cancelRequested,
+        int totalUnits,
+        int completedUnits,
+        int totalItems,
+        int succeeded,
+        int skipped,
+        int failed,
+        String createdBy,
+        Instant createdAt,
+        Instant startedAt,
+        Instant completedAt,
+        String error
+    ) {
+        
+        public BulkJobStatus toStatus(List<UnitResult.Failure> failures) {
+            return new BulkJobStatus(id, type, state, cancelRequested, totalUnits, completedUnits, totalItems,
+                succeeded, skipped, failed, failures, createdBy, createdAt, startedAt, completedAt, error);
+        }
+    }
+    
+    /**
+     * @param items JSON array of item ids
+     */
+    public record PendingUnit(int index, String items) {
+    }
+    
+    public enum UnitCompletion {
+        COUNTED,
+        ALREADY_DONE,
+        NOT_OWNER
+    }
+}
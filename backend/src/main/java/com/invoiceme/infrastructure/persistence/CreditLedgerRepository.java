@@ -0,0 +1,83 @@
+package com.invoiceme.infrastructure.persistence;
+
+import com.invoiceme.domain.customer.CreditLedgerEntry;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Customer credit ledger. A balance is the customer's row in customer_credit_balances (the compacted
+ * running sum) plus the ledger entries written by transactions at or after its through_txid.
+ */
+@Repository
+public interface CreditLedgerRepository extends JpaRepository<CreditLedgerEntry, UUID> {
+    
+    @Query(value = "SELECT COALESCE(s.balance, 0) + COALESCE((" +
+                   "  SELECT SUM(l.amount) FROM customer_credit_ledger l " +
+                   "  WHERE l.customer_id = c.id AND l.txid >= COALESCE(s.through_txid, 0)), 0) " +
+                   "FROM customers c LEFT JOIN customer_credit_balances s ON s.customer_id = c.id " +
+                   "WHERE c.id = :customerId",
+           nativeQuery = true)
+    BigDecimal balanceOf(@Param("customerId") UUID customerId);
+    
+    /**
+     * @return rows of (customer_id, balance)
+     */
+    @Query(value = "SELECT c.id, COALESCE(s.balance, 0) + COALESCE((" +
+                   "  SELECT SUM(l.amount) FROM customer_credit_ledger l " +
+                   "  WHERE l.customer_id = c.id AND l.txid >= COALESCE(s.through_txid, 0)), 0) " +
+                   "FROM customers c LEFT JOIN customer_credit_balances s ON s.customer_id = c.id " +
+                   "WHERE c.id IN (:customerIds)",
+           nativeQuery = true)
+    List<Object[]> balancesOf(@Param("customerIds") Collection<UUID> customerIds);
+    
+    /**
+     * Serialises credit reservations for one customer until the current transaction ends.
+     * Credits never take this lock, so they are not held up by it.
+     */
+    @Query(value = "SELECT COUNT(*) FROM (SELECT pg_advisory_xact_lock(hashtext('customer_credit'), " +
+                   "hashtext(CAST(:customerId AS text)))) AS locked",
+           nativeQuery = true)
+    long lockForReservation(@Param("customerId") UUID customerId);
+    
+    /**
+     * Folds ledger entries into customer_credit_balances for customers with at least minEntries
+     * entries since their last snapshot. Only entries from transactions below the oldest still
+     * running one (the snapshot xmin) are folded in; a slow writer's entry is therefore never
+     * skipped, it is simply picked up by a later compaction. Declares the ledger tables as its query
+     * space so a run does not evict the rest of the second-level cache.
+     *
+     * @return number of customers compacted
+     */
+    @Modifying
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "customer_credit_ledger"),
+        @QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "customer_credit_balances")
+    })
+    @Query(value = "WITH horizon AS (SELECT txid_snapshot_xmin(txid_current_snapshot()) AS xmin) " +
+                   "INSERT INTO customer_credit_balances (customer_id, balance, through_txid, compacted_at) " +
+                   "SELECT l.customer_id, COALESCE(s.balance, 0) + SUM(l.amount), h.xmin, CURRENT_TIMESTAMP " +
+                   "FROM customer_credit_ledger l " +
+                   "CROSS JOIN horizon h " +
+                   "LEFT JOIN customer_credit_balances s ON s.customer_id = l.customer_id " +
+                   "WHERE l.txid >= COALESCE(s.through_txid, 0) AND l.txid < h.xmin " +
+                   "GROUP BY l.customer_id, s.balance, h.xmin " +
+                   "HAVING COUNT(*) >= :minEntries " +
+                   "ON CONFLICT (customer_id) DO UPDATE SET balance = EXCLUDED.balance, " +
+                   "through_txid = EXCLUDED.through_txid, compacted_at = EXCLUDED.compacted_at " +
+                   "WHERE customer_credit_balances.through_txid < EXCLUDED.through_txid",
+           nativeQuery = true)
+    int compactSnapshots(@Param("minEntries") int minEntries);
+    
+    List<CreditLedgerEntry> findByCustomerIdOrderByCreatedAtAsc(UUID customerId);
+}
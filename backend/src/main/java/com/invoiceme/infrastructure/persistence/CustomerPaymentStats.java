@@ -0,0 +1,51 @@
+package com.invoiceme.infrastructure.persistence;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Read-only view of a customer's payment behavior row (see V25). Written only through
+ * {@link CustomerPaymentStatsRepository}.
+ */
+@Entity
+@Immutable
+@Table(name = "customer_payment_stats")
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class CustomerPaymentStats implements PaymentStatsTotals {
+    
+    @Id
+    @Column(name = "customer_id")
+    private UUID customerId;
+    
+    @Column(name = "paid_invoice_count", nullable = false)
+    private long paidInvoiceCount;
+    
+    @Column(name = "paid_on_time_count", nullable = false)
+    private long paidOnTimeCount;
+    
+    @Column(name = "total_days_to_pay", nullable = false)
+    private long totalDaysToPay;
+    
+    @Column(name = "total_days_late", nullable = false)
+    private long totalDaysLate;
+    
+    @Column(name = "collected_amount", nullable = false, precision = 19, scale = 2)
+    private BigDecimal collectedAmount;
+    
+    @Column(name = "collected_amount_days", nullable = false, precision = 24, scale = 2)
+    private BigDecimal collectedAmountDays;
+    
+    /**
+     * Null until PaymentStatsBackfillJob has folded in the customer's history.
+     */
+    @Column(name = "backfilled_at")
+    private LocalDateTime backfilledAt;
+}
@@ -0,0 +1,138 @@
+package com.invoiceme.infrastructure.persistence;
+
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * customer_payment_stats rows. Rows are created by a trigger on customers; the record* methods add one
+ * event's contribution, {@link #recompute} rebuilds rows from invoices and payments. The updates declare
+ * customer_payment_stats as their query space so Hibernate leaves the second-level cache regions alone.
+ */
+@Repository
+public interface CustomerPaymentStatsRepository extends JpaRepository<CustomerPaymentStats, UUID> {
+    
+    /**
+     * Adds a fully paid invoice to its customer's row, reading dates from the (flushed) invoice.
+     *
+     * @return number of rows updated (0 if the invoice has no paid date)
+     */
+    @Modifying(flushAutomatically = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "customer_payment_stats"))
+    @Query(value = "UPDATE customer_payment_stats s SET " +
+                   "  paid_invoice_count = s.paid_invoice_count + 1, " +
+                   "  paid_on_time_count = s.paid_on_time_count + CASE WHEN CAST(i.paid_date AS DATE) <= i.due_date THEN 1 ELSE 0 END, " +
+                   "  total_days_to_pay = s.total_days_to_pay + GREATEST(CAST(i.paid_date AS DATE) - i.issue_date, 0), " +
+                   "  total_days_late = s.total_days_late + GREATEST(CAST(i.paid_date AS DATE) - i.due_date, 0), " +
+                   "  updated_at = CURRENT_TIMESTAMP " +
+                   "FROM invoices i " +
+                   "WHERE i.id = :invoiceId AND i.paid_date IS NOT NULL AND s.customer_id = i.customer_id",
+           nativeQuery = true)
+    int recordInvoicePaid(@Param("invoiceId") UUID invoiceId);
+    
+    /**
+     * Adds a completed payment against the invoice to its customer's row.
+     *
+     * @return number of rows updated
+     */
+    @Modifying(flushAutomatically = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "customer_payment_stats"))
+    @Query(value = "UPDATE customer_payment_stats s SET " +
+                   "  collected_amount = s.collected_amount + :amount, " +
+                   "  collected_amount_days = s.collected_amount_days + :amount * GREATEST(CAST(:paymentDate AS DATE) - i.issue_date, 0), " +
+                   "  updated_at = CURRENT_TIMESTAMP " +
+                   "FROM invoices i " +
+                   "WHERE i.id = :invoiceId AND s.customer_id = i.customer_id",
+           nativeQuery = true)
+    int recordPayment(@Param("invoiceId") UUID invoiceId,
+                      @Param("amount") BigDecimal amount,
+                      @Param("paymentDate") LocalDate paymentDate);
+    
+    /**
+     * Locks up to {@code limit} rows still waiting for their history, skipping rows other workers (or a
+     * payment in flight) hold.
+     */
+    @Query(value = "SELECT customer_id FROM customer_payment_stats WHERE backfilled_at IS NULL " +
+                   "ORDER BY customer_id LIMIT :limit FOR UPDATE SKIP LOCKED",
+           nativeQuery = true)
+    List<UUID> claimPending(@Param("limit") int limit);
+    
+    @Query(value = "SELECT COUNT(*) FROM customer_payment_stats WHERE backfilled_at IS NULL", nativeQuery = true)
+    long countPending();
+    
+    /**
+     * Rebuilds the rows of the given customers from their paid invoices and completed payments and marks
+     * them backfilled. Callers hold the rows' locks (see {@link #claimPending}), so increments committed
+     * before the lock was granted are part of the recomputed sums and later ones apply on top.
+     *
+     * @return number of rows updated
+     */
+    @Modifying(flushAutomatically = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "customer_payment_stats"))
+    @Query(value = "UPDATE customer_payment_stats s SET " +
+                   "  paid_invoice_count = a.paid_invoice_count, paid_on_time_count = a.paid_on_time_count, " +
+                   "  total_days_to_pay = a.total_days_to_pay, total_days_late = a.total_days_late, " +
+                   "  collected_amount = a.collected_amount, collected_amount_days = a.collected_amount_days, " +
+                   "  backfilled_at = CURRENT_TIMESTAMP, updated_at = CURRENT_TIMESTAMP " +
+                   "FROM (" +
+                   "  SELECT c.id AS customer_id, " +
+                   "         COALESCE(i.paid_invoice_count, 0) AS paid_invoice_count, " +
+                   "         COALESCE(i.paid_on_time_count, 0) AS paid_on_time_count, " +
+                   "         COALESCE(i.total_days_to_pay, 0) AS total_days_to_pay, " +
+                   "         COALESCE(i.total_days_late, 0) AS total_days_late, " +
+                   "         COALESCE(p.collected_amount, 0) AS collected_amount, " +
+                   "         COALESCE(p.collected_amount_days, 0) AS collected_amount_days " +
+                   "  FROM customers c " +
+                   "  LEFT JOIN (" +
+                   "    SELECT customer_id, COUNT(*) AS paid_invoice_count, " +
+                   "      COUNT(*) FILTER (WHERE CAST(paid_date AS DATE) <= due_date) AS paid_on_time_count, " +
+                   "      SUM(GREATEST(CAST(paid_date AS DATE) - issue_date, 0)) AS total_days_to_pay, " +
+                   "      SUM(GREATEST(CAST(paid_date AS DATE) - due_date, 0)) AS total_days_late " +
+                   "    FROM invoices " +
+                   "    WHERE customer_id IN (:customerIds) AND status = 'PAID' AND paid_date IS NOT NULL " +
+                   "    GROUP BY customer_id" +
+                   "  ) i ON i.customer_id = c.id " +
+                   "  LEFT JOIN (" +
+                   "    SELECT customer_id, SUM(amount) AS collected_amount, " +
+                   "      SUM(amount * GREATEST(payment_date - invoice_issue_date, 0)) AS collected_amount_days " +
+                   "    FROM payments WHERE customer_id IN (:customerIds) AND status = 'COMPLETED' " +
+                   "    GROUP BY customer_id" +
+                   "  ) p ON p.customer_id = c.id " +
+                   "  WHERE c.id IN (:customerIds)" +
+                   ") a " +
+                   "WHERE s.customer_id = a.customer_id",
+           nativeQuery = true)
+    int recompute(@Param("customerIds") Collection<UUID> customerIds);
+    
+    /**
+     * Company-wide sums over every customer's row.
+     */
+    @Query(value = "SELECT CAST(COALESCE(SUM(paid_invoice_count), 0) AS BIGINT) AS \"paidInvoiceCount\", " +
+                   "       CAST(COALESCE(SUM(paid_on_time_count), 0) AS BIGINT) AS \"paidOnTimeCount\", " +
+                   "       CAST(COALESCE(SUM(total_days_to_pay), 0) AS BIGINT) AS \"totalDaysToPay\", " +
+                   "       CAST(COALESCE(SUM(total_days_late), 0) AS BIGINT) AS \"totalDaysLate\", " +
+                   "       COALESCE(SUM(collected_amount), 0) AS \"collectedAmount\", " +
+                   "       COALESCE(SUM(collected_amount_days), 0) AS \"collectedAmountDays\" " +
+                   "FROM customer_payment_stats",
+           nativeQuery = true)
+    PaymentStatsTotals totals();
+    
+    /**
+     * Customers with at least one paid invoice, longest average days past due first.
+     */
+    @Query("SELECT s FROM CustomerPaymentStats s WHERE s.paidInvoiceCount > 0 " +
+           "ORDER BY (s.totalDaysLate * 1.0 / s.paidInvoiceCount) DESC, s.customerId")
+    List<CustomerPaymentStats> findSlowestPayers(Pageable pageable);
+}
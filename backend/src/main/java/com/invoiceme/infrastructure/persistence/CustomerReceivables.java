@@ -0,0 +1,53 @@
+package com.invoiceme.infrastructure.persistence;
+
+import com.invoiceme.domain.common.Money;
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Read-only view of a customer's receivables rollup row (see V24). Written only through
+ * {@link CustomerReceivablesRepository}.
+ */
+@Entity
+@Immutable
+@Table(name = "customer_receivables")
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class CustomerReceivables {
+    
+    @Id
+    @Column(name = "customer_id")
+    private UUID customerId;
+    
+    @Embedded
+    @AttributeOverride(name = "amount", column = @Column(name = "open_balance", nullable = false, precision = 19, scale = 2))
+    private Money openBalance;
+    
+    @Column(name = "open_count", nullable = false)
+    private Integer openCount;
+    
+    @Embedded
+    @AttributeOverride(name = "amount", column = @Column(name = "overdue_balance", nullable = false, precision = 19, scale = 2))
+    private Money overdueBalance;
+    
+    @Embedded
+    @AttributeOverride(name = "amount", column = @Column(name = "lifetime_billed", nullable = false, precision = 19, scale = 2))
+    private Money lifetimeBilled;
+    
+    @Embedded
+    @AttributeOverride(name = "amount", column = @Column(name = "lifetime_paid", nullable = false, precision = 19, scale = 2))
+    private Money lifetimePaid;
+    
+    @Column(name = "last_payment_date")
+    private LocalDate lastPaymentDate;
+    
+    public boolean hasOpenInvoices() {
+        return openCount > 0;
+    }
+}
@@ -0,0 +1,128 @@
+package com.invoiceme.infrastructure.persistence;
+
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.UUID;
+
+/**
+ * customer_receivables rollup rows. Rows are created by a trigger on customers; the apply/record methods add
+ * one event's signed change, {@link #refresh} recomputes rows from invoices and payments. The updates declare
+ * customer_receivables as their query space so Hibernate leaves the second-level cache regions alone.
+ */
+@Repository
+public interface CustomerReceivablesRepository extends JpaRepository<CustomerReceivables, UUID> {
+    
+    /**
+     * Adds signed changes to the customer's open, overdue and billed totals.
+     *
+     * @return number of rows updated
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "customer_receivables"))
+    @Query(value = "UPDATE customer_receivables SET " +
+                   "  open_balance = open_balance + :openBalance, open_count = open_count + :openCount, " +
+                   "  overdue_balance = overdue_balance + :overdueBalance, " +
+                   "  lifetime_billed = lifetime_billed + :lifetimeBilled, updated_at = CURRENT_TIMESTAMP " +
+                   "WHERE customer_id = :customerId",
+           nativeQuery = true)
+    int applyDelta(@Param("customerId") UUID customerId,
+                   @Param("openBalance") BigDecimal openBalance,
+                   @Param("openCount") int openCount,
+                   @Param("overdueBalance") BigDecimal overdueBalance,
+                   @Param("lifetimeBilled") BigDecimal lifetimeBilled);
+    
+    /**
+     * Adds a completed payment to the customer's row.
+     *
+     * @return number of rows updated
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "customer_receivables"))
+    @Query(value = "UPDATE customer_receivables SET " +
+                   "  lifetime_paid = lifetime_paid + :amount, " +
+                   "  last_payment_date = GREATEST(last_payment_date, CAST(:paymentDate AS DATE)), " +
+                   "  updated_at = CURRENT_TIMESTAMP " +
+                   "WHERE customer_id = :customerId",
+           nativeQuery = true)
+    int recordPayment(@Param("customerId") UUID customerId,
+                      @Param("amount") BigDecimal amount,
+                      @Param("paymentDate") LocalDate paymentDate);
+    
+    /**
+     * Moves the balances of invoices that just became OVERDUE into their customers' overdue totals. Their open
+     * totals already include them.
+     *
+     * @return number of rows updated
+     */
+    @Modifying(flushAutomatically = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "customer_receivables"))
+    @Query(value = "UPDATE customer_receivables r SET " +
+                   "  overdue_balance = r.overdue_balance + i.balance_due, updated_at = CURRENT_TIMESTAMP " +
+                   "FROM (" +
+                   "  SELECT customer_id, SUM(balance_due) AS balance_due FROM invoices " +
+                   "  WHERE id IN (:invoiceIds) GROUP BY customer_id" +
+                   ") i " +
+                   "WHERE r.customer_id = i.customer_id",
+           nativeQuery = true)
+    int recordOverdue(@Param("invoiceIds") Collection<UUID> invoiceIds);
+    
+    /**
+     * Locks the customers' rollup rows until the current transaction ends, in key order so concurrent
+     * refreshes of overlapping customer sets cannot deadlock. Used by the projection rebuild. Taken before {@link #refresh} so its
+     * aggregate (a new statement, hence a new snapshot) sees whatever the previous lock holder committed.
+     */
+    @Query(value = "SELECT COUNT(*) FROM (" +
+                   "  SELECT customer_id FROM customer_receivables WHERE customer_id IN (:customerIds) " +
+                   "  ORDER BY customer_id FOR UPDATE) AS locked",
+           nativeQuery = true)
+    long lockRows(@Param("customerIds") Collection<UUID> customerIds);
+    
+    /**
+     * Recomputes the rollup rows of the given customers from their invoices and payments, for the projection
+     * rebuild. Flushes pending entity changes first so the aggregate includes them.
+     *
+     * @return number of rows updated
+     */
+    @Modifying(flushAutomatically = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "customer_receivables"))
+    @Query(value = "UPDATE customer_receivables r SET " +
+                   "  open_balance = a.open_balance, open_count = a.open_count, " +
+                   "  overdue_balance = a.overdue_balance, lifetime_billed = a.lifetime_billed, " +
+                   "  lifetime_paid = a.lifetime_paid, last_payment_date = a.last_payment_date, " +
+                   "  updated_at = CURRENT_TIMESTAMP " +
+                   "FROM (" +
+                   "  SELECT c.id AS customer_id, " +
+                   "         COALESCE(i.open_balance, 0) AS open_balance, COALESCE(i.open_count, 0) AS open_count, " +
+                   "         COALESCE(i.overdue_balance, 0) AS overdue_balance, " +
+                   "         COALESCE(i.lifetime_billed, 0) AS lifetime_billed, " +
+                   "         COALESCE(p.lifetime_paid, 0) AS lifetime_paid, p.last_payment_date " +
+                   "  FROM customers c " +
+                   "  LEFT JOIN (" +
+                   "    SELECT customer_id, " +
+                   "      SUM(balance_due) FILTER (WHERE status IN ('SENT', 'OVERDUE') AND balance_due > 0) AS open_balance, " +
+                   "      COUNT(*) FILTER (WHERE status IN ('SENT', 'OVERDUE') AND balance_due > 0) AS open_count, " +
+                   "      SUM(balance_due) FILTER (WHERE status = 'OVERDUE') AS overdue_balance, " +
+                   "      SUM(total_amount) FILTER (WHERE status NOT IN ('DRAFT', 'CANCELLED')) AS lifetime_billed " +
+                   "    FROM invoices WHERE customer_id IN (:customerIds) GROUP BY customer_id" +
+                   "  ) i ON i.customer_id = c.id " +
+                   "  LEFT JOIN (" +
+                   "    SELECT customer_id, SUM(amount) AS lifetime_paid, MAX(payment_date) AS last_payment_date " +
+                   "    FROM payments WHERE customer_id IN (:customerIds) AND status = 'COMPLETED' " +
+                   "    GROUP BY customer_id" +
+                   "  ) p ON p.customer_id = c.id " +
+                   "  WHERE c.id IN (:customerIds)" +
+                   ") a " +
+                   "WHERE r.customer_id = a.customer_id",
+           nativeQuery = true)
+    int refresh(@Param("customerIds") Collection<UUID> customerIds);
+}
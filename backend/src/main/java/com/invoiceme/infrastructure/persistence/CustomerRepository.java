@@ -3,10 +3,12 @@ package com.invoiceme.infrastructure.persistence;
 import com.invoiceme.domain.common.CustomerStatus;
 import com.invoiceme.domain.common.CustomerType;
 import com.invoiceme.domain.customer.Customer;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
@@ -30,13 +32,14 @@ public interface CustomerRepository extends JpaRepository<Customer, UUID>, Custo
         CustomerStatus status,
         CustomerType customerType,
         String search,
+        Boolean hasOutstandingBalance,
+        Boolean hasOverdueBalance,
+        java.math.BigDecimal minOpenBalance,
         Pageable pageable
     );
     
-    @Query("SELECT c FROM Customer c WHERE c.status = 'ACTIVE' AND " +
-           "EXISTS (SELECT 1 FROM Invoice i WHERE i.customerId = c.id AND i.status IN ('SENT', 'OVERDUE') AND i.balanceDue.amount > 0)")
-    Page<Customer> findCustomersWithOutstandingBalance(Pageable pageable);
-    
+    // Served from the Hibernate query cache; invalidated whenever the customers table changes
+    @QueryHints(@QueryHint(name = org.hibernate.jpa.HibernateHints.HINT_CACHEABLE, value = "true"))
     @Query("SELECT COUNT(c) FROM Customer c WHERE c.status = :status")
     long countByStatus(@Param("status") CustomerStatus status);
 }
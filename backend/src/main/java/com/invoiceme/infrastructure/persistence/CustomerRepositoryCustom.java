@@ -12,6 +12,9 @@ public interface CustomerRepositoryCustom {
         CustomerStatus status,
         CustomerType customerType,
         String search,
+        Boolean hasOutstandingBalance,
+        Boolean hasOverdueBalance,
+        java.math.BigDecimal minOpenBalance,
         Pageable pageable
     );
 }
@@ -8,9 +8,11 @@ import jakarta.persistence.PersistenceContext;
 import jakarta.persistence.TypedQuery;
 import jakarta.persistence.criteria.CriteriaBuilder;
 import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.From;
 import jakarta.persistence.criteria.Order;
 import jakarta.persistence.criteria.Predicate;
 import jakarta.persistence.criteria.Root;
+import org.hibernate.query.criteria.JpaRoot;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
@@ -18,12 +20,26 @@ import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Repository;
 import org.springframework.util.StringUtils;
 
+import java.math.BigDecimal;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 @Repository
 public class CustomerRepositoryImpl implements CustomerRepositoryCustom {
     
+    /**
+     * Sort properties served from the customer_receivables rollup, mapped to their attribute paths.
+     */
+    private static final Map<String, String> RECEIVABLES_SORT_PATHS = Map.of(
+        "openBalance", "openBalance.amount",
+        "openCount", "openCount",
+        "overdueBalance", "overdueBalance.amount",
+        "lifetimeBilled", "lifetimeBilled.amount",
+        "lifetimePaid", "lifetimePaid.amount",
+        "lastPaymentDate", "lastPaymentDate"
+    );
+    
     @PersistenceContext
     private EntityManager entityManager;
     
@@ -32,15 +48,27 @@ public class CustomerRepositoryImpl implements CustomerRepositoryCustom {
         CustomerStatus status,
         CustomerType customerType,
         String search,
+        Boolean hasOutstandingBalance,
+        Boolean hasOverdueBalance,
+        BigDecimal minOpenBalance,
         Pageable pageable
     ) {
         CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        boolean filtersOnReceivables = Boolean.TRUE.equals(hasOutstandingBalance)
+            || Boolean.TRUE.equals(hasOverdueBalance)
+            || minOpenBalance != null;
+        boolean sortsOnReceivables = pageable.getSort().stream()
+            .anyMatch(order -> RECEIVABLES_SORT_PATHS.containsKey(order.getProperty()));
         
         CriteriaQuery<Customer> cq = cb.createQuery(Customer.class);
         Root<Customer> root = cq.from(Customer.class);
-        List<Predicate> predicates = buildPredicates(cb, root, status, customerType, search);
+        From<?, CustomerReceivables> receivables = filtersOnReceivables || sortsOnReceivables
+            ? joinReceivables(cb, root)
+            : null;
+        List<Predicate> predicates = buildPredicates(cb, root, receivables, status, customerType, search,
+            hasOutstandingBalance, hasOverdueBalance, minOpenBalance);
         cq.where(predicates.toArray(new Predicate[0]));
-        applySorting(cb, cq, root, pageable.getSort());
+        applySorting(cb, cq, root, receivables, pageable.getSort());
         
         TypedQuery<Customer> query = entityManager.createQuery(cq);
         query.setFirstResult((int) pageable.getOffset());
@@ -49,7 +77,9 @@ public class CustomerRepositoryImpl implements CustomerRepositoryCustom {
         
         CriteriaQuery<Long> countQuery = cb.createQuery(Long.class);
         Root<Customer> countRoot = countQuery.from(Customer.class);
-        List<Predicate> countPredicates = buildPredicates(cb, countRoot, status, customerType, search);
+        From<?, CustomerReceivables> countReceivables = filtersOnReceivables ? joinReceivables(cb, countRoot) : null;
+        List<Predicate> countPredicates = buildPredicates(cb, countRoot, countReceivables, status, customerType, search,
+            hasOutstandingBalance, hasOverdueBalance, minOpenBalance);
         countQuery.select(cb.count(countRoot));
         countQuery.where(countPredicates.toArray(new Predicate[0]));
         Long total = entityManager.createQuery(countQuery).getSingleResult();
@@ -57,12 +87,25 @@ public class CustomerRepositoryImpl implements CustomerRepositoryCustom {
         return new PageImpl<>(content, pageable, total);
     }
     
+    /**
+     * Inner join is safe: every customer has a rollup row (created by trigger).
+     */
+    private From<?, CustomerReceivables> joinReceivables(CriteriaBuilder cb, Root<Customer> root) {
+        var join = ((JpaRoot<Customer>) root).join(CustomerReceivables.class);
+        join.on(cb.equal(join.get("customerId"), root.get("id")));
+        return join;
+    }
+    
     private List<Predicate> buildPredicates(
         CriteriaBuilder cb,
         Root<Customer> root,
+        From<?, CustomerReceivables> receivables,
         CustomerStatus status,
         CustomerType customerType,
-        String search
+        String search,
+        Boolean hasOutstandingBalance,
+        Boolean hasOverdueBalance,
+        BigDecimal minOpenBalance
     ) {
         List<Predicate> predicates = new ArrayList<>();
         
@@ -79,6 +122,19 @@ public class CustomerRepositoryImpl implements CustomerRepositoryCustom {
                 cb.like(cb.lower(root.get("email").get("value")), pattern)
             ));
         }
+        if (Boolean.TRUE.equals(hasOutstandingBalance)) {
+            // Outstanding balances are only reported for active customers
+            if (status == null) {
+                predicates.add(cb.equal(root.get("status"), CustomerStatus.ACTIVE));
+            }
+            predicates.add(cb.greaterThan(receivables.get("openCount"), 0));
+        }
+        if (Boolean.TRUE.equals(hasOverdueBalance)) {
+            predicates.add(cb.greaterThan(receivables.get("overdueBalance").get("amount"), BigDecimal.ZERO));
+        }
+        if (minOpenBalance != null) {
+            predicates.add(cb.greaterThanOrEqualTo(receivables.get("openBalance").get("amount"), minOpenBalance));
+        }
         
         return predicates;
     }
@@ -87,6 +143,7 @@ public class CustomerRepositoryImpl implements CustomerRepositoryCustom {
         CriteriaBuilder cb,
         CriteriaQuery<Customer> cq,
         Root<Customer> root,
+        From<?, CustomerReceivables> receivables,
         Sort sort
     ) {
         if (sort == null || sort.isUnsorted()) {
@@ -95,8 +152,9 @@ public class CustomerRepositoryImpl implements CustomerRepositoryCustom {
         
         List<Order> orders = new ArrayList<>();
         for (Sort.Order order : sort) {
-            jakarta.persistence.criteria.Path<?> path = root;
-            for (String property : order.getProperty().split("\\.")) {
+            String receivablesPath = RECEIVABLES_SORT_PATHS.get(order.getProperty());
+            jakarta.persistence.criteria.Path<?> path = receivablesPath != null ? receivables : root;
+            for (String property : (receivablesPath != null ? receivablesPath : order.getProperty()).split("\\.")) {
                 path = path.get(property);
             }
             orders.add(order.isAscending() ? cb.asc(path) : cb.desc(path));
@@ -107,5 +165,3 @@ public class CustomerRepositoryImpl implements CustomerRepositoryCustom {
         }
     }
 }
-
-
@@ -0,0 +1,123 @@
+package com.invoiceme.infrastructure.persistence;
+
+import com.invoiceme.domain.common.DomainEvent;
+import com.invoiceme.infrastructure.events.DomainEventCodec;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * The append-only domain_events log (V26).
+ */
+@Repository
+@Slf4j
+@RequiredArgsConstructor
+public class DomainEventStore {
+    
+    /**
+     * Number of replay streams; an aggregate's events always fall into the same one.
+     */
+    public static final int BUCKETS = 64;
+    
+    private final JdbcTemplate jdbcTemplate;
+    private final DomainEventCodec codec;
+    
+    /**
+     * Appends the events in order, in the caller's transaction. An event that was already stored is skipped.
+     */
+    public void append(List<? extends DomainEvent> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        List<Object[]> rows = new ArrayList<>(events.size());
+        for (DomainEvent event : events) {
+            rows.add(new Object[] {
+                event.getEventId(),
+                event.getEventType(),
+                event.getAggregateId(),
+                bucketOf(event),
+                Timestamp.from(event.getOccurredAt()),
+                codec.encode(event)
+            });
+        }
+        jdbcTemplate.batchUpdate(
+            "INSERT INTO domain_events (event_id, event_type, aggregate_id, stream_bucket, occurred_at, payload) " +
+            "VALUES (?, ?, ?, ?, ?, ?) ON CONFLICT (event_id) DO NOTHING",
+            rows);
+    }
+    
+    /**
+     * Position of the latest stored event (0 if there is none), and the id of the first transaction that can
+     * only append events after it. Transactions below that id that are still running may yet commit events
+     * at lower positions.
+     */
+    public HighWaterMark highWaterMark() {
+        return jdbcTemplate.queryForObject(
+            "SELECT COALESCE(MAX(global_position), 0) AS position, " +
+            "       txid_snapshot_xmax(txid_current_snapshot()) AS txid FROM domain_events",
+            (rs, rowNum) -> new HighWaterMark(rs.getLong("position"), rs.getLong("txid")));
+    }
+    
+    /**
+     * Id of the oldest transaction still running (the snapshot xmin): every transaction below it has
+     * committed or rolled back.
+     */
+    public long transactionHorizon() {
+        Long txid = jdbcTemplate.queryForObject("SELECT txid_snapshot_xmin(txid_current_snapshot())", Long.class);
+        return txid != null ? txid : 0;
+    }
+    
+    public long countBetween(long afterPosition, long upToPosition) {
+        Long count = jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM domain_events WHERE global_position > ? AND global_position <= ?",
+            Long.class, afterPosition, upToPosition);
+        return count != null ? count : 0;
+    }
+    
+    /**
+     * Up to {@code limit} events of one bucket after {@code afterPosition} and up to {@code upToPosition}, in
+     * position order. Events whose type no longer exists come back without a decoded event.
+     */
+    public List<StoredEvent> readBucket(int bucket, long afterPosition, long upToPosition, int limit) {
+        List<StoredEvent> events = new ArrayList<>(limit);
+        jdbcTemplate.query(
+            "SELECT global_position, event_id, event_type, aggregate_id, occurred_at, payload FROM domain_events " +
+            "WHERE stream_bucket = ? AND global_position > ? AND global_position <= ? " +
+            "ORDER BY global_position LIMIT ?",
+            (RowCallbackHandler) rs -> {
+                long position = rs.getLong("global_position");
+                UUID eventId = rs.getObject("event_id", UUID.class);
+                String eventType = rs.getString("event_type");
+                Instant occurredAt = rs.getTimestamp("occurred_at").toInstant();
+                DomainEvent event = codec.decode(eventType, eventId, occurredAt, rs.getBytes("payload"));
+                if (event == null) {
+                    log.warn("Skipping stored event {} of unknown type {}", eventId, eventType);
+                }
+                events.add(new StoredEvent(position, event));
+            },
+            bucket, afterPosition, upToPosition, limit);
+        return events;
+    }
+    
+    public static int bucketOf(DomainEvent event) {
+        UUID key = event.getAggregateId() != null ? event.getAggregateId() : event.getEventId();
+        return Math.floorMod(key.hashCode(), BUCKETS);
+    }
+    
+    public record HighWaterMark(long position, long txid) {
+    }
+    
+    /**
+     * @param event null if the stored type is unknown; the position still counts for checkpoints
+     */
+    public record StoredEvent(long position, DomainEvent event) {
+    }
+}
@@ -0,0 +1,50 @@
+package com.invoiceme.infrastructure.persistence;
+
+import com.invoiceme.domain.common.InvoiceNumber;
+
+/**
+ * A contiguous range of invoice sequence numbers reserved up front, handed out without further
+ * round trips to invoice_sequences. Not thread-safe: each worker owns its block.
+ */
+public class InvoiceNumberBlock {
+    
+    private final int year;
+    private final int end;
+    private int next;
+    
+    InvoiceNumberBlock(int year, int first, int count) {
+        this.year = year;
+        this.next = first;
+        this.end = first + count;
+    }
+    
+    public static InvoiceNumberBlock empty() {
+        return new InvoiceNumberBlock(0, 0, 0);
+    }
+    
+    public int getYear() {
+        return year;
+    }
+    
+    public int remaining() {
+        return end - next;
+    }
+    
+    /**
+     * Position to {@link #rewind(int)} to when the numbers handed out since are rolled back.
+     */
+    public int mark() {
+        return next;
+    }
+    
+    public void rewind(int mark) {
+        this.next = mark;
+    }
+    
+    public InvoiceNumber next() {
+        if (next >= end) {
+            throw new IllegalStateException("Invoice number block exhausted");
+        }
+        return InvoiceNumber.generate(year, next++);
+    }
+}
@@ -3,6 +3,7 @@ package com.invoiceme.infrastructure.persistence;
 import com.invoiceme.domain.common.InvoiceNumber;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Year;
@@ -32,5 +33,17 @@ public class InvoiceNumberGenerator {
         
         return InvoiceNumber.generate(nextSequence);
     }
+    
+    /**
+     * Reserves {@code count} consecutive numbers in a short transaction of its own, so bulk generators do not
+     * hold the invoice_sequences row lock for the length of their batch. Numbers of a block that is never
+     * used (a rolled back batch, the tail of a run) leave gaps in the sequence.
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public InvoiceNumberBlock reserveBlock(int count) {
+        int currentYear = Year.now().getValue();
+        int end = sequenceRepository.reserveBlock(currentYear, count);
+        return new InvoiceNumberBlock(currentYear, end - count, count);
+    }
 }
 
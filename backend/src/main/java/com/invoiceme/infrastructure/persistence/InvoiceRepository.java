@@ -38,17 +38,69 @@ public interface InvoiceRepository extends JpaRepository<Invoice, UUID>, Invoice
         Pageable pageable
     );
     
-    @Query("SELECT i FROM Invoice i WHERE i.status IN ('SENT', 'OVERDUE') AND " +
+    /**
+     * Invoices with their line items in one query, in no particular order.
+     */
+    @Query("SELECT DISTINCT i FROM Invoice i LEFT JOIN FETCH i.lineItems WHERE i.id IN :ids")
+    List<Invoice> findAllWithLineItemsByIdIn(@Param("ids") java.util.Collection<UUID> ids);
+    
+    @Query("SELECT i FROM Invoice i " +
+           "WHERE i.status IN (com.invoiceme.domain.common.InvoiceStatus.SENT, com.invoiceme.domain.common.InvoiceStatus.OVERDUE) AND " +
            "i.dueDate < :currentDate AND i.balanceDue.amount > 0")
     List<Invoice> findOverdueInvoices(@Param("currentDate") LocalDate currentDate);
     
+    /**
+     * Ids of the invoices {@link #findOverdueInvoices} returns, oldest due date first, without loading them.
+     */
+    @Query("SELECT i.id FROM Invoice i " +
+           "WHERE i.status IN (com.invoiceme.domain.common.InvoiceStatus.SENT, com.invoiceme.domain.common.InvoiceStatus.OVERDUE) AND " +
+           "i.dueDate < :currentDate AND i.balanceDue.amount > 0 ORDER BY i.dueDate, i.id")
+    List<UUID> findOverdueInvoiceIds(@Param("currentDate") LocalDate currentDate);
+    
+    /**
+     * Moves up to {@code limit} SENT invoices past their due date with a balance to OVERDUE, oldest due date
+     * first. Bumps the version so a concurrent entity update of the same invoice fails its optimistic check
+     * instead of writing SENT back. Rows locked by an in-flight transaction are left for the next chunk.
+     *
+     * @return rows of (id, customer_id, balance_due) for the transitioned invoices
+     */
+    @Query(value = "UPDATE invoices SET status = 'OVERDUE', version = version + 1, updated_at = CURRENT_TIMESTAMP " +
+                   "WHERE id IN (" +
+                   "  SELECT id FROM invoices " +
+                   "  WHERE status = 'SENT' AND due_date < :today AND balance_due > 0 " +
+                   "  ORDER BY due_date " +
+                   "  LIMIT :limit " +
+                   "  FOR UPDATE SKIP LOCKED) " +
+                   "RETURNING id, customer_id, balance_due",
+           nativeQuery = true)
+    List<Object[]> markOverdue(@Param("today") LocalDate today, @Param("limit") int limit);
+    
     // Note: Late fee logic checks overdue invoices, not nextInvoiceDate (that's for recurring templates)
     
-    @Query("SELECT COUNT(i) FROM Invoice i WHERE i.status = :status")
-    long countByStatus(@Param("status") InvoiceStatus status);
+    /**
+     * Count, count with a balance left, total amount and balance due for every status present, in one pass over
+     * invoices. Statuses with no invoices have no row.
+     */
+    @Query(value = "SELECT status::text AS \"status\", COUNT(*) AS \"invoiceCount\", " +
+                   "COUNT(*) FILTER (WHERE balance_due > 0) AS \"openCount\", " +
+                   "COALESCE(SUM(total_amount), 0) AS \"totalAmount\", COALESCE(SUM(balance_due), 0) AS \"balanceDue\" " +
+                   "FROM invoices GROUP BY status",
+           nativeQuery = true)
+    List<InvoiceStatusTotals> statusTotals();
     
-    @Query("SELECT SUM(i.totalAmount.amount) FROM Invoice i WHERE i.status = :status")
-    Optional<java.math.BigDecimal> sumTotalAmountByStatus(@Param("status") InvoiceStatus status);
+    /**
+     * Count and balance due of open invoices (SENT, OVERDUE) by days past due: bucket 0 is 0-30, 1 is 31-60,
+     * 2 is 61-90 and 3 is 90+. Invoices not yet due are not counted; empty buckets have no row.
+     */
+    @Query(value = "SELECT CASE WHEN :today - due_date <= 30 THEN 0 " +
+                   "            WHEN :today - due_date <= 60 THEN 1 " +
+                   "            WHEN :today - due_date <= 90 THEN 2 " +
+                   "            ELSE 3 END AS \"bucket\", " +
+                   "COUNT(*) AS \"invoiceCount\", COALESCE(SUM(balance_due), 0) AS \"balanceDue\" " +
+                   "FROM invoices WHERE status IN ('SENT', 'OVERDUE') AND due_date <= :today " +
+                   "GROUP BY 1",
+           nativeQuery = true)
+    List<AgingBucketTotals> agingBuckets(@Param("today") LocalDate today);
     
     @Query("SELECT SUM(i.totalAmount.amount) FROM Invoice i WHERE i.status = :status " +
            "AND i.issueDate >= :fromDate AND i.issueDate <= :toDate")
@@ -58,7 +110,8 @@ public interface InvoiceRepository extends JpaRepository<Invoice, UUID>, Invoice
         @Param("toDate") LocalDate toDate
     );
     
-    @Query("SELECT SUM(i.balanceDue.amount) FROM Invoice i WHERE i.status IN ('SENT', 'OVERDUE')")
+    @Query("SELECT SUM(i.balanceDue.amount) FROM Invoice i " +
+           "WHERE i.status IN (com.invoiceme.domain.common.InvoiceStatus.SENT, com.invoiceme.domain.common.InvoiceStatus.OVERDUE)")
     Optional<java.math.BigDecimal> sumOutstandingBalance();
 }
 
@@ -0,0 +1,100 @@
+package com.invoiceme.infrastructure.persistence;
+
+import com.invoiceme.domain.common.InvoiceStatus;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * What a batch send works through: invoice number, customer, due date and status of each invoice, without
+ * loading the entities.
+ */
+@Repository
+@RequiredArgsConstructor
+public class InvoiceSendCandidateRepository {
+    
+    // Keeps each IN list well below PostgreSQL's bind parameter limit
+    private static final int IDS_PER_QUERY = 1000;
+    
+    private static final String COLUMNS =
+        "SELECT i.id, i.invoice_number, i.customer_id, i.due_date, i.status, " +
+        "EXISTS (SELECT 1 FROM line_items l WHERE l.invoice_id = i.id) AS has_line_items FROM invoices i ";
+    
+    private static final RowMapper<SendCandidate> ROW_MAPPER = (rs, rowNum) -> new SendCandidate(
+        rs.getObject("id", UUID.class),
+        rs.getString("invoice_number"),
+        rs.getObject("customer_id", UUID.class),
+        rs.getObject("due_date", LocalDate.class),
+        InvoiceStatus.valueOf(rs.getString("status")),
+        rs.getBoolean("has_line_items"));
+    
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+    
+    /**
+     * The given invoices in any status; ids that don't exist are absent.
+     */
+    public List<SendCandidate> findByIds(List<UUID> invoiceIds) {
+        List<SendCandidate> candidates = new ArrayList<>(invoiceIds.size());
+        for (int from = 0; from < invoiceIds.size(); from += IDS_PER_QUERY) {
+            candidates.addAll(namedParameterJdbcTemplate.query(
+                COLUMNS + "WHERE i.id IN (:invoiceIds)",
+                new MapSqlParameterSource("invoiceIds",
+                    invoiceIds.subList(from, Math.min(invoiceIds.size(), from + IDS_PER_QUERY))),
+                ROW_MAPPER));
+        }
+        return candidates;
+    }
+    
+    /**
+     * Up to {@code limit} DRAFT invoices matching every filter that is not null.
+     */
+    public List<SendCandidate> findDrafts(
+            UUID customerId,
+            LocalDate issueDateFrom,
+            LocalDate issueDateTo,
+            LocalDate dueDateFrom,
+            LocalDate dueDateTo,
+            int limit) {
+        StringBuilder sql = new StringBuilder(COLUMNS).append("WHERE i.status = 'DRAFT'");
+        MapSqlParameterSource params = new MapSqlParameterSource("limit", limit);
+        if (customerId != null) {
+            sql.append(" AND i.customer_id = :customerId");
+            params.addValue("customerId", customerId);
+        }
+        if (issueDateFrom != null) {
+            sql.append(" AND i.issue_date >= :issueDateFrom");
+            params.addValue("issueDateFrom", issueDateFrom);
+        }
+        if (issueDateTo != null) {
+            sql.append(" AND i.issue_date <= :issueDateTo");
+            params.addValue("issueDateTo", issueDateTo);
+        }
+        if (dueDateFrom != null) {
+            sql.append(" AND i.due_date >= :dueDateFrom");
+            params.addValue("dueDateFrom", dueDateFrom);
+        }
+        if (dueDateTo != null) {
+            sql.append(" AND i.due_date <= :dueDateTo");
+            params.addValue("dueDateTo", dueDateTo);
+        }
+        sql.append(" LIMIT :limit");
+        return namedParameterJdbcTemplate.query(sql.toString(), params, ROW_MAPPER);
+    }
+    
+    public record SendCandidate(
+        UUID id,
+        String invoiceNumber,
+        UUID customerId,
+        LocalDate dueDate,
+        InvoiceStatus status,
+        boolean hasLineItems
+    ) {
+    }
+}
@@ -21,5 +21,16 @@ public interface InvoiceSequenceRepository extends JpaRepository<InvoiceSequence
     Optional<InvoiceSequence> findByYearForUpdate(@Param("year") int year);
     
     Optional<InvoiceSequence> findByYear(int year);
+    
+    /**
+     * Atomically advances the year's sequence by {@code count}.
+     *
+     * @return the sequence number after the reserved block (the block is [result - count, result))
+     */
+    @Query(value = "INSERT INTO invoice_sequences (year, sequence_number) VALUES (:year, 1 + :count) " +
+                   "ON CONFLICT (year) DO UPDATE SET sequence_number = invoice_sequences.sequence_number + :count " +
+                   "RETURNING sequence_number",
+           nativeQuery = true)
+    int reserveBlock(@Param("year") int year, @Param("count") int count);
 }
 
@@ -0,0 +1,22 @@
+package com.invoiceme.infrastructure.persistence;
+
+import java.math.BigDecimal;
+
+/**
+ * One row of {@link InvoiceRepository#statusTotals()}: invoice counts and summed amounts for a status.
+ */
+public interface InvoiceStatusTotals {
+    
+    String getStatus();
+    
+    long getInvoiceCount();
+    
+    /**
+     * Invoices of the status with a balance due above zero.
+     */
+    long getOpenCount();
+    
+    BigDecimal getTotalAmount();
+    
+    BigDecimal getBalanceDue();
+}
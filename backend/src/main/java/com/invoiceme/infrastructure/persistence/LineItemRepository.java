@@ -0,0 +1,36 @@
+package com.invoiceme.infrastructure.persistence;
+
+import com.invoiceme.domain.invoice.LineItem;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Read access to line items without loading the owning invoice's whole collection.
+ * Paging is keyset-based on (sort_order, id), backed by idx_line_items_sort_order.
+ */
+@Repository
+public interface LineItemRepository extends JpaRepository<LineItem, UUID> {
+    
+    @Query("SELECT li FROM LineItem li WHERE li.invoice.id = :invoiceId " +
+           "ORDER BY li.sortOrder ASC, li.id ASC")
+    List<LineItem> findFirstPage(@Param("invoiceId") UUID invoiceId, Pageable pageable);
+    
+    @Query("SELECT li FROM LineItem li WHERE li.invoice.id = :invoiceId AND " +
+           "(li.sortOrder > :afterSortOrder OR (li.sortOrder = :afterSortOrder AND li.id > :afterId)) " +
+           "ORDER BY li.sortOrder ASC, li.id ASC")
+    List<LineItem> findPageAfter(
+        @Param("invoiceId") UUID invoiceId,
+        @Param("afterSortOrder") int afterSortOrder,
+        @Param("afterId") UUID afterId,
+        Pageable pageable
+    );
+    
+    @Query("SELECT COUNT(li) FROM LineItem li WHERE li.invoice.id = :invoiceId")
+    long countByInvoiceId(@Param("invoiceId") UUID invoiceId);
+}
@@ -0,0 +1,46 @@
+package com.invoiceme.infrastructure.persistence;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Yearly range partitions of invoices, line_items and payments (see V23).
+ */
+@Repository
+@RequiredArgsConstructor
+public class PartitionRepository {
+    
+    /**
+     * Tables partitioned by year; line_items share the invoices' issue_date ranges.
+     */
+    public static final List<String> YEARLY_PARTITIONED_TABLES = List.of("invoices", "line_items", "payments");
+    
+    private final JdbcTemplate jdbcTemplate;
+    
+    /**
+     * Creates {@code <table>_y<year>} unless it exists.
+     *
+     * @return true if the partition was created
+     */
+    public boolean ensureYearlyPartition(String table, int year) {
+        if (!YEARLY_PARTITIONED_TABLES.contains(table)) {
+            throw new IllegalArgumentException("Not a yearly partitioned table: " + table);
+        }
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+            "SELECT ensure_yearly_partition(?, ?)", Boolean.class, table, year));
+    }
+    
+    /**
+     * @return partition names attached to the table, e.g. invoices_y2025 and invoices_default
+     */
+    public List<String> findPartitions(String table) {
+        return jdbcTemplate.queryForList(
+            "SELECT c.relname FROM pg_inherits i " +
+            "JOIN pg_class c ON c.oid = i.inhrelid " +
+            "WHERE i.inhparent = to_regclass(?) ORDER BY c.relname",
+            String.class, table);
+    }
+}
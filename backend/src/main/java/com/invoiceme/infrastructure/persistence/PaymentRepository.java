@@ -38,7 +38,7 @@ public interface PaymentRepository extends JpaRepository<Payment, UUID>, Payment
     
     @Query("SELECT SUM(p.amount.amount) FROM Payment p WHERE " +
            "p.paymentDate >= :fromDate AND p.paymentDate <= :toDate AND " +
-           "p.status = 'COMPLETED'")
+           "p.status = com.invoiceme.domain.common.PaymentStatus.COMPLETED")
     java.math.BigDecimal sumPaymentsByDateRange(
         @Param("fromDate") LocalDate fromDate,
         @Param("toDate") LocalDate toDate
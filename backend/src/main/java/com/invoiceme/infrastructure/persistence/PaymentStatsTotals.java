@@ -0,0 +1,60 @@
+package com.invoiceme.infrastructure.persistence;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Running payment-behavior sums, for one customer ({@link CustomerPaymentStats}) or summed over all customers
+ * ({@link CustomerPaymentStatsRepository#totals()}), and the averages derived from them. Averages are null
+ * until there is something to average.
+ */
+public interface PaymentStatsTotals {
+    
+    long getPaidInvoiceCount();
+    
+    long getPaidOnTimeCount();
+    
+    long getTotalDaysToPay();
+    
+    long getTotalDaysLate();
+    
+    BigDecimal getCollectedAmount();
+    
+    BigDecimal getCollectedAmountDays();
+    
+    /**
+     * Mean days from issue to full payment over paid invoices.
+     */
+    default BigDecimal averageDaysToPay() {
+        return average(BigDecimal.valueOf(getTotalDaysToPay()), BigDecimal.valueOf(getPaidInvoiceCount()), 1);
+    }
+    
+    /**
+     * Mean days past due at full payment over paid invoices (on-time invoices count as 0).
+     */
+    default BigDecimal averageDaysLate() {
+        return average(BigDecimal.valueOf(getTotalDaysLate()), BigDecimal.valueOf(getPaidInvoiceCount()), 1);
+    }
+    
+    /**
+     * Share of paid invoices settled on or before their due date, 0..1.
+     */
+    default BigDecimal onTimeRatio() {
+        return average(BigDecimal.valueOf(getPaidOnTimeCount()), BigDecimal.valueOf(getPaidInvoiceCount()), 4);
+    }
+    
+    /**
+     * Days sales outstanding measured on collected cash: days from invoice issue to payment, weighted by
+     * the payment amount.
+     */
+    default BigDecimal daysSalesOutstanding() {
+        return average(getCollectedAmountDays(), getCollectedAmount(), 1);
+    }
+    
+    private static BigDecimal average(BigDecimal total, BigDecimal count, int scale) {
+        if (total == null || count == null || count.signum() == 0) {
+            return null;
+        }
+        return total.divide(count, scale, RoundingMode.HALF_UP);
+    }
+}
@@ -0,0 +1,42 @@
+package com.invoiceme.infrastructure.persistence;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * How late customers pay: completed payment amounts by customer and days between the invoice's due date and
+ * the payment date.
+ */
+@Repository
+@RequiredArgsConstructor
+public class PaymentTimingRepository {
+    
+    private final JdbcTemplate jdbcTemplate;
+    
+    /**
+     * One row per customer and days-late value, days late clamped to [minDaysLate, maxDaysLate] (negative
+     * means paid early).
+     */
+    public List<PaymentTiming> findPaymentTimings(int minDaysLate, int maxDaysLate) {
+        return jdbcTemplate.query(
+            "SELECT p.customer_id, LEAST(GREATEST(p.payment_date - i.due_date, ?), ?) AS days_late, " +
+            "       SUM(p.amount) AS amount " +
+            "FROM payments p " +
+            "JOIN invoices i ON i.id = p.invoice_id AND i.issue_date = p.invoice_issue_date " +
+            "WHERE p.status = 'COMPLETED' AND p.amount > 0 " +
+            "GROUP BY p.customer_id, days_late",
+            (rs, rowNum) -> new PaymentTiming(
+                rs.getObject("customer_id", UUID.class),
+                rs.getInt("days_late"),
+                rs.getBigDecimal("amount")),
+            minDaysLate, maxDaysLate);
+    }
+    
+    public record PaymentTiming(UUID customerId, int daysLate, BigDecimal amount) {
+    }
+}
@@ -0,0 +1,128 @@
+package com.invoiceme.infrastructure.persistence;
+
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.usertype.DynamicParameterizedType;
+import org.hibernate.usertype.UserType;
+
+import java.io.Serializable;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Properties;
+
+/**
+ * Maps a Java enum to a native PostgreSQL enum column by name.
+ *
+ * Values are bound as {@link Types#OTHER} so the server types the parameter from the column, and read back
+ * with getString. Unlike the converter + {@code @ColumnTransformer} mapping this replaces, there is no cast
+ * on the column, so predicates like {@code status IN (?, ?)} can use indexes on it.
+ *
+ * Usage: {@code @Type(PostgreSQLEnumType.class)} on an enum attribute whose column is the matching PG enum;
+ * the enum class is taken from the attribute.
+ */
+public class PostgreSQLEnumType implements UserType<Enum<?>>, DynamicParameterizedType {
+    
+    /**
+     * Explicit enum class name, for mappings where Hibernate does not supply the attribute type.
+     */
+    public static final String ENUM_CLASS = "enumClass";
+    
+    private Class<?> enumClass;
+    private Map<String, Enum<?>> constantsByName;
+    
+    @Override
+    public void setParameterValues(Properties parameters) {
+        Object parameterType = parameters.get(PARAMETER_TYPE);
+        if (parameterType instanceof ParameterType type && type.getReturnedClass() != null) {
+            enumClass = type.getReturnedClass();
+        } else {
+            String className = parameters.getProperty(ENUM_CLASS, parameters.getProperty(RETURNED_CLASS));
+            if (className == null) {
+                throw new IllegalStateException("PostgreSQLEnumType needs the mapped enum class");
+            }
+            try {
+                enumClass = Class.forName(className);
+            } catch (ClassNotFoundException e) {
+                throw new IllegalStateException("Unknown enum class for PostgreSQLEnumType: " + className, e);
+            }
+        }
+        
+        if (!enumClass.isEnum()) {
+            throw new IllegalStateException("PostgreSQLEnumType mapped to non-enum " + enumClass.getName());
+        }
+        constantsByName = new HashMap<>();
+        for (Object constant : enumClass.getEnumConstants()) {
+            Enum<?> value = (Enum<?>) constant;
+            constantsByName.put(value.name(), value);
+        }
+    }
+    
+    @Override
+    public int getSqlType() {
+        return Types.OTHER;
+    }
+    
+    @Override
+    @SuppressWarnings("unchecked")
+    public Class<Enum<?>> returnedClass() {
+        return (Class<Enum<?>>) enumClass;
+    }
+    
+    @Override
+    public boolean equals(Enum<?> x, Enum<?> y) {
+        return x == y;
+    }
+    
+    @Override
+    public int hashCode(Enum<?> x) {
+        return Objects.hashCode(x);
+    }
+    
+    @Override
+    public Enum<?> nullSafeGet(ResultSet rs, int position, SharedSessionContractImplementor session, Object owner)
+            throws SQLException {
+        String value = rs.getString(position);
+        if (value == null || value.isEmpty()) {
+            return null;
+        }
+        Enum<?> constant = constantsByName.get(value);
+        if (constant == null) {
+            throw new IllegalArgumentException("Unknown " + enumClass.getSimpleName() + " value: " + value);
+        }
+        return constant;
+    }
+    
+    @Override
+    public void nullSafeSet(PreparedStatement st, Enum<?> value, int index, SharedSessionContractImplementor session)
+            throws SQLException {
+        if (value == null) {
+            st.setNull(index, Types.OTHER);
+        } else {
+            st.setObject(index, value.name(), Types.OTHER);
+        }
+    }
+    
+    @Override
+    public Enum<?> deepCopy(Enum<?> value) {
+        return value;
+    }
+    
+    @Override
+    public boolean isMutable() {
+        return false;
+    }
+    
+    @Override
+    public Serializable disassemble(Enum<?> value) {
+        return value;
+    }
+    
+    @Override
+    public Enum<?> assemble(Serializable cached, Object owner) {
+        return (Enum<?>) cached;
+    }
+}
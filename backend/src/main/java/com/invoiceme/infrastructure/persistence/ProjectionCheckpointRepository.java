@@ -0,0 +1,102 @@
+package com.invoiceme.infrastructure.persistence;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Rebuild state and per-bucket checkpoints of projections (projection_state, projection_checkpoints).
+ */
+@Repository
+@RequiredArgsConstructor
+public class ProjectionCheckpointRepository {
+    
+    public static final String REBUILDING = "REBUILDING";
+    public static final String COMPLETED = "COMPLETED";
+    
+    private final JdbcTemplate jdbcTemplate;
+    
+    public Optional<ProjectionState> findState(String projection) {
+        List<ProjectionState> states = jdbcTemplate.query(
+            "SELECT state, target_position, target_txid, started_at, completed_at FROM projection_state " +
+            "WHERE projection = ?",
+            (rs, rowNum) -> new ProjectionState(
+                rs.getString("state"),
+                rs.getLong("target_position"),
+                rs.getLong("target_txid"),
+                rs.getTimestamp("started_at").toInstant(),
+                rs.getTimestamp("completed_at") != null ? rs.getTimestamp("completed_at").toInstant() : null),
+            projection);
+        return states.stream().findFirst();
+    }
+    
+    /**
+     * Marks a rebuild up to {@code targetPosition} as started and drops the previous rebuild's checkpoints.
+     *
+     * @param targetTxid transactions below it may still be appending events up to the target
+     */
+    public void startRebuild(String projection, long targetPosition, long targetTxid) {
+        jdbcTemplate.update("DELETE FROM projection_checkpoints WHERE projection = ?", projection);
+        jdbcTemplate.update(
+            "INSERT INTO projection_state (projection, state, target_position, target_txid, started_at, completed_at) " +
+            "VALUES (?, ?, ?, ?, ?, NULL) " +
+            "ON CONFLICT (projection) DO UPDATE SET state = EXCLUDED.state, target_position = EXCLUDED.target_position, " +
+            "    target_txid = EXCLUDED.target_txid, started_at = EXCLUDED.started_at, completed_at = NULL",
+            projection, REBUILDING, targetPosition, targetTxid, Timestamp.from(Instant.now()));
+    }
+    
+    public void completeRebuild(String projection) {
+        jdbcTemplate.update(
+            "UPDATE projection_state SET state = ?, completed_at = ? WHERE projection = ?",
+            COMPLETED, Timestamp.from(Instant.now()), projection);
+    }
+    
+    /**
+     * Last replayed position by bucket; buckets without a checkpoint are absent.
+     */
+    public Map<Integer, Long> findCheckpoints(String projection) {
+        Map<Integer, Long> checkpoints = new HashMap<>();
+        jdbcTemplate.query(
+            "SELECT stream_bucket, global_position FROM projection_checkpoints WHERE projection = ?",
+            (RowCallbackHandler) rs -> checkpoints.put(rs.getInt("stream_bucket"), rs.getLong("global_position")),
+            projection);
+        return checkpoints;
+    }
+    
+    /**
+     * Stored events up to {@code targetPosition} that the projection's checkpoints are already past.
+     */
+    public long countReplayed(String projection, long targetPosition) {
+        Long count = jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM domain_events e " +
+            "JOIN projection_checkpoints c ON c.projection = ? AND c.stream_bucket = e.stream_bucket " +
+            "WHERE e.global_position <= c.global_position AND e.global_position <= ?",
+            Long.class, projection, targetPosition);
+        return count != null ? count : 0;
+    }
+    
+    public void saveCheckpoint(String projection, int bucket, long position) {
+        jdbcTemplate.update(
+            "INSERT INTO projection_checkpoints (projection, stream_bucket, global_position, updated_at) " +
+            "VALUES (?, ?, ?, CURRENT_TIMESTAMP) " +
+            "ON CONFLICT (projection, stream_bucket) DO UPDATE " +
+            "SET global_position = EXCLUDED.global_position, updated_at = EXCLUDED.updated_at",
+            projection, bucket, position);
+    }
+    
+    public record ProjectionState(String state, long targetPosition, long targetTxid, Instant startedAt,
+                                  Instant completedAt) {
+        
+        public boolean isRebuilding() {
+            return REBUILDING.equals(state);
+        }
+    }
+}
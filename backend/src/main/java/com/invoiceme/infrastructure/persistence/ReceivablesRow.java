@@ -0,0 +1,20 @@
+package com.invoiceme.infrastructure.persistence;
+
+import com.invoiceme.domain.common.InvoiceStatus;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * The columns of an invoice the in-memory receivables snapshot keeps; amounts in cents.
+ */
+public record ReceivablesRow(
+    UUID invoiceId,
+    UUID customerId,
+    InvoiceStatus status,
+    LocalDate issueDate,
+    LocalDate dueDate,
+    long balanceCents,
+    long totalCents
+) {
+}
@@ -0,0 +1,89 @@
+package com.invoiceme.infrastructure.persistence;
+
+import com.invoiceme.domain.common.InvoiceStatus;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Reads invoices as {@link ReceivablesRow}s for the in-memory receivables snapshot.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ReceivablesRowRepository {
+    
+    private static final String COLUMNS =
+        "SELECT id, customer_id, status, issue_date, due_date, balance_due, total_amount FROM invoices ";
+    
+    private static final RowMapper<ReceivablesRow> ROW_MAPPER = (rs, rowNum) -> map(rs);
+    
+    private final DataSource dataSource;
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+    
+    /**
+     * Streams open (SENT, OVERDUE) invoices and PAID invoices issued on or after {@code paidIssuedFrom},
+     * {@code fetchSize} rows per round trip. Must run inside a transaction: the PostgreSQL driver only uses a
+     * cursor when autocommit is off, otherwise it buffers the whole result.
+     */
+    public void streamOpenAndRecentlyPaid(LocalDate paidIssuedFrom, int fetchSize, Consumer<ReceivablesRow> consumer) {
+        JdbcTemplate streaming = new JdbcTemplate(dataSource);
+        streaming.setFetchSize(fetchSize);
+        streaming.query(
+            COLUMNS + "WHERE status IN ('SENT', 'OVERDUE') OR (status = 'PAID' AND issue_date >= ?)",
+            (RowCallbackHandler) rs -> consumer.accept(map(rs)),
+            paidIssuedFrom);
+    }
+    
+    /**
+     * Streams open invoices (SENT, OVERDUE) with a balance; same transaction requirement as
+     * {@link #streamOpenAndRecentlyPaid}.
+     */
+    public void streamOpen(int fetchSize, Consumer<ReceivablesRow> consumer) {
+        JdbcTemplate streaming = new JdbcTemplate(dataSource);
+        streaming.setFetchSize(fetchSize);
+        streaming.query(
+            COLUMNS + "WHERE status IN ('SENT', 'OVERDUE') AND balance_due > 0",
+            (RowCallbackHandler) rs -> consumer.accept(map(rs)));
+    }
+    
+    /**
+     * Current rows of the given invoices; invoices that no longer exist are absent.
+     */
+    public List<ReceivablesRow> findByInvoiceIds(Collection<UUID> invoiceIds) {
+        return namedParameterJdbcTemplate.query(
+            COLUMNS + "WHERE id IN (:invoiceIds)",
+            new MapSqlParameterSource("invoiceIds", invoiceIds),
+            ROW_MAPPER);
+    }
+    
+    private static ReceivablesRow map(ResultSet rs) throws SQLException {
+        return new ReceivablesRow(
+            rs.getObject("id", UUID.class),
+            rs.getObject("customer_id", UUID.class),
+            InvoiceStatus.valueOf(rs.getString("status")),
+            rs.getObject("issue_date", LocalDate.class),
+            rs.getObject("due_date", LocalDate.class),
+            cents(rs.getBigDecimal("balance_due")),
+            cents(rs.getBigDecimal("total_amount"))
+        );
+    }
+    
+    private static long cents(BigDecimal amount) {
+        return amount == null ? 0 : amount.setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+}
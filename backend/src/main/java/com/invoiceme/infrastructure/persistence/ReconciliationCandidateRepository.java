@@ -0,0 +1,90 @@
+package com.invoiceme.infrastructure.persistence;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * What bank reconciliation matches statement lines against: open invoices, their customers' names, and the
+ * payments already recorded over the statement's date range.
+ *
+ * The stream methods must run inside a transaction, otherwise the PostgreSQL driver buffers the whole result
+ * instead of using a cursor.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ReconciliationCandidateRepository {
+    
+    private final DataSource dataSource;
+    
+    /**
+     * Open invoices (SENT, OVERDUE) with a balance.
+     */
+    public void streamOpenInvoices(int fetchSize, Consumer<OpenInvoiceCandidate> consumer) {
+        streaming(fetchSize).query(
+            "SELECT id, invoice_number, customer_id, due_date, balance_due FROM invoices " +
+            "WHERE status IN ('SENT', 'OVERDUE') AND balance_due > 0",
+            (RowCallbackHandler) rs -> consumer.accept(new OpenInvoiceCandidate(
+                rs.getObject("id", UUID.class),
+                rs.getString("invoice_number"),
+                rs.getObject("customer_id", UUID.class),
+                rs.getObject("due_date", LocalDate.class),
+                cents(rs.getBigDecimal("balance_due")))));
+    }
+    
+    /**
+     * Company names of customers that have at least one open invoice.
+     */
+    public void streamOpenInvoiceCustomers(int fetchSize, Consumer<CustomerName> consumer) {
+        streaming(fetchSize).query(
+            "SELECT c.id, c.company_name FROM customers c " +
+            "WHERE EXISTS (SELECT 1 FROM invoices i WHERE i.customer_id = c.id " +
+            "              AND i.status IN ('SENT', 'OVERDUE') AND i.balance_due > 0)",
+            (RowCallbackHandler) rs -> consumer.accept(new CustomerName(
+                rs.getObject("id", UUID.class),
+                rs.getString("company_name"))));
+    }
+    
+    /**
+     * Completed payments dated within [from, to]; payment_date prunes to the matching partitions.
+     */
+    public void streamPayments(LocalDate from, LocalDate to, int fetchSize, Consumer<RecordedPayment> consumer) {
+        streaming(fetchSize).query(
+            "SELECT invoice_id, amount, payment_date, payment_reference FROM payments " +
+            "WHERE payment_date BETWEEN ? AND ? AND status = 'COMPLETED'",
+            (RowCallbackHandler) rs -> consumer.accept(new RecordedPayment(
+                rs.getObject("invoice_id", UUID.class),
+                cents(rs.getBigDecimal("amount")),
+                rs.getObject("payment_date", LocalDate.class),
+                rs.getString("payment_reference"))),
+            from, to);
+    }
+    
+    private JdbcTemplate streaming(int fetchSize) {
+        JdbcTemplate streaming = new JdbcTemplate(dataSource);
+        streaming.setFetchSize(fetchSize);
+        return streaming;
+    }
+    
+    private static long cents(BigDecimal amount) {
+        return amount == null ? 0 : amount.setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+    
+    public record OpenInvoiceCandidate(UUID invoiceId, String invoiceNumber, UUID customerId, LocalDate dueDate,
+                                       long balanceCents) {
+    }
+    
+    public record CustomerName(UUID customerId, String companyName) {
+    }
+    
+    public record RecordedPayment(UUID invoiceId, long amountCents, LocalDate paymentDate, String reference) {
+    }
+}
@@ -0,0 +1,46 @@
+package com.invoiceme.infrastructure.persistence;
+
+import com.invoiceme.domain.recurring.RecurringInvoiceTemplate;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface RecurringInvoiceTemplateRepository extends JpaRepository<RecurringInvoiceTemplate, UUID> {
+    
+    /**
+     * Locks up to {@code limit} due templates for the current transaction. Rows already locked by another
+     * worker (or node) are skipped rather than waited on, so concurrent workers never claim the same template.
+     */
+    @Query(value = "SELECT id FROM recurring_invoice_templates " +
+                   "WHERE status = 'ACTIVE' AND next_invoice_date <= :runDate AND id NOT IN (:excluded) " +
+                   "ORDER BY next_invoice_date, id " +
+                   "LIMIT :limit " +
+                   "FOR UPDATE SKIP LOCKED",
+           nativeQuery = true)
+    List<UUID> claimDue(@Param("runDate") LocalDate runDate,
+                        @Param("excluded") Collection<UUID> excluded,
+                        @Param("limit") int limit);
+    
+    /**
+     * Single-template variant of {@link #claimDue}, used to isolate a failing template from its batch.
+     */
+    @Query(value = "SELECT id FROM recurring_invoice_templates " +
+                   "WHERE id = :id AND status = 'ACTIVE' AND next_invoice_date <= :runDate " +
+                   "FOR UPDATE SKIP LOCKED",
+           nativeQuery = true)
+    List<UUID> claimDueById(@Param("runDate") LocalDate runDate, @Param("id") UUID id);
+    
+    @Query("SELECT DISTINCT t FROM RecurringInvoiceTemplate t LEFT JOIN FETCH t.lineItems WHERE t.id IN :ids")
+    List<RecurringInvoiceTemplate> findAllWithLineItems(@Param("ids") Collection<UUID> ids);
+    
+    @Query("SELECT COUNT(t) FROM RecurringInvoiceTemplate t " +
+           "WHERE t.status = com.invoiceme.domain.common.TemplateStatus.ACTIVE AND t.nextInvoiceDate <= :runDate")
+    long countDue(@Param("runDate") LocalDate runDate);
+}
@@ -1,7 +1,6 @@
 package com.invoiceme.infrastructure.persistence;
 
 import jakarta.persistence.*;
-import jakarta.persistence.Convert;
 import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -28,20 +27,12 @@ public class User {
     @Column(name = "full_name", nullable = false, length = 255)
     private String fullName;
     
-    @Convert(converter = UserRoleConverter.class)
+    @org.hibernate.annotations.Type(PostgreSQLEnumType.class)
     @Column(name = "role", nullable = false, columnDefinition = "user_role_enum")
-    @org.hibernate.annotations.ColumnTransformer(
-        read = "role::text",
-        write = "?::user_role_enum"
-    )
     private UserRole role;
     
-    @Convert(converter = UserStatusConverter.class)
+    @org.hibernate.annotations.Type(PostgreSQLEnumType.class)
     @Column(name = "status", nullable = false, columnDefinition = "user_status_enum")
-    @org.hibernate.annotations.ColumnTransformer(
-        read = "status::text",
-        write = "?::user_status_enum"
-    )
     private UserStatus status;
     
     @Column(name = "customer_id")
@@ -0,0 +1,96 @@
+package com.invoiceme.infrastructure.projection;
+
+import com.invoiceme.domain.common.DomainEvent;
+import com.invoiceme.domain.events.*;
+import com.invoiceme.infrastructure.persistence.DomainEventStore.StoredEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The activity feed as a projection of domain events: one entry per event about an invoice or customer.
+ * Entries carry their event's id, so writing an event twice (live and again during a rebuild) keeps one entry,
+ * and a rebuild leaves entries from before the event store alone.
+ */
+@Component
+@RequiredArgsConstructor
+public class ActivityFeedProjection implements Projection {
+    
+    private final JdbcTemplate jdbcTemplate;
+    
+    @Override
+    public String name() {
+        return "activity-feed";
+    }
+    
+    @Override
+    public void reset() {
+        jdbcTemplate.update("DELETE FROM activity_feed WHERE event_id IS NOT NULL");
+    }
+    
+    @Override
+    public void apply(List<StoredEvent> events) {
+        record(events.stream().map(StoredEvent::event).toList());
+    }
+    
+    public void record(List<DomainEvent> events) {
+        List<Object[]> rows = new ArrayList<>(events.size());
+        for (DomainEvent event : events) {
+            // Bulk status transitions have no single aggregate to attach to, and one entry per invoice would
+            // turn a large overdue run into thousands of feed entries
+            if (event == null || event instanceof InvoicesMarkedOverdueEvent || event.getAggregateId() == null) {
+                continue;
+            }
+            rows.add(new Object[] {
+                event.getAggregateId(),
+                event.getEventType(),
+                generateDescription(event),
+                Timestamp.from(event.getOccurredAt()),
+                event.getEventId()
+            });
+        }
+        if (rows.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(
+            "INSERT INTO activity_feed (aggregate_id, event_type, description, occurred_at, event_id) " +
+            "VALUES (?, ?, ?, ?, ?) ON CONFLICT (event_id) DO NOTHING",
+            rows);
+    }
+    
+    private String generateDescription(DomainEvent event) {
+        if (event instanceof PaymentRecordedEvent) {
+            PaymentRecordedEvent e = (PaymentRecordedEvent) event;
+            return String.format("Payment of %s recorded for invoice %s", e.getAmount(), e.getInvoiceNumber());
+        } else if (event instanceof InvoiceSentEvent) {
+            InvoiceSentEvent e = (InvoiceSentEvent) event;
+            return String.format("Invoice %s sent to customer", e.getInvoiceNumber());
+        } else if (event instanceof InvoiceFullyPaidEvent) {
+            InvoiceFullyPaidEvent e = (InvoiceFullyPaidEvent) event;
+            return String.format("Invoice %s paid in full", e.getInvoiceNumber());
+        } else if (event instanceof LateFeeAppliedEvent) {
+            LateFeeAppliedEvent e = (LateFeeAppliedEvent) event;
+            return String.format("Late fee of %s applied to invoice %s", e.getLateFeeAmount(), e.getInvoiceNumber());
+        } else if (event instanceof InvoiceCancelledEvent) {
+            InvoiceCancelledEvent e = (InvoiceCancelledEvent) event;
+            return String.format("Invoice %s cancelled", e.getInvoiceNumber());
+        } else if (event instanceof CreditAppliedEvent) {
+            CreditAppliedEvent e = (CreditAppliedEvent) event;
+            return String.format("Credit of %s applied to customer (Source: %s)", e.getAmount(), e.getSource());
+        } else if (event instanceof CreditDeductedEvent) {
+            CreditDeductedEvent e = (CreditDeductedEvent) event;
+            return String.format("Credit of %s deducted from customer for invoice %s", e.getAmount(), e.getInvoiceNumber());
+        } else if (event instanceof CustomerDeactivatedEvent) {
+            CustomerDeactivatedEvent e = (CustomerDeactivatedEvent) event;
+            return String.format("Customer %s deactivated: %s", e.getCustomerName(), e.getReason());
+        } else if (event instanceof RefundIssuedEvent) {
+            RefundIssuedEvent e = (RefundIssuedEvent) event;
+            return String.format("Refund of %s issued for invoice %s", e.getRefundAmount(), e.getInvoiceNumber());
+        }
+        return "Domain event: " + event.getEventType();
+    }
+}
@@ -0,0 +1,30 @@
+package com.invoiceme.infrastructure.projection;
+
+import com.invoiceme.infrastructure.persistence.DomainEventStore.StoredEvent;
+
+import java.util.List;
+
+/**
+ * A read model that can be rebuilt by replaying the event store (see {@link ProjectionRebuilder}).
+ *
+ * Events arrive in chunks, each from a single stream bucket and in position order, in the same transaction
+ * that advances the bucket's checkpoint; chunks of different buckets are applied concurrently. Applying must
+ * be idempotent, because the live listener may already have applied an event that a rebuild replays.
+ */
+public interface Projection {
+    
+    /**
+     * Stable name used in checkpoints and the rebuild API, e.g. "activity-feed".
+     */
+    String name();
+    
+    /**
+     * Discards what a rebuild reproduces. Runs in the transaction that starts the rebuild.
+     */
+    void reset();
+    
+    /**
+     * @param events events of one bucket in position order; an entry's event is null if its type is unknown
+     */
+    void apply(List<StoredEvent> events);
+}
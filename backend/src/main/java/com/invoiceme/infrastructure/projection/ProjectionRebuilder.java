@@ -0,0 +1,332 @@
+package com.invoiceme.infrastructure.projection;
+
+import com.invoiceme.infrastructure.config.AsyncConfig;
+import com.invoiceme.infrastructure.config.WorkerPool;
+import com.invoiceme.infrastructure.persistence.DomainEventStore;
+import com.invoiceme.infrastructure.persistence.DomainEventStore.HighWaterMark;
+import com.invoiceme.infrastructure.persistence.DomainEventStore.StoredEvent;
+import com.invoiceme.infrastructure.persistence.ProjectionCheckpointRepository;
+import com.invoiceme.infrastructure.persistence.ProjectionCheckpointRepository.ProjectionState;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Rebuilds {@link Projection}s from the domain event store.
+ *
+ * A rebuild resets the projection and fixes its target, the latest stored position, in one transaction. Positions
+ * are taken when an event is inserted, not when it commits, so a transaction still running at that point may yet
+ * commit an event below the target; the rebuild waits until every such transaction has finished (the snapshot
+ * xmin has passed the target's transaction id, as credit ledger compaction does) before it reads any bucket, so
+ * a checkpoint never moves past an event that is not visible yet. It then replays the
+ * {@link DomainEventStore#BUCKETS} streams on the projection-replay {@link WorkerPool}: each chunk of a
+ * bucket is applied in the transaction that advances that bucket's checkpoint, so a rebuild that dies midway
+ * (deploy, crash, failed chunk) resumes from its checkpoints on the next start instead of replaying from zero.
+ * Events appended after the target reach the projection through its live listener.
+ *
+ * One rebuild per projection at a time on this node. Progress is published as projection.rebuild.* gauges,
+ * projection.replay.events counts replayed events, and /actuator/projections reports both.
+ */
+@Service
+@Slf4j
+public class ProjectionRebuilder {
+
+    private final Map<String, Projection> projections = new LinkedHashMap<>();
+    private final Map<String, Progress> progress = new LinkedHashMap<>();
+    private final DomainEventStore eventStore;
+    private final ProjectionCheckpointRepository checkpointRepository;
+    private final TransactionTemplate transaction;
+    private final TaskExecutor coordinator;
+    private final WorkerPool workers;
+    private final int chunkSize;
+    private final boolean resumeOnStartup;
+    private final Duration horizonTimeout;
+
+    public ProjectionRebuilder(
+            List<Projection> projections,
+            DomainEventStore eventStore,
+            ProjectionCheckpointRepository checkpointRepository,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Qualifier(AsyncConfig.JOB_COORDINATOR) TaskExecutor coordinator,
+            @Qualifier(AsyncConfig.PROJECTION_REPLAY) WorkerPool workers,
+            @Value("${app.projections.chunk-size:500}") int chunkSize,
+            @Value("${app.projections.resume-on-startup:true}") boolean resumeOnStartup,
+            @Value("${app.projections.horizon-timeout:5m}") Duration horizonTimeout) {
+        this.eventStore = eventStore;
+        this.checkpointRepository = checkpointRepository;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.coordinator = coordinator;
+        this.workers = workers;
+        this.chunkSize = Math.max(1, chunkSize);
+        this.resumeOnStartup = resumeOnStartup;
+        this.horizonTimeout = horizonTimeout;
+
+        for (Projection projection : projections) {
+            if (this.projections.put(projection.name(), projection) != null) {
+                throw new IllegalStateException("Two projections named " + projection.name());
+            }
+            Progress p = new Progress(Counter.builder("projection.replay.events")
+                .tag("projection", projection.name())
+                .register(meterRegistry));
+            progress.put(projection.name(), p);
+            Gauge.builder("projection.rebuild.running", p.running, r -> r.get() ? 1 : 0)
+                .tag("projection", projection.name())
+                .register(meterRegistry);
+            Gauge.builder("projection.rebuild.remaining", p, Progress::remaining)
+                .tag("projection", projection.name())
+                .register(meterRegistry);
+        }
+    }
+
+    /**
+     * Resumes rebuilds that a previous run of the application left unfinished.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeInterruptedRebuilds() {
+        if (!resumeOnStartup) {
+            return;
+        }
+        for (String name : projections.keySet()) {
+            try {
+                if (checkpointRepository.findState(name).map(ProjectionState::isRebuilding).orElse(false)) {
+                    log.info("Resuming interrupted rebuild of projection {}", name);
+                    startRebuild(name);
+                }
+            } catch (RuntimeException e) {
+                log.error("Could not resume rebuild of projection {}", name, e);
+            }
+        }
+    }
+
+    public List<ProjectionStatus> status() {
+        List<ProjectionStatus> statuses = new ArrayList<>();
+        for (String name : projections.keySet()) {
+            statuses.add(status(name));
+        }
+        return statuses;
+    }
+
+    public ProjectionStatus status(String name) {
+        Progress p = progressOf(name);
+        ProjectionState state = checkpointRepository.findState(name).orElse(null);
+        return new ProjectionStatus(
+            name,
+            state != null ? state.state() : "NEVER_REBUILT",
+            p.running.get(),
+            state != null ? state.targetPosition() : 0,
+            p.toReplay.get(),
+            p.replayed.get(),
+            p.bucketsCompleted.get(),
+            p.eventsPerSecond(),
+            state != null ? state.startedAt() : null,
+            state != null ? state.completedAt() : null,
+            p.lastError);
+    }
+
+    /**
+     * Starts (or resumes) a rebuild in the background and returns immediately.
+     */
+    public void startRebuild(String name) {
+        Projection projection = projectionOf(name);
+        Progress p = claim(name);
+        coordinator.execute(() -> {
+            try {
+                rebuildClaimed(projection, p);
+            } catch (RuntimeException e) {
+                log.error("Rebuild of projection {} failed", name, e);
+            }
+        });
+    }
+
+    /**
+     * Rebuilds (or resumes rebuilding) the projection and returns once it is complete.
+     */
+    public ProjectionStatus rebuild(String name) {
+        Projection projection = projectionOf(name);
+        rebuildClaimed(projection, claim(name));
+        return status(name);
+    }
+
+    private Progress claim(String name) {
+        Progress p = progressOf(name);
+        if (!p.running.compareAndSet(false, true)) {
+            throw new IllegalStateException("Projection " + name + " is already being rebuilt");
+        }
+        return p;
+    }
+
+    private void rebuildClaimed(Projection projection, Progress p) {
+        String name = projection.name();
+        try {
+            p.lastError = null;
+            HighWaterMark targetMark = transaction.execute(status -> {
+                ProjectionState state = checkpointRepository.findState(name).orElse(null);
+                if (state != null && state.isRebuilding()) {
+                    return new HighWaterMark(state.targetPosition(), state.targetTxid());
+                }
+                projection.reset();
+                HighWaterMark highWaterMark = eventStore.highWaterMark();
+                checkpointRepository.startRebuild(name, highWaterMark.position(), highWaterMark.txid());
+                return highWaterMark;
+            });
+            long target = targetMark.position();
+            awaitHorizon(name, targetMark.txid());
+            Map<Integer, Long> checkpoints = checkpointRepository.findCheckpoints(name);
+            p.start(eventStore.countBetween(0, target), checkpointRepository.countReplayed(name, target));
+            log.info("Rebuilding projection {} up to position {}: {} events to replay, {} workers",
+                name, target, p.remaining(), workers.size());
+
+            replayAll(projection, target, checkpoints, p);
+
+            transaction.executeWithoutResult(status -> checkpointRepository.completeRebuild(name));
+            log.info("Rebuilt projection {}: {} events in {} ms ({} events/s)",
+                name, p.replayed.get(), p.elapsed().toMillis(), Math.round(p.eventsPerSecond()));
+        } catch (RuntimeException e) {
+            p.lastError = e.getMessage();
+            throw e;
+        } finally {
+            p.finishedAt = Instant.now();
+            p.running.set(false);
+        }
+    }
+
+    /**
+     * Waits until no transaction below {@code txid} is running, so every event up to the target is visible.
+     * Times out (the rebuild stays REBUILDING and resumes later) if a long transaction holds it up.
+     */
+    private void awaitHorizon(String name, long txid) {
+        long deadline = System.currentTimeMillis() + horizonTimeout.toMillis();
+        while (eventStore.transactionHorizon() < txid) {
+            if (System.currentTimeMillis() >= deadline) {
+                throw new IllegalStateException("Rebuild of projection " + name + " is waiting on transactions " +
+                    "older than " + txid + " that are still running; it resumes on the next attempt");
+            }
+            try {
+                Thread.sleep(200);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Rebuild of projection " + name + " interrupted", e);
+            }
+        }
+    }
+
+    private void replayAll(Projection projection, long target, Map<Integer, Long> checkpoints, Progress p) {
+        List<Runnable> buckets = new ArrayList<>();
+        for (int bucket = 0; bucket < DomainEventStore.BUCKETS; bucket++) {
+            int b = bucket;
+            long from = checkpoints.getOrDefault(bucket, 0L);
+            buckets.add(() -> replayBucket(projection, b, from, target, p));
+        }
+        workers.runAll(buckets);
+    }
+
+    private void replayBucket(Projection projection, int bucket, long from, long target, Progress p) {
+        long position = from;
+        while (position < target) {
+            if (Thread.currentThread().isInterrupted()) {
+                return;
+            }
+            long after = position;
+            Chunk chunk = transaction.execute(status -> {
+                List<StoredEvent> events = eventStore.readBucket(bucket, after, target, chunkSize);
+                if (events.isEmpty()) {
+                    return new Chunk(0, target);
+                }
+                projection.apply(events);
+                long last = events.get(events.size() - 1).position();
+                checkpointRepository.saveCheckpoint(projection.name(), bucket, last);
+                return new Chunk(events.size(), events.size() < chunkSize ? target : last);
+            });
+            p.replayed(chunk.events());
+            position = chunk.nextPosition();
+        }
+        p.bucketsCompleted.incrementAndGet();
+    }
+
+    private Projection projectionOf(String name) {
+        Projection projection = projections.get(name);
+        if (projection == null) {
+            throw new IllegalArgumentException("Unknown projection: " + name + ". Known: " + projections.keySet());
+        }
+        return projection;
+    }
+
+    private Progress progressOf(String name) {
+        projectionOf(name);
+        return progress.get(name);
+    }
+
+    /**
+     * @param nextPosition where the bucket continues; the target once it has no more events
+     */
+    private record Chunk(int events, long nextPosition) {
+    }
+
+    private static final class Progress {
+
+        private final AtomicBoolean running = new AtomicBoolean();
+        private final AtomicLong toReplay = new AtomicLong();
+        private final AtomicLong replayed = new AtomicLong();
+        private final AtomicLong replayedThisRun = new AtomicLong();
+        private final AtomicInteger bucketsCompleted = new AtomicInteger();
+        private final Counter counter;
+        private volatile Instant startedAt;
+        private volatile Instant finishedAt;
+        private volatile String lastError;
+
+        private Progress(Counter counter) {
+            this.counter = counter;
+        }
+
+        private void start(long total, long alreadyReplayed) {
+            toReplay.set(total);
+            replayed.set(alreadyReplayed);
+            replayedThisRun.set(0);
+            bucketsCompleted.set(0);
+            startedAt = Instant.now();
+            finishedAt = null;
+        }
+
+        private void replayed(int events) {
+            replayed.addAndGet(events);
+            replayedThisRun.addAndGet(events);
+            counter.increment(events);
+        }
+
+        private long remaining() {
+            return Math.max(0, toReplay.get() - replayed.get());
+        }
+
+        private Duration elapsed() {
+            if (startedAt == null) {
+                return Duration.ZERO;
+            }
+            return Duration.between(startedAt, finishedAt != null ? finishedAt : Instant.now());
+        }
+
+        private double eventsPerSecond() {
+            long millis = elapsed().toMillis();
+            return millis > 0 ? replayedThisRun.get() * 1000.0 / millis : 0;
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.invoiceme.infrastructure.projection;
+
+import java.time.Instant;
+
+/**
+ * Rebuild progress of one projection, as reported by the projections actuator endpoint and API.
+ *
+ * @param state           REBUILDING, COMPLETED, or NEVER_REBUILT; REBUILDING while not running means the last
+ *                        rebuild stopped midway and the next one resumes it
+ * @param eventsPerSecond replay throughput of the current (or last) rebuild on this node
+ */
+public record ProjectionStatus(
+    String projection,
+    String state,
+    boolean running,
+    long targetPosition,
+    long eventsToReplay,
+    long eventsReplayed,
+    int bucketsCompleted,
+    double eventsPerSecond,
+    Instant startedAt,
+    Instant completedAt,
+    String lastError
+) {
+}
@@ -0,0 +1,25 @@
+package com.invoiceme.infrastructure.projection;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * /actuator/projections: rebuild state, progress and replay throughput of every projection. Read-only;
+ * rebuilds are started through /api/v1/projections.
+ */
+@Component
+@Endpoint(id = "projections")
+@RequiredArgsConstructor
+public class ProjectionsEndpoint {
+    
+    private final ProjectionRebuilder projectionRebuilder;
+    
+    @ReadOperation
+    public List<ProjectionStatus> projections() {
+        return projectionRebuilder.status();
+    }
+}
@@ -0,0 +1,32 @@
+package com.invoiceme.infrastructure.scheduled;
+
+import com.invoiceme.customers.credit.CreditLedgerService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Periodically folds customer credit ledger entries into customer_credit_balances so balance
+ * lookups only sum the entries written since the last snapshot.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class CreditLedgerCompactionJob {
+    
+    private final CreditLedgerService creditLedgerService;
+    
+    @Value("${app.credit-ledger.compaction-min-entries:20}")
+    private int minEntries;
+    
+    @Scheduled(fixedDelayString = "${app.credit-ledger.compaction-interval-ms:300000}",
+               initialDelayString = "${app.credit-ledger.compaction-interval-ms:300000}")
+    public void compact() {
+        int compacted = creditLedgerService.compact(minEntries);
+        if (compacted > 0) {
+            log.info("Compacted credit ledger snapshots for {} customers", compacted);
+        }
+    }
+}
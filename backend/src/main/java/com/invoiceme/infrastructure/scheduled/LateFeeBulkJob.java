@@ -0,0 +1,198 @@
+package com.invoiceme.infrastructure.scheduled;
+
+import com.invoiceme.domain.common.DomainEventPublisher;
+import com.invoiceme.domain.common.Money;
+import com.invoiceme.domain.invoice.Invoice;
+import com.invoiceme.infrastructure.jobs.BulkJobState;
+import com.invoiceme.infrastructure.jobs.BulkJobType;
+import com.invoiceme.infrastructure.jobs.UnitResult;
+import com.invoiceme.infrastructure.persistence.InvoiceRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Applies the monthly late fee to overdue invoices, up to app.late-fee.max-months fees per invoice.
+ *
+ * Each unit of chunk-size invoices is loaded and saved in one transaction; a unit that fails is retried one
+ * invoice at a time. Invoices that already carry this month's fee are skipped, so a unit processed again after
+ * a takeover does not charge twice.
+ */
+@Component
+@Slf4j
+public class LateFeeBulkJob implements BulkJobType<LateFeeBulkJob.Parameters> {
+    
+    public static final String NAME = "LATE_FEES";
+    
+    private final InvoiceRepository invoiceRepository;
+    private final DomainEventPublisher eventPublisher;
+    private final TransactionTemplate transaction;
+    private final Money lateFeeAmount;
+    private final int maxLateFeeMonths;
+    private final int chunkSize;
+    
+    // Progress of the current (or last) run on this node, published as latefee.job.* gauges
+    private final AtomicLong running = new AtomicLong();
+    private final AtomicLong candidates = new AtomicLong();
+    private final AtomicLong processed = new AtomicLong();
+    private final AtomicLong feesApplied = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+    private final AtomicLong lastCompletedEpochSeconds = new AtomicLong();
+    
+    public LateFeeBulkJob(
+            InvoiceRepository invoiceRepository,
+            DomainEventPublisher eventPublisher,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${app.late-fee.amount:125.00}") BigDecimal lateFeeAmount,
+            @Value("${app.late-fee.max-months:3}") int maxLateFeeMonths,
+            @Value("${app.late-fee.chunk-size:200}") int chunkSize) {
+        this.invoiceRepository = invoiceRepository;
+        this.eventPublisher = eventPublisher;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.lateFeeAmount = Money.of(lateFeeAmount);
+        this.maxLateFeeMonths = maxLateFeeMonths;
+        this.chunkSize = Math.max(1, chunkSize);
+        
+        Gauge.builder("latefee.job.running", running, AtomicLong::get).register(meterRegistry);
+        Gauge.builder("latefee.job.invoices", candidates, AtomicLong::get).tag("state", "candidate").register(meterRegistry);
+        Gauge.builder("latefee.job.invoices", processed, AtomicLong::get).tag("state", "processed").register(meterRegistry);
+        Gauge.builder("latefee.job.invoices", feesApplied, AtomicLong::get).tag("state", "fee_applied").register(meterRegistry);
+        Gauge.builder("latefee.job.invoices", failures, AtomicLong::get).tag("state", "failed").register(meterRegistry);
+        Gauge.builder("latefee.job.last.completed", lastCompletedEpochSeconds, AtomicLong::get)
+            .baseUnit("seconds")
+            .register(meterRegistry);
+    }
+    
+    @Override
+    public String name() {
+        return NAME;
+    }
+    
+    @Override
+    public Class<Parameters> parametersType() {
+        return Parameters.class;
+    }
+    
+    @Override
+    public List<List<String>> plan(Parameters parameters) {
+        if (parameters == null || parameters.runDate() == null) {
+            throw new IllegalArgumentException("Late fee run needs a run date");
+        }
+        List<UUID> ids = invoiceRepository.findOverdueInvoiceIds(parameters.runDate());
+        log.info("Found {} overdue invoices", ids.size());
+        candidates.set(ids.size());
+        processed.set(0);
+        feesApplied.set(0);
+        failures.set(0);
+        
+        List<List<String>> units = new ArrayList<>();
+        for (int from = 0; from < ids.size(); from += chunkSize) {
+            units.add(ids.subList(from, Math.min(from + chunkSize, ids.size())).stream().map(UUID::toString).toList());
+        }
+        return units;
+    }
+    
+    @Override
+    public void onStart(UUID jobId) {
+        running.set(1);
+    }
+    
+    @Override
+    public void onFinish(UUID jobId, BulkJobState state) {
+        running.set(0);
+        lastCompletedEpochSeconds.set(Instant.now().getEpochSecond());
+    }
+    
+    @Override
+    public UnitResult process(Parameters parameters, List<String> items) {
+        List<UUID> ids = items.stream().map(UUID::fromString).toList();
+        try {
+            UnitResult result = transaction.execute(status -> applyLateFees(ids, parameters.runDate()));
+            record(result);
+            return result;
+        } catch (RuntimeException e) {
+            if (ids.size() == 1) {
+                log.error("Failed to apply late fee to invoice {}", ids.get(0), e);
+                UnitResult result = new UnitResult();
+                result.failed(ids.get(0).toString(), e.getMessage());
+                record(result);
+                return result;
+            }
+            log.warn("Late fees for {} invoices failed, retrying one at a time: {}", ids.size(), e.getMessage());
+        }
+        UnitResult result = new UnitResult();
+        for (UUID id : ids) {
+            try {
+                UnitResult single = transaction.execute(status -> applyLateFees(List.of(id), parameters.runDate()));
+                result.add(single);
+            } catch (RuntimeException e) {
+                log.error("Failed to apply late fee to invoice {}", id, e);
+                result.failed(id.toString(), e.getMessage());
+            }
+        }
+        record(result);
+        return result;
+    }
+    
+    private UnitResult applyLateFees(List<UUID> ids, LocalDate runDate) {
+        UnitResult result = new UnitResult();
+        List<Invoice> invoices = invoiceRepository.findAllWithLineItemsByIdIn(ids);
+        List<Invoice> charged = new ArrayList<>();
+        for (Invoice invoice : invoices) {
+            if (applyLateFeeIfNeeded(invoice, runDate)) {
+                charged.add(invoice);
+                result.succeeded();
+            } else {
+                result.skipped();
+            }
+        }
+        // Deleted since the run was planned
+        for (int i = invoices.size(); i < ids.size(); i++) {
+            result.skipped();
+        }
+        if (!charged.isEmpty()) {
+            eventPublisher.publishEvents(invoiceRepository.saveAll(charged));
+        }
+        return result;
+    }
+    
+    private boolean applyLateFeeIfNeeded(Invoice invoice, LocalDate runDate) {
+        // Paid or cancelled since the run was planned, or already charged this month
+        if (!invoice.isOverdue() || invoice.hasLateFeeForCurrentMonth()) {
+            return false;
+        }
+        long monthsOverdue = Math.max(0, ChronoUnit.MONTHS.between(invoice.getDueDate(), runDate));
+        if (monthsOverdue == 0 || monthsOverdue > maxLateFeeMonths) {
+            return false;
+        }
+        invoice.addLateFee(lateFeeAmount);
+        log.info("Applied late fee of {} to invoice {}", lateFeeAmount, invoice.getInvoiceNumber());
+        return true;
+    }
+    
+    private void record(UnitResult result) {
+        processed.addAndGet(result.getSucceeded() + result.getSkipped() + result.getFailed());
+        feesApplied.addAndGet(result.getSucceeded());
+        failures.addAndGet(result.getFailed());
+    }
+    
+    /**
+     * @param runDate invoices due before this date are overdue
+     */
+    public record Parameters(LocalDate runDate) {
+    }
+}
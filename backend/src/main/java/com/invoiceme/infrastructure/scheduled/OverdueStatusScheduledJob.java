@@ -0,0 +1,96 @@
+package com.invoiceme.infrastructure.scheduled;
+
+import com.invoiceme.domain.common.DomainEventPublisher;
+import com.invoiceme.domain.common.Money;
+import com.invoiceme.domain.events.InvoicesMarkedOverdueEvent;
+import com.invoiceme.infrastructure.persistence.InvoiceRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Moves SENT invoices past their due date to OVERDUE with a set-based UPDATE, one bounded chunk per
+ * transaction so row locks and WAL stay small however large the backlog is. Each chunk publishes a single
+ * {@link InvoicesMarkedOverdueEvent} after it commits.
+ *
+ * Runs before the late fee job, which then finds the invoices already OVERDUE.
+ */
+@Component
+@Slf4j
+public class OverdueStatusScheduledJob {
+    
+    private final InvoiceRepository invoiceRepository;
+    private final DomainEventPublisher eventPublisher;
+    private final TransactionTemplate chunkTransaction;
+    private final Counter transitioned;
+    private final int chunkSize;
+    
+    public OverdueStatusScheduledJob(
+            InvoiceRepository invoiceRepository,
+            DomainEventPublisher eventPublisher,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${app.overdue.chunk-size:1000}") int chunkSize) {
+        this.invoiceRepository = invoiceRepository;
+        this.eventPublisher = eventPublisher;
+        this.chunkTransaction = new TransactionTemplate(transactionManager);
+        this.transitioned = Counter.builder("overdue.job.invoices").register(meterRegistry);
+        this.chunkSize = chunkSize;
+    }
+    
+    @Scheduled(cron = "${app.overdue.cron:0 30 0 * * ?}", zone = "America/Chicago")
+    public void markOverdueInvoices() {
+        markOverdue(LocalDate.now());
+    }
+    
+    /**
+     * @return number of invoices moved to OVERDUE
+     */
+    public int markOverdue(LocalDate today) {
+        int total = 0;
+        int marked;
+        do {
+            marked = chunkTransaction.execute(status -> markChunk(today));
+            total += marked;
+        } while (marked == chunkSize);
+        
+        if (total > 0) {
+            log.info("Marked {} invoices overdue as of {}", total, today);
+        }
+        return total;
+    }
+    
+    private int markChunk(LocalDate today) {
+        List<Object[]> rows = invoiceRepository.markOverdue(today, chunkSize);
+        if (rows.isEmpty()) {
+            return 0;
+        }
+        
+        List<UUID> invoiceIds = new ArrayList<>(rows.size());
+        Set<UUID> customerIds = new HashSet<>();
+        BigDecimal totalBalance = BigDecimal.ZERO;
+        for (Object[] row : rows) {
+            invoiceIds.add((UUID) row[0]);
+            customerIds.add((UUID) row[1]);
+            totalBalance = totalBalance.add((BigDecimal) row[2]);
+        }
+        
+        // Delivered to @TransactionalEventListener(AFTER_COMMIT) listeners once this chunk commits
+        eventPublisher.publishEvent(new InvoicesMarkedOverdueEvent(today, invoiceIds, customerIds, Money.of(totalBalance)));
+        transitioned.increment(rows.size());
+        return rows.size();
+    }
+}
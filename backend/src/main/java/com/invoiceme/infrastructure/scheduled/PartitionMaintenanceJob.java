@@ -0,0 +1,59 @@
+package com.invoiceme.infrastructure.scheduled;
+
+import com.invoiceme.infrastructure.persistence.PartitionRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+
+/**
+ * Keeps yearly partitions of invoices, line_items and payments created ahead of the dates being written, so
+ * new rows never fall into the DEFAULT partitions. Runs at startup and monthly; creating a partition that
+ * already exists is a no-op.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class PartitionMaintenanceJob {
+    
+    private final PartitionRepository partitionRepository;
+    
+    @Value("${app.partitions.years-ahead:1}")
+    private int yearsAhead;
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        ensurePartitions(LocalDate.now());
+    }
+    
+    @Scheduled(cron = "${app.partitions.cron:0 0 2 1 * ?}", zone = "America/Chicago")
+    public void ensureUpcomingPartitions() {
+        ensurePartitions(LocalDate.now());
+    }
+    
+    /**
+     * @return number of partitions created
+     */
+    public int ensurePartitions(LocalDate today) {
+        int created = 0;
+        for (int year = today.getYear(); year <= today.getYear() + yearsAhead; year++) {
+            for (String table : PartitionRepository.YEARLY_PARTITIONED_TABLES) {
+                try {
+                    if (partitionRepository.ensureYearlyPartition(table, year)) {
+                        created++;
+                        log.info("Created partition {}_y{}", table, year);
+                    }
+                } catch (RuntimeException e) {
+                    // Typically rows for that year already sit in the DEFAULT partition; needs manual attention
+                    log.error("Could not create partition {}_y{}", table, year, e);
+                }
+            }
+        }
+        return created;
+    }
+}
@@ -0,0 +1,139 @@
+package com.invoiceme.infrastructure.scheduled;
+
+import com.invoiceme.infrastructure.config.AsyncConfig;
+import com.invoiceme.infrastructure.config.WorkerPool;
+import com.invoiceme.infrastructure.persistence.CustomerPaymentStatsRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Folds existing invoice and payment history into customer_payment_stats rows that have not been
+ * backfilled yet (all rows present when V25 ran).
+ *
+ * Workers each claim a chunk of pending rows with FOR UPDATE SKIP LOCKED and recompute it in one statement
+ * and one transaction, so several workers and several nodes can run side by side and a crash loses at most
+ * the in-flight chunks. Rows held by a payment in flight are skipped and picked up by a later round.
+ * Starts in the background once the application is ready; workers run on the payment-stats-backfill
+ * {@link WorkerPool}.
+ */
+@Component
+@Slf4j
+public class PaymentStatsBackfillJob {
+    
+    private final CustomerPaymentStatsRepository paymentStatsRepository;
+    private final TransactionTemplate chunkTransaction;
+    private final TaskExecutor coordinator;
+    private final WorkerPool workers;
+    private final int chunkSize;
+    private final boolean enabled;
+    
+    private final AtomicBoolean running = new AtomicBoolean();
+    
+    public PaymentStatsBackfillJob(
+            CustomerPaymentStatsRepository paymentStatsRepository,
+            PlatformTransactionManager transactionManager,
+            @Qualifier(AsyncConfig.JOB_COORDINATOR) TaskExecutor coordinator,
+            @Qualifier(AsyncConfig.PAYMENT_STATS_BACKFILL) WorkerPool workers,
+            @Value("${app.payment-stats.backfill-chunk-size:500}") int chunkSize,
+            @Value("${app.payment-stats.backfill-enabled:true}") boolean enabled) {
+        this.paymentStatsRepository = paymentStatsRepository;
+        this.chunkTransaction = new TransactionTemplate(transactionManager);
+        this.coordinator = coordinator;
+        this.workers = workers;
+        this.chunkSize = chunkSize;
+        this.enabled = enabled;
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        if (!enabled || paymentStatsRepository.countPending() == 0) {
+            return;
+        }
+        coordinator.execute(() -> {
+            try {
+                backfill();
+            } catch (RuntimeException e) {
+                log.error("Payment stats backfill failed", e);
+            }
+        });
+    }
+    
+    public boolean isRunning() {
+        return running.get();
+    }
+    
+    /**
+     * Backfills every pending row and returns once none are left.
+     *
+     * @return number of customer rows recomputed
+     */
+    public long backfill() {
+        if (!running.compareAndSet(false, true)) {
+            throw new IllegalStateException("A payment stats backfill is already in progress");
+        }
+        try {
+            long startedAt = System.currentTimeMillis();
+            long recomputed = 0;
+            long pending;
+            while ((pending = paymentStatsRepository.countPending()) > 0) {
+                log.info("Backfilling payment stats for {} customers with {} workers", pending, workers.size());
+                long round = runRound();
+                if (round == 0) {
+                    // Everything left is locked by transactions in flight; give them a moment to commit
+                    pause();
+                }
+                recomputed += round;
+            }
+            log.info("Payment stats backfill completed: {} customers in {} ms",
+                recomputed, System.currentTimeMillis() - startedAt);
+            return recomputed;
+        } finally {
+            running.set(false);
+        }
+    }
+    
+    private long runRound() {
+        AtomicLong recomputed = new AtomicLong();
+        List<Runnable> tasks = new ArrayList<>();
+        for (int i = 0; i < workers.size(); i++) {
+            tasks.add(() -> work(recomputed));
+        }
+        workers.runAll(tasks);
+        return recomputed.get();
+    }
+    
+    private void pause() {
+        try {
+            Thread.sleep(100);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Payment stats backfill interrupted", e);
+        }
+    }
+    
+    private void work(AtomicLong recomputed) {
+        while (!Thread.currentThread().isInterrupted()) {
+            Integer chunk = chunkTransaction.execute(status -> {
+                List<UUID> customerIds = paymentStatsRepository.claimPending(chunkSize);
+                return customerIds.isEmpty() ? 0 : paymentStatsRepository.recompute(customerIds);
+            });
+            if (chunk == null || chunk == 0) {
+                return;
+            }
+            recomputed.addAndGet(chunk);
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.invoiceme.infrastructure.scheduled;
+
+import com.invoiceme.recurring.generation.RecurringInvoiceEngine;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+
+/**
+ * Daily recurring invoice run. Safe to run on every node: workers claim templates with SKIP LOCKED. The run is
+ * started in the background so it does not hold the scheduler thread the other scheduled jobs share.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class RecurringInvoiceScheduledJob {
+    
+    private static final ZoneId ZONE = ZoneId.of("America/Chicago");
+    
+    private final RecurringInvoiceEngine engine;
+    
+    @Scheduled(cron = "${app.recurring.cron:0 5 0 * * ?}", zone = "America/Chicago")
+    public void generateDueInvoices() {
+        try {
+            // The date the cron fired on, not the server's (UTC) date
+            engine.startRun(LocalDate.now(ZONE));
+        } catch (IllegalStateException e) {
+            log.warn("Skipping scheduled recurring invoice run: {}", e.getMessage());
+        }
+    }
+}
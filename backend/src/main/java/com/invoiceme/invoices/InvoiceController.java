@@ -2,15 +2,25 @@ package com.invoiceme.invoices;
 
 import com.invoiceme.domain.common.InvoiceStatus;
 import com.invoiceme.domain.customer.Customer;
+import com.invoiceme.domain.invoice.LineItem;
+import com.invoiceme.infrastructure.bus.MessageBus;
+import com.invoiceme.infrastructure.jobs.BulkJobRunner;
+import com.invoiceme.infrastructure.jobs.BulkJobStatus;
 import com.invoiceme.infrastructure.persistence.CustomerRepository;
 import com.invoiceme.invoices.cancelinvoice.CancelInvoiceCommand;
-import com.invoiceme.invoices.cancelinvoice.CancelInvoiceHandler;
 import com.invoiceme.invoices.createinvoice.*;
 import com.invoiceme.invoices.getinvoice.*;
+import com.invoiceme.invoices.listlineitems.LineItemSliceResult;
+import com.invoiceme.invoices.listlineitems.ListLineItemsQuery;
+import com.invoiceme.invoices.listlineitems.PagedLineItemResponse;
 import com.invoiceme.invoices.listinvoices.*;
 import com.invoiceme.invoices.markassent.MarkAsSentCommand;
-import com.invoiceme.invoices.markassent.MarkAsSentHandler;
 import com.invoiceme.invoices.markassent.MarkAsSentMapper;
+import com.invoiceme.invoices.patchlineitems.PatchLineItemsCommand;
+import com.invoiceme.invoices.patchlineitems.PatchLineItemsMapper;
+import com.invoiceme.invoices.patchlineitems.PatchLineItemsRequest;
+import com.invoiceme.invoices.sendbatch.InvoiceSendBulkJob;
+import com.invoiceme.invoices.sendbatch.SendBatchRequest;
 import com.invoiceme.invoices.shared.InvoiceDto;
 import com.invoiceme.invoices.shared.LineItemDto;
 import com.invoiceme.invoices.shared.PaymentSummaryDto;
@@ -21,8 +31,10 @@ import org.springframework.data.domain.Page;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
+import java.net.URI;
 import java.util.List;
 import java.util.UUID;
 import java.util.stream.Collectors;
@@ -32,29 +44,30 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class InvoiceController {
     
+    private final MessageBus messageBus;
+    
     // Create Invoice
-    private final CreateInvoiceHandler createHandler;
     private final CreateInvoiceMapper createMapper;
     private final CreateInvoiceValidator createValidator;
     
     // Get Invoice
-    private final GetInvoiceHandler getHandler;
     private final GetInvoiceMapper getMapper;
     
     // List Invoices
-    private final ListInvoicesHandler listHandler;
     private final ListInvoicesMapper listMapper;
     
     // Update Invoice
-    private final UpdateInvoiceHandler updateHandler;
     private final UpdateInvoiceMapper updateMapper;
     
+    // Patch Line Items
+    private final PatchLineItemsMapper patchLineItemsMapper;
+    
     // Mark as Sent
-    private final MarkAsSentHandler markAsSentHandler;
     private final MarkAsSentMapper markAsSentMapper;
     
-    // Cancel Invoice
-    private final CancelInvoiceHandler cancelHandler;
+    // Send Batch
+    private final BulkJobRunner bulkJobRunner;
+    private final InvoiceSendBulkJob invoiceSendBulkJob;
     
     // Customer Repository for fetching customer names
     private final CustomerRepository customerRepository;
@@ -64,7 +77,7 @@ public class InvoiceController {
     public ResponseEntity<InvoiceDto> createInvoice(@Valid @RequestBody CreateInvoiceRequest request) {
         createValidator.validate(request);
         CreateInvoiceCommand command = createMapper.requestToCommand(request);
-        var invoice = createHandler.handle(command);
+        var invoice = messageBus.dispatch(command);
         InvoiceDto response = createMapper.toDto(invoice);
         
         // Populate customer name
@@ -77,9 +90,20 @@ public class InvoiceController {
     }
     
     @GetMapping("/{id}")
-    public ResponseEntity<InvoiceDetailResponse> getInvoice(@PathVariable UUID id) {
-        GetInvoiceQuery query = new GetInvoiceQuery(id);
-        InvoiceDetailResult result = getHandler.handle(query);
+    public ResponseEntity<InvoiceDetailResponse> getInvoice(
+            @PathVariable UUID id,
+            @RequestParam(name = "lineItems", defaultValue = "full") String lineItemsMode) {
+        boolean includeLineItems;
+        if ("full".equalsIgnoreCase(lineItemsMode)) {
+            includeLineItems = true;
+        } else if ("summary".equalsIgnoreCase(lineItemsMode)) {
+            includeLineItems = false;
+        } else {
+            throw new IllegalArgumentException("lineItems must be 'full' or 'summary', got: " + lineItemsMode);
+        }
+        
+        GetInvoiceQuery query = new GetInvoiceQuery(id, includeLineItems);
+        InvoiceDetailResult result = messageBus.dispatch(query);
         
         // Fetch customer name
         String customerName = customerRepository.findById(result.getInvoice().getCustomerId())
@@ -95,21 +119,12 @@ public class InvoiceController {
             .dueDate(result.getInvoice().getDueDate())
             .status(result.getInvoice().getStatus().name())
             .paymentTerms(result.getInvoice().getPaymentTerms())
-            .lineItems(result.getInvoice().getLineItems().stream()
-                .map(item -> {
-                    LineItemDto dto = new LineItemDto();
-                    dto.setId(item.getId());
-                    dto.setDescription(item.getDescription());
-                    dto.setQuantity(item.getQuantity());
-                    dto.setUnitPrice(item.getUnitPrice());
-                    dto.setDiscountType(item.getDiscountType());
-                    dto.setDiscountValue(item.getDiscountValue());
-                    dto.setTaxRate(item.getTaxRate());
-                    dto.setLineTotal(item.calculateLineTotal());
-                    dto.setSortOrder(item.getSortOrder());
-                    return dto;
-                })
-                .collect(Collectors.toList()))
+            .lineItems(includeLineItems
+                ? result.getInvoice().getLineItems().stream()
+                    .map(this::toLineItemDto)
+                    .collect(Collectors.toList())
+                : null)
+            .lineItemCount(result.getLineItemCount())
             .subtotal(result.getInvoice().getSubtotal())
             .taxAmount(result.getInvoice().getTaxAmount())
             .discountAmount(result.getInvoice().getDiscountAmount())
@@ -137,6 +152,32 @@ public class InvoiceController {
         return ResponseEntity.ok(response);
     }
     
+    @GetMapping("/{id}/line-items")
+    public ResponseEntity<PagedLineItemResponse> listLineItems(
+            @PathVariable UUID id,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "100") Integer size) {
+        
+        ListLineItemsQuery query = ListLineItemsQuery.builder()
+            .invoiceId(id)
+            .cursor(cursor)
+            .size(size)
+            .build();
+        
+        LineItemSliceResult result = messageBus.dispatch(query);
+        
+        PagedLineItemResponse response = PagedLineItemResponse.builder()
+            .content(result.getLineItems().stream()
+                .map(this::toLineItemDto)
+                .collect(Collectors.toList()))
+            .size(result.getLineItems().size())
+            .nextCursor(result.getNextCursor())
+            .hasMore(result.isHasMore())
+            .build();
+        
+        return ResponseEntity.ok(response);
+    }
+    
     @GetMapping
     public ResponseEntity<PagedInvoiceResponse> listInvoices(
             @RequestParam(required = false) List<InvoiceStatus> status,
@@ -167,7 +208,7 @@ public class InvoiceController {
             .sort(sort)
             .build();
         
-        Page<com.invoiceme.domain.invoice.Invoice> invoicePage = listHandler.handle(query);
+        Page<com.invoiceme.domain.invoice.Invoice> invoicePage = messageBus.dispatch(query);
         
         // Batch load customer names for performance
         List<UUID> customerIds = invoicePage.getContent().stream()
@@ -215,7 +256,7 @@ public class InvoiceController {
             @Valid @RequestBody UpdateInvoiceRequest request) {
         
         UpdateInvoiceCommand command = updateMapper.toCommand(id, request);
-        var invoice = updateHandler.handle(command);
+        var invoice = messageBus.dispatch(command);
         InvoiceDto response = updateMapper.toDto(invoice);
         
         // Populate customer name
@@ -227,11 +268,30 @@ public class InvoiceController {
         return ResponseEntity.ok(response);
     }
     
+    @PatchMapping("/{id}/line-items")
+    @PreAuthorize("hasAnyRole('SYSADMIN', 'ACCOUNTANT', 'SALES')")
+    public ResponseEntity<InvoiceDto> patchLineItems(
+            @PathVariable UUID id,
+            @Valid @RequestBody PatchLineItemsRequest request) {
+        
+        PatchLineItemsCommand command = patchLineItemsMapper.toCommand(id, request);
+        var invoice = messageBus.dispatch(command);
+        InvoiceDto response = patchLineItemsMapper.toDto(invoice);
+        
+        // Populate customer name
+        String customerName = customerRepository.findById(invoice.getCustomerId())
+            .map(Customer::getCompanyName)
+            .orElse("Unknown Customer");
+        response.setCustomerName(customerName);
+        
+        return ResponseEntity.ok(response);
+    }
+    
     @PatchMapping("/{id}/mark-as-sent")
     @PreAuthorize("hasAnyRole('SYSADMIN', 'ACCOUNTANT', 'SALES')")
     public ResponseEntity<InvoiceDto> markInvoiceAsSent(@PathVariable UUID id) {
         MarkAsSentCommand command = new MarkAsSentCommand(id);
-        var invoice = markAsSentHandler.handle(command);
+        var invoice = messageBus.dispatch(command);
         InvoiceDto response = markAsSentMapper.toDto(invoice);
         
         // Populate customer name
@@ -243,12 +303,37 @@ public class InvoiceController {
         return ResponseEntity.ok(response);
     }
     
+    /**
+     * Marks the given (or all matching DRAFT) invoices as sent in a background job; see {@link InvoiceSendBulkJob}.
+     * Returns 202 with the job, whose progress is at the Location (GET /api/v1/jobs/{id}).
+     */
+    @PostMapping("/send-batch")
+    @PreAuthorize("hasAnyRole('SYSADMIN', 'ACCOUNTANT')")
+    public ResponseEntity<BulkJobStatus> sendBatch(@RequestBody SendBatchRequest request, Authentication authentication) {
+        BulkJobStatus job = bulkJobRunner.submit(invoiceSendBulkJob, request, authentication.getName());
+        return ResponseEntity.accepted().location(URI.create("/api/v1/jobs/" + job.id())).body(job);
+    }
+    
     @DeleteMapping("/{id}")
     @PreAuthorize("hasRole('SYSADMIN')")
     public ResponseEntity<Void> cancelInvoice(@PathVariable UUID id) {
         CancelInvoiceCommand command = new CancelInvoiceCommand(id);
-        cancelHandler.handle(command);
+        messageBus.dispatch(command);
         return ResponseEntity.status(HttpStatus.NO_CONTENT).build();
     }
+    
+    private LineItemDto toLineItemDto(LineItem item) {
+        LineItemDto dto = new LineItemDto();
+        dto.setId(item.getId());
+        dto.setDescription(item.getDescription());
+        dto.setQuantity(item.getQuantity());
+        dto.setUnitPrice(item.getUnitPrice());
+        dto.setDiscountType(item.getDiscountType());
+        dto.setDiscountValue(item.getDiscountValue());
+        dto.setTaxRate(item.getTaxRate());
+        dto.setLineTotal(item.getLineTotal()); // Persisted, not recomputed per request
+        dto.setSortOrder(item.getSortOrder());
+        return dto;
+    }
 }
 
@@ -1,5 +1,6 @@
 package com.invoiceme.invoices.cancelinvoice;
 
+import com.invoiceme.infrastructure.bus.Command;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -9,7 +10,7 @@ import java.util.UUID;
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
-public class CancelInvoiceCommand {
+public class CancelInvoiceCommand implements Command<Void> {
     private UUID invoiceId;
 }
 
@@ -2,7 +2,9 @@ package com.invoiceme.invoices.createinvoice;
 
 import com.invoiceme.domain.common.InvoiceNumber;
 import com.invoiceme.domain.common.PaymentTerms;
+import com.invoiceme.domain.invoice.Invoice;
 import com.invoiceme.domain.invoice.LineItem;
+import com.invoiceme.infrastructure.bus.Command;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -16,7 +18,7 @@ import java.util.UUID;
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
-public class CreateInvoiceCommand {
+public class CreateInvoiceCommand implements Command<Invoice> {
     private UUID customerId;
     private InvoiceNumber invoiceNumber;
     private LocalDate issueDate;
@@ -2,9 +2,11 @@ package com.invoiceme.invoices.getinvoice;
 
 import com.invoiceme.domain.invoice.Invoice;
 import com.invoiceme.infrastructure.persistence.InvoiceRepository;
+import com.invoiceme.infrastructure.persistence.LineItemRepository;
 import com.invoiceme.infrastructure.persistence.PaymentRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.UUID;
 
@@ -14,13 +16,20 @@ public class GetInvoiceHandler {
     
     private final InvoiceRepository invoiceRepository;
     private final PaymentRepository paymentRepository;
+    private final LineItemRepository lineItemRepository;
     
+    @Transactional(readOnly = true)
     public InvoiceDetailResult handle(GetInvoiceQuery query) {
         Invoice invoice = invoiceRepository.findById(query.getInvoiceId())
             .orElseThrow(() -> new IllegalArgumentException("Invoice not found: " + query.getInvoiceId()));
         
-        // Load line items (they're lazy-loaded)
-        invoice.getLineItems().size(); // Force load
+        // Load line items (they're lazy-loaded) unless only the summary was requested
+        int lineItemCount;
+        if (query.isIncludeLineItems()) {
+            lineItemCount = invoice.getLineItems().size(); // Force load
+        } else {
+            lineItemCount = (int) lineItemRepository.countByInvoiceId(invoice.getId());
+        }
         
         // Get payments for this invoice
         var payments = paymentRepository.findByInvoiceId(
@@ -31,6 +40,7 @@ public class GetInvoiceHandler {
         return InvoiceDetailResult.builder()
             .invoice(invoice)
             .payments(payments.getContent())
+            .lineItemCount(lineItemCount)
             .build();
     }
 }
@@ -1,5 +1,6 @@
 package com.invoiceme.invoices.getinvoice;
 
+import com.invoiceme.infrastructure.bus.Query;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -9,7 +10,12 @@ import java.util.UUID;
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
-public class GetInvoiceQuery {
+public class GetInvoiceQuery implements Query<InvoiceDetailResult> {
     private UUID invoiceId;
+    private boolean includeLineItems = true; // false = header and totals only (?lineItems=summary)
+    
+    public GetInvoiceQuery(UUID invoiceId) {
+        this.invoiceId = invoiceId;
+    }
 }
 
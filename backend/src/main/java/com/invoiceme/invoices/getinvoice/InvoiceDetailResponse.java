@@ -27,7 +27,8 @@ public class InvoiceDetailResponse {
     private LocalDate dueDate;
     private String status;
     private PaymentTerms paymentTerms;
-    private List<LineItemDto> lineItems;
+    private List<LineItemDto> lineItems; // Omitted for ?lineItems=summary, page via /line-items instead
+    private Integer lineItemCount;
     private Money subtotal;
     private Money taxAmount;
     private Money discountAmount;
@@ -16,5 +16,6 @@ import java.util.List;
 public class InvoiceDetailResult {
     private Invoice invoice;
     private List<Payment> payments;
+    private Integer lineItemCount;
 }
 
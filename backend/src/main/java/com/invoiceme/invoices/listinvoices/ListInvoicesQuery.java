@@ -1,10 +1,13 @@
 package com.invoiceme.invoices.listinvoices;
 
 import com.invoiceme.domain.common.InvoiceStatus;
+import com.invoiceme.domain.invoice.Invoice;
+import com.invoiceme.infrastructure.bus.Query;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Page;
 
 import java.time.LocalDate;
 import java.util.List;
@@ -14,7 +17,7 @@ import java.util.UUID;
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
-public class ListInvoicesQuery {
+public class ListInvoicesQuery implements Query<Page<Invoice>> {
     private List<InvoiceStatus> status;
     private UUID customerId;
     private LocalDate issueDateFrom;
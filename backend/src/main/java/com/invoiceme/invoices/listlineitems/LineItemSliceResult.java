@@ -0,0 +1,19 @@
+package com.invoiceme.invoices.listlineitems;
+
+import com.invoiceme.domain.invoice.LineItem;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LineItemSliceResult {
+    private List<LineItem> lineItems;
+    private String nextCursor;
+    private boolean hasMore;
+}
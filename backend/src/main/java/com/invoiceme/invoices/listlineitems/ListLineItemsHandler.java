@@ -0,0 +1,84 @@
+package com.invoiceme.invoices.listlineitems;
+
+import com.invoiceme.domain.invoice.LineItem;
+import com.invoiceme.infrastructure.persistence.InvoiceRepository;
+import com.invoiceme.infrastructure.persistence.LineItemRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Keyset-paged line items for a single invoice. The cursor encodes the
+ * (sort_order, id) of the last row returned, so each page is an index range
+ * scan regardless of how deep into a large invoice the client has paged.
+ */
+@Service
+@RequiredArgsConstructor
+public class ListLineItemsHandler {
+    
+    private static final int DEFAULT_PAGE_SIZE = 100;
+    private static final int MAX_PAGE_SIZE = 500;
+    private static final String CURSOR_SEPARATOR = ":";
+    
+    private final InvoiceRepository invoiceRepository;
+    private final LineItemRepository lineItemRepository;
+    
+    @Transactional(readOnly = true)
+    public LineItemSliceResult handle(ListLineItemsQuery query) {
+        if (!invoiceRepository.existsById(query.getInvoiceId())) {
+            throw new IllegalArgumentException("Invoice not found: " + query.getInvoiceId());
+        }
+        
+        int size = query.getSize() != null ? query.getSize() : DEFAULT_PAGE_SIZE;
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        
+        // Fetch one extra row to know whether another page exists
+        PageRequest limit = PageRequest.of(0, size + 1);
+        List<LineItem> rows;
+        if (query.getCursor() == null || query.getCursor().isBlank()) {
+            rows = lineItemRepository.findFirstPage(query.getInvoiceId(), limit);
+        } else {
+            String[] parts = parseCursor(query.getCursor());
+            rows = lineItemRepository.findPageAfter(
+                query.getInvoiceId(),
+                Integer.parseInt(parts[0]),
+                UUID.fromString(parts[1]),
+                limit
+            );
+        }
+        
+        boolean hasMore = rows.size() > size;
+        List<LineItem> page = hasMore ? rows.subList(0, size) : rows;
+        String nextCursor = null;
+        if (hasMore) {
+            LineItem last = page.get(page.size() - 1);
+            nextCursor = last.getSortOrder() + CURSOR_SEPARATOR + last.getId();
+        }
+        
+        return LineItemSliceResult.builder()
+            .lineItems(page)
+            .nextCursor(nextCursor)
+            .hasMore(hasMore)
+            .build();
+    }
+    
+    private String[] parseCursor(String cursor) {
+        String[] parts = cursor.split(CURSOR_SEPARATOR, 2);
+        try {
+            if (parts.length != 2) {
+                throw new IllegalArgumentException();
+            }
+            Integer.parseInt(parts[0]);
+            UUID.fromString(parts[1]);
+            return parts;
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid line item cursor: " + cursor);
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.invoiceme.invoices.listlineitems;
+
+import com.invoiceme.infrastructure.bus.Query;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ListLineItemsQuery implements Query<LineItemSliceResult> {
+    private UUID invoiceId;
+    private String cursor; // Opaque cursor from the previous page, null for the first page
+    private Integer size;
+}
@@ -0,0 +1,20 @@
+package com.invoiceme.invoices.listlineitems;
+
+import com.invoiceme.invoices.shared.LineItemDto;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PagedLineItemResponse {
+    private List<LineItemDto> content;
+    private Integer size;
+    private String nextCursor; // Pass as ?cursor= to fetch the next page; null on the last page
+    private boolean hasMore;
+}
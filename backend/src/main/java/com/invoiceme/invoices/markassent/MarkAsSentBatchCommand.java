@@ -0,0 +1,22 @@
+package com.invoiceme.invoices.markassent;
+
+import com.invoiceme.domain.invoice.Invoice;
+import com.invoiceme.infrastructure.bus.Command;
+import com.invoiceme.infrastructure.bus.RetryOnConflict;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Marks several DRAFT invoices as sent in one transaction; all of them or none. Customer credit is applied in
+ * the order of {@code invoiceIds}.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MarkAsSentBatchCommand implements Command<List<Invoice>>, RetryOnConflict {
+    private List<UUID> invoiceIds;
+}
@@ -0,0 +1,75 @@
+package com.invoiceme.invoices.markassent;
+
+import com.invoiceme.customers.credit.CreditLedgerService;
+import com.invoiceme.domain.common.AggregateRoot;
+import com.invoiceme.domain.common.DomainEventPublisher;
+import com.invoiceme.domain.common.Money;
+import com.invoiceme.domain.customer.Customer;
+import com.invoiceme.domain.invoice.Invoice;
+import com.invoiceme.infrastructure.persistence.CustomerRepository;
+import com.invoiceme.infrastructure.persistence.InvoiceRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * The rules of {@link MarkAsSentHandler} for a batch, with bulk loads: invoices and their line items in one
+ * query, their customers in another, and credit reserved for all invoices under one set of customer locks.
+ * Events of the whole batch go to the event store in one insert.
+ */
+@Service
+@RequiredArgsConstructor
+public class MarkAsSentBatchHandler {
+    
+    private final InvoiceRepository invoiceRepository;
+    private final CustomerRepository customerRepository;
+    private final CreditLedgerService creditLedgerService;
+    private final DomainEventPublisher eventPublisher;
+    
+    @Transactional
+    public List<Invoice> handle(MarkAsSentBatchCommand command) {
+        Map<UUID, Invoice> byId = invoiceRepository.findAllWithLineItemsByIdIn(command.getInvoiceIds()).stream()
+            .collect(Collectors.toMap(Invoice::getId, Function.identity()));
+        List<Invoice> invoices = new ArrayList<>(command.getInvoiceIds().size());
+        for (UUID invoiceId : command.getInvoiceIds()) {
+            Invoice invoice = byId.get(invoiceId);
+            if (invoice == null) {
+                throw new IllegalArgumentException("Invoice not found: " + invoiceId);
+            }
+            invoices.add(invoice);
+        }
+        
+        Map<UUID, Customer> customers = customerRepository.findAllById(
+                invoices.stream().map(Invoice::getCustomerId).distinct().toList()).stream()
+            .collect(Collectors.toMap(Customer::getId, Function.identity()));
+        for (Invoice invoice : invoices) {
+            if (!customers.containsKey(invoice.getCustomerId())) {
+                throw new IllegalArgumentException("Customer not found: " + invoice.getCustomerId());
+            }
+        }
+        
+        Map<UUID, Money> credit = creditLedgerService.reserveForInvoices(customers, invoices);
+        for (Invoice invoice : invoices) {
+            Money creditToApply = credit.get(invoice.getId());
+            if (creditToApply != null) {
+                invoice.applyCreditDiscount(creditToApply);
+            }
+            invoice.markAsSent();
+        }
+        
+        List<Invoice> saved = invoiceRepository.saveAll(invoices);
+        
+        List<AggregateRoot> aggregates = new ArrayList<>(saved);
+        aggregates.addAll(customers.values());
+        eventPublisher.publishEvents(aggregates);
+        
+        return saved;
+    }
+}
@@ -1,5 +1,7 @@
 package com.invoiceme.invoices.markassent;
 
+import com.invoiceme.domain.invoice.Invoice;
+import com.invoiceme.infrastructure.bus.Command;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -9,7 +11,7 @@ import java.util.UUID;
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
-public class MarkAsSentCommand {
+public class MarkAsSentCommand implements Command<Invoice> {
     private UUID invoiceId;
 }
 
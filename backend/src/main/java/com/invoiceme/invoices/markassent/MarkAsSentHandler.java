@@ -1,5 +1,6 @@
 package com.invoiceme.invoices.markassent;
 
+import com.invoiceme.customers.credit.CreditLedgerService;
 import com.invoiceme.domain.common.DomainEventPublisher;
 import com.invoiceme.domain.customer.Customer;
 import com.invoiceme.domain.invoice.Invoice;
@@ -15,6 +16,7 @@ public class MarkAsSentHandler {
     
     private final InvoiceRepository invoiceRepository;
     private final CustomerRepository customerRepository;
+    private final CreditLedgerService creditLedgerService;
     private final DomainEventPublisher eventPublisher;
     
     @Transactional
@@ -26,16 +28,10 @@ public class MarkAsSentHandler {
         Customer customer = customerRepository.findById(invoice.getCustomerId())
             .orElseThrow(() -> new IllegalArgumentException("Customer not found: " + invoice.getCustomerId()));
         
-        // Check if customer has credit and auto-apply
-        if (customer.getCreditBalance().isPositive()) {
-            // Apply credit as discount (up to invoice total)
-            com.invoiceme.domain.common.Money creditToApply = customer.getCreditBalance();
-            if (creditToApply.isGreaterThan(invoice.getTotalAmount())) {
-                creditToApply = invoice.getTotalAmount();
-            }
+        // Reserve available credit for this invoice (up to its total) and apply it as a discount
+        com.invoiceme.domain.common.Money creditToApply = creditLedgerService.reserveForInvoice(customer, invoice);
+        if (creditToApply.isPositive()) {
             invoice.applyCreditDiscount(creditToApply);
-            customer.deductCredit(creditToApply);
-            customerRepository.save(customer);
         }
         
         // Mark invoice as sent (publishes InvoiceSentEvent)
@@ -0,0 +1,45 @@
+package com.invoiceme.invoices.patchlineitems;
+
+import com.invoiceme.domain.common.DiscountType;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/**
+ * Partial update of an existing line item. Only non-null fields are changed.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LineItemPatchDto {
+    
+    @NotNull(message = "Line item id is required")
+    private UUID id;
+    
+    private String description;
+    
+    @Min(value = 1, message = "Quantity must be at least 1")
+    private Integer quantity;
+    
+    @DecimalMin(value = "0.0", message = "Unit price must be >= 0")
+    private BigDecimal unitPrice;
+    
+    private DiscountType discountType;
+    
+    @DecimalMin(value = "0.0", message = "Discount value must be >= 0")
+    private BigDecimal discountValue;
+    
+    @DecimalMin(value = "0.0", message = "Tax rate must be >= 0")
+    private BigDecimal taxRate;
+    
+    @Min(value = 0, message = "Sort order must be >= 0")
+    private Integer sortOrder;
+}
@@ -0,0 +1,25 @@
+package com.invoiceme.invoices.patchlineitems;
+
+import com.invoiceme.domain.invoice.Invoice;
+import com.invoiceme.domain.invoice.LineItem;
+import com.invoiceme.domain.invoice.LineItemChange;
+import com.invoiceme.infrastructure.bus.Command;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PatchLineItemsCommand implements Command<Invoice> {
+    private UUID invoiceId;
+    private List<LineItem> additions;
+    private List<LineItemChange> updates;
+    private List<UUID> removals;
+    private Integer version;
+}
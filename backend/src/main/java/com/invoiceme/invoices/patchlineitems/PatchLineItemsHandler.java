@@ -0,0 +1,51 @@
+package com.invoiceme.invoices.patchlineitems;
+
+import com.invoiceme.domain.common.DomainEventPublisher;
+import com.invoiceme.domain.invoice.Invoice;
+import com.invoiceme.infrastructure.persistence.InvoiceRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Applies add/update/remove operations to an invoice's line items as a delta.
+ * Untouched line items are never written; Hibernate batches the resulting
+ * INSERT/UPDATE/DELETE statements (hibernate.jdbc.batch_size) and bumps the
+ * invoice version once. Only DRAFT invoices can be patched.
+ */
+@Service
+@RequiredArgsConstructor
+public class PatchLineItemsHandler {
+    
+    private final InvoiceRepository invoiceRepository;
+    private final DomainEventPublisher eventPublisher;
+    
+    @Transactional
+    public Invoice handle(PatchLineItemsCommand command) {
+        Invoice invoice = invoiceRepository.findById(command.getInvoiceId())
+            .orElseThrow(() -> new IllegalArgumentException("Invoice not found: " + command.getInvoiceId()));
+        
+        // Optimistic locking check
+        if (command.getVersion() != null && !invoice.getVersion().equals(command.getVersion())) {
+            throw new ObjectOptimisticLockingFailureException(
+                "Invoice was modified by another transaction. Current version: " + invoice.getVersion(),
+                Invoice.class
+            );
+        }
+        
+        invoice.applyLineItemChanges(
+            command.getAdditions(),
+            command.getUpdates(),
+            command.getRemovals()
+        );
+        
+        // saveAndFlush so the returned version reflects the single increment
+        Invoice savedInvoice = invoiceRepository.saveAndFlush(invoice);
+        
+        // Publish domain events after transaction commit
+        eventPublisher.publishEvents(savedInvoice);
+        
+        return savedInvoice;
+    }
+}
@@ -0,0 +1,75 @@
+package com.invoiceme.invoices.patchlineitems;
+
+import com.invoiceme.domain.common.DiscountType;
+import com.invoiceme.domain.common.InvoiceNumber;
+import com.invoiceme.domain.common.Money;
+import com.invoiceme.domain.invoice.Invoice;
+import com.invoiceme.domain.invoice.LineItem;
+import com.invoiceme.domain.invoice.LineItemChange;
+import com.invoiceme.invoices.shared.InvoiceDto;
+import com.invoiceme.invoices.shared.LineItemRequestDto;
+import org.mapstruct.Mapper;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+@Mapper(componentModel = "spring")
+public interface PatchLineItemsMapper {
+    
+    InvoiceDto toDto(Invoice invoice);
+    
+    default String map(InvoiceNumber invoiceNumber) {
+        return invoiceNumber == null ? null : invoiceNumber.getValue();
+    }
+    
+    default PatchLineItemsCommand toCommand(UUID invoiceId, PatchLineItemsRequest request) {
+        return PatchLineItemsCommand.builder()
+            .invoiceId(invoiceId)
+            .additions(toLineItems(request.getAdd()))
+            .updates(toLineItemChanges(request.getUpdate()))
+            .removals(request.getRemove() != null ? request.getRemove() : List.of())
+            .version(request.getVersion())
+            .build();
+    }
+    
+    default List<LineItem> toLineItems(List<LineItemRequestDto> dtos) {
+        List<LineItem> items = new ArrayList<>();
+        if (dtos == null) {
+            return items;
+        }
+        for (LineItemRequestDto dto : dtos) {
+            // Sort order is assigned by the invoice when the item is appended
+            items.add(LineItem.create(
+                dto.getDescription(),
+                dto.getQuantity(),
+                Money.of(dto.getUnitPrice()),
+                dto.getDiscountType() != null ? dto.getDiscountType() : DiscountType.NONE,
+                dto.getDiscountValue() != null ? Money.of(dto.getDiscountValue()) : Money.zero(),
+                dto.getTaxRate() != null ? dto.getTaxRate() : java.math.BigDecimal.ZERO,
+                null
+            ));
+        }
+        return items;
+    }
+    
+    default List<LineItemChange> toLineItemChanges(List<LineItemPatchDto> dtos) {
+        List<LineItemChange> changes = new ArrayList<>();
+        if (dtos == null) {
+            return changes;
+        }
+        for (LineItemPatchDto dto : dtos) {
+            changes.add(LineItemChange.builder()
+                .lineItemId(dto.getId())
+                .description(dto.getDescription())
+                .quantity(dto.getQuantity())
+                .unitPrice(dto.getUnitPrice() != null ? Money.of(dto.getUnitPrice()) : null)
+                .discountType(dto.getDiscountType())
+                .discountValue(dto.getDiscountValue() != null ? Money.of(dto.getDiscountValue()) : null)
+                .taxRate(dto.getTaxRate())
+                .sortOrder(dto.getSortOrder())
+                .build());
+        }
+        return changes;
+    }
+}
@@ -0,0 +1,32 @@
+package com.invoiceme.invoices.patchlineitems;
+
+import com.invoiceme.invoices.shared.LineItemRequestDto;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PatchLineItemsRequest {
+    
+    @Valid
+    private List<LineItemRequestDto> add;
+    
+    @Valid
+    private List<LineItemPatchDto> update;
+    
+    private List<UUID> remove;
+    
+    @NotNull(message = "Version is required for optimistic locking")
+    @Min(value = 1, message = "Version is required for optimistic locking")
+    private Integer version;
+}
@@ -0,0 +1,169 @@
+package com.invoiceme.invoices.sendbatch;
+
+import com.invoiceme.domain.common.InvoiceStatus;
+import com.invoiceme.infrastructure.bus.MessageBus;
+import com.invoiceme.infrastructure.jobs.BulkJobType;
+import com.invoiceme.infrastructure.jobs.UnitResult;
+import com.invoiceme.infrastructure.persistence.InvoiceSendCandidateRepository;
+import com.invoiceme.infrastructure.persistence.InvoiceSendCandidateRepository.SendCandidate;
+import com.invoiceme.invoices.markassent.MarkAsSentBatchCommand;
+import com.invoiceme.invoices.markassent.MarkAsSentCommand;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Marks many DRAFT invoices as sent, e.g. the monthly run (POST /api/v1/invoices/send-batch).
+ *
+ * The plan orders the invoices by customer, due date and invoice number: that order decides which invoices get
+ * a customer's credit when several share it. Units are cut at chunk-size invoices but never between two
+ * invoices of one customer, so that order holds even with several workers. Each unit goes through
+ * MarkAsSentBatchCommand in one transaction, a few bulk queries instead of a transaction per invoice; its
+ * InvoiceSentEvents reach the email executor when it commits, so emails go out while the next unit is processed.
+ * A unit that fails is retried one invoice at a time so a single bad invoice cannot block the rest.
+ *
+ * Invoices are re-read when their unit is processed: anything no longer DRAFT is skipped, which also makes a
+ * repeated unit harmless.
+ */
+@Component
+@Slf4j
+public class InvoiceSendBulkJob implements BulkJobType<SendBatchRequest> {
+    
+    public static final String NAME = "INVOICE_SEND";
+    
+    private static final Comparator<SendCandidate> SEND_ORDER = Comparator
+        .comparing(SendCandidate::customerId)
+        .thenComparing(SendCandidate::dueDate)
+        .thenComparing(SendCandidate::invoiceNumber);
+    
+    private final InvoiceSendCandidateRepository candidateRepository;
+    private final MessageBus messageBus;
+    private final int chunkSize;
+    private final int maxInvoices;
+    
+    public InvoiceSendBulkJob(
+            InvoiceSendCandidateRepository candidateRepository,
+            MessageBus messageBus,
+            @Value("${app.invoices.send-batch.chunk-size:200}") int chunkSize,
+            @Value("${app.invoices.send-batch.max-invoices:50000}") int maxInvoices) {
+        this.candidateRepository = candidateRepository;
+        this.messageBus = messageBus;
+        this.chunkSize = Math.max(1, chunkSize);
+        this.maxInvoices = maxInvoices;
+    }
+    
+    @Override
+    public String name() {
+        return NAME;
+    }
+    
+    @Override
+    public Class<SendBatchRequest> parametersType() {
+        return SendBatchRequest.class;
+    }
+    
+    @Override
+    public List<List<String>> plan(SendBatchRequest request) {
+        List<SendCandidate> candidates;
+        List<String> missing = new ArrayList<>();
+        if (request.hasInvoiceIds() && request.hasFilter()) {
+            throw new IllegalArgumentException("Give either invoiceIds or filter criteria, not both");
+        } else if (request.hasInvoiceIds()) {
+            List<UUID> ids = List.copyOf(new LinkedHashSet<>(request.getInvoiceIds()));
+            if (ids.size() > maxInvoices) {
+                throw new IllegalArgumentException("At most " + maxInvoices + " invoices per batch");
+            }
+            candidates = new ArrayList<>(candidateRepository.findByIds(ids));
+            Set<UUID> found = new HashSet<>();
+            candidates.forEach(candidate -> found.add(candidate.id()));
+            ids.stream().filter(id -> !found.contains(id)).forEach(id -> missing.add(id.toString()));
+        } else if (request.hasFilter()) {
+            candidates = new ArrayList<>(candidateRepository.findDrafts(
+                request.getCustomerId(),
+                request.getIssueDateFrom(),
+                request.getIssueDateTo(),
+                request.getDueDateFrom(),
+                request.getDueDateTo(),
+                maxInvoices + 1));
+            if (candidates.size() > maxInvoices) {
+                throw new IllegalArgumentException("The filter matches more than " + maxInvoices
+                    + " draft invoices; narrow it down");
+            }
+        } else {
+            throw new IllegalArgumentException("Give invoiceIds or at least one filter criterion");
+        }
+        candidates.sort(SEND_ORDER);
+        
+        List<List<String>> units = new ArrayList<>();
+        List<String> unit = new ArrayList<>();
+        UUID unitCustomer = null;
+        for (SendCandidate candidate : candidates) {
+            if (unit.size() >= chunkSize && !candidate.customerId().equals(unitCustomer)) {
+                units.add(unit);
+                unit = new ArrayList<>();
+            }
+            unit.add(candidate.id().toString());
+            unitCustomer = candidate.customerId();
+        }
+        units.add(unit);
+        // Processing reports them as not found
+        units.add(missing);
+        return units;
+    }
+    
+    @Override
+    public UnitResult process(SendBatchRequest request, List<String> items) {
+        UnitResult result = new UnitResult();
+        List<UUID> ids = items.stream().map(UUID::fromString).toList();
+        Map<UUID, SendCandidate> current = new HashMap<>();
+        candidateRepository.findByIds(ids).forEach(candidate -> current.put(candidate.id(), candidate));
+        
+        List<SendCandidate> toSend = new ArrayList<>(ids.size());
+        for (UUID id : ids) {
+            SendCandidate candidate = current.get(id);
+            if (candidate == null) {
+                result.failed(id.toString(), "Invoice not found");
+            } else if (candidate.status() != InvoiceStatus.DRAFT) {
+                result.skipped();
+            } else if (!candidate.hasLineItems()) {
+                result.failed(id.toString(), "Cannot mark invoice as sent without line items");
+            } else {
+                toSend.add(candidate);
+            }
+        }
+        if (toSend.isEmpty()) {
+            return result;
+        }
+        
+        try {
+            messageBus.dispatch(new MarkAsSentBatchCommand(toSend.stream().map(SendCandidate::id).toList()));
+            toSend.forEach(candidate -> result.succeeded());
+            return result;
+        } catch (RuntimeException e) {
+            if (toSend.size() == 1) {
+                result.failed(toSend.get(0).id().toString(), e.getMessage());
+                return result;
+            }
+            log.warn("Batch send of {} invoices failed, retrying one at a time: {}", toSend.size(), e.getMessage());
+        }
+        for (SendCandidate candidate : toSend) {
+            try {
+                messageBus.dispatch(new MarkAsSentCommand(candidate.id()));
+                result.succeeded();
+            } catch (RuntimeException e) {
+                result.failed(candidate.id().toString(), e.getMessage());
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,41 @@
+package com.invoiceme.invoices.sendbatch;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Either explicit invoice ids, or a filter over DRAFT invoices (at least one criterion).
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SendBatchRequest {
+    
+    private List<UUID> invoiceIds;
+    
+    private UUID customerId;
+    
+    private LocalDate issueDateFrom;
+    
+    private LocalDate issueDateTo;
+    
+    private LocalDate dueDateFrom;
+    
+    private LocalDate dueDateTo;
+    
+    boolean hasInvoiceIds() {
+        return invoiceIds != null && !invoiceIds.isEmpty();
+    }
+    
+    boolean hasFilter() {
+        return customerId != null || issueDateFrom != null || issueDateTo != null
+            || dueDateFrom != null || dueDateTo != null;
+    }
+}
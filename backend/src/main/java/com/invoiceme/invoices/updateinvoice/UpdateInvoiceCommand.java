@@ -1,7 +1,9 @@
 package com.invoiceme.invoices.updateinvoice;
 
 import com.invoiceme.domain.common.PaymentTerms;
+import com.invoiceme.domain.invoice.Invoice;
 import com.invoiceme.domain.invoice.LineItem;
+import com.invoiceme.infrastructure.bus.Command;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -15,7 +17,7 @@ import java.util.UUID;
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
-public class UpdateInvoiceCommand {
+public class UpdateInvoiceCommand implements Command<Invoice> {
     private UUID invoiceId;
     private LocalDate issueDate;
     private LocalDate dueDate;
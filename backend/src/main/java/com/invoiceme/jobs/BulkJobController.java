@@ -0,0 +1,44 @@
+package com.invoiceme.jobs;
+
+import com.invoiceme.infrastructure.jobs.BulkJobRunner;
+import com.invoiceme.infrastructure.jobs.BulkJobStatus;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/v1/jobs")
+@RequiredArgsConstructor
+@PreAuthorize("hasAnyRole('SYSADMIN', 'ACCOUNTANT')")
+public class BulkJobController {
+    
+    private static final int MAX_LIMIT = 100;
+    
+    private final BulkJobRunner bulkJobRunner;
+    
+    /**
+     * Most recent jobs first, without their failures.
+     */
+    @GetMapping
+    public ResponseEntity<List<BulkJobStatus>> listJobs(@RequestParam(defaultValue = "20") int limit) {
+        return ResponseEntity.ok(bulkJobRunner.recent(Math.max(1, Math.min(limit, MAX_LIMIT))));
+    }
+    
+    @GetMapping("/{id}")
+    public ResponseEntity<BulkJobStatus> getJob(@PathVariable UUID id) {
+        return ResponseEntity.ok(bulkJobRunner.status(id));
+    }
+    
+    /**
+     * Stops the job after the units in progress. 409 if it has already finished.
+     */
+    @PostMapping("/{id}/cancel")
+    public ResponseEntity<BulkJobStatus> cancelJob(@PathVariable UUID id) {
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(bulkJobRunner.cancel(id));
+    }
+}
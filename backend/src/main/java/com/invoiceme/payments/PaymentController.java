@@ -4,10 +4,15 @@ import com.invoiceme.domain.common.PaymentMethod;
 import com.invoiceme.domain.common.PaymentStatus;
 import com.invoiceme.domain.customer.Customer;
 import com.invoiceme.domain.invoice.Invoice;
+import com.invoiceme.infrastructure.bus.MessageBus;
 import com.invoiceme.infrastructure.persistence.CustomerRepository;
 import com.invoiceme.infrastructure.persistence.InvoiceRepository;
 import com.invoiceme.payments.getpayment.*;
 import com.invoiceme.payments.listpayments.*;
+import com.invoiceme.payments.reconcile.BankReconciliationEngine;
+import com.invoiceme.payments.reconcile.BankStatementFormat;
+import com.invoiceme.payments.reconcile.BankStatementParser;
+import com.invoiceme.payments.reconcile.ReconciliationResponse;
 import com.invoiceme.payments.recordpayment.*;
 import com.invoiceme.payments.shared.PaymentDto;
 import jakarta.validation.Valid;
@@ -18,6 +23,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.InputStream;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Map;
@@ -29,20 +35,22 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class PaymentController {
     
+    private final MessageBus messageBus;
+    
     // Record Payment
-    private final RecordPaymentHandler recordHandler;
     private final RecordPaymentMapper recordMapper;
     private final RecordPaymentValidator recordValidator;
     private final PaymentService paymentService;
     
     // Get Payment
-    private final GetPaymentHandler getHandler;
     private final GetPaymentMapper getMapper;
     
     // List Payments
-    private final ListPaymentsHandler listHandler;
     private final ListPaymentsMapper listMapper;
     
+    // Bank reconciliation
+    private final BankReconciliationEngine reconciliationEngine;
+    
     // Repositories for batch loading invoice numbers and customer names
     private final InvoiceRepository invoiceRepository;
     private final CustomerRepository customerRepository;
@@ -58,7 +66,7 @@ public class PaymentController {
         // TODO: Set createdByUserId from security context
         
         // Handle command
-        var payment = recordHandler.handle(command);
+        var payment = messageBus.dispatch(command);
         
         // Map entity to DTO
         PaymentDto response = recordMapper.toDto(payment);
@@ -79,10 +87,25 @@ public class PaymentController {
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
     
+    /**
+     * Matches an uploaded bank statement (CSV or camt.053 XML as the raw request body) against open invoices.
+     * Confident matches are recorded as ACH payments unless autoRecord=false; see {@link BankReconciliationEngine}.
+     */
+    @PostMapping(value = "/reconcile",
+        consumes = {"text/csv", "text/plain", "application/xml", "text/xml", "application/octet-stream"})
+    @PreAuthorize("hasAnyRole('SYSADMIN', 'ACCOUNTANT')")
+    public ResponseEntity<ReconciliationResponse> reconcile(
+            InputStream statement,
+            @RequestParam(defaultValue = "csv") String format,
+            @RequestParam(defaultValue = "true") boolean autoRecord) {
+        var lines = BankStatementParser.parse(statement, BankStatementFormat.fromParam(format));
+        return ResponseEntity.ok(reconciliationEngine.reconcile(lines, autoRecord));
+    }
+    
     @GetMapping("/{id}")
     public ResponseEntity<PaymentDetailResponse> getPayment(@PathVariable UUID id) {
         GetPaymentQuery query = new GetPaymentQuery(id);
-        var payment = getHandler.handle(query);
+        var payment = messageBus.dispatch(query);
         
         // Load invoice and customer to populate invoice number and customer name
         Invoice invoice = invoiceRepository.findById(payment.getInvoiceId())
@@ -134,7 +157,7 @@ public class PaymentController {
             .sort(sort)
             .build();
         
-        Page<com.invoiceme.domain.payment.Payment> paymentPage = listHandler.handle(query);
+        Page<com.invoiceme.domain.payment.Payment> paymentPage = messageBus.dispatch(query);
         
         // Batch load invoice numbers and customer names for performance
         List<UUID> invoiceIds = paymentPage.getContent().stream()
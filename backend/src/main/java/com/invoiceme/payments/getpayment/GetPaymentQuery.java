@@ -1,5 +1,7 @@
 package com.invoiceme.payments.getpayment;
 
+import com.invoiceme.domain.payment.Payment;
+import com.invoiceme.infrastructure.bus.Query;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -9,7 +11,7 @@ import java.util.UUID;
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
-public class GetPaymentQuery {
+public class GetPaymentQuery implements Query<Payment> {
     private UUID paymentId;
 }
 
@@ -8,6 +8,7 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 @Service
 @RequiredArgsConstructor
@@ -15,6 +16,7 @@ public class ListPaymentsHandler {
     
     private final PaymentRepository paymentRepository;
     
+    @Transactional(readOnly = true)
     public Page<Payment> handle(ListPaymentsQuery query) {
         // Build pagination
         Sort sort = buildSort(query.getSort());
@@ -2,10 +2,13 @@ package com.invoiceme.payments.listpayments;
 
 import com.invoiceme.domain.common.PaymentMethod;
 import com.invoiceme.domain.common.PaymentStatus;
+import com.invoiceme.domain.payment.Payment;
+import com.invoiceme.infrastructure.bus.Query;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Page;
 
 import java.time.LocalDate;
 import java.util.UUID;
@@ -14,7 +17,7 @@ import java.util.UUID;
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
-public class ListPaymentsQuery {
+public class ListPaymentsQuery implements Query<Page<Payment>> {
     private UUID invoiceId;
     private UUID customerId;
     private LocalDate paymentDateFrom;
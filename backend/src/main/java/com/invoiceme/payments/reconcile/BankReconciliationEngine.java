@@ -0,0 +1,249 @@
+package com.invoiceme.payments.reconcile;
+
+import com.invoiceme.domain.common.Money;
+import com.invoiceme.domain.common.PaymentMethod;
+import com.invoiceme.domain.payment.Payment;
+import com.invoiceme.infrastructure.bus.MessageBus;
+import com.invoiceme.infrastructure.persistence.ReconciliationCandidateRepository;
+import com.invoiceme.payments.recordpayment.RecordPaymentBatchCommand;
+import com.invoiceme.payments.recordpayment.RecordPaymentCommand;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Matches uploaded bank statement lines to open invoices and records the confident matches as payments.
+ *
+ * A run loads every open invoice once (streamed, in one read-only transaction) into a
+ * {@link ReconciliationMatcher} and matches the lines in statement order. Confident matches are recorded through
+ * RecordPaymentBatchCommand, record-batch-size payments per transaction, so the usual payment rules apply
+ * (status check, overpayment to customer credit, events); a batch that fails is retried one payment at a time
+ * so a single stale match cannot block the rest. FUZZY matches are only reported as suggestions.
+ *
+ * Uploading the same statement twice does not pay twice: a line whose invoice, amount, date and reference equal
+ * an existing completed payment is reported as DUPLICATE. One run at a time per node.
+ */
+@Service
+@Slf4j
+public class BankReconciliationEngine {
+    
+    // payments.payment_reference is VARCHAR(100)
+    private static final int MAX_REFERENCE_LENGTH = 100;
+    
+    private final ReconciliationCandidateRepository candidateRepository;
+    private final MessageBus messageBus;
+    private final MeterRegistry meterRegistry;
+    private final TransactionTemplate readOnlyTransaction;
+    private final int fetchSize;
+    private final int recordBatchSize;
+    private final ReconciliationMatcher.Tolerance tolerance;
+    
+    private final AtomicBoolean running = new AtomicBoolean();
+    
+    public BankReconciliationEngine(
+            ReconciliationCandidateRepository candidateRepository,
+            MessageBus messageBus,
+            MeterRegistry meterRegistry,
+            PlatformTransactionManager transactionManager,
+            @Value("${app.reconciliation.fetch-size:10000}") int fetchSize,
+            @Value("${app.reconciliation.record-batch-size:100}") int recordBatchSize,
+            @Value("${app.reconciliation.fuzzy.amount-cents:100}") long fuzzyAmountCents,
+            @Value("${app.reconciliation.fuzzy.days-before-due:30}") int fuzzyDaysBeforeDue,
+            @Value("${app.reconciliation.fuzzy.days-after-due:90}") int fuzzyDaysAfterDue) {
+        this.candidateRepository = candidateRepository;
+        this.messageBus = messageBus;
+        this.meterRegistry = meterRegistry;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.fetchSize = fetchSize;
+        this.recordBatchSize = Math.max(1, recordBatchSize);
+        this.tolerance = new ReconciliationMatcher.Tolerance(fuzzyAmountCents, fuzzyDaysBeforeDue, fuzzyDaysAfterDue);
+    }
+    
+    /**
+     * @param autoRecord false for a preview: confident matches are reported as MATCHED and nothing is written
+     */
+    public ReconciliationResponse reconcile(List<StatementLine> lines, boolean autoRecord) {
+        if (!running.compareAndSet(false, true)) {
+            throw new IllegalStateException("A bank reconciliation is already in progress");
+        }
+        try {
+            return reconcileClaimed(lines, autoRecord);
+        } finally {
+            running.set(false);
+        }
+    }
+    
+    private ReconciliationResponse reconcileClaimed(List<StatementLine> lines, boolean autoRecord) {
+        long startedAt = System.currentTimeMillis();
+        Candidates candidates = loadCandidates(lines);
+        ReconciliationMatcher matcher = candidates.matcher();
+        
+        List<ReconciliationResponse.LineResult> results = new ArrayList<>(lines.size());
+        List<Pending> toRecord = new ArrayList<>();
+        for (StatementLine line : lines) {
+            ReconciliationResponse.LineResult result = ReconciliationResponse.LineResult.builder()
+                .lineNumber(line.lineNumber())
+                .bookingDate(line.bookingDate())
+                .amount(money(line.amountCents()))
+                .reference(line.reference())
+                .counterparty(line.counterparty())
+                .build();
+            results.add(result);
+            
+            if (!line.isCredit()) {
+                result.setStatus(ReconciliationStatus.IGNORED);
+                continue;
+            }
+            ReconciliationMatcher.Match match = matcher.match(line);
+            if (match == null) {
+                result.setStatus(ReconciliationStatus.UNMATCHED);
+                continue;
+            }
+            result.setRule(match.rule());
+            result.setInvoiceId(match.invoiceId());
+            result.setInvoiceNumber(match.invoiceNumber());
+            result.setCustomerId(match.customerId());
+            
+            if (!match.isConfident()) {
+                result.setStatus(ReconciliationStatus.SUGGESTED);
+            } else if (candidates.recorded().contains(new PaymentKey(match.invoiceId(), line.amountCents(),
+                    line.bookingDate(), reference(line)))) {
+                result.setStatus(ReconciliationStatus.DUPLICATE);
+            } else if (!autoRecord) {
+                result.setStatus(ReconciliationStatus.MATCHED);
+            } else {
+                toRecord.add(new Pending(result, RecordPaymentCommand.builder()
+                    .invoiceId(match.invoiceId())
+                    .amount(money(line.amountCents()))
+                    .paymentMethod(PaymentMethod.ACH)
+                    .paymentDate(line.bookingDate())
+                    .paymentReference(reference(line))
+                    .notes("Bank reconciliation, statement line " + line.lineNumber())
+                    .build()));
+            }
+        }
+        
+        for (int from = 0; from < toRecord.size(); from += recordBatchSize) {
+            record(toRecord.subList(from, Math.min(toRecord.size(), from + recordBatchSize)));
+        }
+        
+        Map<ReconciliationStatus, Integer> counts = new EnumMap<>(ReconciliationStatus.class);
+        long recordedCents = 0;
+        for (ReconciliationResponse.LineResult result : results) {
+            counts.merge(result.getStatus(), 1, Integer::sum);
+            if (result.getStatus() == ReconciliationStatus.RECORDED) {
+                recordedCents += result.getAmount().getAmount().movePointRight(2).longValueExact();
+            }
+        }
+        counts.forEach((status, count) ->
+            meterRegistry.counter("reconciliation.lines", "status", status.name()).increment(count));
+        
+        ReconciliationResponse response = ReconciliationResponse.builder()
+            .autoRecord(autoRecord)
+            .statementLines(lines.size())
+            .openInvoices(matcher.invoiceCount())
+            .counts(counts)
+            .recordedAmount(money(recordedCents))
+            .durationMs(System.currentTimeMillis() - startedAt)
+            .lines(results)
+            .build();
+        log.info("Reconciled {} statement lines against {} open invoices in {} ms: {}",
+            lines.size(), matcher.invoiceCount(), response.getDurationMs(), counts);
+        return response;
+    }
+    
+    private Candidates loadCandidates(List<StatementLine> lines) {
+        LocalDate from = lines.stream().map(StatementLine::bookingDate).min(LocalDate::compareTo).orElse(null);
+        LocalDate to = lines.stream().map(StatementLine::bookingDate).max(LocalDate::compareTo).orElse(null);
+        
+        return readOnlyTransaction.execute(status -> {
+            ReconciliationMatcher.Builder builder = ReconciliationMatcher.builder(fetchSize, tolerance);
+            candidateRepository.streamOpenInvoiceCustomers(fetchSize,
+                customer -> builder.addCustomer(customer.customerId(), customer.companyName()));
+            candidateRepository.streamOpenInvoices(fetchSize, invoice -> builder.addInvoice(invoice.invoiceId(),
+                invoice.invoiceNumber(), invoice.customerId(), invoice.dueDate(), invoice.balanceCents()));
+            
+            Set<PaymentKey> recorded = new HashSet<>();
+            if (from != null) {
+                candidateRepository.streamPayments(from, to, fetchSize, payment -> recorded.add(new PaymentKey(
+                    payment.invoiceId(), payment.amountCents(), payment.paymentDate(), payment.reference())));
+            }
+            return new Candidates(builder.build(), recorded);
+        });
+    }
+    
+    private void record(List<Pending> batch) {
+        try {
+            List<Payment> payments = messageBus.dispatch(new RecordPaymentBatchCommand(
+                batch.stream().map(Pending::command).toList()));
+            for (int i = 0; i < batch.size(); i++) {
+                recorded(batch.get(i).result(), payments.get(i));
+            }
+            return;
+        } catch (RuntimeException e) {
+            if (batch.size() == 1) {
+                failed(batch.get(0).result(), e);
+                return;
+            }
+            log.warn("Recording a batch of {} reconciled payments failed, retrying one by one: {}",
+                batch.size(), e.getMessage());
+        }
+        
+        for (Pending pending : batch) {
+            try {
+                List<Payment> payments = messageBus.dispatch(new RecordPaymentBatchCommand(List.of(pending.command())));
+                recorded(pending.result(), payments.get(0));
+            } catch (RuntimeException e) {
+                failed(pending.result(), e);
+            }
+        }
+    }
+    
+    private void recorded(ReconciliationResponse.LineResult result, Payment payment) {
+        result.setStatus(ReconciliationStatus.RECORDED);
+        result.setPaymentId(payment.getId());
+    }
+    
+    private void failed(ReconciliationResponse.LineResult result, RuntimeException e) {
+        // The invoice may have been paid or cancelled since the candidates were loaded
+        log.warn("Could not record reconciled payment for statement line {} on invoice {}: {}",
+            result.getLineNumber(), result.getInvoiceNumber(), e.getMessage());
+        result.setStatus(ReconciliationStatus.FAILED);
+        result.setMessage(e.getMessage());
+    }
+    
+    private static String reference(StatementLine line) {
+        String reference = line.reference();
+        return reference != null && reference.length() > MAX_REFERENCE_LENGTH
+            ? reference.substring(0, MAX_REFERENCE_LENGTH)
+            : reference;
+    }
+    
+    private static Money money(long cents) {
+        return Money.of(BigDecimal.valueOf(cents, 2));
+    }
+    
+    private record Candidates(ReconciliationMatcher matcher, Set<PaymentKey> recorded) {
+    }
+    
+    private record PaymentKey(UUID invoiceId, long amountCents, LocalDate paymentDate, String reference) {
+    }
+    
+    private record Pending(ReconciliationResponse.LineResult result, RecordPaymentCommand command) {
+    }
+}
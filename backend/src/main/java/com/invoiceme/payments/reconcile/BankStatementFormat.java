@@ -0,0 +1,26 @@
+package com.invoiceme.payments.reconcile;
+
+import java.util.Locale;
+
+public enum BankStatementFormat {
+    /**
+     * Header row plus one transaction per line: date, amount, reference and optionally counterparty.
+     */
+    CSV,
+    /**
+     * ISO 20022 camt.053 bank-to-customer statement; one line per Ntry.
+     */
+    CAMT053;
+    
+    public static BankStatementFormat fromParam(String value) {
+        if (value == null || value.isBlank()) {
+            return CSV;
+        }
+        return switch (value.trim().toLowerCase(Locale.ROOT)) {
+            case "csv" -> CSV;
+            case "camt053", "camt.053", "camt" -> CAMT053;
+            default -> throw new IllegalArgumentException("Unsupported statement format: " + value
+                + ". Use csv or camt053.");
+        };
+    }
+}
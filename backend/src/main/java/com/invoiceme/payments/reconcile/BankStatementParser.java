@@ -0,0 +1,285 @@
+package com.invoiceme.payments.reconcile;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Reads bank statement uploads into {@link StatementLine}s. Malformed input fails with an
+ * IllegalArgumentException naming the offending line or entry.
+ */
+public final class BankStatementParser {
+    
+    private static final Map<String, String> CSV_COLUMNS = Map.ofEntries(
+        Map.entry("date", "date"), Map.entry("booking_date", "date"), Map.entry("booking date", "date"),
+        Map.entry("value_date", "date"), Map.entry("value date", "date"),
+        Map.entry("amount", "amount"),
+        Map.entry("reference", "reference"), Map.entry("description", "reference"),
+        Map.entry("remittance", "reference"), Map.entry("memo", "reference"),
+        Map.entry("counterparty", "counterparty"), Map.entry("name", "counterparty"),
+        Map.entry("payer", "counterparty"));
+    
+    private BankStatementParser() {
+    }
+    
+    public static List<StatementLine> parse(InputStream input, BankStatementFormat format) {
+        return switch (format) {
+            case CSV -> parseCsv(input);
+            case CAMT053 -> parseCamt053(input);
+        };
+    }
+    
+    /**
+     * Expects a header row naming at least the date (yyyy-MM-dd), amount (plain decimal, negative for debits)
+     * and reference columns; fields may be double-quoted.
+     */
+    static List<StatementLine> parseCsv(InputStream input) {
+        List<StatementLine> lines = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8))) {
+            String headerLine = reader.readLine();
+            if (headerLine == null) {
+                return lines;
+            }
+            List<String> header = splitCsv(stripBom(headerLine), 1);
+            int dateColumn = -1;
+            int amountColumn = -1;
+            int referenceColumn = -1;
+            int counterpartyColumn = -1;
+            for (int i = 0; i < header.size(); i++) {
+                String column = CSV_COLUMNS.get(header.get(i).trim().toLowerCase(Locale.ROOT));
+                if (column == null) {
+                    continue;
+                }
+                switch (column) {
+                    case "date" -> dateColumn = dateColumn < 0 ? i : dateColumn;
+                    case "amount" -> amountColumn = i;
+                    case "reference" -> referenceColumn = referenceColumn < 0 ? i : referenceColumn;
+                    default -> counterpartyColumn = counterpartyColumn < 0 ? i : counterpartyColumn;
+                }
+            }
+            if (dateColumn < 0 || amountColumn < 0 || referenceColumn < 0) {
+                throw new IllegalArgumentException("CSV statement header must name date, amount and reference columns");
+            }
+            
+            int lineNumber = 1;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                List<String> fields = splitCsv(line, lineNumber);
+                lines.add(new StatementLine(
+                    lineNumber,
+                    parseDate(field(fields, dateColumn), lineNumber),
+                    parseAmount(field(fields, amountColumn), lineNumber),
+                    blankToNull(field(fields, referenceColumn)),
+                    blankToNull(field(fields, counterpartyColumn))));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read bank statement", e);
+        }
+        return lines;
+    }
+    
+    /**
+     * Reads the Ntry elements of a camt.053 statement: Amt and CdtDbtInd, BookgDt (or ValDt), the unstructured
+     * and structured creditor references of the remittance information, and the debtor's name. An entry with
+     * several transaction details (a batch booking) becomes one line with the references joined.
+     */
+    static List<StatementLine> parseCamt053(InputStream input) {
+        XMLInputFactory factory = XMLInputFactory.newFactory();
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        
+        List<StatementLine> lines = new ArrayList<>();
+        XMLStreamReader reader = null;
+        try {
+            reader = factory.createXMLStreamReader(input);
+            Deque<String> path = new ArrayDeque<>();
+            Entry entry = null;
+            int entryNumber = 0;
+            while (reader.hasNext()) {
+                int event = reader.next();
+                if (event == XMLStreamConstants.START_ELEMENT) {
+                    String name = reader.getLocalName();
+                    String parent = path.peek();
+                    if (name.equals("Ntry")) {
+                        entry = new Entry(++entryNumber);
+                    } else if (entry != null && isLeaf(name, parent, path)) {
+                        entry.set(name, parent, reader.getElementText().trim());
+                        continue;
+                    }
+                    path.push(name);
+                } else if (event == XMLStreamConstants.END_ELEMENT) {
+                    path.pop();
+                    if (entry != null && reader.getLocalName().equals("Ntry")) {
+                        lines.add(entry.toLine());
+                        entry = null;
+                    }
+                }
+            }
+        } catch (XMLStreamException e) {
+            throw new IllegalArgumentException("Malformed camt.053 statement: " + e.getMessage(), e);
+        } finally {
+            if (reader != null) {
+                try {
+                    reader.close();
+                } catch (XMLStreamException ignored) {
+                    // nothing left to release
+                }
+            }
+        }
+        return lines;
+    }
+    
+    private static boolean isLeaf(String name, String parent, Deque<String> path) {
+        return switch (name) {
+            case "Amt", "CdtDbtInd" -> "Ntry".equals(parent);
+            case "Dt", "DtTm" -> "BookgDt".equals(parent) || "ValDt".equals(parent);
+            case "Ustrd" -> "RmtInf".equals(parent);
+            case "Ref" -> "CdtrRefInf".equals(parent);
+            case "Nm" -> "Dbtr".equals(parent) || ("Pty".equals(parent) && path.contains("Dbtr"));
+            default -> false;
+        };
+    }
+    
+    private static final class Entry {
+        
+        private final int number;
+        private String amount;
+        private boolean debit;
+        private String bookingDate;
+        private String valueDate;
+        private final StringBuilder reference = new StringBuilder();
+        private String counterparty;
+        
+        private Entry(int number) {
+            this.number = number;
+        }
+        
+        private void set(String name, String parent, String text) {
+            switch (name) {
+                case "Amt" -> amount = text;
+                case "CdtDbtInd" -> debit = text.equalsIgnoreCase("DBIT");
+                case "Dt", "DtTm" -> {
+                    String date = text.length() > 10 ? text.substring(0, 10) : text;
+                    if ("BookgDt".equals(parent)) {
+                        bookingDate = date;
+                    } else {
+                        valueDate = date;
+                    }
+                }
+                case "Ustrd", "Ref" -> {
+                    if (!text.isEmpty()) {
+                        if (!reference.isEmpty()) {
+                            reference.append(' ');
+                        }
+                        reference.append(text);
+                    }
+                }
+                default -> {
+                    if (counterparty == null && !text.isEmpty()) {
+                        counterparty = text;
+                    }
+                }
+            }
+        }
+        
+        private StatementLine toLine() {
+            if (amount == null) {
+                throw new IllegalArgumentException("Statement entry " + number + " has no amount");
+            }
+            String date = bookingDate != null ? bookingDate : valueDate;
+            if (date == null) {
+                throw new IllegalArgumentException("Statement entry " + number + " has no booking or value date");
+            }
+            long cents = parseAmount(amount, number);
+            return new StatementLine(number, parseDate(date, number), debit ? -Math.abs(cents) : Math.abs(cents),
+                blankToNull(reference.toString()), counterparty);
+        }
+    }
+    
+    private static List<String> splitCsv(String line, int lineNumber) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"') {
+                    if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                        current.append('"');
+                        i++;
+                    } else {
+                        quoted = false;
+                    }
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("Statement line " + lineNumber + " has an unterminated quote");
+        }
+        fields.add(current.toString());
+        return fields;
+    }
+    
+    private static String field(List<String> fields, int column) {
+        return column >= 0 && column < fields.size() ? fields.get(column).trim() : null;
+    }
+    
+    private static LocalDate parseDate(String value, int lineNumber) {
+        if (value == null || value.isEmpty()) {
+            throw new IllegalArgumentException("Statement line " + lineNumber + " has no date");
+        }
+        try {
+            return LocalDate.parse(value);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Statement line " + lineNumber + " has an invalid date: " + value);
+        }
+    }
+    
+    private static long parseAmount(String value, int lineNumber) {
+        if (value == null || value.isEmpty()) {
+            throw new IllegalArgumentException("Statement line " + lineNumber + " has no amount");
+        }
+        try {
+            return new BigDecimal(value).movePointRight(2).longValueExact();
+        } catch (NumberFormatException | ArithmeticException e) {
+            throw new IllegalArgumentException("Statement line " + lineNumber + " has an invalid amount: " + value);
+        }
+    }
+    
+    private static String stripBom(String line) {
+        return !line.isEmpty() && line.charAt(0) == '\uFEFF' ? line.substring(1) : line;
+    }
+    
+    private static String blankToNull(String value) {
+        return value == null || value.isBlank() ? null : value;
+    }
+}
@@ -0,0 +1,19 @@
+package com.invoiceme.payments.reconcile;
+
+/**
+ * Which rule matched a statement line to an invoice, strongest first.
+ */
+public enum MatchRule {
+    /**
+     * The remittance reference names an open invoice's number. Confident.
+     */
+    REFERENCE,
+    /**
+     * The payer is a known customer and the amount equals one of its open balances. Confident.
+     */
+    CUSTOMER_AMOUNT,
+    /**
+     * Amount and booking date are close to an open invoice's balance and due date. Only suggested.
+     */
+    FUZZY
+}
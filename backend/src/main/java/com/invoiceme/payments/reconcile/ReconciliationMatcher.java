@@ -0,0 +1,325 @@
+package com.invoiceme.payments.reconcile;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.IntStream;
+
+/**
+ * Matches statement lines against the open invoices of one reconciliation run. The indexes (invoice number,
+ * customer + exact balance, balances in sorted order, normalized customer name) are built once in
+ * {@link Builder#build()}, so every line costs a few hash lookups plus, for lines no exact rule matches, a
+ * bounded range scan of the sorted balances.
+ *
+ * Confident matches (REFERENCE, CUSTOMER_AMOUNT) take their amount off the invoice's remaining balance, so a
+ * later line cannot claim the same balance again; lines must therefore be matched in statement order by a
+ * single thread. FUZZY matches leave balances untouched.
+ */
+public final class ReconciliationMatcher {
+    
+    // INV-2025-0001, also as written by payers: "inv 2025 0001", "INV2025-0001"
+    private static final Pattern INVOICE_NUMBER = Pattern.compile(
+        "(?<![A-Z0-9])INV[-\\s]?(\\d{4})[-\\s]?(\\d{4,8})(?!\\d)", Pattern.CASE_INSENSITIVE);
+    
+    private static final Set<String> LEGAL_SUFFIXES = Set.of(
+        "inc", "llc", "ltd", "corp", "corporation", "co", "company", "gmbh", "plc", "lp", "llp");
+    
+    private static final int AMBIGUOUS = -1;
+    
+    // Fuzzy candidates examined per line; a suggestion, not worth an unbounded scan of a popular amount
+    private static final int MAX_FUZZY_CANDIDATES = 512;
+    
+    private final UUID[] invoiceIds;
+    private final String[] invoiceNumbers;
+    private final int[] invoiceCustomers;
+    private final int[] dueDays;
+    private final long[] openCents;
+    private final long[] remainingCents;
+    private final int size;
+    private final UUID[] customerIds;
+    
+    private final Map<String, Integer> byInvoiceNumber;
+    private final Map<CustomerAmount, int[]> byCustomerAmount;
+    private final Map<String, Integer> customerByName;
+    // Rows ordered by open balance, and the balances in the same order for binary search
+    private final int[] rowsByAmount;
+    private final long[] sortedAmounts;
+    private final Tolerance tolerance;
+    
+    private ReconciliationMatcher(Builder builder) {
+        this.size = builder.size;
+        this.invoiceIds = builder.invoiceIds;
+        this.invoiceNumbers = builder.invoiceNumbers;
+        this.invoiceCustomers = builder.invoiceCustomers;
+        this.dueDays = builder.dueDays;
+        this.openCents = builder.openCents;
+        this.remainingCents = Arrays.copyOf(builder.openCents, size);
+        this.customerIds = builder.customerIds.keySet().toArray(new UUID[0]);
+        Arrays.sort(customerIds, Comparator.comparingInt(builder.customerIds::get));
+        this.customerByName = builder.customerByName;
+        this.tolerance = builder.tolerance;
+        
+        // Oldest due first, so equal candidates resolve to the invoice that has waited longest
+        long[] byDue = new long[size];
+        for (int row = 0; row < size; row++) {
+            byDue[row] = ((long) dueDays[row] << 32) | row;
+        }
+        Arrays.sort(byDue);
+        
+        this.byInvoiceNumber = new HashMap<>(size * 2);
+        Map<CustomerAmount, IntList> customerAmounts = new HashMap<>(size * 2);
+        for (long key : byDue) {
+            int row = (int) key;
+            byInvoiceNumber.putIfAbsent(invoiceNumbers[row], row);
+            customerAmounts.computeIfAbsent(new CustomerAmount(invoiceCustomers[row], openCents[row]),
+                k -> new IntList()).add(row);
+        }
+        this.byCustomerAmount = new HashMap<>(customerAmounts.size() * 2);
+        customerAmounts.forEach((key, rows) -> byCustomerAmount.put(key, rows.toArray()));
+        
+        this.rowsByAmount = IntStream.range(0, size).boxed()
+            .sorted(Comparator.comparingLong((Integer row) -> openCents[row]).thenComparingInt(row -> dueDays[row]))
+            .mapToInt(Integer::intValue)
+            .toArray();
+        this.sortedAmounts = new long[size];
+        for (int i = 0; i < size; i++) {
+            sortedAmounts[i] = openCents[rowsByAmount[i]];
+        }
+    }
+    
+    public static Builder builder(int expectedInvoices, Tolerance tolerance) {
+        return new Builder(expectedInvoices, tolerance);
+    }
+    
+    public int invoiceCount() {
+        return size;
+    }
+    
+    /**
+     * @return the best match for a credit line, or null if no rule matched
+     */
+    public Match match(StatementLine line) {
+        if (!line.isCredit()) {
+            return null;
+        }
+        long amount = line.amountCents();
+        
+        if (line.reference() != null) {
+            Matcher numbers = INVOICE_NUMBER.matcher(line.reference());
+            while (numbers.find()) {
+                Integer row = byInvoiceNumber.get("INV-" + numbers.group(1) + "-" + numbers.group(2));
+                if (row != null && remainingCents[row] > 0) {
+                    // Partial payments and overpayments are fine; the handler credits any excess to the customer
+                    remainingCents[row] -= amount;
+                    return match(MatchRule.REFERENCE, row);
+                }
+            }
+        }
+        
+        int customer = customerOf(line.counterparty());
+        if (customer >= 0) {
+            int[] rows = byCustomerAmount.get(new CustomerAmount(customer, amount));
+            if (rows != null) {
+                for (int row : rows) {
+                    if (remainingCents[row] == amount) {
+                        remainingCents[row] = 0;
+                        return match(MatchRule.CUSTOMER_AMOUNT, row);
+                    }
+                }
+            }
+        }
+        
+        int fuzzy = bestFuzzyCandidate(amount, (int) line.bookingDate().toEpochDay(), customer);
+        return fuzzy >= 0 ? match(MatchRule.FUZZY, fuzzy) : null;
+    }
+    
+    /**
+     * Closest open balance within the amount tolerance whose due date window contains the booking date. Amount
+     * distance and date distance count equally, each relative to its tolerance; the payer's own invoices win
+     * ties.
+     */
+    private int bestFuzzyCandidate(long amount, int bookingDay, int customer) {
+        long amountTolerance = tolerance.amountCents();
+        int from = lowerBound(amount - amountTolerance);
+        int best = -1;
+        double bestScore = Double.MAX_VALUE;
+        for (int i = from, examined = 0; i < size && examined < MAX_FUZZY_CANDIDATES; i++) {
+            if (sortedAmounts[i] > amount + amountTolerance) {
+                break;
+            }
+            int row = rowsByAmount[i];
+            if (remainingCents[row] != openCents[row]) {
+                continue;
+            }
+            examined++;
+            int daysFromDue = bookingDay - dueDays[row];
+            if (daysFromDue < -tolerance.daysBeforeDue() || daysFromDue > tolerance.daysAfterDue()) {
+                continue;
+            }
+            double amountScore = Math.abs(sortedAmounts[i] - amount) / (double) (amountTolerance + 1);
+            double dateScore = daysFromDue < 0
+                ? -daysFromDue / (double) (tolerance.daysBeforeDue() + 1)
+                : daysFromDue / (double) (tolerance.daysAfterDue() + 1);
+            double score = amountScore + dateScore - (invoiceCustomers[row] == customer ? 1 : 0);
+            if (score < bestScore) {
+                bestScore = score;
+                best = row;
+            }
+        }
+        return best;
+    }
+    
+    private int lowerBound(long amount) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (sortedAmounts[mid] < amount) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+    
+    private int customerOf(String counterparty) {
+        if (counterparty == null) {
+            return AMBIGUOUS;
+        }
+        Integer customer = customerByName.get(normalizeName(counterparty));
+        return customer != null ? customer : AMBIGUOUS;
+    }
+    
+    private Match match(MatchRule rule, int row) {
+        return new Match(rule, invoiceIds[row], invoiceNumbers[row], customerIds[invoiceCustomers[row]],
+            openCents[row]);
+    }
+    
+    /**
+     * Lower case letters and digits only, without legal-form suffixes: "ACME Corp." and "Acme Corporation"
+     * both become "acme".
+     */
+    static String normalizeName(String name) {
+        String[] words = name.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{Nd}]+");
+        StringBuilder normalized = new StringBuilder();
+        for (String word : words) {
+            if (word.isEmpty() || LEGAL_SUFFIXES.contains(word)) {
+                continue;
+            }
+            if (!normalized.isEmpty()) {
+                normalized.append(' ');
+            }
+            normalized.append(word);
+        }
+        return normalized.toString();
+    }
+    
+    /**
+     * @param openCents the invoice's open balance when the run started
+     */
+    public record Match(MatchRule rule, UUID invoiceId, String invoiceNumber, UUID customerId, long openCents) {
+        
+        public boolean isConfident() {
+            return rule != MatchRule.FUZZY;
+        }
+    }
+    
+    /**
+     * How far a FUZZY candidate may be from the line: amount difference in cents either way, and booking date
+     * relative to the invoice's due date.
+     */
+    public record Tolerance(long amountCents, int daysBeforeDue, int daysAfterDue) {
+    }
+    
+    private record CustomerAmount(int customer, long cents) {
+    }
+    
+    public static final class Builder {
+        
+        private UUID[] invoiceIds;
+        private String[] invoiceNumbers;
+        private int[] invoiceCustomers;
+        private int[] dueDays;
+        private long[] openCents;
+        private int size;
+        private final Map<UUID, Integer> customerIds = new HashMap<>();
+        private final Map<String, Integer> customerByName = new HashMap<>();
+        private final Tolerance tolerance;
+        
+        private Builder(int expectedInvoices, Tolerance tolerance) {
+            int capacity = Math.max(16, expectedInvoices);
+            invoiceIds = new UUID[capacity];
+            invoiceNumbers = new String[capacity];
+            invoiceCustomers = new int[capacity];
+            dueDays = new int[capacity];
+            openCents = new long[capacity];
+            this.tolerance = tolerance;
+        }
+        
+        /**
+         * Registers a payer name; names shared by several customers never resolve to either.
+         */
+        public Builder addCustomer(UUID customerId, String name) {
+            int customer = customerIndex(customerId);
+            if (name != null) {
+                String normalized = normalizeName(name);
+                if (!normalized.isEmpty()) {
+                    customerByName.merge(normalized, customer, (a, b) -> a.equals(b) ? a : AMBIGUOUS);
+                }
+            }
+            return this;
+        }
+        
+        public Builder addInvoice(UUID invoiceId, String invoiceNumber, UUID customerId, LocalDate dueDate,
+                                  long balanceCents) {
+            if (size == invoiceIds.length) {
+                int capacity = size + (size >> 1);
+                invoiceIds = Arrays.copyOf(invoiceIds, capacity);
+                invoiceNumbers = Arrays.copyOf(invoiceNumbers, capacity);
+                invoiceCustomers = Arrays.copyOf(invoiceCustomers, capacity);
+                dueDays = Arrays.copyOf(dueDays, capacity);
+                openCents = Arrays.copyOf(openCents, capacity);
+            }
+            invoiceIds[size] = invoiceId;
+            invoiceNumbers[size] = invoiceNumber;
+            invoiceCustomers[size] = customerIndex(customerId);
+            dueDays[size] = (int) dueDate.toEpochDay();
+            openCents[size] = balanceCents;
+            size++;
+            return this;
+        }
+        
+        private int customerIndex(UUID customerId) {
+            return customerIds.computeIfAbsent(customerId, id -> customerIds.size());
+        }
+        
+        public ReconciliationMatcher build() {
+            return new ReconciliationMatcher(this);
+        }
+    }
+    
+    private static final class IntList {
+        
+        private int[] values = new int[1];
+        private int size;
+        
+        void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+        
+        int[] toArray() {
+            return size == values.length ? values : Arrays.copyOf(values, size);
+        }
+    }
+}
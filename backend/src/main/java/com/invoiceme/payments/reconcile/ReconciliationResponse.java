@@ -0,0 +1,45 @@
+package com.invoiceme.payments.reconcile;
+
+import com.invoiceme.domain.common.Money;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReconciliationResponse {
+    private Boolean autoRecord;
+    private Integer statementLines;
+    private Integer openInvoices; // Candidates the lines were matched against
+    private Map<ReconciliationStatus, Integer> counts;
+    private Money recordedAmount;
+    private Long durationMs;
+    private List<LineResult> lines;
+    
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class LineResult {
+        private Integer lineNumber;
+        private LocalDate bookingDate;
+        private Money amount;
+        private String reference;
+        private String counterparty;
+        private ReconciliationStatus status;
+        private MatchRule rule;
+        private UUID invoiceId;
+        private String invoiceNumber;
+        private UUID customerId;
+        private UUID paymentId;
+        private String message;
+    }
+}
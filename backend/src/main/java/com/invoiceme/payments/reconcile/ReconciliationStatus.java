@@ -0,0 +1,29 @@
+package com.invoiceme.payments.reconcile;
+
+public enum ReconciliationStatus {
+    /**
+     * Confidently matched and recorded as a payment.
+     */
+    RECORDED,
+    /**
+     * Confidently matched; not recorded because the run was a preview.
+     */
+    MATCHED,
+    /**
+     * A fuzzy candidate was found; confirm it by recording the payment manually.
+     */
+    SUGGESTED,
+    /**
+     * A payment with the same invoice, amount, date and reference already exists.
+     */
+    DUPLICATE,
+    UNMATCHED,
+    /**
+     * Debits and zero amounts are not payments.
+     */
+    IGNORED,
+    /**
+     * Matched, but recording the payment failed (see the message).
+     */
+    FAILED
+}
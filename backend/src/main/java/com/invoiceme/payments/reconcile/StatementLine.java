@@ -0,0 +1,18 @@
+package com.invoiceme.payments.reconcile;
+
+import java.time.LocalDate;
+
+/**
+ * One bank statement transaction. Credits (money received) are positive, debits negative.
+ *
+ * @param lineNumber   CSV line number or camt.053 entry number, for reporting
+ * @param reference    remittance information as sent by the payer, may be null
+ * @param counterparty payer name, may be null
+ */
+public record StatementLine(int lineNumber, LocalDate bookingDate, long amountCents, String reference,
+                            String counterparty) {
+    
+    public boolean isCredit() {
+        return amountCents > 0;
+    }
+}
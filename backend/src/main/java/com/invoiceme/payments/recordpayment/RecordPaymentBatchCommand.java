@@ -0,0 +1,20 @@
+package com.invoiceme.payments.recordpayment;
+
+import com.invoiceme.domain.payment.Payment;
+import com.invoiceme.infrastructure.bus.Command;
+import com.invoiceme.infrastructure.bus.RetryOnConflict;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Records several payments in one transaction; all of them or none.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RecordPaymentBatchCommand implements Command<List<Payment>>, RetryOnConflict {
+    private List<RecordPaymentCommand> payments;
+}
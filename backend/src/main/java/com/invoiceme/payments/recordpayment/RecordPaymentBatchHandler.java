@@ -0,0 +1,31 @@
+package com.invoiceme.payments.recordpayment;
+
+import com.invoiceme.domain.payment.Payment;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Applies the single-payment rules of {@link RecordPaymentHandler} to every payment of the batch, in order.
+ * Several payments for one invoice are fine: each sees the balance the previous one left.
+ */
+@Service
+@RequiredArgsConstructor
+public class RecordPaymentBatchHandler {
+    
+    private final RecordPaymentValidator validator;
+    private final RecordPaymentHandler recordPaymentHandler;
+    
+    @Transactional
+    public List<Payment> handle(RecordPaymentBatchCommand command) {
+        List<Payment> payments = new ArrayList<>(command.getPayments().size());
+        for (RecordPaymentCommand payment : command.getPayments()) {
+            validator.validate(payment.getInvoiceId());
+            payments.add(recordPaymentHandler.handle(payment));
+        }
+        return payments;
+    }
+}
@@ -2,6 +2,9 @@ package com.invoiceme.payments.recordpayment;
 
 import com.invoiceme.domain.common.Money;
 import com.invoiceme.domain.common.PaymentMethod;
+import com.invoiceme.domain.payment.Payment;
+import com.invoiceme.infrastructure.bus.Command;
+import com.invoiceme.infrastructure.bus.RetryOnConflict;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -14,7 +17,7 @@ import java.util.UUID;
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
-public class RecordPaymentCommand {
+public class RecordPaymentCommand implements Command<Payment>, RetryOnConflict {
     private UUID invoiceId;
     private Money amount;
     private PaymentMethod paymentMethod;
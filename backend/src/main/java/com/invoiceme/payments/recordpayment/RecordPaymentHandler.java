@@ -1,5 +1,7 @@
 package com.invoiceme.payments.recordpayment;
 
+import com.invoiceme.customers.credit.CreditLedgerService;
+import com.invoiceme.domain.common.CreditEntryType;
 import com.invoiceme.domain.common.DomainEventPublisher;
 import com.invoiceme.domain.common.Money;
 import com.invoiceme.domain.customer.Customer;
@@ -19,6 +21,7 @@ public class RecordPaymentHandler {
     private final PaymentRepository paymentRepository;
     private final InvoiceRepository invoiceRepository;
     private final CustomerRepository customerRepository;
+    private final CreditLedgerService creditLedgerService;
     private final DomainEventPublisher eventPublisher;
     
     @Transactional
@@ -59,10 +62,9 @@ public class RecordPaymentHandler {
         Payment savedPayment = paymentRepository.save(payment);
         Invoice savedInvoice = invoiceRepository.save(invoice);
         
-        // Handle overpayment (excess goes to customer credit)
+        // Handle overpayment (excess goes to customer credit as a ledger entry; the customer row is untouched)
         if (overpayment.isPositive()) {
-            customer.applyCredit(overpayment);
-            customerRepository.save(customer);
+            creditLedgerService.applyCredit(customer, overpayment, CreditEntryType.OVERPAYMENT, savedPayment.getId());
         }
         
         // Publish domain events after transaction commit
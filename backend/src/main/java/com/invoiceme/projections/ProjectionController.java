@@ -0,0 +1,35 @@
+package com.invoiceme.projections;
+
+import com.invoiceme.infrastructure.projection.ProjectionRebuilder;
+import com.invoiceme.infrastructure.projection.ProjectionStatus;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/v1/projections")
+@RequiredArgsConstructor
+@PreAuthorize("hasRole('SYSADMIN')")
+public class ProjectionController {
+    
+    private final ProjectionRebuilder projectionRebuilder;
+    
+    @GetMapping
+    public ResponseEntity<List<ProjectionStatus>> listProjections() {
+        return ResponseEntity.ok(projectionRebuilder.status());
+    }
+    
+    /**
+     * Rebuilds the projection from the event store, or resumes a rebuild that stopped midway. Returns
+     * immediately; 409 if it is already being rebuilt on this node, 400 for an unknown projection.
+     */
+    @PostMapping("/{name}/rebuild")
+    public ResponseEntity<ProjectionStatus> rebuild(@PathVariable String name) {
+        projectionRebuilder.startRebuild(name);
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(projectionRebuilder.status(name));
+    }
+}
@@ -0,0 +1,71 @@
+package com.invoiceme.recurring;
+
+import com.invoiceme.infrastructure.bus.MessageBus;
+import com.invoiceme.recurring.createtemplate.CreateRecurringTemplateMapper;
+import com.invoiceme.recurring.createtemplate.CreateRecurringTemplateRequest;
+import com.invoiceme.recurring.generation.RecurringInvoiceEngine;
+import com.invoiceme.recurring.gettemplate.GetRecurringTemplateQuery;
+import com.invoiceme.recurring.pausetemplate.PauseRecurringTemplateCommand;
+import com.invoiceme.recurring.resumetemplate.ResumeRecurringTemplateCommand;
+import com.invoiceme.recurring.shared.RecurringTemplateDto;
+import com.invoiceme.recurring.shared.RecurringTemplateMapper;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/v1/recurring-templates")
+@RequiredArgsConstructor
+public class RecurringTemplateController {
+    
+    private final MessageBus messageBus;
+    private final RecurringTemplateMapper templateMapper;
+    private final CreateRecurringTemplateMapper createMapper;
+    private final RecurringInvoiceEngine recurringInvoiceEngine;
+    
+    @PostMapping
+    @PreAuthorize("hasAnyRole('SYSADMIN', 'ACCOUNTANT', 'SALES')")
+    public ResponseEntity<RecurringTemplateDto> createTemplate(@Valid @RequestBody CreateRecurringTemplateRequest request) {
+        var template = messageBus.dispatch(createMapper.requestToCommand(request));
+        return ResponseEntity.status(HttpStatus.CREATED).body(templateMapper.toDto(template));
+    }
+    
+    @GetMapping("/{id}")
+    public ResponseEntity<RecurringTemplateDto> getTemplate(@PathVariable UUID id) {
+        var template = messageBus.dispatch(new GetRecurringTemplateQuery(id));
+        return ResponseEntity.ok(templateMapper.toDto(template));
+    }
+    
+    @PostMapping("/{id}/pause")
+    @PreAuthorize("hasAnyRole('SYSADMIN', 'ACCOUNTANT', 'SALES')")
+    public ResponseEntity<RecurringTemplateDto> pauseTemplate(@PathVariable UUID id) {
+        var template = messageBus.dispatch(new PauseRecurringTemplateCommand(id));
+        return ResponseEntity.ok(templateMapper.toDto(template));
+    }
+    
+    @PostMapping("/{id}/resume")
+    @PreAuthorize("hasAnyRole('SYSADMIN', 'ACCOUNTANT', 'SALES')")
+    public ResponseEntity<RecurringTemplateDto> resumeTemplate(@PathVariable UUID id) {
+        var template = messageBus.dispatch(new ResumeRecurringTemplateCommand(id));
+        return ResponseEntity.ok(templateMapper.toDto(template));
+    }
+    
+    /**
+     * Starts a generation run now (e.g. to resume one interrupted by a deploy). Returns immediately;
+     * 409 if a run is already in progress on this node.
+     */
+    @PostMapping("/runs")
+    @PreAuthorize("hasRole('SYSADMIN')")
+    public ResponseEntity<Void> startRun(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate runDate) {
+        recurringInvoiceEngine.startRun(runDate != null ? runDate : LocalDate.now());
+        return ResponseEntity.status(HttpStatus.ACCEPTED).build();
+    }
+}
@@ -0,0 +1,32 @@
+package com.invoiceme.recurring.createtemplate;
+
+import com.invoiceme.domain.common.Frequency;
+import com.invoiceme.domain.common.PaymentTerms;
+import com.invoiceme.domain.recurring.RecurringInvoiceTemplate;
+import com.invoiceme.domain.recurring.TemplateLineItem;
+import com.invoiceme.infrastructure.bus.Command;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CreateRecurringTemplateCommand implements Command<RecurringInvoiceTemplate> {
+    private UUID customerId;
+    private String templateName;
+    private Frequency frequency;
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private PaymentTerms paymentTerms;
+    private boolean autoSend;
+    private String notes;
+    private List<TemplateLineItem> lineItems;
+    private UUID createdByUserId;
+}
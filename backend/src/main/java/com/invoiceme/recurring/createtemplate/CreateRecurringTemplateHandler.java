@@ -0,0 +1,48 @@
+package com.invoiceme.recurring.createtemplate;
+
+import com.invoiceme.domain.common.CustomerStatus;
+import com.invoiceme.domain.customer.Customer;
+import com.invoiceme.domain.recurring.RecurringInvoiceTemplate;
+import com.invoiceme.domain.recurring.TemplateLineItem;
+import com.invoiceme.infrastructure.persistence.CustomerRepository;
+import com.invoiceme.infrastructure.persistence.RecurringInvoiceTemplateRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+@Service
+@RequiredArgsConstructor
+public class CreateRecurringTemplateHandler {
+    
+    private final RecurringInvoiceTemplateRepository templateRepository;
+    private final CustomerRepository customerRepository;
+    
+    @Transactional
+    public RecurringInvoiceTemplate handle(CreateRecurringTemplateCommand command) {
+        Customer customer = customerRepository.findById(command.getCustomerId())
+            .orElseThrow(() -> new IllegalArgumentException("Customer not found: " + command.getCustomerId()));
+        if (customer.getStatus() == CustomerStatus.INACTIVE) {
+            throw new IllegalStateException("Cannot create a recurring template for an inactive customer");
+        }
+        if (command.getLineItems() == null || command.getLineItems().isEmpty()) {
+            throw new IllegalArgumentException("At least one line item is required");
+        }
+        
+        RecurringInvoiceTemplate template = RecurringInvoiceTemplate.create(
+            customer.getId(),
+            command.getTemplateName(),
+            command.getFrequency(),
+            command.getStartDate(),
+            command.getEndDate(),
+            command.getPaymentTerms(),
+            command.isAutoSend(),
+            command.getNotes(),
+            command.getCreatedByUserId()
+        );
+        for (TemplateLineItem lineItem : command.getLineItems()) {
+            template.addLineItem(lineItem);
+        }
+        
+        return templateRepository.save(template);
+    }
+}
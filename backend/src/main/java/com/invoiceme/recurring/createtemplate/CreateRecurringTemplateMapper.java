@@ -0,0 +1,40 @@
+package com.invoiceme.recurring.createtemplate;
+
+import com.invoiceme.domain.common.DiscountType;
+import com.invoiceme.domain.common.Money;
+import com.invoiceme.domain.recurring.TemplateLineItem;
+import com.invoiceme.invoices.shared.LineItemRequestDto;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+@Mapper(componentModel = "spring")
+public interface CreateRecurringTemplateMapper {
+    
+    @Mapping(target = "lineItems", expression = "java(toLineItems(request.getLineItems()))")
+    @Mapping(target = "createdByUserId", ignore = true) // Not yet available from the security context
+    CreateRecurringTemplateCommand requestToCommand(CreateRecurringTemplateRequest request);
+    
+    default List<TemplateLineItem> toLineItems(List<LineItemRequestDto> dtos) {
+        if (dtos == null) {
+            return null;
+        }
+        List<TemplateLineItem> items = new ArrayList<>();
+        for (int i = 0; i < dtos.size(); i++) {
+            LineItemRequestDto dto = dtos.get(i);
+            items.add(TemplateLineItem.create(
+                dto.getDescription(),
+                dto.getQuantity(),
+                Money.of(dto.getUnitPrice()),
+                dto.getDiscountType() != null ? dto.getDiscountType() : DiscountType.NONE,
+                dto.getDiscountValue() != null ? Money.of(dto.getDiscountValue()) : Money.zero(),
+                dto.getTaxRate() != null ? dto.getTaxRate() : BigDecimal.ZERO,
+                i
+            ));
+        }
+        return items;
+    }
+}
@@ -0,0 +1,50 @@
+package com.invoiceme.recurring.createtemplate;
+
+import com.invoiceme.domain.common.Frequency;
+import com.invoiceme.domain.common.PaymentTerms;
+import com.invoiceme.invoices.shared.LineItemRequestDto;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CreateRecurringTemplateRequest {
+    
+    @NotNull(message = "Customer ID is required")
+    private UUID customerId;
+    
+    @NotBlank(message = "Template name is required")
+    @Size(max = 255, message = "Template name must not exceed 255 characters")
+    private String templateName;
+    
+    @NotNull(message = "Frequency is required")
+    private Frequency frequency;
+    
+    @NotNull(message = "Start date is required")
+    private LocalDate startDate;
+    
+    private LocalDate endDate; // Optional - runs until paused when omitted
+    
+    private PaymentTerms paymentTerms; // Optional - defaults to NET_30
+    
+    private boolean autoSend;
+    
+    private String notes;
+    
+    @NotEmpty(message = "At least one line item is required")
+    @Valid
+    private List<LineItemRequestDto> lineItems;
+}
@@ -0,0 +1,13 @@
+package com.invoiceme.recurring.generation;
+
+import java.time.LocalDate;
+
+public record GenerationRunResult(
+    LocalDate runDate,
+    long invoicesGenerated,
+    long templatesSkipped,
+    long templatesFailed,
+    long autoSendFailed,
+    long durationMs
+) {
+}
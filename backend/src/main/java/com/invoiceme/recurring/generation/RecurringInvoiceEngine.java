@@ -0,0 +1,292 @@
+package com.invoiceme.recurring.generation;
+
+import com.invoiceme.domain.common.CustomerStatus;
+import com.invoiceme.domain.customer.Customer;
+import com.invoiceme.domain.invoice.Invoice;
+import com.invoiceme.domain.recurring.RecurringInvoiceTemplate;
+import com.invoiceme.infrastructure.bus.MessageBus;
+import com.invoiceme.infrastructure.config.AsyncConfig;
+import com.invoiceme.infrastructure.config.WorkerPool;
+import com.invoiceme.infrastructure.persistence.CustomerRepository;
+import com.invoiceme.infrastructure.persistence.InvoiceNumberBlock;
+import com.invoiceme.infrastructure.persistence.InvoiceNumberGenerator;
+import com.invoiceme.infrastructure.persistence.RecurringInvoiceTemplateRepository;
+import com.invoiceme.invoices.markassent.MarkAsSentCommand;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Session;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.Year;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Generates invoices from due recurring templates.
+ *
+ * A run starts one worker per thread of the recurring-invoice {@link WorkerPool}. Each worker repeatedly claims a batch of due templates with FOR UPDATE SKIP LOCKED,
+ * builds their invoices with numbers from a block it reserved up front, inserts them with JDBC batching and
+ * advances each template's next_invoice_date, all in one transaction. A crash mid-run therefore rolls back only
+ * the in-flight batches; re-running picks up exactly the templates that are still due. Several nodes may run at
+ * once: SKIP LOCKED keeps their workers apart.
+ *
+ * A batch that fails is retried one template at a time so a single bad template cannot block the rest; templates
+ * that still fail are left due for the next run. Auto-send templates go through MarkAsSentCommand after their
+ * batch commits, so credit application and notifications behave as for a manually sent invoice.
+ */
+@Service
+@Slf4j
+public class RecurringInvoiceEngine {
+    
+    // Never a template id; keeps the NOT IN list of the claim query non-empty
+    private static final UUID NO_TEMPLATE = new UUID(0, 0);
+    
+    private final RecurringInvoiceTemplateRepository templateRepository;
+    private final CustomerRepository customerRepository;
+    private final InvoiceNumberGenerator invoiceNumberGenerator;
+    private final MessageBus messageBus;
+    private final TransactionTemplate batchTransaction;
+    private final TaskExecutor coordinator;
+    private final WorkerPool workers;
+    private final int batchSize;
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    private final AtomicBoolean running = new AtomicBoolean();
+    
+    // Progress of the current (or last) run, published as recurring.job.* gauges
+    private final AtomicLong due = new AtomicLong();
+    private final AtomicLong generated = new AtomicLong();
+    private final AtomicLong skipped = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong autoSendFailed = new AtomicLong();
+    private final AtomicLong lastCompletedEpochSeconds = new AtomicLong();
+    
+    public RecurringInvoiceEngine(
+            RecurringInvoiceTemplateRepository templateRepository,
+            CustomerRepository customerRepository,
+            InvoiceNumberGenerator invoiceNumberGenerator,
+            MessageBus messageBus,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Qualifier(AsyncConfig.JOB_COORDINATOR) TaskExecutor coordinator,
+            @Qualifier(AsyncConfig.RECURRING_INVOICE) WorkerPool workers,
+            @Value("${app.recurring.batch-size:200}") int batchSize) {
+        this.templateRepository = templateRepository;
+        this.customerRepository = customerRepository;
+        this.invoiceNumberGenerator = invoiceNumberGenerator;
+        this.messageBus = messageBus;
+        this.batchTransaction = new TransactionTemplate(transactionManager);
+        this.coordinator = coordinator;
+        this.workers = workers;
+        this.batchSize = batchSize;
+        
+        Gauge.builder("recurring.job.running", running, r -> r.get() ? 1 : 0).register(meterRegistry);
+        Gauge.builder("recurring.job.templates", due, AtomicLong::get).tag("state", "due").register(meterRegistry);
+        Gauge.builder("recurring.job.templates", generated, AtomicLong::get).tag("state", "generated").register(meterRegistry);
+        Gauge.builder("recurring.job.templates", skipped, AtomicLong::get).tag("state", "skipped").register(meterRegistry);
+        Gauge.builder("recurring.job.templates", failed, AtomicLong::get).tag("state", "failed").register(meterRegistry);
+        Gauge.builder("recurring.job.templates", autoSendFailed, AtomicLong::get).tag("state", "auto_send_failed")
+            .register(meterRegistry);
+        Gauge.builder("recurring.job.last.completed", lastCompletedEpochSeconds, AtomicLong::get)
+            .baseUnit("seconds")
+            .register(meterRegistry);
+    }
+    
+    public boolean isRunning() {
+        return running.get();
+    }
+    
+    /**
+     * Generates every invoice due on or before {@code runDate} and returns once all workers are done.
+     * Templates more than one period behind get one invoice per missed period.
+     */
+    public GenerationRunResult run(LocalDate runDate) {
+        if (!running.compareAndSet(false, true)) {
+            throw new IllegalStateException("A recurring invoice run is already in progress");
+        }
+        return runClaimed(runDate);
+    }
+    
+    /**
+     * Starts a run in the background and returns immediately; progress is visible through the gauges.
+     */
+    public void startRun(LocalDate runDate) {
+        if (!running.compareAndSet(false, true)) {
+            throw new IllegalStateException("A recurring invoice run is already in progress");
+        }
+        coordinator.execute(() -> {
+            try {
+                runClaimed(runDate);
+            } catch (RuntimeException e) {
+                log.error("Recurring invoice run for {} failed", runDate, e);
+            }
+        });
+    }
+    
+    private GenerationRunResult runClaimed(LocalDate runDate) {
+        try {
+            return generateAll(runDate);
+        } finally {
+            running.set(false);
+            lastCompletedEpochSeconds.set(Instant.now().getEpochSecond());
+        }
+    }
+    
+    private GenerationRunResult generateAll(LocalDate runDate) {
+        long startedAt = System.currentTimeMillis();
+        due.set(templateRepository.countDue(runDate));
+        generated.set(0);
+        skipped.set(0);
+        failed.set(0);
+        autoSendFailed.set(0);
+        log.info("Starting recurring invoice run for {}: {} templates due, {} workers", runDate, due.get(),
+            workers.size());
+        
+        Set<UUID> failedTemplates = ConcurrentHashMap.newKeySet();
+        failedTemplates.add(NO_TEMPLATE);
+        List<Runnable> tasks = new ArrayList<>();
+        for (int i = 0; i < workers.size(); i++) {
+            tasks.add(() -> work(runDate, failedTemplates));
+        }
+        workers.runAll(tasks);
+        
+        GenerationRunResult result = new GenerationRunResult(runDate, generated.get(), skipped.get(), failed.get(),
+            autoSendFailed.get(), System.currentTimeMillis() - startedAt);
+        log.info("Completed recurring invoice run: {}", result);
+        return result;
+    }
+    
+    private void work(LocalDate runDate, Set<UUID> failedTemplates) {
+        InvoiceNumberBlock numbers = InvoiceNumberBlock.empty();
+        while (!Thread.currentThread().isInterrupted()) {
+            numbers = ensureNumbers(numbers);
+            int limit = numbers.remaining();
+            List<UUID> claimed = new ArrayList<>();
+            Batch batch = runBatch(numbers, claimed,
+                () -> templateRepository.claimDue(runDate, List.copyOf(failedTemplates), limit));
+            
+            if (batch != null) {
+                if (batch.claimed() == 0) {
+                    return;
+                }
+                completed(batch);
+                continue;
+            }
+            if (claimed.isEmpty()) {
+                throw new IllegalStateException("Could not claim due recurring templates");
+            }
+            
+            // Isolate the failing template(s): retry each claimed template in its own transaction
+            for (UUID templateId : claimed) {
+                numbers = ensureNumbers(numbers);
+                Batch single = runBatch(numbers, new ArrayList<>(),
+                    () -> templateRepository.claimDueById(runDate, templateId));
+                if (single != null) {
+                    completed(single);
+                } else {
+                    failedTemplates.add(templateId);
+                    failed.incrementAndGet();
+                }
+            }
+        }
+    }
+    
+    private InvoiceNumberBlock ensureNumbers(InvoiceNumberBlock numbers) {
+        if (numbers.remaining() > 0 && numbers.getYear() == Year.now().getValue()) {
+            return numbers;
+        }
+        return invoiceNumberGenerator.reserveBlock(batchSize);
+    }
+    
+    /**
+     * @return the committed batch, or null if it was rolled back (claimed then holds the ids it had locked)
+     */
+    private Batch runBatch(InvoiceNumberBlock numbers, List<UUID> claimed, Supplier<List<UUID>> claim) {
+        int mark = numbers.mark();
+        try {
+            return batchTransaction.execute(status -> {
+                claimed.addAll(claim.get());
+                if (claimed.isEmpty()) {
+                    return new Batch(0, 0, 0, List.of());
+                }
+                
+                List<RecurringInvoiceTemplate> templates = templateRepository.findAllWithLineItems(claimed);
+                Map<UUID, Customer> customers = customerRepository.findAllById(
+                        templates.stream().map(RecurringInvoiceTemplate::getCustomerId).collect(Collectors.toSet()))
+                    .stream()
+                    .collect(Collectors.toMap(Customer::getId, Function.identity()));
+                entityManager.unwrap(Session.class).setJdbcBatchSize(batchSize);
+                
+                List<UUID> autoSendInvoiceIds = new ArrayList<>();
+                int generatedInBatch = 0;
+                int skippedInBatch = 0;
+                for (RecurringInvoiceTemplate template : templates) {
+                    Customer customer = customers.get(template.getCustomerId());
+                    if (customer == null || customer.getStatus() == CustomerStatus.INACTIVE) {
+                        log.warn("Pausing recurring template {}: customer {} is inactive",
+                            template.getId(), template.getCustomerId());
+                        template.pause();
+                        skippedInBatch++;
+                        continue;
+                    }
+                    
+                    Invoice invoice = template.generateInvoice(numbers.next());
+                    entityManager.persist(invoice);
+                    generatedInBatch++;
+                    if (template.isAutoSend()) {
+                        autoSendInvoiceIds.add(invoice.getId());
+                    }
+                }
+                entityManager.flush();
+                return new Batch(claimed.size(), generatedInBatch, skippedInBatch, autoSendInvoiceIds);
+            });
+        } catch (RuntimeException e) {
+            // Numbers handed out to the rolled back invoices are reused by the next batch
+            numbers.rewind(mark);
+            log.error("Recurring invoice batch of {} templates failed", claimed.size(), e);
+            return null;
+        }
+    }
+    
+    private void completed(Batch batch) {
+        generated.addAndGet(batch.generated());
+        skipped.addAndGet(batch.skipped());
+        autoSend(batch.autoSendInvoiceIds());
+    }
+    
+    private void autoSend(List<UUID> invoiceIds) {
+        for (UUID invoiceId : invoiceIds) {
+            try {
+                messageBus.dispatch(new MarkAsSentCommand(invoiceId));
+            } catch (RuntimeException e) {
+                // The invoice stays DRAFT and can be sent manually; the template has already moved on
+                autoSendFailed.incrementAndGet();
+                log.error("Failed to auto-send generated invoice {}", invoiceId, e);
+            }
+        }
+    }
+    
+    private record Batch(int claimed, int generated, int skipped, List<UUID> autoSendInvoiceIds) {
+    }
+}
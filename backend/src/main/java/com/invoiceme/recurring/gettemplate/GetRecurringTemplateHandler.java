@@ -0,0 +1,23 @@
+package com.invoiceme.recurring.gettemplate;
+
+import com.invoiceme.domain.recurring.RecurringInvoiceTemplate;
+import com.invoiceme.infrastructure.persistence.RecurringInvoiceTemplateRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+public class GetRecurringTemplateHandler {
+    
+    private final RecurringInvoiceTemplateRepository templateRepository;
+    
+    @Transactional(readOnly = true)
+    public RecurringInvoiceTemplate handle(GetRecurringTemplateQuery query) {
+        return templateRepository.findAllWithLineItems(List.of(query.getTemplateId())).stream()
+            .findFirst()
+            .orElseThrow(() -> new IllegalArgumentException("Recurring template not found: " + query.getTemplateId()));
+    }
+}
@@ -0,0 +1,16 @@
+package com.invoiceme.recurring.gettemplate;
+
+import com.invoiceme.domain.recurring.RecurringInvoiceTemplate;
+import com.invoiceme.infrastructure.bus.Query;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class GetRecurringTemplateQuery implements Query<RecurringInvoiceTemplate> {
+    private UUID templateId;
+}
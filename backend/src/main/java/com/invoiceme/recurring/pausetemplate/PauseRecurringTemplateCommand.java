@@ -0,0 +1,16 @@
+package com.invoiceme.recurring.pausetemplate;
+
+import com.invoiceme.domain.recurring.RecurringInvoiceTemplate;
+import com.invoiceme.infrastructure.bus.Command;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PauseRecurringTemplateCommand implements Command<RecurringInvoiceTemplate> {
+    private UUID templateId;
+}
@@ -0,0 +1,28 @@
+package com.invoiceme.recurring.pausetemplate;
+
+import com.invoiceme.domain.recurring.RecurringInvoiceTemplate;
+import com.invoiceme.infrastructure.persistence.RecurringInvoiceTemplateRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+public class PauseRecurringTemplateHandler {
+    
+    private final RecurringInvoiceTemplateRepository templateRepository;
+    
+    @Transactional
+    public RecurringInvoiceTemplate handle(PauseRecurringTemplateCommand command) {
+        RecurringInvoiceTemplate template = templateRepository.findAllWithLineItems(List.of(command.getTemplateId())).stream()
+            .findFirst()
+            .orElseThrow(() -> new IllegalArgumentException("Recurring template not found: " + command.getTemplateId()));
+        
+        // A template claimed by a running generation batch is row-locked; this waits for that batch and
+        // then fails the version check if the batch advanced it, surfacing as 409
+        template.pause();
+        return templateRepository.saveAndFlush(template);
+    }
+}
@@ -0,0 +1,27 @@
+package com.invoiceme.recurring.resumetemplate;
+
+import com.invoiceme.domain.recurring.RecurringInvoiceTemplate;
+import com.invoiceme.infrastructure.persistence.RecurringInvoiceTemplateRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+public class ResumeRecurringTemplateHandler {
+    
+    private final RecurringInvoiceTemplateRepository templateRepository;
+    
+    @Transactional
+    public RecurringInvoiceTemplate handle(ResumeRecurringTemplateCommand command) {
+        RecurringInvoiceTemplate template = templateRepository.findAllWithLineItems(List.of(command.getTemplateId())).stream()
+            .findFirst()
+            .orElseThrow(() -> new IllegalArgumentException("Recurring template not found: " + command.getTemplateId()));
+        
+        template.resume(LocalDate.now());
+        return templateRepository.saveAndFlush(template);
+    }
+}
@@ -0,0 +1,13 @@
+package com.invoiceme.recurring.shared;
+
+import com.invoiceme.domain.recurring.RecurringInvoiceTemplate;
+import com.invoiceme.domain.recurring.TemplateLineItem;
+import org.mapstruct.Mapper;
+
+@Mapper(componentModel = "spring")
+public interface RecurringTemplateMapper {
+    
+    RecurringTemplateDto toDto(RecurringInvoiceTemplate template);
+    
+    TemplateLineItemDto toDto(TemplateLineItem lineItem);
+}
@@ -0,0 +1,26 @@
+package com.invoiceme.recurring.shared;
+
+import com.invoiceme.domain.common.DiscountType;
+import com.invoiceme.domain.common.Money;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TemplateLineItemDto {
+    private UUID id;
+    private String description;
+    private Integer quantity;
+    private Money unitPrice;
+    private DiscountType discountType;
+    private Money discountValue;
+    private BigDecimal taxRate;
+    private Integer sortOrder;
+}
@@ -1,5 +1,6 @@
 package com.invoiceme.refunds;
 
+import com.invoiceme.infrastructure.bus.MessageBus;
 import com.invoiceme.payments.shared.PaymentDto;
 import com.invoiceme.refunds.issuerefund.*;
 import jakarta.validation.Valid;
@@ -16,7 +17,8 @@ import java.util.UUID;
 @RequiredArgsConstructor
 public class RefundController {
     
-    private final IssueRefundHandler issueRefundHandler;
+    private final MessageBus messageBus;
+    
     private final IssueRefundMapper issueRefundMapper;
     
     @PostMapping
@@ -24,7 +26,7 @@ public class RefundController {
     public ResponseEntity<PaymentDto> issueRefund(@Valid @RequestBody IssueRefundRequest request) {
         IssueRefundCommand command = issueRefundMapper.requestToCommand(request);
         // TODO: Set createdByUserId from security context
-        var refund = issueRefundHandler.handle(command);
+        var refund = messageBus.dispatch(command);
         PaymentDto response = issueRefundMapper.toDto(refund);
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
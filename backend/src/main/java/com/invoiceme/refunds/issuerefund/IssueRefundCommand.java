@@ -1,6 +1,9 @@
 package com.invoiceme.refunds.issuerefund;
 
 import com.invoiceme.domain.common.Money;
+import com.invoiceme.domain.payment.Payment;
+import com.invoiceme.infrastructure.bus.Command;
+import com.invoiceme.infrastructure.bus.RetryOnConflict;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -12,7 +15,7 @@ import java.util.UUID;
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
-public class IssueRefundCommand {
+public class IssueRefundCommand implements Command<Payment>, RetryOnConflict {
     private UUID invoiceId;
     private Money amount;
     private String reason;
@@ -1,5 +1,7 @@
 package com.invoiceme.refunds.issuerefund;
 
+import com.invoiceme.customers.credit.CreditLedgerService;
+import com.invoiceme.domain.common.CreditEntryType;
 import com.invoiceme.domain.common.DomainEventPublisher;
 import com.invoiceme.domain.common.InvoiceStatus;
 import com.invoiceme.domain.common.Money;
@@ -22,6 +24,7 @@ public class IssueRefundHandler {
     private final PaymentRepository paymentRepository;
     private final InvoiceRepository invoiceRepository;
     private final CustomerRepository customerRepository;
+    private final CreditLedgerService creditLedgerService;
     private final DomainEventPublisher eventPublisher;
     
     @Transactional
@@ -47,10 +50,6 @@ public class IssueRefundHandler {
         Customer customer = customerRepository.findById(invoice.getCustomerId())
             .orElseThrow(() -> new IllegalArgumentException("Customer not found: " + invoice.getCustomerId()));
         
-        // Apply as credit to customer account (does NOT affect invoice balance)
-        customer.applyCredit(command.getAmount());
-        customerRepository.save(customer);
-        
         // Create refund payment record using factory method
         Payment refund = Payment.createRefund(
             invoice,
@@ -63,6 +62,9 @@ public class IssueRefundHandler {
         // Save refund payment
         Payment savedRefund = paymentRepository.save(refund);
         
+        // Apply as credit to customer account (does NOT affect invoice balance)
+        creditLedgerService.applyCredit(customer, command.getAmount(), CreditEntryType.REFUND, savedRefund.getId());
+        
         // Invoice remains PAID with original balance (no changes needed)
         
         // Publish RefundIssuedEvent
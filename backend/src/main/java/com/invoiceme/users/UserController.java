@@ -1,12 +1,10 @@
 package com.invoiceme.users;
 
+import com.invoiceme.infrastructure.bus.MessageBus;
 import com.invoiceme.users.approveuser.ApproveUserCommand;
-import com.invoiceme.users.approveuser.ApproveUserHandler;
 import com.invoiceme.users.getpendingusers.GetPendingUsersQuery;
-import com.invoiceme.users.getpendingusers.GetPendingUsersHandler;
 import com.invoiceme.users.getpendingusers.PendingUserDto;
 import com.invoiceme.users.rejectuser.RejectUserCommand;
-import com.invoiceme.users.rejectuser.RejectUserHandler;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -21,15 +19,13 @@ import java.util.UUID;
 @RequiredArgsConstructor
 public class UserController {
     
-    private final GetPendingUsersHandler getPendingUsersHandler;
-    private final ApproveUserHandler approveUserHandler;
-    private final RejectUserHandler rejectUserHandler;
+    private final MessageBus messageBus;
     
     @GetMapping("/pending")
     @PreAuthorize("hasAnyRole('SYSADMIN', 'ACCOUNTANT')")
     public ResponseEntity<List<PendingUserDto>> getPendingUsers() {
         GetPendingUsersQuery query = new GetPendingUsersQuery();
-        List<PendingUserDto> response = getPendingUsersHandler.handle(query);
+        List<PendingUserDto> response = messageBus.dispatch(query);
         return ResponseEntity.ok(response);
     }
     
@@ -38,7 +34,7 @@ public class UserController {
     public ResponseEntity<Void> approveUser(@PathVariable UUID id) {
         // TODO: Get approvedByUserId from security context
         ApproveUserCommand command = new ApproveUserCommand(id, UUID.randomUUID());
-        approveUserHandler.handle(command);
+        messageBus.dispatch(command);
         return ResponseEntity.status(HttpStatus.NO_CONTENT).build();
     }
     
@@ -49,7 +45,7 @@ public class UserController {
             @RequestBody(required = false) String reason) {
         // TODO: Get rejectedByUserId from security context
         RejectUserCommand command = new RejectUserCommand(id, reason != null ? reason : "Not specified", UUID.randomUUID());
-        rejectUserHandler.handle(command);
+        messageBus.dispatch(command);
         return ResponseEntity.status(HttpStatus.NO_CONTENT).build();
     }
 }
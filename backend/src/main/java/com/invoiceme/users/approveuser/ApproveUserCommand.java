@@ -1,5 +1,7 @@
 package com.invoiceme.users.approveuser;
 
+import com.invoiceme.infrastructure.bus.Command;
+import com.invoiceme.infrastructure.persistence.User;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -9,7 +11,7 @@ import java.util.UUID;
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
-public class ApproveUserCommand {
+public class ApproveUserCommand implements Command<User> {
     private UUID userId;
     private UUID approvedByUserId;
 }
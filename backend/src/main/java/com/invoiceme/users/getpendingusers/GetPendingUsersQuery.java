@@ -1,12 +1,15 @@
 package com.invoiceme.users.getpendingusers;
 
+import com.invoiceme.infrastructure.bus.Query;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.util.List;
+
 @Data
 @NoArgsConstructor
-public class GetPendingUsersQuery {
+public class GetPendingUsersQuery implements Query<List<PendingUserDto>> {
     // No parameters - returns all pending users
 }
 
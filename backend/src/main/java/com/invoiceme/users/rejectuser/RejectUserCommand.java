@@ -1,5 +1,6 @@
 package com.invoiceme.users.rejectuser;
 
+import com.invoiceme.infrastructure.bus.Command;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -9,7 +10,7 @@ import java.util.UUID;
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
-public class RejectUserCommand {
+public class RejectUserCommand implements Command<Void> {
     private UUID userId;
     private String reason;
     private UUID rejectedByUserId;
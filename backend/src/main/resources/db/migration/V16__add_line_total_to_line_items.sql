@@ -0,0 +1,32 @@
+-- V16: Persist line_total on line_items
+-- Line totals were recomputed on every read; storing them lets the invoice detail and
+-- paged line item endpoints serve large invoices without touching pricing logic.
+
+ALTER TABLE line_items ADD COLUMN line_total DECIMAL(19,2) NOT NULL DEFAULT 0;
+
+-- Backfill using the same rules as LineItem.calculateLineTotal():
+--   base     = quantity * unit_price
+--   discount = PERCENTAGE: base * round(discount_value / 100, 4)
+--              FIXED: discount_value, capped at base except for credit line items
+--   total    = (base - discount) + (base - discount) * round(tax_rate / 100, 4)
+UPDATE line_items li
+SET line_total = calc.taxable + ROUND(calc.taxable * ROUND(li.tax_rate / 100, 4), 2)
+FROM (
+    SELECT id,
+           base - CASE
+               WHEN discount_type = 'PERCENTAGE' THEN ROUND(base * ROUND(discount_value / 100, 4), 2)
+               WHEN discount_type = 'FIXED' AND description <> 'Account Credit Applied' THEN LEAST(discount_value, base)
+               WHEN discount_type = 'FIXED' THEN discount_value
+               ELSE 0
+           END AS taxable
+    FROM (
+        SELECT id, description, discount_type, discount_value,
+               ROUND(quantity * unit_price, 2) AS base
+        FROM line_items
+    ) b
+) calc
+WHERE li.id = calc.id;
+
+-- Keyset paging over an invoice's line items orders by (sort_order, id)
+DROP INDEX IF EXISTS idx_line_items_sort_order;
+CREATE INDEX idx_line_items_sort_order ON line_items(invoice_id, sort_order, id);
@@ -0,0 +1,5 @@
+-- V17: Optimistic locking for customers
+-- Customers are now held in the Hibernate second-level cache (read-write); the version column lets
+-- Hibernate detect concurrent credit/status changes and keeps stale cache entries from overwriting newer ones.
+
+ALTER TABLE customers ADD COLUMN version INT NOT NULL DEFAULT 1 CHECK (version >= 1);
@@ -0,0 +1,47 @@
+-- V18: Append-only customer credit ledger
+-- Credit used to live in customers.credit_balance, so every overpayment, refund and auto-applied
+-- credit for the same customer queued on one row. Credit changes are now inserted as ledger
+-- entries; the balance is the latest compacted snapshot plus the entries after it.
+
+CREATE TYPE credit_entry_type_enum AS ENUM ('OPENING_BALANCE', 'OVERPAYMENT', 'REFUND', 'APPLIED_TO_INVOICE');
+
+CREATE TABLE customer_credit_ledger (
+    id UUID PRIMARY KEY DEFAULT gen_random_uuid(),
+    customer_id UUID NOT NULL,
+    entry_type credit_entry_type_enum NOT NULL,
+    -- Signed: credits are positive, amounts applied to invoices negative
+    amount DECIMAL(19,2) NOT NULL CHECK (amount <> 0),
+    -- Payment, refund or invoice that caused the entry
+    reference_id UUID,
+    -- Writing transaction; snapshots fold in entries below a transaction horizon, never by commit order
+    txid BIGINT NOT NULL DEFAULT txid_current(),
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT fk_credit_ledger_customer FOREIGN KEY (customer_id) REFERENCES customers(id) ON DELETE CASCADE
+);
+
+-- Balance lookups read only the entries after the customer's snapshot
+CREATE INDEX idx_credit_ledger_customer_txid ON customer_credit_ledger(customer_id, txid) INCLUDE (amount);
+
+-- Credit is applied to an invoice at most once
+CREATE UNIQUE INDEX uq_credit_ledger_applied_invoice ON customer_credit_ledger(reference_id)
+    WHERE entry_type = 'APPLIED_TO_INVOICE';
+
+-- Compacted running sum: balance of all entries written by transactions below through_txid
+CREATE TABLE customer_credit_balances (
+    customer_id UUID PRIMARY KEY,
+    balance DECIMAL(19,2) NOT NULL CHECK (balance >= 0),
+    through_txid BIGINT NOT NULL,
+    compacted_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT fk_credit_balances_customer FOREIGN KEY (customer_id) REFERENCES customers(id) ON DELETE CASCADE
+);
+
+-- Carry existing balances over as opening entries
+INSERT INTO customer_credit_ledger (customer_id, entry_type, amount)
+SELECT id, 'OPENING_BALANCE', credit_balance
+FROM customers
+WHERE credit_balance > 0;
+
+-- idx_customers_outstanding (V10) covered credit_balance and is dropped with the column
+ALTER TABLE customers DROP COLUMN credit_balance;
+
+CREATE INDEX IF NOT EXISTS idx_customers_outstanding ON customers(status) WHERE status = 'ACTIVE';
@@ -0,0 +1,6 @@
+-- V19: Partial index for customer statements
+-- Statements pick late fee and account credit line items out of every invoice a customer has;
+-- indexing only those rows keeps the lookup off the (much larger) full line item index.
+
+CREATE INDEX idx_line_items_statement_adjustments ON line_items(invoice_id)
+    WHERE description LIKE 'Late Fee - %' OR description = 'Account Credit Applied';
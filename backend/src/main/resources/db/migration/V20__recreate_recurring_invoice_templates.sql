@@ -0,0 +1,55 @@
+-- V20: Recurring invoice templates (reintroduced)
+-- V13 dropped the original tables before a generator existed. The generation engine claims due
+-- templates in batches with FOR UPDATE SKIP LOCKED and advances next_invoice_date in the same
+-- transaction that inserts the invoices, so a run can be restarted at any point.
+
+CREATE TYPE frequency_enum AS ENUM ('MONTHLY', 'QUARTERLY', 'ANNUALLY');
+CREATE TYPE template_status_enum AS ENUM ('ACTIVE', 'PAUSED', 'COMPLETED');
+
+CREATE TABLE recurring_invoice_templates (
+    id UUID PRIMARY KEY DEFAULT gen_random_uuid(),
+    customer_id UUID NOT NULL,
+    template_name VARCHAR(255) NOT NULL,
+    frequency frequency_enum NOT NULL,
+    start_date DATE NOT NULL,
+    end_date DATE,
+    next_invoice_date DATE NOT NULL,
+    periods_elapsed INT NOT NULL DEFAULT 0 CHECK (periods_elapsed >= 0),
+    status template_status_enum NOT NULL DEFAULT 'ACTIVE',
+    payment_terms payment_terms_enum NOT NULL DEFAULT 'NET_30',
+    auto_send BOOLEAN NOT NULL DEFAULT FALSE,
+    notes TEXT,
+    created_by_user_id UUID,
+    version INT NOT NULL DEFAULT 1 CHECK (version >= 1),
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT fk_templates_customer FOREIGN KEY (customer_id) REFERENCES customers(id) ON DELETE RESTRICT,
+    CONSTRAINT fk_templates_created_by_user FOREIGN KEY (created_by_user_id) REFERENCES users(id) ON DELETE SET NULL,
+    CONSTRAINT chk_template_dates CHECK (end_date IS NULL OR end_date >= start_date),
+    CONSTRAINT chk_next_invoice_date CHECK (next_invoice_date >= start_date)
+);
+
+CREATE INDEX idx_templates_customer_id ON recurring_invoice_templates(customer_id);
+
+-- Claim query: ACTIVE templates with next_invoice_date <= run date, oldest first
+CREATE INDEX idx_templates_scheduled_job ON recurring_invoice_templates(next_invoice_date, id) WHERE status = 'ACTIVE';
+
+CREATE TRIGGER update_templates_updated_at
+    BEFORE UPDATE ON recurring_invoice_templates
+    FOR EACH ROW
+    EXECUTE FUNCTION update_updated_at_column();
+
+CREATE TABLE template_line_items (
+    id UUID PRIMARY KEY DEFAULT gen_random_uuid(),
+    template_id UUID NOT NULL,
+    description VARCHAR(500) NOT NULL,
+    quantity INT NOT NULL CHECK (quantity >= 1),
+    unit_price DECIMAL(19,2) NOT NULL CHECK (unit_price >= 0),
+    discount_type discount_type_enum NOT NULL DEFAULT 'NONE',
+    discount_value DECIMAL(10,2) NOT NULL DEFAULT 0 CHECK (discount_value >= 0),
+    tax_rate DECIMAL(5,2) NOT NULL DEFAULT 0 CHECK (tax_rate >= 0 AND tax_rate <= 100),
+    sort_order INT NOT NULL DEFAULT 0,
+    CONSTRAINT fk_template_line_items_template FOREIGN KEY (template_id) REFERENCES recurring_invoice_templates(id) ON DELETE CASCADE
+);
+
+CREATE INDEX idx_template_line_items_sort_order ON template_line_items(template_id, sort_order);
@@ -0,0 +1,7 @@
+-- V21: Partial index for the stored OVERDUE status
+-- The overdue job moves SENT invoices past their due date to OVERDUE with a set-based UPDATE, so
+-- "overdue" is a plain status filter instead of a due_date computation over every open invoice.
+
+-- Transition candidates, walked in due_date order by the job's chunked UPDATE
+CREATE INDEX idx_invoices_overdue_candidates ON invoices(due_date)
+    WHERE status = 'SENT' AND balance_due > 0;
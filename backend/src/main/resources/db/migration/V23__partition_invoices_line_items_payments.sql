@@ -0,0 +1,185 @@
+-- V23: Range-partition invoices, line_items and payments by year
+-- invoices and line_items are partitioned on the invoice's issue_date (line items carry a copy of it),
+-- payments on payment_date. Date-bounded queries prune to the matching years, and a closed year can be
+-- vacuumed, detached or archived on its own. Partitions for upcoming years are created ahead of time by
+-- PartitionMaintenanceJob through ensure_yearly_partition(); rows outside every yearly range land in the
+-- table's DEFAULT partition.
+--
+-- Constraints on a partitioned table must include the partition key, so:
+--   - primary keys become (id, issue_date) / (id, payment_date); id is still generated uniquely
+--   - invoice_number can no longer be UNIQUE on invoices itself; the non-partitioned invoice_numbers
+--     table holds one row per number, kept in step by trigger in the same transaction, and its primary
+--     key rejects a duplicate across all years
+--   - line_items and payments reference invoices through (invoice_id, issue_date)
+--
+-- Archiving a year: detach the line_items and payments partitions first (they reference the invoice
+-- partition), then the invoices partition, e.g.
+--   ALTER TABLE line_items DETACH PARTITION line_items_y2019;
+--   ALTER TABLE invoices DETACH PARTITION invoices_y2019;
+
+-- Creates <parent>_y<year> covering [year-01-01, year+1-01-01) if it does not exist yet. Fails if the
+-- DEFAULT partition already holds rows for that year; move them out first.
+CREATE OR REPLACE FUNCTION ensure_yearly_partition(parent TEXT, partition_year INT)
+RETURNS BOOLEAN AS $$
+DECLARE
+    partition_name TEXT := parent || '_y' || partition_year;
+BEGIN
+    IF to_regclass(partition_name) IS NOT NULL THEN
+        RETURN FALSE;
+    END IF;
+    EXECUTE format('CREATE TABLE %I PARTITION OF %I FOR VALUES FROM (%L) TO (%L)',
+                   partition_name, parent,
+                   make_date(partition_year, 1, 1), make_date(partition_year + 1, 1, 1));
+    RETURN TRUE;
+END;
+$$ LANGUAGE plpgsql;
+
+-- Move the existing tables aside; their data is copied into the partitioned tables below
+ALTER TABLE line_items DROP CONSTRAINT fk_line_items_invoice;
+ALTER TABLE payments DROP CONSTRAINT fk_payments_invoice;
+
+ALTER TABLE invoices RENAME TO invoices_unpartitioned;
+ALTER TABLE line_items RENAME TO line_items_unpartitioned;
+ALTER TABLE payments RENAME TO payments_unpartitioned;
+
+-- Same columns, defaults, NOT NULL and CHECK constraints as before
+CREATE TABLE invoices (LIKE invoices_unpartitioned INCLUDING DEFAULTS INCLUDING CONSTRAINTS)
+    PARTITION BY RANGE (issue_date);
+
+CREATE TABLE line_items (LIKE line_items_unpartitioned INCLUDING DEFAULTS INCLUDING CONSTRAINTS)
+    PARTITION BY RANGE (issue_date);
+ALTER TABLE line_items ADD COLUMN issue_date DATE NOT NULL;
+
+CREATE TABLE payments (LIKE payments_unpartitioned INCLUDING DEFAULTS INCLUDING CONSTRAINTS)
+    PARTITION BY RANGE (payment_date);
+ALTER TABLE payments ADD COLUMN invoice_issue_date DATE NOT NULL;
+
+-- One partition per year of existing data through next year, plus a catch-all
+DO $$
+DECLARE
+    current_year INT := EXTRACT(YEAR FROM CURRENT_DATE)::INT;
+    first_invoice_year INT;
+    first_payment_year INT;
+    last_invoice_year INT;
+    last_payment_year INT;
+BEGIN
+    SELECT COALESCE(MIN(EXTRACT(YEAR FROM issue_date))::INT, current_year),
+           COALESCE(MAX(EXTRACT(YEAR FROM issue_date))::INT, current_year)
+    INTO first_invoice_year, last_invoice_year
+    FROM invoices_unpartitioned;
+
+    SELECT COALESCE(MIN(EXTRACT(YEAR FROM payment_date))::INT, current_year),
+           COALESCE(MAX(EXTRACT(YEAR FROM payment_date))::INT, current_year)
+    INTO first_payment_year, last_payment_year
+    FROM payments_unpartitioned;
+
+    FOR y IN LEAST(first_invoice_year, current_year)..GREATEST(last_invoice_year, current_year + 1) LOOP
+        PERFORM ensure_yearly_partition('invoices', y);
+        PERFORM ensure_yearly_partition('line_items', y);
+    END LOOP;
+
+    FOR y IN LEAST(first_payment_year, current_year)..GREATEST(last_payment_year, current_year + 1) LOOP
+        PERFORM ensure_yearly_partition('payments', y);
+    END LOOP;
+END $$;
+
+CREATE TABLE invoices_default PARTITION OF invoices DEFAULT;
+CREATE TABLE line_items_default PARTITION OF line_items DEFAULT;
+CREATE TABLE payments_default PARTITION OF payments DEFAULT;
+
+INSERT INTO invoices SELECT * FROM invoices_unpartitioned;
+
+INSERT INTO line_items
+SELECT li.*, i.issue_date
+FROM line_items_unpartitioned li
+JOIN invoices_unpartitioned i ON i.id = li.invoice_id;
+
+INSERT INTO payments
+SELECT p.*, i.issue_date
+FROM payments_unpartitioned p
+JOIN invoices_unpartitioned i ON i.id = p.invoice_id;
+
+DROP TABLE payments_unpartitioned;
+DROP TABLE line_items_unpartitioned;
+DROP TABLE invoices_unpartitioned;
+
+-- Keys
+ALTER TABLE invoices ADD CONSTRAINT invoices_pkey PRIMARY KEY (id, issue_date);
+ALTER TABLE invoices ADD CONSTRAINT fk_invoices_customer
+    FOREIGN KEY (customer_id) REFERENCES customers(id) ON DELETE RESTRICT;
+
+ALTER TABLE line_items ADD CONSTRAINT line_items_pkey PRIMARY KEY (id, issue_date);
+-- ON UPDATE CASCADE moves line items along when a draft invoice's issue date changes
+ALTER TABLE line_items ADD CONSTRAINT fk_line_items_invoice
+    FOREIGN KEY (invoice_id, issue_date) REFERENCES invoices(id, issue_date)
+    ON DELETE CASCADE ON UPDATE CASCADE;
+
+ALTER TABLE payments ADD CONSTRAINT payments_pkey PRIMARY KEY (id, payment_date);
+ALTER TABLE payments ADD CONSTRAINT fk_payments_invoice
+    FOREIGN KEY (invoice_id, invoice_issue_date) REFERENCES invoices(id, issue_date)
+    ON DELETE RESTRICT ON UPDATE CASCADE;
+ALTER TABLE payments ADD CONSTRAINT fk_payments_customer
+    FOREIGN KEY (customer_id) REFERENCES customers(id) ON DELETE RESTRICT;
+ALTER TABLE payments ADD CONSTRAINT fk_payments_created_by_user
+    FOREIGN KEY (created_by_user_id) REFERENCES users(id) ON DELETE SET NULL;
+
+-- Indexes (created on every partition, current and future)
+CREATE INDEX idx_invoices_invoice_number ON invoices(invoice_number);
+CREATE INDEX idx_invoices_customer_id ON invoices(customer_id);
+CREATE INDEX idx_invoices_status ON invoices(status);
+CREATE INDEX idx_invoices_due_date ON invoices(due_date);
+CREATE INDEX idx_invoices_issue_date ON invoices(issue_date);
+CREATE INDEX idx_invoices_customer_status ON invoices(customer_id, status);
+CREATE INDEX idx_invoices_customer_issue_date ON invoices(customer_id, issue_date DESC);
+CREATE INDEX idx_invoices_overdue ON invoices(status, due_date) WHERE status IN ('SENT', 'OVERDUE');
+CREATE INDEX idx_invoices_overdue_candidates ON invoices(due_date) WHERE status = 'SENT' AND balance_due > 0;
+
+CREATE INDEX idx_line_items_invoice_id ON line_items(invoice_id);
+CREATE INDEX idx_line_items_sort_order ON line_items(invoice_id, sort_order, id);
+CREATE INDEX idx_line_items_statement_adjustments ON line_items(invoice_id)
+    WHERE description LIKE 'Late Fee - %' OR description = 'Account Credit Applied';
+
+CREATE INDEX idx_payments_invoice_id ON payments(invoice_id);
+CREATE INDEX idx_payments_customer_id ON payments(customer_id);
+CREATE INDEX idx_payments_payment_date ON payments(payment_date);
+CREATE INDEX idx_payments_payment_method ON payments(payment_method);
+CREATE INDEX idx_payments_customer_date ON payments(customer_id, payment_date DESC);
+CREATE INDEX idx_payments_customer_status ON payments(customer_id, status, payment_date DESC);
+CREATE INDEX idx_payments_invoice_status ON payments(invoice_id, status, payment_date DESC);
+
+-- Invoice numbers stay unique across partitions. Rows of a detached (archived) year stay here, so
+-- its numbers are not handed out again.
+CREATE TABLE invoice_numbers (
+    invoice_number VARCHAR(20) PRIMARY KEY,
+    invoice_id UUID NOT NULL,
+    issue_date DATE NOT NULL
+);
+
+INSERT INTO invoice_numbers (invoice_number, invoice_id, issue_date)
+SELECT invoice_number, id, issue_date FROM invoices;
+
+-- A cross-partition issue_date change fires as a DELETE followed by an INSERT
+CREATE OR REPLACE FUNCTION sync_invoice_number()
+RETURNS TRIGGER AS $$
+BEGIN
+    IF TG_OP IN ('UPDATE', 'DELETE') THEN
+        DELETE FROM invoice_numbers WHERE invoice_number = OLD.invoice_number AND invoice_id = OLD.id;
+    END IF;
+    IF TG_OP = 'DELETE' THEN
+        RETURN OLD;
+    END IF;
+    INSERT INTO invoice_numbers (invoice_number, invoice_id, issue_date)
+    VALUES (NEW.invoice_number, NEW.id, NEW.issue_date);
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER sync_invoice_numbers
+    AFTER INSERT OR DELETE OR UPDATE OF invoice_number, issue_date ON invoices
+    FOR EACH ROW
+    EXECUTE FUNCTION sync_invoice_number();
+
+CREATE TRIGGER update_invoices_updated_at
+    BEFORE UPDATE ON invoices
+    FOR EACH ROW
+    EXECUTE FUNCTION update_updated_at_column();
@@ -0,0 +1,69 @@
+-- V24: Per-customer receivables rollup
+-- One row per customer with the open/overdue balances and lifetime totals that customer lists filter and
+-- sort on, and that the delete check needs. The row is created with the customer and adjusted in the
+-- same transaction as every invoice or payment change for that customer (CustomerReceivablesListener).
+--
+--   open_balance / open_count  SENT or OVERDUE invoices with a balance
+--   overdue_balance            OVERDUE invoices
+--   lifetime_billed            every invoice that was issued (not DRAFT or CANCELLED)
+--   lifetime_paid              completed payments
+--   last_payment_date          latest completed payment
+
+CREATE TABLE customer_receivables (
+    customer_id UUID PRIMARY KEY,
+    open_balance DECIMAL(19,2) NOT NULL DEFAULT 0,
+    open_count INT NOT NULL DEFAULT 0,
+    overdue_balance DECIMAL(19,2) NOT NULL DEFAULT 0,
+    lifetime_billed DECIMAL(19,2) NOT NULL DEFAULT 0,
+    lifetime_paid DECIMAL(19,2) NOT NULL DEFAULT 0,
+    last_payment_date DATE,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT fk_customer_receivables_customer FOREIGN KEY (customer_id) REFERENCES customers(id) ON DELETE CASCADE
+);
+
+-- Sorting customer lists by a rollup value, and the "has outstanding/overdue balance" filters
+CREATE INDEX idx_customer_receivables_open_balance ON customer_receivables(open_balance, customer_id);
+CREATE INDEX idx_customer_receivables_overdue_balance ON customer_receivables(overdue_balance, customer_id);
+CREATE INDEX idx_customer_receivables_lifetime_billed ON customer_receivables(lifetime_billed, customer_id);
+CREATE INDEX idx_customer_receivables_outstanding ON customer_receivables(customer_id) WHERE open_count > 0;
+
+-- Every customer has a row, so lists can inner-join the rollup
+CREATE OR REPLACE FUNCTION create_customer_receivables_row()
+RETURNS TRIGGER AS $$
+BEGIN
+    INSERT INTO customer_receivables (customer_id) VALUES (NEW.id);
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER create_customer_receivables
+    AFTER INSERT ON customers
+    FOR EACH ROW
+    EXECUTE FUNCTION create_customer_receivables_row();
+
+-- Backfill
+INSERT INTO customer_receivables (customer_id, open_balance, open_count, overdue_balance,
+                                  lifetime_billed, lifetime_paid, last_payment_date)
+SELECT c.id,
+       COALESCE(i.open_balance, 0),
+       COALESCE(i.open_count, 0),
+       COALESCE(i.overdue_balance, 0),
+       COALESCE(i.lifetime_billed, 0),
+       COALESCE(p.lifetime_paid, 0),
+       p.last_payment_date
+FROM customers c
+LEFT JOIN (
+    SELECT customer_id,
+           SUM(balance_due) FILTER (WHERE status IN ('SENT', 'OVERDUE') AND balance_due > 0) AS open_balance,
+           COUNT(*) FILTER (WHERE status IN ('SENT', 'OVERDUE') AND balance_due > 0) AS open_count,
+           SUM(balance_due) FILTER (WHERE status = 'OVERDUE') AS overdue_balance,
+           SUM(total_amount) FILTER (WHERE status NOT IN ('DRAFT', 'CANCELLED')) AS lifetime_billed
+    FROM invoices
+    GROUP BY customer_id
+) i ON i.customer_id = c.id
+LEFT JOIN (
+    SELECT customer_id, SUM(amount) AS lifetime_paid, MAX(payment_date) AS last_payment_date
+    FROM payments
+    WHERE status = 'COMPLETED'
+    GROUP BY customer_id
+) p ON p.customer_id = c.id;
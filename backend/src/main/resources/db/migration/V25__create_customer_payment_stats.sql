@@ -0,0 +1,46 @@
+-- V25: Per-customer payment behavior statistics
+-- Running sums from which days-to-pay, on-time ratio and the collection-weighted DSO are derived, so
+-- neither the customer detail nor /dashboard/collections has to scan invoices or payments. Maintained
+-- incrementally by CustomerPaymentStatsListener (InvoiceFullyPaidEvent, PaymentRecordedEvent) in the
+-- transaction that settles the invoice or records the payment.
+--
+--   paid_invoice_count / paid_on_time_count  invoices settled in full / settled on or before due_date
+--   total_days_to_pay                        sum of (paid date - issue_date) over paid invoices
+--   total_days_late                          sum of days past due_date over paid invoices
+--   collected_amount                         completed payments
+--   collected_amount_days                    sum of amount * (payment_date - invoice issue_date)
+--
+-- History is not computed here: rows start at zero with backfilled_at NULL and PaymentStatsBackfill
+-- recomputes them from invoices and payments in parallel chunks after startup.
+
+CREATE TABLE customer_payment_stats (
+    customer_id UUID PRIMARY KEY,
+    paid_invoice_count BIGINT NOT NULL DEFAULT 0,
+    paid_on_time_count BIGINT NOT NULL DEFAULT 0,
+    total_days_to_pay BIGINT NOT NULL DEFAULT 0,
+    total_days_late BIGINT NOT NULL DEFAULT 0,
+    collected_amount DECIMAL(19,2) NOT NULL DEFAULT 0,
+    collected_amount_days DECIMAL(24,2) NOT NULL DEFAULT 0,
+    backfilled_at TIMESTAMP,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT fk_customer_payment_stats_customer FOREIGN KEY (customer_id) REFERENCES customers(id) ON DELETE CASCADE
+);
+
+CREATE INDEX idx_customer_payment_stats_pending ON customer_payment_stats(customer_id) WHERE backfilled_at IS NULL;
+
+-- Every customer has a row; new customers have no history to backfill
+CREATE OR REPLACE FUNCTION create_customer_payment_stats_row()
+RETURNS TRIGGER AS $$
+BEGIN
+    INSERT INTO customer_payment_stats (customer_id, backfilled_at) VALUES (NEW.id, CURRENT_TIMESTAMP);
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER create_customer_payment_stats
+    AFTER INSERT ON customers
+    FOR EACH ROW
+    EXECUTE FUNCTION create_customer_payment_stats_row();
+
+INSERT INTO customer_payment_stats (customer_id)
+SELECT id FROM customers;
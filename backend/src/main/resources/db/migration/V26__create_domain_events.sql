@@ -0,0 +1,49 @@
+-- V26: Append-only domain event store and projection checkpoints
+-- Every event published through DomainEventPublisher is appended here in the transaction that raised it.
+-- global_position orders the whole log; stream_bucket (aggregate id hash, 0-63) splits it into streams that
+-- are replayed in parallel, each in position order, so events about one invoice or customer are never
+-- reordered. payload holds the event's own fields as compact JSON (DomainEventCodec); id, type and time
+-- live in columns.
+--
+-- Events published before this migration were never stored and cannot be replayed.
+
+CREATE TABLE domain_events (
+    global_position BIGSERIAL PRIMARY KEY,
+    event_id UUID NOT NULL,
+    event_type VARCHAR(100) NOT NULL,
+    aggregate_id UUID,
+    stream_bucket SMALLINT NOT NULL,
+    occurred_at TIMESTAMP NOT NULL,
+    payload BYTEA NOT NULL,
+    CONSTRAINT uq_domain_events_event_id UNIQUE (event_id)
+);
+
+-- Replay reads one bucket from its checkpoint onwards
+CREATE INDEX idx_domain_events_bucket_position ON domain_events(stream_bucket, global_position);
+-- History of a single invoice or customer
+CREATE INDEX idx_domain_events_aggregate ON domain_events(aggregate_id, global_position);
+
+-- Where a projection's rebuild has got to, per bucket. A rebuild that stops midway resumes from here.
+CREATE TABLE projection_checkpoints (
+    projection VARCHAR(100) NOT NULL,
+    stream_bucket SMALLINT NOT NULL,
+    global_position BIGINT NOT NULL,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (projection, stream_bucket)
+);
+
+CREATE TABLE projection_state (
+    projection VARCHAR(100) PRIMARY KEY,
+    state VARCHAR(20) NOT NULL,          -- REBUILDING, COMPLETED
+    target_position BIGINT NOT NULL,     -- Last event the rebuild replays
+    -- Transactions below this id may still append events at or below target_position (positions are taken
+    -- at insert, not at commit); replay waits until none of them is running
+    target_txid BIGINT NOT NULL,
+    started_at TIMESTAMP NOT NULL,
+    completed_at TIMESTAMP
+);
+
+-- Activity feed entries written from an event carry its id, so replaying the event again is a no-op and a
+-- rebuild only replaces entries it can reproduce
+ALTER TABLE activity_feed ADD COLUMN event_id UUID;
+CREATE UNIQUE INDEX uq_activity_feed_event_id ON activity_feed(event_id);
@@ -0,0 +1,48 @@
+-- V27: Background bulk jobs (batch sends, late fee runs)
+-- A job is planned up front into numbered units of work (a few hundred item ids each). Workers process the
+-- units and mark each one DONE as they go, so a job that stops midway (deploy, crash) resumes with the units
+-- still PENDING. The node running a job refreshes heartbeat_at; a job whose heartbeat goes stale is taken
+-- over by the next node that notices, including the same node after a restart.
+
+CREATE TABLE bulk_jobs (
+    id UUID PRIMARY KEY,
+    job_type VARCHAR(50) NOT NULL,
+    status VARCHAR(20) NOT NULL,             -- QUEUED, RUNNING, COMPLETED, CANCELLED, FAILED
+    parameters TEXT NOT NULL,                -- JSON, as submitted
+    total_units INT NOT NULL,
+    completed_units INT NOT NULL DEFAULT 0,
+    total_items INT NOT NULL,
+    succeeded INT NOT NULL DEFAULT 0,
+    skipped INT NOT NULL DEFAULT 0,
+    failed INT NOT NULL DEFAULT 0,
+    cancel_requested BOOLEAN NOT NULL DEFAULT FALSE,
+    owner_node VARCHAR(255),
+    heartbeat_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    error TEXT,
+    created_by VARCHAR(255),
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    started_at TIMESTAMP,
+    completed_at TIMESTAMP
+);
+
+CREATE INDEX idx_bulk_jobs_created_at ON bulk_jobs(created_at DESC);
+-- Stale-heartbeat takeover only looks at unfinished jobs
+CREATE INDEX idx_bulk_jobs_unfinished ON bulk_jobs(heartbeat_at) WHERE status IN ('QUEUED', 'RUNNING');
+
+CREATE TABLE bulk_job_units (
+    job_id UUID NOT NULL REFERENCES bulk_jobs(id) ON DELETE CASCADE,
+    unit_index INT NOT NULL,
+    items TEXT NOT NULL,                     -- JSON array of item ids
+    status VARCHAR(20) NOT NULL DEFAULT 'PENDING', -- PENDING, DONE
+    completed_at TIMESTAMP,
+    PRIMARY KEY (job_id, unit_index)
+);
+
+CREATE TABLE bulk_job_failures (
+    job_id UUID NOT NULL REFERENCES bulk_jobs(id) ON DELETE CASCADE,
+    unit_index INT NOT NULL,
+    item VARCHAR(100) NOT NULL,
+    reason TEXT
+);
+
+CREATE INDEX idx_bulk_job_failures_job ON bulk_job_failures(job_id, unit_index);
@@ -0,0 +1,101 @@
+package com.invoiceme.integration;
+
+import com.invoiceme.domain.events.BaseDomainEvent;
+import com.invoiceme.infrastructure.config.AsyncConfig;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Activity feed entries written on the publishing thread (CALLER_RUNS on a saturated executor) are committed.
+ */
+@SpringBootTest(properties = {
+    "app.async.executors.activity-feed.core-size=1",
+    "app.async.executors.activity-feed.max-size=1",
+    "app.async.executors.activity-feed.queue-capacity=1"
+})
+@ActiveProfiles("test")
+public class ActivityFeedSaturationTest {
+    
+    @Autowired
+    @Qualifier(AsyncConfig.ACTIVITY_FEED)
+    private ThreadPoolTaskExecutor activityFeedExecutor;
+    
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    
+    @Autowired
+    private NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+    
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final List<UUID> eventIds = new ArrayList<>();
+    
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        if (!eventIds.isEmpty()) {
+            namedParameterJdbcTemplate.update("DELETE FROM activity_feed WHERE event_id IN (:ids)",
+                new MapSqlParameterSource("ids", eventIds));
+        }
+    }
+    
+    @Test
+    void testEntriesWrittenByCallerRunsAreCommitted() throws Exception {
+        // Occupy the only thread and the only queue slot, so every listener call runs on this thread
+        CountDownLatch started = new CountDownLatch(1);
+        activityFeedExecutor.execute(() -> {
+            started.countDown();
+            try {
+                release.await(30, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        activityFeedExecutor.execute(() -> { });
+        
+        for (int i = 0; i < 3; i++) {
+            TestEvent event = new TestEvent(UUID.randomUUID());
+            eventIds.add(event.getEventId());
+            transactionTemplate.executeWithoutResult(status -> eventPublisher.publishEvent(event));
+        }
+        
+        Integer entries = namedParameterJdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM activity_feed WHERE event_id IN (:ids)",
+            new MapSqlParameterSource("ids", eventIds), Integer.class);
+        assertThat(entries).isEqualTo(3);
+    }
+    
+    private static class TestEvent extends BaseDomainEvent {
+        
+        private final UUID aggregateId;
+        
+        TestEvent(UUID aggregateId) {
+            this.aggregateId = aggregateId;
+        }
+        
+        @Override
+        public UUID getAggregateId() {
+            return aggregateId;
+        }
+    }
+}
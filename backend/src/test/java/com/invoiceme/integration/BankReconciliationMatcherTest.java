@@ -0,0 +1,135 @@
+package com.invoiceme.integration;
+
+import com.invoiceme.payments.reconcile.BankStatementFormat;
+import com.invoiceme.payments.reconcile.BankStatementParser;
+import com.invoiceme.payments.reconcile.MatchRule;
+import com.invoiceme.payments.reconcile.ReconciliationMatcher;
+import com.invoiceme.payments.reconcile.StatementLine;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Bank statement parsing and matching rules of the reconciliation engine. No database needed.
+ */
+public class BankReconciliationMatcherTest {
+    
+    private static final LocalDate DUE = LocalDate.of(2026, 4, 30);
+    
+    private final UUID acme = UUID.randomUUID();
+    private final UUID globex = UUID.randomUUID();
+    private final UUID acmeJanuary = UUID.randomUUID();
+    private final UUID acmeMarch = UUID.randomUUID();
+    private final UUID globexApril = UUID.randomUUID();
+    
+    private ReconciliationMatcher matcher() {
+        return ReconciliationMatcher.builder(3, new ReconciliationMatcher.Tolerance(100, 30, 90))
+            .addCustomer(acme, "Acme Corporation")
+            .addCustomer(globex, "Globex LLC")
+            .addInvoice(acmeMarch, "INV-2026-0007", acme, DUE.minusMonths(1), 250_00)
+            .addInvoice(acmeJanuary, "INV-2026-0001", acme, DUE.minusMonths(3), 250_00)
+            .addInvoice(globexApril, "INV-2026-0012", globex, DUE, 1_234_56)
+            .build();
+    }
+    
+    private static StatementLine line(int number, long cents, String reference, String counterparty) {
+        return new StatementLine(number, DUE.plusDays(3), cents, reference, counterparty);
+    }
+    
+    @Test
+    void testReferenceMatchesTheNamedInvoiceWhateverTheAmount() {
+        ReconciliationMatcher matcher = matcher();
+        
+        ReconciliationMatcher.Match match = matcher.match(line(1, 100_00, "Payment inv 2026 0007, thanks", null));
+        assertThat(match.rule()).isEqualTo(MatchRule.REFERENCE);
+        assertThat(match.invoiceId()).isEqualTo(acmeMarch);
+        assertThat(match.isConfident()).isTrue();
+        
+        // A second partial payment still finds it; once the balance is used up the reference no longer matches
+        assertThat(matcher.match(line(2, 150_00, "INV-2026-0007", null)).invoiceId()).isEqualTo(acmeMarch);
+        assertThat(matcher.match(line(3, 10_00, "INV-2026-0007", null))).isNull();
+    }
+    
+    @Test
+    void testCustomerAndExactAmountPicksTheOldestDueInvoiceOnce() {
+        ReconciliationMatcher matcher = matcher();
+        
+        ReconciliationMatcher.Match first = matcher.match(line(1, 250_00, "March and January", "ACME CORP."));
+        assertThat(first.rule()).isEqualTo(MatchRule.CUSTOMER_AMOUNT);
+        assertThat(first.invoiceId()).isEqualTo(acmeJanuary);
+        assertThat(first.customerId()).isEqualTo(acme);
+        
+        ReconciliationMatcher.Match second = matcher.match(line(2, 250_00, null, "Acme Corporation"));
+        assertThat(second.invoiceId()).isEqualTo(acmeMarch);
+        
+        ReconciliationMatcher.Match third = matcher.match(line(3, 250_00, null, "Acme Corporation"));
+        assertThat(third == null || !third.isConfident()).isTrue();
+    }
+    
+    @Test
+    void testCloseAmountNearTheDueDateIsOnlySuggested() {
+        ReconciliationMatcher matcher = matcher();
+        
+        ReconciliationMatcher.Match match = matcher.match(line(1, 1_234_00, "wire", "Unknown Payer"));
+        assertThat(match.rule()).isEqualTo(MatchRule.FUZZY);
+        assertThat(match.invoiceId()).isEqualTo(globexApril);
+        assertThat(match.isConfident()).isFalse();
+        
+        // Outside the amount tolerance, and a debit
+        assertThat(matcher.match(line(2, 1_300_00, "wire", "Unknown Payer"))).isNull();
+        assertThat(matcher.match(line(3, -1_234_56, "INV-2026-0012", "Globex"))).isNull();
+    }
+    
+    @Test
+    void testParsesCsvAndCamt053Statements() {
+        String csv = "Date,Amount,Reference,Counterparty\n"
+            + "2026-05-03,1234.56,\"INV-2026-0012, final\",Globex LLC\n"
+            + "\n"
+            + "2026-05-04,-20.00,Bank fee,\n";
+        List<StatementLine> csvLines = BankStatementParser.parse(
+            new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)), BankStatementFormat.CSV);
+        assertThat(csvLines).containsExactly(
+            new StatementLine(2, LocalDate.of(2026, 5, 3), 1_234_56, "INV-2026-0012, final", "Globex LLC"),
+            new StatementLine(4, LocalDate.of(2026, 5, 4), -20_00, "Bank fee", null));
+        
+        String camt = """
+            <?xml version="1.0" encoding="UTF-8"?>
+            <Document xmlns="urn:iso:std:iso:20022:tech:xsd:camt.053.001.02">
+              <BkToCstmrStmt><Stmt>
+                <Ntry>
+                  <Amt Ccy="USD">250.00</Amt>
+                  <CdtDbtInd>CRDT</CdtDbtInd>
+                  <BookgDt><Dt>2026-05-02</Dt></BookgDt>
+                  <NtryDtls><TxDtls>
+                    <RltdPties><Dbtr><Nm>Acme Corporation</Nm></Dbtr><Cdtr><Nm>Us</Nm></Cdtr></RltdPties>
+                    <RmtInf><Strd><CdtrRefInf><Ref>INV-2026-0001</Ref></CdtrRefInf></Strd></RmtInf>
+                  </TxDtls></NtryDtls>
+                </Ntry>
+                <Ntry>
+                  <Amt Ccy="USD">9.99</Amt>
+                  <CdtDbtInd>DBIT</CdtDbtInd>
+                  <ValDt><DtTm>2026-05-05T10:00:00</DtTm></ValDt>
+                </Ntry>
+              </Stmt></BkToCstmrStmt>
+            </Document>
+            """;
+        List<StatementLine> camtLines = BankStatementParser.parse(
+            new ByteArrayInputStream(camt.getBytes(StandardCharsets.UTF_8)), BankStatementFormat.CAMT053);
+        assertThat(camtLines).containsExactly(
+            new StatementLine(1, LocalDate.of(2026, 5, 2), 250_00, "INV-2026-0001", "Acme Corporation"),
+            new StatementLine(2, LocalDate.of(2026, 5, 5), -9_99, null, null));
+        
+        assertThatThrownBy(() -> BankStatementParser.parse(
+                new ByteArrayInputStream("date,amount,reference\n2026-05-03,12.345,x\n".getBytes(StandardCharsets.UTF_8)),
+                BankStatementFormat.CSV))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("line 2");
+    }
+}
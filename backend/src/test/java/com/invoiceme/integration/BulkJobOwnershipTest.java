@@ -0,0 +1,86 @@
+package com.invoiceme.integration;
+
+import com.invoiceme.infrastructure.jobs.BulkJobState;
+import com.invoiceme.infrastructure.jobs.UnitResult;
+import com.invoiceme.infrastructure.persistence.BulkJobRepository;
+import com.invoiceme.infrastructure.persistence.BulkJobRepository.UnitCompletion;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * A node that has lost a bulk job to another node can no longer heartbeat it, record its units or finish it.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+public class BulkJobOwnershipTest {
+    
+    private static final String OWNER = "node-a";
+    private static final String FORMER_OWNER = "node-b";
+    
+    @Autowired
+    private BulkJobRepository repository;
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    
+    private UUID jobId;
+    
+    @BeforeEach
+    void setUp() {
+        jobId = UUID.randomUUID();
+        transactionTemplate.executeWithoutResult(status -> repository.insert(jobId, "OWNERSHIP_TEST", "{}", "test",
+            OWNER, List.of("[\"a\"]", "[\"b\"]"), 2));
+    }
+    
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM bulk_jobs WHERE id = ?", jobId);
+    }
+    
+    @Test
+    void testFormerOwnerIsRefused() {
+        UnitResult result = new UnitResult();
+        result.succeeded();
+        
+        assertThat(repository.heartbeat(jobId, FORMER_OWNER)).isFalse();
+        assertThat(repository.markRunning(jobId, FORMER_OWNER)).isFalse();
+        assertThat(complete(FORMER_OWNER, result)).isEqualTo(UnitCompletion.NOT_OWNER);
+        assertThat(repository.finish(jobId, FORMER_OWNER, BulkJobState.COMPLETED, null)).isFalse();
+        
+        assertThat(repository.findPendingUnits(jobId)).hasSize(2);
+        assertThat(repository.find(jobId).orElseThrow().state()).isEqualTo(BulkJobState.QUEUED);
+    }
+    
+    @Test
+    void testOwnerRecordsEachUnitOnce() {
+        UnitResult result = new UnitResult();
+        result.succeeded();
+        
+        assertThat(repository.markRunning(jobId, OWNER)).isTrue();
+        assertThat(repository.heartbeat(jobId, OWNER)).isTrue();
+        assertThat(complete(OWNER, result)).isEqualTo(UnitCompletion.COUNTED);
+        assertThat(complete(OWNER, result)).isEqualTo(UnitCompletion.ALREADY_DONE);
+        assertThat(repository.finish(jobId, OWNER, BulkJobState.CANCELLED, null)).isTrue();
+        
+        assertThat(repository.find(jobId).orElseThrow().succeeded()).isEqualTo(1);
+        assertThat(repository.heartbeat(jobId, OWNER)).isFalse();
+    }
+    
+    private UnitCompletion complete(String node, UnitResult result) {
+        return transactionTemplate.execute(status -> repository.completeUnit(jobId, node, 0, result));
+    }
+}
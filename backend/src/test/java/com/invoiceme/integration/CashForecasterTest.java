@@ -0,0 +1,99 @@
+package com.invoiceme.integration;
+
+import com.invoiceme.dashboard.getcashforecast.CashForecaster;
+import com.invoiceme.dashboard.getcashforecast.PaymentTimingProfiles;
+import com.invoiceme.infrastructure.analytics.OpenInvoices;
+import com.invoiceme.infrastructure.persistence.PaymentTimingRepository.PaymentTiming;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+/**
+ * Cash forecast projection over open invoices. No database needed.
+ */
+public class CashForecasterTest {
+    
+    private static final LocalDate TODAY = LocalDate.of(2026, 5, 1);
+    
+    private final UUID punctual = UUID.randomUUID();
+    private final UUID late = UUID.randomUUID();
+    private final UUID newCustomer = UUID.randomUUID();
+    
+    // Half of 'late's payments arrive on the due date, half ten days after it; 'punctual' pays 2 days early
+    private final PaymentTimingProfiles profiles = PaymentTimingProfiles.from(List.of(
+        new PaymentTiming(late, 0, new BigDecimal("500.00")),
+        new PaymentTiming(late, 10, new BigDecimal("500.00")),
+        new PaymentTiming(punctual, -2, new BigDecimal("1000.00"))
+    ));
+    
+    @Test
+    void testBalanceIsSpreadOverTheCustomersPaymentTiming() {
+        OpenInvoices invoices = OpenInvoices.builder(4)
+            .add(late, TODAY.plusDays(5), 100_00)
+            .add(punctual, TODAY.plusDays(5), 40_00)
+            .build();
+        
+        CashForecaster.Forecast forecast = CashForecaster.forecast(invoices, profiles, TODAY, 30);
+        
+        assertThat(forecast.daily()[3]).isCloseTo(40_00, within(0.001));
+        assertThat(forecast.daily()[5]).isCloseTo(50_00, within(0.001));
+        assertThat(forecast.daily()[15]).isCloseTo(50_00, within(0.001));
+        assertThat(forecast.open()).isEqualTo(140_00);
+        assertThat(forecast.invoices()).isEqualTo(2);
+    }
+    
+    @Test
+    void testOverdueInvoicesAreConditionedOnStillBeingUnpaid() {
+        OpenInvoices invoices = OpenInvoices.builder(2)
+            // 5 days late: only the "10 days late" half of the history is still possible
+            .add(late, TODAY.minusDays(5), 100_00)
+            // Later than this customer has ever paid
+            .add(late, TODAY.minusDays(30), 70_00)
+            .build();
+        
+        CashForecaster.Forecast forecast = CashForecaster.forecast(invoices, profiles, TODAY, 30);
+        
+        assertThat(forecast.daily()[5]).isCloseTo(100_00, within(0.001));
+        assertThat(forecast.atRisk()).isCloseTo(70_00, within(0.001));
+    }
+    
+    @Test
+    void testCustomersWithoutHistoryUseTheOverallDistributionAndHorizonIsRespected() {
+        OpenInvoices invoices = OpenInvoices.builder(2)
+            .add(newCustomer, TODAY.plusDays(10), 100_00)
+            .add(late, TODAY.plusDays(100), 20_00)
+            .build();
+        
+        CashForecaster.Forecast forecast = CashForecaster.forecast(invoices, profiles, TODAY, 90);
+        
+        // Overall: 50% two days early, 25% on time, 25% ten days late
+        assertThat(forecast.daily()[8]).isCloseTo(50_00, within(0.001));
+        assertThat(forecast.daily()[10]).isCloseTo(25_00, within(0.001));
+        assertThat(forecast.daily()[20]).isCloseTo(25_00, within(0.001));
+        assertThat(forecast.beyondHorizon()).isCloseTo(20_00, within(0.001));
+    }
+    
+    @Test
+    void testParallelPassAccountsForEveryOpenCent() {
+        int rows = 300_000;
+        OpenInvoices.Builder builder = OpenInvoices.builder(rows);
+        for (int i = 0; i < rows; i++) {
+            UUID customer = i % 3 == 0 ? late : i % 3 == 1 ? punctual : newCustomer;
+            builder.add(customer, TODAY.plusDays(i % 200 - 60), 25_00 + i % 7);
+        }
+        OpenInvoices invoices = builder.build();
+        
+        CashForecaster.Forecast forecast = CashForecaster.forecast(invoices, profiles, TODAY, 90);
+        
+        double projected = Arrays.stream(forecast.daily()).sum() + forecast.beyondHorizon() + forecast.atRisk();
+        assertThat(forecast.invoices()).isEqualTo(rows);
+        assertThat(projected).isCloseTo(forecast.open(), within(1.0));
+    }
+}
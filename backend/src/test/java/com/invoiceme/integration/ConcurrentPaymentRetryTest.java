@@ -0,0 +1,147 @@
+package com.invoiceme.integration;
+
+import com.invoiceme.domain.common.CustomerType;
+import com.invoiceme.domain.common.DiscountType;
+import com.invoiceme.domain.common.Email;
+import com.invoiceme.domain.common.InvoiceNumber;
+import com.invoiceme.domain.common.Money;
+import com.invoiceme.domain.common.PaymentMethod;
+import com.invoiceme.domain.common.PaymentTerms;
+import com.invoiceme.domain.customer.Customer;
+import com.invoiceme.domain.invoice.Invoice;
+import com.invoiceme.domain.invoice.LineItem;
+import com.invoiceme.infrastructure.bus.MessageBus;
+import com.invoiceme.infrastructure.persistence.CustomerRepository;
+import com.invoiceme.infrastructure.persistence.InvoiceRepository;
+import com.invoiceme.infrastructure.persistence.PaymentRepository;
+import com.invoiceme.payments.recordpayment.RecordPaymentCommand;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Concurrent partial payments on one invoice all succeed through conflict retries. Not @Transactional:
+ * the version conflicts only happen between separately committed transactions.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+public class ConcurrentPaymentRetryTest {
+    
+    private static final int PAYMENTS = 3;
+    
+    @Autowired
+    private MessageBus messageBus;
+    
+    @Autowired
+    private CustomerRepository customerRepository;
+    
+    @Autowired
+    private InvoiceRepository invoiceRepository;
+    
+    @Autowired
+    private PaymentRepository paymentRepository;
+    
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    private UUID customerId;
+    private UUID invoiceId;
+    
+    @BeforeEach
+    void setUp() {
+        customerId = transactionTemplate.execute(status -> customerRepository.save(Customer.create(
+            "Marketplace Company",
+            Email.of("marketplace-" + UUID.randomUUID() + "@example.com"),
+            CustomerType.COMMERCIAL
+        )).getId());
+        
+        invoiceId = transactionTemplate.execute(status -> {
+            Invoice invoice = Invoice.create(
+                customerId,
+                InvoiceNumber.generate((int) (System.nanoTime() % 100000)),
+                LocalDate.now(),
+                LocalDate.now().plusDays(30),
+                PaymentTerms.NET_30
+            );
+            invoice.addLineItem(LineItem.create(
+                "Marketplace payout",
+                1,
+                Money.of(300.00),
+                DiscountType.NONE,
+                Money.zero(),
+                BigDecimal.ZERO,
+                0
+            ));
+            invoice.markAsSent();
+            return invoiceRepository.save(invoice).getId();
+        });
+    }
+    
+    @AfterEach
+    void tearDown() {
+        transactionTemplate.executeWithoutResult(status -> {
+            paymentRepository.deleteAll(paymentRepository.findByInvoiceId(invoiceId, Pageable.unpaged()).getContent());
+            invoiceRepository.deleteById(invoiceId);
+            customerRepository.deleteById(customerId);
+        });
+    }
+    
+    @Test
+    void testConcurrentPartialPaymentsAllSucceed() throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService payers = Executors.newFixedThreadPool(PAYMENTS);
+        
+        List<Future<?>> results = new ArrayList<>();
+        for (int i = 0; i < PAYMENTS; i++) {
+            results.add(payers.submit(() -> {
+                start.await();
+                return messageBus.dispatch(RecordPaymentCommand.builder()
+                    .invoiceId(invoiceId)
+                    .amount(Money.of(100.00))
+                    .paymentMethod(PaymentMethod.ACH)
+                    .paymentDate(LocalDate.now())
+                    .createdByUserId(UUID.randomUUID())
+                    .build());
+            }));
+        }
+        start.countDown();
+        for (Future<?> result : results) {
+            result.get(30, TimeUnit.SECONDS);
+        }
+        payers.shutdown();
+        
+        Invoice invoice = invoiceRepository.findById(invoiceId).orElseThrow();
+        assertThat(invoice.getAmountPaid().getAmount()).isEqualByComparingTo(BigDecimal.valueOf(300.00));
+        assertThat(invoice.getBalanceDue().getAmount()).isEqualByComparingTo(BigDecimal.ZERO);
+        assertThat(paymentRepository.findByInvoiceId(invoiceId, Pageable.unpaged()).getTotalElements()).isEqualTo(PAYMENTS);
+        
+        DistributionSummary attempts = meterRegistry.find("invoiceme.bus.attempts")
+            .tag("message", "RecordPaymentCommand")
+            .summary();
+        assertThat(attempts).isNotNull();
+        assertThat(attempts.count()).isGreaterThanOrEqualTo(PAYMENTS);
+    }
+}
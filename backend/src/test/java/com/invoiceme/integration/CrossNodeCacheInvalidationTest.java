@@ -0,0 +1,185 @@
+package com.invoiceme.integration;
+
+import com.invoiceme.InvoiceMeApplication;
+import com.invoiceme.domain.common.CustomerStatus;
+import com.invoiceme.domain.common.CustomerType;
+import com.invoiceme.domain.common.DiscountType;
+import com.invoiceme.domain.common.DomainEventPublisher;
+import com.invoiceme.domain.common.Email;
+import com.invoiceme.domain.common.InvoiceNumber;
+import com.invoiceme.domain.common.InvoiceStatus;
+import com.invoiceme.domain.common.Money;
+import com.invoiceme.domain.common.PaymentTerms;
+import com.invoiceme.domain.customer.Customer;
+import com.invoiceme.domain.invoice.Invoice;
+import com.invoiceme.domain.invoice.LineItem;
+import com.invoiceme.infrastructure.analytics.ReceivablesSnapshot;
+import com.invoiceme.infrastructure.cache.CacheInvalidationBus;
+import com.invoiceme.infrastructure.cache.DashboardCache;
+import com.invoiceme.infrastructure.persistence.CustomerRepository;
+import com.invoiceme.infrastructure.persistence.InvoiceRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs two application contexts against the same database to stand in for two nodes, and checks that
+ * an invalidation published on one reaches the dashboard cache, receivables snapshot and second-level cache
+ * of the other.
+ */
+public class CrossNodeCacheInvalidationTest {
+    
+    private ConfigurableApplicationContext nodeA;
+    private ConfigurableApplicationContext nodeB;
+    
+    @BeforeEach
+    void setUp() {
+        nodeA = startNode();
+        nodeB = startNode();
+    }
+    
+    @AfterEach
+    void tearDown() {
+        if (nodeA != null) {
+            nodeA.close();
+        }
+        if (nodeB != null) {
+            nodeB.close();
+        }
+    }
+    
+    @Test
+    void testInvalidationPublishedOnOneNodeReachesTheOther() throws InterruptedException {
+        DashboardCache cacheA = nodeA.getBean(DashboardCache.class);
+        DashboardCache cacheB = nodeB.getBean(DashboardCache.class);
+        assertThat(cacheA.<Integer>get("metrics", () -> 1)).isEqualTo(1);
+        assertThat(cacheB.<Integer>get("metrics", () -> 1)).isEqualTo(1);
+        
+        // Let both LISTEN connections come up before publishing
+        Thread.sleep(1000);
+        nodeA.getBean(CacheInvalidationBus.class).publish("dashboard");
+        
+        // Node B serves the stale value once, refreshes in the background, then returns the new one
+        long deadline = System.currentTimeMillis() + 5000;
+        Integer value = cacheB.get("metrics", () -> 2);
+        while (value != 2 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+            value = cacheB.get("metrics", () -> 2);
+        }
+        assertThat(value).isEqualTo(2);
+        
+        // The publishing node ignores its own message
+        assertThat(cacheA.<Integer>get("metrics", () -> 3)).isEqualTo(1);
+    }
+    
+    @Test
+    void testBurstOfInvalidationsIsBatchedIntoFewMessages() throws InterruptedException {
+        Thread.sleep(1000);
+        CacheInvalidationBus busA = nodeA.getBean(CacheInvalidationBus.class);
+        for (int i = 0; i < 100; i++) {
+            busA.publish("dashboard");
+        }
+        Thread.sleep(1500);
+        
+        MeterRegistry registryB = nodeB.getBean(MeterRegistry.class);
+        double received = registryB.counter("cache.invalidation.messages", "direction", "received").count();
+        assertThat(received).isBetween(1.0, 3.0);
+    }
+    
+    @Test
+    void testReceivablesSnapshotFollowsWritesOnTheOtherNode() throws InterruptedException {
+        ReceivablesSnapshot snapshotB = nodeB.getBean(ReceivablesSnapshot.class);
+        long deadline = System.currentTimeMillis() + 10000;
+        while (!snapshotB.isReady() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+        assertThat(snapshotB.isReady()).isTrue();
+        Thread.sleep(1000);
+        long sentBefore = snapshotB.statusTotals().get(InvoiceStatus.SENT).count();
+        
+        TransactionTemplate transactionA = new TransactionTemplate(nodeA.getBean(PlatformTransactionManager.class));
+        CustomerRepository customersA = nodeA.getBean(CustomerRepository.class);
+        InvoiceRepository invoicesA = nodeA.getBean(InvoiceRepository.class);
+        UUID[] ids = transactionA.execute(status -> {
+            Customer customer = customersA.save(Customer.create(
+                "Snapshot Node Company",
+                Email.of("snapshot-node-" + UUID.randomUUID() + "@example.com"),
+                CustomerType.COMMERCIAL));
+            Invoice invoice = Invoice.create(customer.getId(),
+                InvoiceNumber.generate((int) (System.nanoTime() % 9999) + 1),
+                LocalDate.now(), LocalDate.now().plusDays(30), PaymentTerms.NET_30);
+            invoice.addLineItem(LineItem.create(
+                "Service", 1, Money.of(40.00), DiscountType.NONE, Money.zero(), BigDecimal.ZERO, 0));
+            invoice.markAsSent();
+            invoice = invoicesA.save(invoice);
+            nodeA.getBean(DomainEventPublisher.class).publishEvents(invoice);
+            return new UUID[] {invoice.getId(), customer.getId()};
+        });
+        
+        try {
+            deadline = System.currentTimeMillis() + 5000;
+            while (snapshotB.statusTotals().get(InvoiceStatus.SENT).count() == sentBefore
+                    && System.currentTimeMillis() < deadline) {
+                Thread.sleep(50);
+            }
+            assertThat(snapshotB.statusTotals().get(InvoiceStatus.SENT).count()).isEqualTo(sentBefore + 1);
+        } finally {
+            transactionA.executeWithoutResult(status -> {
+                invoicesA.deleteById(ids[0]);
+                customersA.deleteById(ids[1]);
+            });
+        }
+    }
+    
+    @Test
+    void testCustomerInsertedOnOneNodeInvalidatesCachedCountsOnTheOther() throws InterruptedException {
+        CustomerRepository customersA = nodeA.getBean(CustomerRepository.class);
+        CustomerRepository customersB = nodeB.getBean(CustomerRepository.class);
+        TransactionTemplate transactionA = new TransactionTemplate(nodeA.getBean(PlatformTransactionManager.class));
+        TransactionTemplate transactionB = new TransactionTemplate(nodeB.getBean(PlatformTransactionManager.class));
+        long activeBefore = transactionB.execute(status -> customersB.countByStatus(CustomerStatus.ACTIVE));
+        Thread.sleep(1000);
+        
+        UUID customerId = transactionA.execute(status -> customersA.save(Customer.create(
+            "L2 Node Company",
+            Email.of("l2-node-" + UUID.randomUUID() + "@example.com"),
+            CustomerType.COMMERCIAL)).getId());
+        
+        try {
+            long deadline = System.currentTimeMillis() + 5000;
+            long active = transactionB.execute(status -> customersB.countByStatus(CustomerStatus.ACTIVE));
+            while (active == activeBefore && System.currentTimeMillis() < deadline) {
+                Thread.sleep(50);
+                active = transactionB.execute(status -> customersB.countByStatus(CustomerStatus.ACTIVE));
+            }
+            assertThat(active).isEqualTo(activeBefore + 1);
+        } finally {
+            transactionA.executeWithoutResult(status -> customersA.deleteById(customerId));
+        }
+    }
+    
+    private ConfigurableApplicationContext startNode() {
+        return new SpringApplicationBuilder(InvoiceMeApplication.class)
+            .web(WebApplicationType.NONE)
+            .profiles("test")
+            .properties(
+                "app.dashboard-cache.invalidation-window-ms=0",
+                "app.cache.invalidation.flush-interval-ms=50",
+                "app.cache.invalidation.poll-timeout-ms=100",
+                "app.analytics.receivables-snapshot.enabled=true"
+            )
+            .run();
+    }
+}
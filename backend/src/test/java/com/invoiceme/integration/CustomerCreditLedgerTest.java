@@ -0,0 +1,156 @@
+package com.invoiceme.integration;
+
+import com.invoiceme.customers.credit.CreditLedgerService;
+import com.invoiceme.domain.common.CreditEntryType;
+import com.invoiceme.domain.common.CustomerType;
+import com.invoiceme.domain.common.DiscountType;
+import com.invoiceme.domain.common.Email;
+import com.invoiceme.domain.common.InvoiceNumber;
+import com.invoiceme.domain.common.Money;
+import com.invoiceme.domain.common.PaymentTerms;
+import com.invoiceme.domain.customer.Customer;
+import com.invoiceme.domain.invoice.Invoice;
+import com.invoiceme.domain.invoice.LineItem;
+import com.invoiceme.infrastructure.persistence.CreditLedgerRepository;
+import com.invoiceme.infrastructure.persistence.CustomerRepository;
+import com.invoiceme.infrastructure.persistence.InvoiceRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Customer credit ledger: insert-only credits, reservations for invoices and snapshot compaction.
+ * Not @Transactional: compaction only folds in entries from committed transactions.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+public class CustomerCreditLedgerTest {
+    
+    @Autowired
+    private CreditLedgerService creditLedgerService;
+    
+    @Autowired
+    private CreditLedgerRepository creditLedgerRepository;
+    
+    @Autowired
+    private CustomerRepository customerRepository;
+    
+    @Autowired
+    private InvoiceRepository invoiceRepository;
+    
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    
+    private UUID customerId;
+    private final List<UUID> invoiceIds = new ArrayList<>();
+    
+    @BeforeEach
+    void setUp() {
+        customerId = transactionTemplate.execute(status -> customerRepository.save(Customer.create(
+            "Ledger Company",
+            Email.of("ledger-" + UUID.randomUUID() + "@example.com"),
+            CustomerType.COMMERCIAL
+        )).getId());
+    }
+    
+    @AfterEach
+    void tearDown() {
+        transactionTemplate.executeWithoutResult(status -> {
+            invoiceRepository.deleteAllById(invoiceIds);
+            // Ledger entries and snapshots cascade with the customer
+            customerRepository.deleteById(customerId);
+        });
+    }
+    
+    @Test
+    void testCreditsAreAppendedWithoutTouchingCustomerRow() {
+        Integer versionBefore = customerRepository.findById(customerId).orElseThrow().getVersion();
+        
+        credit(Money.of(10.00));
+        credit(Money.of(20.00));
+        
+        assertThat(creditLedgerService.getBalance(customerId).getAmount()).isEqualByComparingTo("30.00");
+        assertThat(creditLedgerRepository.findByCustomerIdOrderByCreatedAtAsc(customerId)).hasSize(2);
+        assertThat(customerRepository.findById(customerId).orElseThrow().getVersion()).isEqualTo(versionBefore);
+    }
+    
+    @Test
+    void testReservationsNeverExceedBalance() {
+        credit(Money.of(100.00));
+        UUID first = createDraftInvoice(Money.of(80.00));
+        UUID second = createDraftInvoice(Money.of(80.00));
+        
+        assertThat(reserve(first).getAmount()).isEqualByComparingTo("80.00");
+        assertThat(reserve(second).getAmount()).isEqualByComparingTo("20.00");
+        assertThat(creditLedgerService.getBalance(customerId).isZero()).isTrue();
+    }
+    
+    @Test
+    void testCreditIsReservedOncePerInvoice() {
+        credit(Money.of(100.00));
+        UUID invoiceId = createDraftInvoice(Money.of(30.00));
+        
+        reserve(invoiceId);
+        
+        assertThatThrownBy(() -> reserve(invoiceId))
+            .isInstanceOf(IllegalStateException.class);
+        assertThat(creditLedgerService.getBalance(customerId).getAmount()).isEqualByComparingTo("70.00");
+    }
+    
+    @Test
+    void testCompactionPreservesBalance() {
+        credit(Money.of(10.00));
+        credit(Money.of(15.00));
+        credit(Money.of(25.00));
+        
+        int compacted = creditLedgerService.compact(1);
+        
+        assertThat(compacted).isGreaterThanOrEqualTo(1);
+        assertThat(creditLedgerService.getBalance(customerId).getAmount()).isEqualByComparingTo("50.00");
+        
+        credit(Money.of(5.00));
+        assertThat(creditLedgerService.getBalance(customerId).getAmount()).isEqualByComparingTo("55.00");
+        assertThat(creditLedgerService.getBalances(List.of(customerId)).get(customerId).getAmount())
+            .isEqualByComparingTo("55.00");
+    }
+    
+    private void credit(Money amount) {
+        transactionTemplate.executeWithoutResult(status -> creditLedgerService.applyCredit(
+            customerRepository.findById(customerId).orElseThrow(), amount, CreditEntryType.OVERPAYMENT, UUID.randomUUID()));
+    }
+    
+    private Money reserve(UUID invoiceId) {
+        return transactionTemplate.execute(status -> creditLedgerService.reserveForInvoice(
+            customerRepository.findById(customerId).orElseThrow(),
+            invoiceRepository.findById(invoiceId).orElseThrow()));
+    }
+    
+    private UUID createDraftInvoice(Money total) {
+        UUID invoiceId = transactionTemplate.execute(status -> {
+            Invoice invoice = Invoice.create(
+                customerId,
+                InvoiceNumber.generate((int) (System.nanoTime() % 100000)),
+                LocalDate.now(),
+                LocalDate.now().plusDays(30),
+                PaymentTerms.NET_30
+            );
+            invoice.addLineItem(LineItem.create("Service", 1, total, DiscountType.NONE, Money.zero(), BigDecimal.ZERO, 0));
+            return invoiceRepository.save(invoice).getId();
+        });
+        invoiceIds.add(invoiceId);
+        return invoiceId;
+    }
+}
@@ -0,0 +1,166 @@
+package com.invoiceme.integration;
+
+import com.invoiceme.customers.shared.PaymentBehaviorDto;
+import com.invoiceme.dashboard.getcollections.CollectionsResponse;
+import com.invoiceme.dashboard.getcollections.GetCollectionsQuery;
+import com.invoiceme.domain.common.CustomerType;
+import com.invoiceme.domain.common.DiscountType;
+import com.invoiceme.domain.common.DomainEventPublisher;
+import com.invoiceme.domain.common.Email;
+import com.invoiceme.domain.common.InvoiceNumber;
+import com.invoiceme.domain.common.Money;
+import com.invoiceme.domain.common.PaymentMethod;
+import com.invoiceme.domain.common.PaymentTerms;
+import com.invoiceme.domain.customer.Customer;
+import com.invoiceme.domain.invoice.Invoice;
+import com.invoiceme.domain.invoice.LineItem;
+import com.invoiceme.infrastructure.bus.MessageBus;
+import com.invoiceme.infrastructure.persistence.CustomerPaymentStats;
+import com.invoiceme.infrastructure.persistence.CustomerPaymentStatsRepository;
+import com.invoiceme.infrastructure.persistence.CustomerRepository;
+import com.invoiceme.infrastructure.persistence.InvoiceRepository;
+import com.invoiceme.infrastructure.persistence.PaymentRepository;
+import com.invoiceme.infrastructure.scheduled.PaymentStatsBackfillJob;
+import com.invoiceme.payments.recordpayment.RecordPaymentCommand;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * customer_payment_stats is maintained from committed payments and rebuilt identically by the backfill.
+ * Not @Transactional: the stats are updated before commit.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+public class CustomerPaymentBehaviorTest {
+    
+    @Autowired
+    private MessageBus messageBus;
+    
+    @Autowired
+    private CustomerRepository customerRepository;
+    
+    @Autowired
+    private InvoiceRepository invoiceRepository;
+    
+    @Autowired
+    private PaymentRepository paymentRepository;
+    
+    @Autowired
+    private CustomerPaymentStatsRepository paymentStatsRepository;
+    
+    @Autowired
+    private PaymentStatsBackfillJob backfillJob;
+    
+    @Autowired
+    private DomainEventPublisher eventPublisher;
+    
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    private UUID customerId;
+    private UUID invoiceId;
+    
+    @BeforeEach
+    void setUp() {
+        customerId = transactionTemplate.execute(status -> customerRepository.save(Customer.create(
+            "Payment Behavior Company",
+            Email.of("behavior-" + UUID.randomUUID() + "@example.com"),
+            CustomerType.COMMERCIAL
+        )).getId());
+        
+        // Issued 20 days ago, due 10 days ago
+        invoiceId = transactionTemplate.execute(status -> {
+            Invoice invoice = Invoice.create(
+                customerId,
+                InvoiceNumber.generate((int) (System.nanoTime() % 100000)),
+                LocalDate.now().minusDays(20),
+                LocalDate.now().minusDays(10),
+                PaymentTerms.NET_30
+            );
+            invoice.addLineItem(LineItem.create(
+                "Quarterly audit",
+                1,
+                Money.of(500.00),
+                DiscountType.NONE,
+                Money.zero(),
+                BigDecimal.ZERO,
+                0
+            ));
+            invoice.markAsSent();
+            Invoice saved = invoiceRepository.save(invoice);
+            eventPublisher.publishEvents(saved);
+            return saved.getId();
+        });
+        
+        messageBus.dispatch(RecordPaymentCommand.builder()
+            .invoiceId(invoiceId)
+            .amount(Money.of(500.00))
+            .paymentMethod(PaymentMethod.ACH)
+            .paymentDate(LocalDate.now())
+            .createdByUserId(UUID.randomUUID())
+            .build());
+    }
+    
+    @AfterEach
+    void tearDown() {
+        transactionTemplate.executeWithoutResult(status -> {
+            paymentRepository.deleteAll(paymentRepository.findByInvoiceId(invoiceId, Pageable.unpaged()).getContent());
+            invoiceRepository.deleteById(invoiceId);
+            customerRepository.deleteById(customerId);
+        });
+    }
+    
+    private void assertPaidTwentyDaysAfterIssueTenDaysLate(CustomerPaymentStats stats) {
+        assertThat(stats.getPaidInvoiceCount()).isEqualTo(1);
+        assertThat(stats.getPaidOnTimeCount()).isZero();
+        assertThat(stats.averageDaysToPay()).isEqualByComparingTo(BigDecimal.valueOf(20));
+        assertThat(stats.averageDaysLate()).isEqualByComparingTo(BigDecimal.valueOf(10));
+        assertThat(stats.onTimeRatio()).isEqualByComparingTo(BigDecimal.ZERO);
+        assertThat(stats.getCollectedAmount()).isEqualByComparingTo(BigDecimal.valueOf(500.00));
+        assertThat(stats.daysSalesOutstanding()).isEqualByComparingTo(BigDecimal.valueOf(20));
+    }
+    
+    @Test
+    void testStatsAreMaintainedFromPaymentEvents() {
+        assertPaidTwentyDaysAfterIssueTenDaysLate(paymentStatsRepository.findById(customerId).orElseThrow());
+        
+        CollectionsResponse collections = messageBus.dispatch(new GetCollectionsQuery());
+        PaymentBehaviorDto companyWide = collections.getCompanyWide();
+        assertThat(companyWide.getPaidInvoices()).isGreaterThanOrEqualTo(1);
+        assertThat(companyWide.getDaysSalesOutstanding()).isNotNull();
+    }
+    
+    @Test
+    void testBackfillRebuildsTheSameStatsFromHistory() throws InterruptedException {
+        jdbcTemplate.update("UPDATE customer_payment_stats SET paid_invoice_count = 0, paid_on_time_count = 0, " +
+            "total_days_to_pay = 0, total_days_late = 0, collected_amount = 0, collected_amount_days = 0, " +
+            "backfilled_at = NULL WHERE customer_id = ?", customerId);
+        // The startup run may still be going
+        for (int i = 0; i < 100 && backfillJob.isRunning(); i++) {
+            Thread.sleep(100);
+        }
+        
+        assertThat(backfillJob.backfill()).isGreaterThanOrEqualTo(1);
+        
+        CustomerPaymentStats rebuilt = paymentStatsRepository.findById(customerId).orElseThrow();
+        assertPaidTwentyDaysAfterIssueTenDaysLate(rebuilt);
+        assertThat(rebuilt.getBackfilledAt()).isNotNull();
+        assertThat(paymentStatsRepository.countPending()).isZero();
+    }
+}
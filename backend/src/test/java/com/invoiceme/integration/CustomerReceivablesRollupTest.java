@@ -0,0 +1,218 @@
+package com.invoiceme.integration;
+
+import com.invoiceme.customers.deletecustomer.DeleteCustomerCommand;
+import com.invoiceme.customers.listcustomers.ListCustomersQuery;
+import com.invoiceme.domain.common.CustomerType;
+import com.invoiceme.domain.common.DiscountType;
+import com.invoiceme.domain.common.DomainEventPublisher;
+import com.invoiceme.domain.common.Email;
+import com.invoiceme.domain.common.InvoiceNumber;
+import com.invoiceme.domain.common.Money;
+import com.invoiceme.domain.common.PaymentMethod;
+import com.invoiceme.domain.common.PaymentTerms;
+import com.invoiceme.domain.customer.Customer;
+import com.invoiceme.domain.invoice.Invoice;
+import com.invoiceme.domain.invoice.LineItem;
+import com.invoiceme.infrastructure.bus.MessageBus;
+import com.invoiceme.infrastructure.persistence.CustomerReceivables;
+import com.invoiceme.infrastructure.persistence.CustomerReceivablesRepository;
+import com.invoiceme.infrastructure.persistence.CustomerRepository;
+import com.invoiceme.infrastructure.persistence.InvoiceRepository;
+import com.invoiceme.infrastructure.persistence.PaymentRepository;
+import com.invoiceme.invoices.cancelinvoice.CancelInvoiceCommand;
+import com.invoiceme.payments.recordpayment.RecordPaymentCommand;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * The customer_receivables rollup follows committed invoice and payment changes and backs the customer
+ * list balance filters and the delete check. Not @Transactional: the rollup is updated before commit.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+public class CustomerReceivablesRollupTest {
+    
+    @Autowired
+    private MessageBus messageBus;
+    
+    @Autowired
+    private CustomerRepository customerRepository;
+    
+    @Autowired
+    private CustomerReceivablesRepository customerReceivablesRepository;
+    
+    @Autowired
+    private InvoiceRepository invoiceRepository;
+    
+    @Autowired
+    private PaymentRepository paymentRepository;
+    
+    @Autowired
+    private DomainEventPublisher eventPublisher;
+    
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    
+    private UUID customerId;
+    private UUID invoiceId;
+    
+    @BeforeEach
+    void setUp() {
+        customerId = transactionTemplate.execute(status -> customerRepository.save(Customer.create(
+            "Rollup Company",
+            Email.of("rollup-" + UUID.randomUUID() + "@example.com"),
+            CustomerType.COMMERCIAL
+        )).getId());
+    }
+    
+    @AfterEach
+    void tearDown() {
+        transactionTemplate.executeWithoutResult(status -> {
+            if (invoiceId != null) {
+                paymentRepository.deleteAll(paymentRepository.findByInvoiceId(invoiceId, Pageable.unpaged()).getContent());
+                invoiceRepository.deleteById(invoiceId);
+            }
+            customerRepository.deleteById(customerId);
+        });
+    }
+    
+    private void sendInvoice(double amount) {
+        invoiceId = transactionTemplate.execute(status -> {
+            Invoice invoice = Invoice.create(
+                customerId,
+                InvoiceNumber.generate((int) (System.nanoTime() % 100000)),
+                LocalDate.now(),
+                LocalDate.now().plusDays(30),
+                PaymentTerms.NET_30
+            );
+            invoice.addLineItem(LineItem.create(
+                "Retainer",
+                1,
+                Money.of(amount),
+                DiscountType.NONE,
+                Money.zero(),
+                BigDecimal.ZERO,
+                0
+            ));
+            invoice.markAsSent();
+            Invoice saved = invoiceRepository.save(invoice);
+            eventPublisher.publishEvents(saved);
+            return saved.getId();
+        });
+    }
+    
+    private CustomerReceivables receivables() {
+        return customerReceivablesRepository.findById(customerId).orElseThrow();
+    }
+    
+    @Test
+    void testRollupRowIsCreatedWithTheCustomer() {
+        CustomerReceivables receivables = receivables();
+        
+        assertThat(receivables.getOpenBalance().getAmount()).isEqualByComparingTo(BigDecimal.ZERO);
+        assertThat(receivables.getOpenCount()).isZero();
+        assertThat(receivables.hasOpenInvoices()).isFalse();
+    }
+    
+    @Test
+    void testRollupFollowsSentInvoicesAndPayments() {
+        sendInvoice(400.00);
+        
+        CustomerReceivables afterSend = receivables();
+        assertThat(afterSend.getOpenBalance().getAmount()).isEqualByComparingTo(BigDecimal.valueOf(400.00));
+        assertThat(afterSend.getOpenCount()).isEqualTo(1);
+        assertThat(afterSend.getLifetimeBilled().getAmount()).isEqualByComparingTo(BigDecimal.valueOf(400.00));
+        
+        messageBus.dispatch(RecordPaymentCommand.builder()
+            .invoiceId(invoiceId)
+            .amount(Money.of(150.00))
+            .paymentMethod(PaymentMethod.ACH)
+            .paymentDate(LocalDate.now())
+            .createdByUserId(UUID.randomUUID())
+            .build());
+        
+        CustomerReceivables afterPayment = receivables();
+        assertThat(afterPayment.getOpenBalance().getAmount()).isEqualByComparingTo(BigDecimal.valueOf(250.00));
+        assertThat(afterPayment.getLifetimePaid().getAmount()).isEqualByComparingTo(BigDecimal.valueOf(150.00));
+        assertThat(afterPayment.getLastPaymentDate()).isEqualTo(LocalDate.now());
+    }
+    
+    @Test
+    void testDeltasAgreeWithARecompute() {
+        sendInvoice(300.00);
+        messageBus.dispatch(RecordPaymentCommand.builder()
+            .invoiceId(invoiceId)
+            .amount(Money.of(350.00))
+            .paymentMethod(PaymentMethod.ACH)
+            .paymentDate(LocalDate.now())
+            .createdByUserId(UUID.randomUUID())
+            .build());
+        
+        CustomerReceivables applied = receivables();
+        assertThat(applied.getOpenBalance().getAmount()).isEqualByComparingTo(BigDecimal.ZERO);
+        assertThat(applied.getOpenCount()).isZero();
+        assertThat(applied.getLifetimePaid().getAmount()).isEqualByComparingTo(BigDecimal.valueOf(350.00));
+        
+        transactionTemplate.executeWithoutResult(status -> customerReceivablesRepository.refresh(List.of(customerId)));
+        
+        CustomerReceivables recomputed = receivables();
+        assertThat(recomputed.getOpenBalance()).isEqualTo(applied.getOpenBalance());
+        assertThat(recomputed.getOpenCount()).isEqualTo(applied.getOpenCount());
+        assertThat(recomputed.getOverdueBalance()).isEqualTo(applied.getOverdueBalance());
+        assertThat(recomputed.getLifetimeBilled()).isEqualTo(applied.getLifetimeBilled());
+        assertThat(recomputed.getLifetimePaid()).isEqualTo(applied.getLifetimePaid());
+        assertThat(recomputed.getLastPaymentDate()).isEqualTo(applied.getLastPaymentDate());
+    }
+    
+    @Test
+    void testCancellingASentInvoiceTakesItOutOfTheRollup() {
+        sendInvoice(250.00);
+        
+        messageBus.dispatch(new CancelInvoiceCommand(invoiceId));
+        
+        CustomerReceivables receivables = receivables();
+        assertThat(receivables.getOpenBalance().getAmount()).isEqualByComparingTo(BigDecimal.ZERO);
+        assertThat(receivables.getOpenCount()).isZero();
+        assertThat(receivables.getLifetimeBilled().getAmount()).isEqualByComparingTo(BigDecimal.ZERO);
+    }
+    
+    @Test
+    void testBalanceFiltersAndDeleteCheckReadTheRollup() {
+        sendInvoice(900.00);
+        
+        Page<Customer> outstanding = messageBus.dispatch(ListCustomersQuery.builder()
+            .hasOutstandingBalance(true)
+            .minOpenBalance(BigDecimal.valueOf(500.00))
+            .page(0)
+            .size(1000)
+            .sort("openBalance,desc")
+            .build());
+        assertThat(outstanding.getContent()).extracting(Customer::getId).contains(customerId);
+        
+        Page<Customer> overdue = messageBus.dispatch(ListCustomersQuery.builder()
+            .hasOverdueBalance(true)
+            .page(0)
+            .size(1000)
+            .build());
+        assertThat(overdue.getContent()).extracting(Customer::getId).doesNotContain(customerId);
+        
+        assertThatThrownBy(() -> messageBus.dispatch(new DeleteCustomerCommand(customerId)))
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessageContaining("outstanding invoices");
+    }
+}
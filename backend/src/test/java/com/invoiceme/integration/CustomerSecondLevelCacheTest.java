@@ -0,0 +1,199 @@
+package com.invoiceme.integration;
+
+import com.invoiceme.domain.common.CustomerStatus;
+import com.invoiceme.domain.common.CustomerType;
+import com.invoiceme.domain.common.DiscountType;
+import com.invoiceme.domain.common.DomainEventPublisher;
+import com.invoiceme.domain.common.Email;
+import com.invoiceme.domain.common.InvoiceNumber;
+import com.invoiceme.domain.common.Money;
+import com.invoiceme.domain.common.PaymentMethod;
+import com.invoiceme.domain.common.PaymentTerms;
+import com.invoiceme.domain.customer.Customer;
+import com.invoiceme.domain.invoice.Invoice;
+import com.invoiceme.domain.invoice.LineItem;
+import com.invoiceme.infrastructure.bus.MessageBus;
+import com.invoiceme.infrastructure.persistence.CustomerRepository;
+import com.invoiceme.infrastructure.persistence.InvoiceRepository;
+import com.invoiceme.infrastructure.persistence.PaymentRepository;
+import com.invoiceme.payments.recordpayment.RecordPaymentCommand;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Second-level cache behaviour for Customer. Not @Transactional: cache puts and invalidations
+ * only happen when transactions commit, so each step runs in its own transaction.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+public class CustomerSecondLevelCacheTest {
+    
+    @Autowired
+    private CustomerRepository customerRepository;
+    
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    
+    @Autowired
+    private InvoiceRepository invoiceRepository;
+    
+    @Autowired
+    private PaymentRepository paymentRepository;
+    
+    @Autowired
+    private MessageBus messageBus;
+    
+    @Autowired
+    private DomainEventPublisher eventPublisher;
+    
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    
+    private Statistics statistics;
+    private UUID customerId;
+    private UUID invoiceId;
+    
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        
+        Customer customer = Customer.create(
+            "L2 Cache Company",
+            Email.of("l2cache-" + UUID.randomUUID() + "@example.com"),
+            CustomerType.COMMERCIAL
+        );
+        customerId = transactionTemplate.execute(status -> customerRepository.save(customer).getId());
+        entityManagerFactory.getCache().evict(Customer.class);
+        statistics.clear();
+    }
+    
+    @AfterEach
+    void tearDown() {
+        transactionTemplate.executeWithoutResult(status -> {
+            if (invoiceId != null) {
+                paymentRepository.deleteAll(paymentRepository.findByInvoiceId(invoiceId, Pageable.unpaged()).getContent());
+                invoiceRepository.deleteById(invoiceId);
+            }
+            customerRepository.deleteById(customerId);
+        });
+    }
+    
+    @Test
+    void testRepeatedFindByIdIsServedFromCache() {
+        findInNewTransaction();
+        findInNewTransaction();
+        findInNewTransaction();
+        
+        var region = statistics.getDomainDataRegionStatistics("customer");
+        assertThat(region.getMissCount()).isEqualTo(1);
+        assertThat(region.getHitCount()).isEqualTo(2);
+    }
+    
+    @Test
+    void testCommittedUpdateIsVisibleThroughCache() {
+        Customer cached = findInNewTransaction();
+        
+        transactionTemplate.executeWithoutResult(status -> {
+            Customer customer = customerRepository.findById(customerId).orElseThrow();
+            customer.update(null, null, "555-0150", null, null);
+            customerRepository.save(customer);
+        });
+        
+        Customer reloaded = findInNewTransaction();
+        assertThat(reloaded.getPhone()).isEqualTo("555-0150");
+        assertThat(reloaded.getVersion()).isEqualTo(cached.getVersion() + 1);
+    }
+    
+    @Test
+    void testOptimisticLockFailureDoesNotLeaveStaleEntry() {
+        Customer stale = findInNewTransaction();
+        
+        transactionTemplate.executeWithoutResult(status -> {
+            Customer customer = customerRepository.findById(customerId).orElseThrow();
+            customer.update(null, null, "555-0110", null, null);
+        });
+        
+        // Saving the detached copy loaded before the update must fail, not overwrite the cache
+        stale.update(null, null, "555-0199", null, null);
+        assertThatThrownBy(() -> transactionTemplate.executeWithoutResult(status -> customerRepository.save(stale)))
+            .isInstanceOf(ObjectOptimisticLockingFailureException.class);
+        
+        Customer reloaded = findInNewTransaction();
+        assertThat(reloaded.getPhone()).isEqualTo("555-0110");
+    }
+    
+    @Test
+    void testCountByStatusUsesQueryCache() {
+        transactionTemplate.executeWithoutResult(status -> customerRepository.countByStatus(CustomerStatus.ACTIVE));
+        transactionTemplate.executeWithoutResult(status -> customerRepository.countByStatus(CustomerStatus.ACTIVE));
+        
+        assertThat(statistics.getQueryCacheHitCount()).isGreaterThanOrEqualTo(1);
+    }
+    
+    @Test
+    void testCachedCustomerSurvivesRecordedPayment() {
+        sendInvoice(300.00);
+        findInNewTransaction();
+        
+        // The payment's rollup updates are native statements; they must not evict the customer region
+        messageBus.dispatch(RecordPaymentCommand.builder()
+            .invoiceId(invoiceId)
+            .amount(Money.of(100.00))
+            .paymentMethod(PaymentMethod.ACH)
+            .paymentDate(LocalDate.now())
+            .createdByUserId(UUID.randomUUID())
+            .build());
+        statistics.clear();
+        
+        findInNewTransaction();
+        var region = statistics.getDomainDataRegionStatistics("customer");
+        assertThat(region.getMissCount()).isZero();
+        assertThat(region.getHitCount()).isEqualTo(1);
+    }
+    
+    private void sendInvoice(double amount) {
+        invoiceId = transactionTemplate.execute(status -> {
+            Invoice invoice = Invoice.create(
+                customerId,
+                InvoiceNumber.generate((int) (System.nanoTime() % 100000)),
+                LocalDate.now(),
+                LocalDate.now().plusDays(30),
+                PaymentTerms.NET_30
+            );
+            invoice.addLineItem(LineItem.create(
+                "Retainer",
+                1,
+                Money.of(amount),
+                DiscountType.NONE,
+                Money.zero(),
+                BigDecimal.ZERO,
+                0
+            ));
+            invoice.markAsSent();
+            Invoice saved = invoiceRepository.save(invoice);
+            eventPublisher.publishEvents(saved);
+            return saved.getId();
+        });
+    }
+    
+    private Customer findInNewTransaction() {
+        return transactionTemplate.execute(status -> customerRepository.findById(customerId).orElseThrow());
+    }
+}
@@ -0,0 +1,180 @@
+package com.invoiceme.integration;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.invoiceme.customers.getstatement.CustomerStatement;
+import com.invoiceme.customers.getstatement.GetStatementQuery;
+import com.invoiceme.customers.getstatement.StatementExporter;
+import com.invoiceme.customers.getstatement.StatementFormat;
+import com.invoiceme.domain.common.CustomerType;
+import com.invoiceme.domain.common.DiscountType;
+import com.invoiceme.domain.common.Email;
+import com.invoiceme.domain.common.InvoiceNumber;
+import com.invoiceme.domain.common.Money;
+import com.invoiceme.domain.common.PaymentMethod;
+import com.invoiceme.domain.common.PaymentTerms;
+import com.invoiceme.domain.customer.Customer;
+import com.invoiceme.domain.invoice.Invoice;
+import com.invoiceme.domain.invoice.LineItem;
+import com.invoiceme.domain.payment.Payment;
+import com.invoiceme.infrastructure.bus.MessageBus;
+import com.invoiceme.infrastructure.persistence.CustomerRepository;
+import com.invoiceme.infrastructure.persistence.InvoiceRepository;
+import com.invoiceme.infrastructure.persistence.PaymentRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+public class CustomerStatementTest {
+    
+    @Autowired
+    private MessageBus messageBus;
+    
+    @Autowired
+    private StatementExporter statementExporter;
+    
+    @Autowired
+    private CustomerRepository customerRepository;
+    
+    @Autowired
+    private InvoiceRepository invoiceRepository;
+    
+    @Autowired
+    private PaymentRepository paymentRepository;
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    private Customer customer;
+    
+    @BeforeEach
+    void setUp() {
+        customer = customerRepository.save(Customer.create(
+            "Statement Company",
+            Email.of("statement-" + UUID.randomUUID() + "@example.com"),
+            CustomerType.COMMERCIAL
+        ));
+        
+        // Before the statement period: 1000 invoiced, 400 paid -> opening balance 600
+        Invoice january = sentInvoice(LocalDate.of(2025, 1, 10), 1000.00);
+        pay(january, 400.00, LocalDate.of(2025, 2, 1));
+        
+        // Inside the period: 250 invoiced and paid in full
+        Invoice june = sentInvoice(LocalDate.of(2025, 6, 15), 250.00);
+        pay(june, 250.00, LocalDate.of(2025, 6, 20));
+        
+        invoiceRepository.flush();
+        paymentRepository.flush();
+    }
+    
+    @Test
+    void testJsonStatementCarriesRunningBalanceFromOpeningBalance() throws Exception {
+        CustomerStatement statement = messageBus.dispatch(new GetStatementQuery(
+            customer.getId(), LocalDate.of(2025, 3, 1), LocalDate.of(2025, 12, 31)));
+        
+        JsonNode json = objectMapper.readTree(export(statement, StatementFormat.JSON));
+        
+        assertThat(json.get("companyName").asText()).isEqualTo("Statement Company");
+        assertThat(json.get("openingBalance").decimalValue()).isEqualByComparingTo("600.00");
+        assertThat(json.get("lines")).hasSize(2);
+        
+        JsonNode invoiceLine = json.get("lines").get(0);
+        assertThat(invoiceLine.get("type").asText()).isEqualTo("INVOICE");
+        assertThat(invoiceLine.get("amount").decimalValue()).isEqualByComparingTo("250.00");
+        assertThat(invoiceLine.get("runningBalance").decimalValue()).isEqualByComparingTo("850.00");
+        
+        JsonNode paymentLine = json.get("lines").get(1);
+        assertThat(paymentLine.get("type").asText()).isEqualTo("PAYMENT");
+        assertThat(paymentLine.get("date").asText()).isEqualTo("2025-06-20");
+        assertThat(paymentLine.get("amount").decimalValue()).isEqualByComparingTo("-250.00");
+        assertThat(paymentLine.get("runningBalance").decimalValue()).isEqualByComparingTo("600.00");
+        
+        assertThat(json.get("closingBalance").decimalValue()).isEqualByComparingTo("600.00");
+    }
+    
+    @Test
+    void testCsvStatementHasOpeningAndClosingRows() throws Exception {
+        CustomerStatement statement = messageBus.dispatch(new GetStatementQuery(
+            customer.getId(), LocalDate.of(2025, 1, 1), LocalDate.of(2025, 12, 31)));
+        
+        String[] rows = export(statement, StatementFormat.CSV).split("\r\n");
+        
+        assertThat(rows[0]).isEqualTo("date,type,reference,description,amount,running_balance");
+        assertThat(rows[1]).startsWith("2025-01-01,OPENING_BALANCE,").endsWith(",0.00");
+        assertThat(rows).hasSize(7);
+        assertThat(rows[2]).startsWith("2025-01-10,INVOICE,").endsWith(",1000.00,1000.00");
+        assertThat(rows[3]).startsWith("2025-02-01,PAYMENT,").endsWith(",-400.00,600.00");
+        assertThat(rows[6]).isEqualTo("2025-12-31,CLOSING_BALANCE,,Closing balance,,600.00");
+    }
+    
+    @Test
+    void testPdfStatementIsRendered() throws Exception {
+        CustomerStatement statement = messageBus.dispatch(new GetStatementQuery(
+            customer.getId(), LocalDate.of(2025, 1, 1), LocalDate.of(2025, 12, 31)));
+        
+        assertThat(export(statement, StatementFormat.PDF)).startsWith("%PDF-");
+    }
+    
+    @Test
+    void testInvertedPeriodIsRejected() {
+        assertThatThrownBy(() -> messageBus.dispatch(new GetStatementQuery(
+            customer.getId(), LocalDate.of(2025, 6, 1), LocalDate.of(2025, 1, 1))))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+    
+    private String export(CustomerStatement statement, StatementFormat format) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        statementExporter.export(statement, format, out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+    
+    private Invoice sentInvoice(LocalDate issueDate, double amount) {
+        Invoice invoice = Invoice.create(
+            customer.getId(),
+            InvoiceNumber.generate(ThreadLocalRandom.current().nextInt(5000, 9999)),
+            issueDate,
+            issueDate.plusDays(30),
+            PaymentTerms.NET_30
+        );
+        invoice.addLineItem(LineItem.create(
+            "Consulting",
+            1,
+            Money.of(amount),
+            DiscountType.NONE,
+            Money.zero(),
+            BigDecimal.ZERO,
+            0
+        ));
+        invoice.markAsSent();
+        return invoiceRepository.save(invoice);
+    }
+    
+    private void pay(Invoice invoice, double amount, LocalDate paymentDate) {
+        Payment payment = Payment.record(
+            invoice,
+            customer,
+            Money.of(amount),
+            PaymentMethod.ACH,
+            paymentDate,
+            UUID.randomUUID()
+        );
+        paymentRepository.save(payment);
+        invoiceRepository.save(invoice);
+    }
+}
@@ -0,0 +1,130 @@
+package com.invoiceme.integration;
+
+import com.invoiceme.infrastructure.cache.DashboardCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Stale-while-revalidate, single-flight and debounce behaviour of the dashboard cache.
+ */
+class DashboardCacheTest {
+    
+    private SimpleMeterRegistry meterRegistry;
+    private DashboardCache cache;
+    
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new DashboardCache(
+            mock(PlatformTransactionManager.class),
+            meterRegistry,
+            Duration.ofMinutes(1),
+            Duration.ofMinutes(10),
+            200
+        );
+    }
+    
+    @AfterEach
+    void tearDown() {
+        cache.shutdown();
+    }
+    
+    @Test
+    void testConcurrentMissesComputeOnce() throws Exception {
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService callers = Executors.newFixedThreadPool(8);
+        
+        List<Future<Integer>> results = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            results.add(callers.submit(() -> cache.get("metrics", () -> {
+                loads.incrementAndGet();
+                await(release);
+                return 42;
+            })));
+        }
+        Thread.sleep(100);
+        release.countDown();
+        
+        for (Future<Integer> result : results) {
+            assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo(42);
+        }
+        assertThat(loads.get()).isEqualTo(1);
+        callers.shutdown();
+    }
+    
+    @Test
+    void testStaleValueServedWhileOneRefreshRuns() throws Exception {
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        cache.get("metrics", () -> loads.incrementAndGet());
+        
+        cache.invalidateAll();
+        Thread.sleep(400);
+        
+        // Both reads return the old value immediately; only one refresh is started
+        Integer first = cache.get("metrics", () -> {
+            await(release);
+            return loads.incrementAndGet();
+        });
+        Integer second = cache.get("metrics", () -> loads.incrementAndGet());
+        assertThat(first).isEqualTo(1);
+        assertThat(second).isEqualTo(1);
+        
+        release.countDown();
+        waitFor(() -> loads.get() == 2);
+        Thread.sleep(50);
+        assertThat(cache.<Integer>get("metrics", () -> loads.incrementAndGet())).isEqualTo(2);
+        assertThat(loads.get()).isEqualTo(2);
+        assertThat(meterRegistry.counter("dashboard.cache.requests", "result", "stale").count()).isEqualTo(2);
+    }
+    
+    @Test
+    void testInvalidationBurstIsCoalesced() throws Exception {
+        cache.get("metrics", () -> 1);
+        
+        for (int i = 0; i < 50; i++) {
+            cache.invalidateAll();
+        }
+        // Still fresh until the window closes
+        assertThat(cache.<Integer>get("metrics", () -> 2)).isEqualTo(1);
+        assertThat(meterRegistry.counter("dashboard.cache.requests", "result", "hit").count()).isEqualTo(1);
+        
+        Thread.sleep(400);
+        assertThat(meterRegistry.counter("dashboard.cache.invalidations", "phase", "requested").count())
+            .isEqualTo(50);
+        assertThat(meterRegistry.counter("dashboard.cache.invalidations", "phase", "applied").count())
+            .isEqualTo(1);
+    }
+    
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+    
+    private static void waitFor(java.util.function.BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!condition.getAsBoolean() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.invoiceme.integration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.invoiceme.domain.common.DomainEvent;
+import com.invoiceme.domain.common.Money;
+import com.invoiceme.domain.events.CustomerDeactivatedEvent;
+import com.invoiceme.domain.events.InvoicesMarkedOverdueEvent;
+import com.invoiceme.domain.events.PaymentRecordedEvent;
+import com.invoiceme.infrastructure.events.DomainEventCodec;
+import com.invoiceme.infrastructure.persistence.DomainEventStore;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Event store serialization round trips and stream bucketing. No database needed.
+ */
+public class DomainEventCodecTest {
+    
+    private final DomainEventCodec codec = new DomainEventCodec(new ObjectMapper()
+        .registerModule(new JavaTimeModule())
+        .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS));
+    
+    private <T extends DomainEvent> T roundTrip(T event) {
+        byte[] payload = codec.encode(event);
+        @SuppressWarnings("unchecked")
+        T decoded = (T) codec.decode(event.getEventType(), event.getEventId(), event.getOccurredAt(), payload);
+        return decoded;
+    }
+    
+    @Test
+    void testEventsRoundTripWithoutCallingTheirConstructors() {
+        UUID invoiceId = UUID.randomUUID();
+        PaymentRecordedEvent payment = new PaymentRecordedEvent(null, invoiceId, "INV-2026-0042",
+            UUID.randomUUID(), "Acme", Money.of(150.5), "ACH", LocalDate.of(2026, 5, 3),
+            Money.of(49.5), Money.zero(), "SENT");
+        
+        PaymentRecordedEvent decoded = roundTrip(payment);
+        assertThat(decoded).isExactlyInstanceOf(PaymentRecordedEvent.class);
+        assertThat(decoded.getEventId()).isEqualTo(payment.getEventId());
+        assertThat(decoded.getOccurredAt()).isEqualTo(payment.getOccurredAt());
+        assertThat(decoded.getEventType()).isEqualTo("PaymentRecordedEvent");
+        assertThat(decoded.getPaymentId()).isNull();
+        assertThat(decoded.getInvoiceId()).isEqualTo(invoiceId);
+        assertThat(decoded.getAmount()).isEqualTo(Money.of(150.5));
+        assertThat(decoded.getPaymentDate()).isEqualTo(LocalDate.of(2026, 5, 3));
+        assertThat(decoded.getAggregateId()).isEqualTo(invoiceId);
+        
+        CustomerDeactivatedEvent customerEvent = new CustomerDeactivatedEvent(UUID.randomUUID(), "Globex", "Closed");
+        CustomerDeactivatedEvent deactivated = roundTrip(customerEvent);
+        assertThat(deactivated.getDeactivatedAt()).isEqualTo(customerEvent.getDeactivatedAt());
+        assertThat(deactivated.getAggregateId()).isEqualTo(customerEvent.getCustomerId());
+        
+        List<UUID> invoiceIds = List.of(UUID.randomUUID(), UUID.randomUUID());
+        InvoicesMarkedOverdueEvent overdue = roundTrip(new InvoicesMarkedOverdueEvent(LocalDate.of(2026, 5, 1),
+            invoiceIds, Set.of(UUID.randomUUID()), Money.of(1000)));
+        assertThat(overdue.getInvoiceIds()).containsExactlyElementsOf(invoiceIds);
+        assertThat(overdue.getCustomerIds()).hasSize(1);
+    }
+    
+    @Test
+    void testPayloadLeavesOutNullsAndColumnFields() {
+        PaymentRecordedEvent payment = new PaymentRecordedEvent(null, UUID.randomUUID(), "INV-2026-0042",
+            UUID.randomUUID(), null, Money.of(10), "ACH", LocalDate.of(2026, 5, 3), Money.zero(), Money.zero(),
+            "SENT");
+        
+        String json = new String(codec.encode(payment), StandardCharsets.UTF_8);
+        assertThat(json).contains("\"amount\":10.00").doesNotContain("paymentId", "customerName", "eventId",
+            "occurredAt");
+        assertThat(codec.decode("RemovedEvent", UUID.randomUUID(), Instant.now(), json.getBytes(StandardCharsets.UTF_8)))
+            .isNull();
+    }
+    
+    @Test
+    void testEventsOfOneAggregateShareABucket() {
+        UUID invoiceId = UUID.randomUUID();
+        PaymentRecordedEvent first = new PaymentRecordedEvent(null, invoiceId, "INV-2026-0042", UUID.randomUUID(),
+            "Acme", Money.of(10), "ACH", LocalDate.now(), Money.zero(), Money.zero(), "SENT");
+        PaymentRecordedEvent second = new PaymentRecordedEvent(null, invoiceId, "INV-2026-0042", UUID.randomUUID(),
+            "Acme", Money.of(20), "ACH", LocalDate.now(), Money.zero(), Money.zero(), "SENT");
+        
+        assertThat(DomainEventStore.bucketOf(first)).isEqualTo(DomainEventStore.bucketOf(second))
+            .isBetween(0, DomainEventStore.BUCKETS - 1);
+    }
+}
@@ -0,0 +1,105 @@
+package com.invoiceme.integration;
+
+import com.invoiceme.customers.listcustomers.ListCustomersHandler;
+import com.invoiceme.customers.listcustomers.ListCustomersQuery;
+import com.invoiceme.domain.common.CustomerType;
+import com.invoiceme.domain.common.Email;
+import com.invoiceme.domain.customer.Customer;
+import com.invoiceme.infrastructure.persistence.CustomerRepository;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+@ActiveProfiles("test")
+@Transactional
+public class HandlerMetricsTest {
+    
+    @Autowired
+    private CustomerRepository customerRepository;
+    
+    @Autowired
+    private ListCustomersHandler listCustomersHandler;
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    @Autowired
+    private MockMvc mockMvc;
+    
+    @Test
+    void testHandlerLatencyAndPersistenceActivityAreRecorded() {
+        customerRepository.saveAndFlush(Customer.create(
+            "Metrics Company",
+            Email.of("metrics-" + UUID.randomUUID() + "@example.com"),
+            CustomerType.COMMERCIAL
+        ));
+        
+        listCustomersHandler.handle(ListCustomersQuery.builder().page(0).size(10).build());
+        
+        Timer timer = meterRegistry.find("invoiceme.handler")
+            .tags("handler", "ListCustomersHandler", "outcome", "success")
+            .timer();
+        assertThat(timer).isNotNull();
+        assertThat(timer.count()).isGreaterThanOrEqualTo(1);
+        
+        DistributionSummary statements = meterRegistry.find("invoiceme.handler.db.statements")
+            .tag("handler", "ListCustomersHandler")
+            .summary();
+        assertThat(statements).isNotNull();
+        assertThat(statements.totalAmount()).isGreaterThan(0);
+        
+        DistributionSummary entities = meterRegistry.find("invoiceme.handler.entities.loaded")
+            .tag("handler", "ListCustomersHandler")
+            .summary();
+        assertThat(entities).isNotNull();
+        assertThat(entities.totalAmount()).isGreaterThan(0);
+    }
+    
+    @Test
+    @WithMockUser(roles = "SYSADMIN")
+    void testPrometheusEndpointExposesHandlerAndPoolMetrics() throws Exception {
+        listCustomersHandler.handle(ListCustomersQuery.builder().page(0).size(10).build());
+        
+        mockMvc.perform(get("/actuator/prometheus"))
+            .andExpect(status().isOk())
+            .andExpect(content().string(containsString("invoiceme_handler_seconds_bucket")))
+            .andExpect(content().string(containsString("hikaricp_connections_acquire_seconds")))
+            .andExpect(content().string(containsString("executor_queued_tasks")))
+            .andExpect(content().string(containsString("latefee_job_invoices")));
+    }
+    
+    @Test
+    void testPrometheusEndpointRequiresSysadmin() throws Exception {
+        mockMvc.perform(get("/actuator/prometheus"))
+            .andExpect(status().isForbidden());
+        mockMvc.perform(get("/actuator/health"))
+            .andExpect(status().isOk());
+    }
+    
+    @Test
+    @WithMockUser(roles = "ACCOUNTANT")
+    void testMetricsEndpointRejectsOtherRoles() throws Exception {
+        mockMvc.perform(get("/actuator/metrics"))
+            .andExpect(status().isForbidden());
+    }
+}
@@ -5,6 +5,9 @@ import com.invoiceme.domain.customer.Customer;
 import com.invoiceme.domain.invoice.Invoice;
 import com.invoiceme.infrastructure.persistence.CustomerRepository;
 import com.invoiceme.infrastructure.persistence.InvoiceRepository;
+import com.invoiceme.invoices.listlineitems.LineItemSliceResult;
+import com.invoiceme.invoices.listlineitems.ListLineItemsHandler;
+import com.invoiceme.invoices.listlineitems.ListLineItemsQuery;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -31,6 +34,9 @@ public class InvoiceQueryIntegrationTest {
     @Autowired
     private InvoiceRepository invoiceRepository;
     
+    @Autowired
+    private ListLineItemsHandler listLineItemsHandler;
+    
     private Customer customer;
     private static long invoiceNumberCounter = System.nanoTime();
     
@@ -348,5 +354,59 @@ public class InvoiceQueryIntegrationTest {
             inv.getBalanceDue().isPositive()
         );
     }
+    
+    @Test
+    void testKeysetPagedLineItems() {
+        Invoice invoice = Invoice.create(
+            customer.getId(),
+            generateUniqueInvoiceNumber(),
+            LocalDate.now(),
+            LocalDate.now().plusDays(30),
+            PaymentTerms.NET_30
+        );
+        for (int i = 0; i < 5; i++) {
+            invoice.addLineItem(com.invoiceme.domain.invoice.LineItem.create(
+                "Paged Item " + i,
+                1,
+                Money.of(10.00),
+                DiscountType.NONE,
+                Money.zero(),
+                java.math.BigDecimal.valueOf(10),
+                i
+            ));
+        }
+        invoice = invoiceRepository.saveAndFlush(invoice);
+        
+        // First page
+        LineItemSliceResult first = listLineItemsHandler.handle(ListLineItemsQuery.builder()
+            .invoiceId(invoice.getId())
+            .size(2)
+            .build());
+        assertThat(first.getLineItems()).extracting("description")
+            .containsExactly("Paged Item 0", "Paged Item 1");
+        assertThat(first.isHasMore()).isTrue();
+        // Persisted line total: 10.00 + 10% tax
+        assertThat(first.getLineItems().get(0).getLineTotal().getAmount())
+            .isEqualByComparingTo(java.math.BigDecimal.valueOf(11.00));
+        
+        // Follow cursors to the end
+        LineItemSliceResult second = listLineItemsHandler.handle(ListLineItemsQuery.builder()
+            .invoiceId(invoice.getId())
+            .cursor(first.getNextCursor())
+            .size(2)
+            .build());
+        LineItemSliceResult third = listLineItemsHandler.handle(ListLineItemsQuery.builder()
+            .invoiceId(invoice.getId())
+            .cursor(second.getNextCursor())
+            .size(2)
+            .build());
+        
+        assertThat(second.getLineItems()).extracting("description")
+            .containsExactly("Paged Item 2", "Paged Item 3");
+        assertThat(third.getLineItems()).extracting("description")
+            .containsExactly("Paged Item 4");
+        assertThat(third.isHasMore()).isFalse();
+        assertThat(third.getNextCursor()).isNull();
+    }
 }
 
@@ -0,0 +1,166 @@
+package com.invoiceme.integration;
+
+import com.invoiceme.customers.credit.CreditLedgerService;
+import com.invoiceme.domain.common.CreditEntryType;
+import com.invoiceme.domain.common.CustomerType;
+import com.invoiceme.domain.common.DiscountType;
+import com.invoiceme.domain.common.Email;
+import com.invoiceme.domain.common.InvoiceNumber;
+import com.invoiceme.domain.common.InvoiceStatus;
+import com.invoiceme.domain.common.Money;
+import com.invoiceme.domain.common.PaymentTerms;
+import com.invoiceme.domain.customer.Customer;
+import com.invoiceme.domain.invoice.Invoice;
+import com.invoiceme.domain.invoice.LineItem;
+import com.invoiceme.infrastructure.jobs.BulkJobRunner;
+import com.invoiceme.infrastructure.jobs.BulkJobState;
+import com.invoiceme.infrastructure.jobs.BulkJobStatus;
+import com.invoiceme.infrastructure.jobs.UnitResult;
+import com.invoiceme.infrastructure.persistence.CustomerRepository;
+import com.invoiceme.infrastructure.persistence.InvoiceRepository;
+import com.invoiceme.invoices.sendbatch.InvoiceSendBulkJob;
+import com.invoiceme.invoices.sendbatch.SendBatchRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Batch send as a bulk job: credit shared by several invoices of one customer, skipped and missing invoices,
+ * validation.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+public class InvoiceSendBatchTest {
+    
+    @Autowired
+    private BulkJobRunner bulkJobRunner;
+    
+    @Autowired
+    private InvoiceSendBulkJob invoiceSendBulkJob;
+    
+    @Autowired
+    private CreditLedgerService creditLedgerService;
+    
+    @Autowired
+    private CustomerRepository customerRepository;
+    
+    @Autowired
+    private InvoiceRepository invoiceRepository;
+    
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    
+    private UUID customerId;
+    private final List<UUID> invoiceIds = new ArrayList<>();
+    
+    @BeforeEach
+    void setUp() {
+        customerId = transactionTemplate.execute(status -> customerRepository.save(Customer.create(
+            "Batch Send Company",
+            Email.of("batch-send-" + UUID.randomUUID() + "@example.com"),
+            CustomerType.COMMERCIAL
+        )).getId());
+    }
+    
+    @AfterEach
+    void tearDown() {
+        transactionTemplate.executeWithoutResult(status -> {
+            invoiceRepository.deleteAllById(invoiceIds);
+            customerRepository.deleteById(customerId);
+        });
+    }
+    
+    @Test
+    void testCreditGoesToEarliestDueInvoicesFirst() throws Exception {
+        transactionTemplate.executeWithoutResult(status -> creditLedgerService.applyCredit(
+            customerRepository.findById(customerId).orElseThrow(), Money.of(100.00), CreditEntryType.OVERPAYMENT,
+            UUID.randomUUID()));
+        UUID later = createDraftInvoice(Money.of(80.00), 20);
+        UUID earlier = createDraftInvoice(Money.of(80.00), 10);
+        
+        BulkJobStatus status = awaitCompletion(submit(SendBatchRequest.builder().customerId(customerId).build()));
+        
+        assertThat(status.status()).isEqualTo(BulkJobState.COMPLETED);
+        assertThat(status.totalItems()).isEqualTo(2);
+        assertThat(status.succeeded()).isEqualTo(2);
+        assertThat(status.failed()).isZero();
+        
+        Invoice paid = invoiceRepository.findById(earlier).orElseThrow();
+        Invoice sent = invoiceRepository.findById(later).orElseThrow();
+        assertThat(paid.getStatus()).isEqualTo(InvoiceStatus.PAID);
+        assertThat(sent.getStatus()).isEqualTo(InvoiceStatus.SENT);
+        assertThat(sent.getBalanceDue().getAmount()).isEqualByComparingTo("60.00");
+        assertThat(creditLedgerService.getBalance(customerId).isZero()).isTrue();
+    }
+    
+    @Test
+    void testReportsSkippedAndMissingInvoices() throws Exception {
+        UUID draft = createDraftInvoice(Money.of(50.00), 30);
+        UUID alreadySent = createDraftInvoice(Money.of(50.00), 30);
+        transactionTemplate.executeWithoutResult(status -> {
+            Invoice invoice = invoiceRepository.findById(alreadySent).orElseThrow();
+            invoice.markAsSent();
+            invoiceRepository.save(invoice);
+        });
+        UUID missing = UUID.randomUUID();
+        
+        BulkJobStatus status = awaitCompletion(submit(
+            SendBatchRequest.builder().invoiceIds(List.of(draft, alreadySent, missing)).build()));
+        
+        assertThat(status.totalItems()).isEqualTo(3);
+        assertThat(status.succeeded()).isEqualTo(1);
+        assertThat(status.skipped()).isEqualTo(1);
+        assertThat(status.failed()).isEqualTo(1);
+        assertThat(status.failures()).extracting(UnitResult.Failure::item).containsExactly(missing.toString());
+        assertThat(invoiceRepository.findById(draft).orElseThrow().getStatus()).isEqualTo(InvoiceStatus.SENT);
+    }
+    
+    @Test
+    void testRequiresIdsOrFilter() {
+        assertThatThrownBy(() -> submit(new SendBatchRequest()))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+    
+    private BulkJobStatus submit(SendBatchRequest request) {
+        return bulkJobRunner.submit(invoiceSendBulkJob, request, "test");
+    }
+    
+    private BulkJobStatus awaitCompletion(BulkJobStatus started) throws InterruptedException {
+        BulkJobStatus status = started;
+        for (int i = 0; i < 100 && status.completedAt() == null; i++) {
+            Thread.sleep(100);
+            status = bulkJobRunner.status(started.id());
+        }
+        assertThat(status.completedAt()).isNotNull();
+        return status;
+    }
+    
+    private UUID createDraftInvoice(Money total, int dueInDays) {
+        UUID invoiceId = transactionTemplate.execute(status -> {
+            Invoice invoice = Invoice.create(
+                customerId,
+                InvoiceNumber.generate((int) (System.nanoTime() % 100000)),
+                LocalDate.now(),
+                LocalDate.now().plusDays(dueInDays),
+                PaymentTerms.NET_30
+            );
+            invoice.addLineItem(LineItem.create("Service", 1, total, DiscountType.NONE, Money.zero(), BigDecimal.ZERO, 0));
+            return invoiceRepository.save(invoice).getId();
+        });
+        invoiceIds.add(invoiceId);
+        return invoiceId;
+    }
+}
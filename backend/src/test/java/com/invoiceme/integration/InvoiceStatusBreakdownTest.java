@@ -0,0 +1,144 @@
+package com.invoiceme.integration;
+
+import com.invoiceme.dashboard.getinvoicestatus.GetInvoiceStatusHandler;
+import com.invoiceme.dashboard.getinvoicestatus.GetInvoiceStatusQuery;
+import com.invoiceme.dashboard.getinvoicestatus.InvoiceStatusResponse;
+import com.invoiceme.dashboard.shared.StatusBreakdown;
+import com.invoiceme.dashboard.shared.StatusBreakdownService;
+import com.invoiceme.domain.common.*;
+import com.invoiceme.domain.customer.Customer;
+import com.invoiceme.domain.invoice.Invoice;
+import com.invoiceme.domain.invoice.LineItem;
+import com.invoiceme.infrastructure.cache.DashboardCache;
+import com.invoiceme.infrastructure.persistence.AgingBucketTotals;
+import com.invoiceme.infrastructure.persistence.CustomerRepository;
+import com.invoiceme.infrastructure.persistence.InvoiceRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+public class InvoiceStatusBreakdownTest {
+    
+    @Autowired
+    private CustomerRepository customerRepository;
+    
+    @Autowired
+    private InvoiceRepository invoiceRepository;
+    
+    @Autowired
+    private StatusBreakdownService statusBreakdownService;
+    
+    @Autowired
+    private GetInvoiceStatusHandler getInvoiceStatusHandler;
+    
+    @Autowired
+    private DashboardCache dashboardCache;
+    
+    private Customer customer;
+    private static long invoiceNumberCounter = System.nanoTime() + 80000;
+    
+    @BeforeEach
+    void setUp() {
+        customer = customerRepository.save(Customer.create(
+            "Breakdown Test Company",
+            Email.of("breakdown@test.com"),
+            CustomerType.COMMERCIAL
+        ));
+        dashboardCache.clear();
+    }
+    
+    private Invoice invoice(double amount, boolean send) {
+        return invoice(amount, send, LocalDate.now().plusDays(30));
+    }
+    
+    private Invoice invoice(double amount, boolean send, LocalDate dueDate) {
+        Invoice invoice = Invoice.create(
+            customer.getId(),
+            InvoiceNumber.generate((int) ((invoiceNumberCounter++ % 9999) + 1)),
+            dueDate.minusDays(30),
+            dueDate,
+            PaymentTerms.NET_30
+        );
+        invoice.addLineItem(LineItem.create(
+            "Service",
+            1,
+            Money.of(amount),
+            DiscountType.NONE,
+            Money.zero(),
+            BigDecimal.ZERO,
+            0
+        ));
+        if (send) {
+            invoice.markAsSent();
+        }
+        return invoiceRepository.saveAndFlush(invoice);
+    }
+    
+    @Test
+    void testBreakdownCoversEveryStatusFromOneGroupedQuery() {
+        StatusBreakdown before = statusBreakdownService.current();
+        dashboardCache.clear();
+        
+        invoice(100.00, true);
+        invoice(50.00, true);
+        invoice(75.00, false);
+        
+        StatusBreakdown after = statusBreakdownService.current();
+        assertThat(after.get(InvoiceStatus.SENT).count() - before.get(InvoiceStatus.SENT).count()).isEqualTo(2);
+        assertThat(after.get(InvoiceStatus.SENT).balanceDue().getAmount()
+            .subtract(before.get(InvoiceStatus.SENT).balanceDue().getAmount()))
+            .isEqualByComparingTo("150.00");
+        assertThat(after.get(InvoiceStatus.DRAFT).count() - before.get(InvoiceStatus.DRAFT).count()).isEqualTo(1);
+        
+        InvoiceStatusResponse response = getInvoiceStatusHandler.handle(new GetInvoiceStatusQuery());
+        assertThat(response.getData()).hasSize(InvoiceStatus.values().length);
+        assertThat(response.getData())
+            .filteredOn(data -> data.getStatus().equals("SENT"))
+            .singleElement()
+            .satisfies(data -> assertThat(data.getCount()).isEqualTo((int) after.get(InvoiceStatus.SENT).count()));
+    }
+    
+    @Test
+    void testAgingBucketsAreSummedInTheDatabase() {
+        Map<Integer, AgingBucketTotals> before = agingBuckets();
+        
+        invoice(200.00, true, LocalDate.now().minusDays(45));
+        invoice(80.00, true, LocalDate.now().plusDays(1));
+        
+        Map<Integer, AgingBucketTotals> after = agingBuckets();
+        assertThat(invoiceCount(after, 1) - invoiceCount(before, 1)).isEqualTo(1);
+        assertThat(balanceDue(after, 1).subtract(balanceDue(before, 1))).isEqualByComparingTo("200.00");
+        for (int bucket : new int[] {0, 2, 3}) {
+            assertThat(invoiceCount(after, bucket)).isEqualTo(invoiceCount(before, bucket));
+        }
+    }
+    
+    private Map<Integer, AgingBucketTotals> agingBuckets() {
+        return invoiceRepository.agingBuckets(LocalDate.now()).stream()
+            .collect(Collectors.toMap(AgingBucketTotals::getBucket, Function.identity()));
+    }
+    
+    private static long invoiceCount(Map<Integer, AgingBucketTotals> buckets, int bucket) {
+        AgingBucketTotals row = buckets.get(bucket);
+        return row == null ? 0 : row.getInvoiceCount();
+    }
+    
+    private static BigDecimal balanceDue(Map<Integer, AgingBucketTotals> buckets, int bucket) {
+        AgingBucketTotals row = buckets.get(bucket);
+        return row == null ? BigDecimal.ZERO : row.getBalanceDue();
+    }
+}
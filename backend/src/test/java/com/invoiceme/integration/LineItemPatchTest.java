@@ -0,0 +1,180 @@
+package com.invoiceme.integration;
+
+import com.invoiceme.domain.common.*;
+import com.invoiceme.domain.customer.Customer;
+import com.invoiceme.domain.invoice.Invoice;
+import com.invoiceme.domain.invoice.LineItem;
+import com.invoiceme.domain.invoice.LineItemChange;
+import com.invoiceme.infrastructure.persistence.CustomerRepository;
+import com.invoiceme.infrastructure.persistence.InvoiceRepository;
+import com.invoiceme.invoices.patchlineitems.PatchLineItemsCommand;
+import com.invoiceme.invoices.patchlineitems.PatchLineItemsHandler;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+public class LineItemPatchTest {
+    
+    @Autowired
+    private CustomerRepository customerRepository;
+    
+    @Autowired
+    private InvoiceRepository invoiceRepository;
+    
+    @Autowired
+    private PatchLineItemsHandler patchLineItemsHandler;
+    
+    private Customer customer;
+    private static long invoiceNumberCounter = System.nanoTime() + 60000;
+    
+    private InvoiceNumber generateUniqueInvoiceNumber() {
+        // Use nanoTime modulo to get a unique sequence number per test run
+        return InvoiceNumber.generate((int)((invoiceNumberCounter++ % 9999) + 1));
+    }
+    
+    @BeforeEach
+    void setUp() {
+        customer = Customer.create(
+            "Patch Test Company",
+            Email.of("patch@test.com"),
+            CustomerType.COMMERCIAL
+        );
+        customer = customerRepository.save(customer);
+    }
+    
+    private Invoice createDraftInvoice(int lineItemCount) {
+        Invoice invoice = Invoice.create(
+            customer.getId(),
+            generateUniqueInvoiceNumber(),
+            LocalDate.now(),
+            LocalDate.now().plusDays(30),
+            PaymentTerms.NET_30
+        );
+        for (int i = 0; i < lineItemCount; i++) {
+            invoice.addLineItem(LineItem.create(
+                "Item " + i,
+                1,
+                Money.of(100.00),
+                DiscountType.NONE,
+                Money.zero(),
+                BigDecimal.ZERO,
+                i
+            ));
+        }
+        return invoiceRepository.saveAndFlush(invoice);
+    }
+    
+    @Test
+    void testUpdateSingleLineItemLeavesOthersUntouched() {
+        Invoice invoice = createDraftInvoice(5);
+        LineItem target = invoice.getLineItems().get(2);
+        Instant untouchedCreatedAt = invoice.getLineItems().get(0).getCreatedAt();
+        int versionBefore = invoice.getVersion();
+        
+        Invoice patched = patchLineItemsHandler.handle(PatchLineItemsCommand.builder()
+            .invoiceId(invoice.getId())
+            .updates(List.of(LineItemChange.builder()
+                .lineItemId(target.getId())
+                .quantity(3)
+                .build()))
+            .version(versionBefore)
+            .build());
+        
+        assertThat(patched.getLineItems()).hasSize(5);
+        assertThat(patched.getLineItems().get(2).getId()).isEqualTo(target.getId());
+        assertThat(patched.getLineItems().get(2).getQuantity()).isEqualTo(3);
+        assertThat(patched.getLineItems().get(0).getCreatedAt()).isEqualTo(untouchedCreatedAt);
+        assertThat(patched.getSubtotal().getAmount()).isEqualByComparingTo(BigDecimal.valueOf(700.00));
+        assertThat(patched.getVersion()).isEqualTo(versionBefore + 1);
+    }
+    
+    @Test
+    void testAddAndRemoveInOnePatch() {
+        Invoice invoice = createDraftInvoice(2);
+        UUID removedId = invoice.getLineItems().get(0).getId();
+        
+        Invoice patched = patchLineItemsHandler.handle(PatchLineItemsCommand.builder()
+            .invoiceId(invoice.getId())
+            .additions(List.of(LineItem.create(
+                "Added Item",
+                2,
+                Money.of(50.00),
+                DiscountType.NONE,
+                Money.zero(),
+                BigDecimal.ZERO,
+                null
+            )))
+            .removals(List.of(removedId))
+            .version(invoice.getVersion())
+            .build());
+        
+        assertThat(patched.getLineItems()).hasSize(2);
+        assertThat(patched.getLineItems()).noneMatch(item -> removedId.equals(item.getId()));
+        assertThat(patched.getLineItems().get(1).getDescription()).isEqualTo("Added Item");
+        assertThat(patched.getLineItems().get(1).getSortOrder()).isEqualTo(2);
+        assertThat(patched.getSubtotal().getAmount()).isEqualByComparingTo(BigDecimal.valueOf(200.00));
+    }
+    
+    @Test
+    void testCannotRemoveAllLineItems() {
+        Invoice invoice = createDraftInvoice(1);
+        UUID onlyId = invoice.getLineItems().get(0).getId();
+        
+        assertThatThrownBy(() -> patchLineItemsHandler.handle(PatchLineItemsCommand.builder()
+            .invoiceId(invoice.getId())
+            .removals(List.of(onlyId))
+            .version(invoice.getVersion())
+            .build()))
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessageContaining("at least one line item");
+    }
+    
+    @Test
+    void testUnknownLineItemIdIsRejected() {
+        Invoice invoice = createDraftInvoice(1);
+        
+        assertThatThrownBy(() -> patchLineItemsHandler.handle(PatchLineItemsCommand.builder()
+            .invoiceId(invoice.getId())
+            .updates(List.of(LineItemChange.builder()
+                .lineItemId(UUID.randomUUID())
+                .quantity(2)
+                .build()))
+            .version(invoice.getVersion())
+            .build()))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("Line item not found");
+    }
+    
+    @Test
+    void testSentInvoiceIsRejected() {
+        Invoice invoice = createDraftInvoice(2);
+        invoice.markAsSent();
+        Invoice sent = invoiceRepository.saveAndFlush(invoice);
+        
+        assertThatThrownBy(() -> patchLineItemsHandler.handle(PatchLineItemsCommand.builder()
+            .invoiceId(sent.getId())
+            .updates(List.of(LineItemChange.builder()
+                .lineItemId(sent.getLineItems().get(0).getId())
+                .quantity(2)
+                .build()))
+            .version(sent.getVersion())
+            .build()))
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessageContaining("DRAFT");
+    }
+}
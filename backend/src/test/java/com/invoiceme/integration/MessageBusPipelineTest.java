@@ -0,0 +1,181 @@
+package com.invoiceme.integration;
+
+import com.invoiceme.domain.invoice.Invoice;
+import com.invoiceme.infrastructure.bus.BulkheadFullException;
+import com.invoiceme.infrastructure.bus.BulkheadMiddleware;
+import com.invoiceme.infrastructure.bus.BusProperties;
+import com.invoiceme.infrastructure.bus.Command;
+import com.invoiceme.infrastructure.bus.DeduplicateInFlight;
+import com.invoiceme.infrastructure.bus.DeduplicationMiddleware;
+import com.invoiceme.infrastructure.bus.MessageBus;
+import com.invoiceme.infrastructure.bus.OptimisticLockRetryMiddleware;
+import com.invoiceme.infrastructure.bus.Query;
+import com.invoiceme.infrastructure.bus.RetryOnConflict;
+import com.invoiceme.infrastructure.bus.TimingMiddleware;
+import com.invoiceme.infrastructure.bus.TransactionMiddleware;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Middleware ordering and behaviour of the message bus: timing, retry on conflict, bulkheads and
+ * in-flight deduplication.
+ */
+class MessageBusPipelineTest {
+    
+    private AnnotationConfigApplicationContext context;
+    private MessageBus messageBus;
+    private SimpleMeterRegistry meterRegistry;
+    
+    @BeforeEach
+    void setUp() {
+        BusProperties properties = new BusProperties();
+        properties.setBulkheads(Map.of("SlowQuery", 1));
+        properties.setBulkheadWaitMs(50);
+        properties.setConflictMaxAttempts(3);
+        properties.setConflictBackoffMs(1);
+        properties.setConflictMaxBackoffMs(4);
+        meterRegistry = new SimpleMeterRegistry();
+        
+        context = new AnnotationConfigApplicationContext();
+        context.registerBean(BusProperties.class, () -> properties);
+        context.registerBean(MeterRegistry.class, () -> meterRegistry);
+        context.registerBean(PlatformTransactionManager.class, () -> mock(PlatformTransactionManager.class));
+        context.registerBean(TimingMiddleware.class);
+        context.registerBean(DeduplicationMiddleware.class);
+        context.registerBean(BulkheadMiddleware.class);
+        context.registerBean(OptimisticLockRetryMiddleware.class);
+        context.registerBean(TransactionMiddleware.class);
+        context.registerBean(ConflictingHandler.class);
+        context.registerBean(SlowHandler.class);
+        context.registerBean(MessageBus.class);
+        context.refresh();
+        messageBus = context.getBean(MessageBus.class);
+    }
+    
+    @AfterEach
+    void tearDown() {
+        SlowHandler.release = new CountDownLatch(0);
+        context.close();
+    }
+    
+    @Test
+    void testConflictingCommandIsRetriedAndTimed() {
+        ConflictingHandler handler = context.getBean(ConflictingHandler.class);
+        
+        String result = messageBus.dispatch(new ConflictingCommand(2));
+        
+        assertThat(result).isEqualTo("done");
+        assertThat(handler.attempts.get()).isEqualTo(3);
+        Timer timer = meterRegistry.find("invoiceme.bus.dispatch")
+            .tags("message", "ConflictingCommand", "kind", "command", "outcome", "success")
+            .timer();
+        assertThat(timer).isNotNull();
+        assertThat(timer.count()).isEqualTo(1);
+        assertThat(meterRegistry.find("invoiceme.bus.conflicts")
+            .tags("message", "ConflictingCommand", "aggregate", "Invoice", "outcome", "retried")
+            .counter()
+            .count()).isEqualTo(2);
+        assertThat(meterRegistry.find("invoiceme.bus.attempts").summary().totalAmount()).isEqualTo(3);
+    }
+    
+    @Test
+    void testConflictRetriesGiveUpAfterMaxAttempts() {
+        ConflictingHandler handler = context.getBean(ConflictingHandler.class);
+        
+        assertThatThrownBy(() -> messageBus.dispatch(new ConflictingCommand(5)))
+            .isInstanceOf(ObjectOptimisticLockingFailureException.class);
+        assertThat(handler.attempts.get()).isEqualTo(3);
+        assertThat(meterRegistry.find("invoiceme.bus.conflicts")
+            .tags("aggregate", "Invoice", "outcome", "exhausted")
+            .counter()
+            .count()).isEqualTo(1);
+    }
+    
+    @Test
+    void testIdenticalInFlightQueriesShareOneExecution() throws Exception {
+        SlowHandler handler = context.getBean(SlowHandler.class);
+        SlowHandler.release = new CountDownLatch(1);
+        ExecutorService callers = Executors.newFixedThreadPool(4);
+        
+        List<Future<Integer>> results = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            results.add(callers.submit(() -> messageBus.dispatch(new SlowQuery(7))));
+        }
+        Thread.sleep(100);
+        SlowHandler.release.countDown();
+        
+        for (Future<Integer> result : results) {
+            assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo(7);
+        }
+        assertThat(handler.executions.get()).isEqualTo(1);
+        callers.shutdownNow();
+    }
+    
+    @Test
+    void testBulkheadRejectsWhenNoSlotFreesUp() throws Exception {
+        SlowHandler.release = new CountDownLatch(1);
+        ExecutorService callers = Executors.newSingleThreadExecutor();
+        Future<Integer> holder = callers.submit(() -> messageBus.dispatch(new SlowQuery(1)));
+        Thread.sleep(100);
+        
+        // A different key is not coalesced, so it needs its own slot
+        assertThatThrownBy(() -> messageBus.dispatch(new SlowQuery(2)))
+            .isInstanceOf(BulkheadFullException.class);
+        
+        SlowHandler.release.countDown();
+        assertThat(holder.get(5, TimeUnit.SECONDS)).isEqualTo(1);
+        assertThat(messageBus.dispatch(new SlowQuery(2))).isEqualTo(2);
+        callers.shutdownNow();
+    }
+    
+    public record ConflictingCommand(int conflicts) implements Command<String>, RetryOnConflict {
+    }
+    
+    public record SlowQuery(int value) implements Query<Integer>, DeduplicateInFlight {
+    }
+    
+    public static class ConflictingHandler {
+        
+        final AtomicInteger attempts = new AtomicInteger();
+        
+        public String handle(ConflictingCommand command) {
+            if (attempts.incrementAndGet() <= command.conflicts()) {
+                throw new ObjectOptimisticLockingFailureException(Invoice.class, command.conflicts());
+            }
+            return "done";
+        }
+    }
+    
+    public static class SlowHandler {
+        
+        static volatile CountDownLatch release = new CountDownLatch(0);
+        final AtomicInteger executions = new AtomicInteger();
+        
+        public Integer handle(SlowQuery query) throws InterruptedException {
+            executions.incrementAndGet();
+            release.await(5, TimeUnit.SECONDS);
+            return query.value();
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.invoiceme.integration;
+
+import com.invoiceme.infrastructure.config.AsyncProperties;
+import com.invoiceme.infrastructure.config.AsyncProperties.ExecutorSettings;
+import com.invoiceme.infrastructure.config.MeteredExecutors;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Overflow policies and metrics of the per-listener async executors.
+ */
+class MeteredExecutorsTest {
+    
+    private SimpleMeterRegistry meterRegistry;
+    private ThreadPoolTaskExecutor executor;
+    private final CountDownLatch release = new CountDownLatch(1);
+    
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+    }
+    
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        if (executor != null) {
+            executor.shutdown();
+        }
+    }
+    
+    @Test
+    void testCallerRunsWhenSaturated() throws Exception {
+        executor = MeteredExecutors.create("test", settings(AsyncProperties.Overflow.CALLER_RUNS), meterRegistry);
+        CountDownLatch started = new CountDownLatch(1);
+        executor.execute(() -> {
+            started.countDown();
+            await(release);
+        });
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        executor.execute(() -> { });
+        
+        List<String> ranOn = new CopyOnWriteArrayList<>();
+        executor.execute(() -> ranOn.add(Thread.currentThread().getName()));
+        
+        assertThat(ranOn).containsExactly(Thread.currentThread().getName());
+        assertThat(meterRegistry.get("async.executor.rejected").tag("executor", "test").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("async.executor.queued").tag("executor", "test").gauge().value()).isEqualTo(1);
+        assertThat(meterRegistry.get("async.executor.active").tag("executor", "test").gauge().value()).isEqualTo(1);
+    }
+    
+    @Test
+    void testDiscardOldestKeepsNewestTask() throws Exception {
+        executor = MeteredExecutors.create("test", settings(AsyncProperties.Overflow.DISCARD_OLDEST), meterRegistry);
+        CountDownLatch started = new CountDownLatch(1);
+        List<String> ran = new CopyOnWriteArrayList<>();
+        executor.execute(() -> {
+            started.countDown();
+            await(release);
+        });
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        executor.execute(() -> ran.add("older"));
+        executor.execute(() -> ran.add("newer"));
+        
+        release.countDown();
+        executor.getThreadPoolExecutor().shutdown();
+        assertThat(executor.getThreadPoolExecutor().awaitTermination(5, TimeUnit.SECONDS)).isTrue();
+        
+        assertThat(ran).containsExactly("newer");
+        assertThat(meterRegistry.get("async.executor.rejected").tag("executor", "test").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("async.executor.wait").tag("executor", "test").timer().count()).isEqualTo(2);
+        assertThat(meterRegistry.get("async.executor.duration").tag("executor", "test").timer().count()).isEqualTo(2);
+    }
+    
+    private static ExecutorSettings settings(AsyncProperties.Overflow overflow) {
+        ExecutorSettings settings = new ExecutorSettings();
+        settings.setCoreSize(1);
+        settings.setMaxSize(1);
+        settings.setQueueCapacity(1);
+        settings.setOverflow(overflow);
+        settings.setShutdownWaitSeconds(1);
+        return settings;
+    }
+    
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.invoiceme.integration;
+
+import com.invoiceme.domain.common.*;
+import com.invoiceme.domain.customer.Customer;
+import com.invoiceme.domain.invoice.Invoice;
+import com.invoiceme.domain.invoice.LineItem;
+import com.invoiceme.infrastructure.persistence.CustomerRepository;
+import com.invoiceme.infrastructure.persistence.InvoiceRepository;
+import com.invoiceme.infrastructure.scheduled.OverdueStatusScheduledJob;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+public class OverdueStatusTransitionTest {
+    
+    @Autowired
+    private CustomerRepository customerRepository;
+    
+    @Autowired
+    private InvoiceRepository invoiceRepository;
+    
+    @Autowired
+    private OverdueStatusScheduledJob overdueStatusScheduledJob;
+    
+    @Autowired
+    private EntityManager entityManager;
+    
+    private Customer customer;
+    private static long invoiceNumberCounter = System.nanoTime() + 70000;
+    
+    @BeforeEach
+    void setUp() {
+        customer = customerRepository.save(Customer.create(
+            "Overdue Test Company",
+            Email.of("overdue@test.com"),
+            CustomerType.COMMERCIAL
+        ));
+    }
+    
+    private Invoice sentInvoice(LocalDate dueDate) {
+        Invoice invoice = Invoice.create(
+            customer.getId(),
+            InvoiceNumber.generate((int) ((invoiceNumberCounter++ % 9999) + 1)),
+            dueDate.minusDays(30),
+            dueDate,
+            PaymentTerms.NET_30
+        );
+        invoice.addLineItem(LineItem.create(
+            "Consulting",
+            1,
+            Money.of(250.00),
+            DiscountType.NONE,
+            Money.zero(),
+            BigDecimal.ZERO,
+            0
+        ));
+        invoice.markAsSent();
+        return invoiceRepository.save(invoice);
+    }
+    
+    @Test
+    void testPastDueSentInvoicesAreMarkedOverdueInBulk() {
+        LocalDate today = LocalDate.now();
+        Invoice pastDue = sentInvoice(today.minusDays(5));
+        Invoice notYetDue = sentInvoice(today.plusDays(5));
+        entityManager.flush();
+        Integer versionBefore = pastDue.getVersion();
+        entityManager.clear();
+        
+        int marked = overdueStatusScheduledJob.markOverdue(today);
+        entityManager.clear();
+        
+        assertThat(marked).isGreaterThanOrEqualTo(1);
+        Invoice reloadedPastDue = invoiceRepository.findById(pastDue.getId()).orElseThrow();
+        assertThat(reloadedPastDue.getStatus()).isEqualTo(InvoiceStatus.OVERDUE);
+        assertThat(reloadedPastDue.getVersion()).isGreaterThan(versionBefore);
+        assertThat(invoiceRepository.findById(notYetDue.getId()).orElseThrow().getStatus())
+            .isEqualTo(InvoiceStatus.SENT);
+        
+        // A second pass finds nothing left to transition
+        assertThat(overdueStatusScheduledJob.markOverdue(today)).isZero();
+    }
+}
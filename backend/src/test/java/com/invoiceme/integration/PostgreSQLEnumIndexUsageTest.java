@@ -0,0 +1,135 @@
+package com.invoiceme.integration;
+
+import com.invoiceme.domain.common.*;
+import com.invoiceme.domain.customer.Customer;
+import com.invoiceme.domain.invoice.Invoice;
+import com.invoiceme.domain.invoice.LineItem;
+import com.invoiceme.infrastructure.persistence.CustomerRepository;
+import com.invoiceme.infrastructure.persistence.InvoiceRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Enum columns are bound natively (PostgreSQLEnumType), so status predicates compare enum to enum and can
+ * use the status indexes. Plans are checked with sequential scans disabled, which makes the planner pick an
+ * index whenever one is usable.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+public class PostgreSQLEnumIndexUsageTest {
+    
+    @Autowired
+    private CustomerRepository customerRepository;
+    
+    @Autowired
+    private InvoiceRepository invoiceRepository;
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Autowired
+    private EntityManager entityManager;
+    
+    private Customer customer;
+    private static long invoiceNumberCounter = System.nanoTime() + 90000;
+    
+    @BeforeEach
+    void setUp() {
+        customer = customerRepository.save(Customer.create(
+            "Enum Binding Company",
+            Email.of("enum-binding@test.com"),
+            CustomerType.COMMERCIAL
+        ));
+        jdbcTemplate.execute("SET LOCAL enable_seqscan = off");
+    }
+    
+    @Test
+    void testNativelyBoundStatusFilterUsesIndex() {
+        String plan = explain("SELECT id FROM invoices WHERE status IN (?, ?)", "SENT", "OVERDUE");
+        
+        assertThat(plan).containsAnyOf("idx_invoices_status", "idx_invoices_overdue");
+    }
+    
+    @Test
+    void testTextCastStatusFilterCannotUseIndex() {
+        // The shape the old @ColumnTransformer(read = "status::text") mapping produced
+        String plan = explain("SELECT id FROM invoices WHERE status::text IN (?, ?)", "SENT", "OVERDUE");
+        
+        assertThat(plan).contains("Seq Scan").doesNotContain("idx_invoices_status");
+    }
+    
+    @Test
+    void testOverduePredicateUsesPartialIndex() {
+        String plan = explain(
+            "SELECT id FROM invoices WHERE status IN (?, ?) AND due_date < CURRENT_DATE", "SENT", "OVERDUE");
+        
+        assertThat(plan).contains("idx_invoices_overdue");
+    }
+    
+    @Test
+    void testEnumAttributesRoundTripThroughEntityQueries() {
+        Invoice sent = invoice(true);
+        Invoice draft = invoice(false);
+        entityManager.flush();
+        entityManager.clear();
+        
+        Page<Invoice> page = invoiceRepository.findByFilters(
+            List.of(InvoiceStatus.SENT), customer.getId(),
+            null, null, null, null, null, null, null, PageRequest.of(0, 10));
+        
+        assertThat(page.getContent()).extracting(Invoice::getId).containsExactly(sent.getId());
+        Invoice reloaded = invoiceRepository.findById(draft.getId()).orElseThrow();
+        assertThat(reloaded.getStatus()).isEqualTo(InvoiceStatus.DRAFT);
+        assertThat(reloaded.getPaymentTerms()).isEqualTo(PaymentTerms.NET_30);
+        assertThat(reloaded.getLineItems()).extracting(LineItem::getDiscountType).containsOnly(DiscountType.NONE);
+    }
+    
+    private String explain(String sql, String... statuses) {
+        List<String> lines = jdbcTemplate.query("EXPLAIN " + sql, ps -> {
+            for (int i = 0; i < statuses.length; i++) {
+                // Same binding PostgreSQLEnumType uses
+                ps.setObject(i + 1, statuses[i], Types.OTHER);
+            }
+        }, (rs, rowNum) -> rs.getString(1));
+        return String.join("\n", lines);
+    }
+    
+    private Invoice invoice(boolean send) {
+        Invoice invoice = Invoice.create(
+            customer.getId(),
+            InvoiceNumber.generate((int) ((invoiceNumberCounter++ % 9999) + 1)),
+            LocalDate.now(),
+            LocalDate.now().plusDays(30),
+            PaymentTerms.NET_30
+        );
+        invoice.addLineItem(LineItem.create(
+            "Enum Item",
+            1,
+            Money.of(40.00),
+            DiscountType.NONE,
+            Money.zero(),
+            BigDecimal.ZERO,
+            0
+        ));
+        if (send) {
+            invoice.markAsSent();
+        }
+        return invoiceRepository.save(invoice);
+    }
+}
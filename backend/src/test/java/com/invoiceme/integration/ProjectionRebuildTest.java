@@ -0,0 +1,117 @@
+package com.invoiceme.integration;
+
+import com.invoiceme.domain.common.DomainEventPublisher;
+import com.invoiceme.domain.events.CustomerDeactivatedEvent;
+import com.invoiceme.infrastructure.projection.ProjectionRebuilder;
+import com.invoiceme.infrastructure.projection.ProjectionStatus;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Published events land in the event store and a projection can be rebuilt from it. Not @Transactional:
+ * events are stored in the publishing transaction and replayed in the rebuild's own transactions.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+public class ProjectionRebuildTest {
+    
+    @Autowired
+    private DomainEventPublisher eventPublisher;
+    
+    @Autowired
+    private ProjectionRebuilder projectionRebuilder;
+    
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Test
+    void testActivityFeedIsRebuiltFromStoredEvents() {
+        UUID customerId = UUID.randomUUID();
+        CustomerDeactivatedEvent event = new CustomerDeactivatedEvent(customerId, "Replay Company", "Closed");
+        transactionTemplate.executeWithoutResult(status -> eventPublisher.publishEvent(event));
+        
+        assertThat(jdbcTemplate.queryForObject(
+            "SELECT event_type FROM domain_events WHERE event_id = ?", String.class, event.getEventId()))
+            .isEqualTo("CustomerDeactivatedEvent");
+        
+        // Lose the read model, then replay it
+        jdbcTemplate.update("DELETE FROM activity_feed WHERE aggregate_id = ?", customerId);
+        ProjectionStatus status = projectionRebuilder.rebuild("activity-feed");
+        
+        assertThat(status.state()).isEqualTo("COMPLETED");
+        assertThat(status.running()).isFalse();
+        assertThat(status.eventsReplayed()).isGreaterThanOrEqualTo(1);
+        List<String> descriptions = jdbcTemplate.queryForList(
+            "SELECT description FROM activity_feed WHERE event_id = ?", String.class, event.getEventId());
+        assertThat(descriptions).containsExactly("Customer Replay Company deactivated: Closed");
+        
+        // Replaying again keeps a single entry per event
+        projectionRebuilder.rebuild("activity-feed");
+        assertThat(jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM activity_feed WHERE aggregate_id = ?", Long.class, customerId)).isEqualTo(1);
+    }
+    
+    @Test
+    void testRebuildWaitsForTransactionsStillAppendingBelowItsTarget() throws Exception {
+        UUID customerId = UUID.randomUUID();
+        CustomerDeactivatedEvent slow = new CustomerDeactivatedEvent(customerId, "Slow Company", "Closed");
+        CountDownLatch appended = new CountDownLatch(1);
+        CountDownLatch commit = new CountDownLatch(1);
+        Thread writer = new Thread(() -> transactionTemplate.executeWithoutResult(status -> {
+            eventPublisher.publishEvent(slow);
+            appended.countDown();
+            try {
+                commit.await(30, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }));
+        writer.start();
+        assertThat(appended.await(5, TimeUnit.SECONDS)).isTrue();
+        // Commits first with a higher position, so the rebuild's target lies beyond the slow event
+        transactionTemplate.executeWithoutResult(status -> eventPublisher.publishEvent(
+            new CustomerDeactivatedEvent(UUID.randomUUID(), "Fast Company", "Closed")));
+        
+        projectionRebuilder.startRebuild("activity-feed");
+        Thread.sleep(500);
+        assertThat(projectionRebuilder.status("activity-feed").running()).isTrue();
+        commit.countDown();
+        writer.join(5000);
+        
+        long deadline = System.currentTimeMillis() + 10000;
+        while (projectionRebuilder.status("activity-feed").running() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+        assertThat(projectionRebuilder.status("activity-feed").state()).isEqualTo("COMPLETED");
+        Long slowPosition = jdbcTemplate.queryForObject(
+            "SELECT global_position FROM domain_events WHERE event_id = ?", Long.class, slow.getEventId());
+        Long checkpoint = jdbcTemplate.queryForObject(
+            "SELECT MAX(c.global_position) FROM projection_checkpoints c JOIN domain_events e " +
+            "ON e.stream_bucket = c.stream_bucket WHERE c.projection = 'activity-feed' AND e.event_id = ?",
+            Long.class, slow.getEventId());
+        assertThat(checkpoint).isGreaterThanOrEqualTo(slowPosition);
+        assertThat(jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM activity_feed WHERE event_id = ?", Long.class, slow.getEventId())).isEqualTo(1);
+    }
+    
+    @Test
+    void testUnknownProjectionIsRejected() {
+        assertThatThrownBy(() -> projectionRebuilder.rebuild("no-such-projection"))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,131 @@
+package com.invoiceme.integration;
+
+import com.invoiceme.infrastructure.datasource.ReplicaLagMonitor;
+import com.invoiceme.infrastructure.datasource.ReplicaRoutingDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Routing decisions of the read-replica DataSource, driven directly through the transaction
+ * synchronization state so no database is required.
+ */
+class ReadReplicaRoutingTest {
+    
+    private DataSource primary;
+    private DataSource replica;
+    private Connection primaryConnection;
+    private Connection replicaConnection;
+    private ReplicaLagMonitor lagMonitor;
+    private ReplicaRoutingDataSource routing;
+    
+    @BeforeEach
+    void setUp() throws SQLException {
+        primary = mock(DataSource.class);
+        replica = mock(DataSource.class);
+        primaryConnection = mock(Connection.class);
+        replicaConnection = mock(Connection.class);
+        when(primary.getConnection()).thenReturn(primaryConnection);
+        when(replica.getConnection()).thenReturn(replicaConnection);
+        
+        lagMonitor = new ReplicaLagMonitor(
+            Map.of(ReplicaRoutingDataSource.replicaKey(0), replica),
+            Duration.ofSeconds(5)
+        );
+        
+        Map<Object, Object> targets = new HashMap<>(lagMonitor.getReplicas());
+        targets.put(ReplicaRoutingDataSource.PRIMARY, primary);
+        routing = new ReplicaRoutingDataSource(lagMonitor);
+        routing.setTargetDataSources(targets);
+        routing.setDefaultTargetDataSource(primary);
+        routing.afterPropertiesSet();
+    }
+    
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        TransactionSynchronizationManager.setActualTransactionActive(false);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        ReplicaRoutingDataSource.clearPrimaryPin();
+    }
+    
+    @Test
+    void testReadOnlyTransactionUsesReplica() throws SQLException {
+        beginTransaction(true);
+        
+        assertThat(routing.getConnection()).isSameAs(replicaConnection);
+    }
+    
+    @Test
+    void testReadWriteAndNonTransactionalUsePrimary() throws SQLException {
+        assertThat(routing.getConnection()).isSameAs(primaryConnection);
+        
+        beginTransaction(false);
+        assertThat(routing.getConnection()).isSameAs(primaryConnection);
+    }
+    
+    @Test
+    void testReadsAfterWriteStayOnPrimaryUntilRequestEnds() throws SQLException {
+        ReplicaRoutingDataSource.beginRequest();
+        beginTransaction(false);
+        routing.getConnection();
+        
+        beginTransaction(true);
+        assertThat(routing.getConnection()).isSameAs(primaryConnection);
+        
+        ReplicaRoutingDataSource.clearPrimaryPin();
+        assertThat(routing.getConnection()).isSameAs(replicaConnection);
+    }
+    
+    @Test
+    void testPinOutsideRequestEndsWithTheTransaction() throws SQLException {
+        TransactionSynchronizationManager.initSynchronization();
+        beginTransaction(false);
+        routing.getConnection();
+        
+        beginTransaction(true);
+        assertThat(routing.getConnection()).isSameAs(primaryConnection);
+        
+        TransactionSynchronizationManager.getSynchronizations()
+            .forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+        TransactionSynchronizationManager.clearSynchronization();
+        assertThat(routing.getConnection()).isSameAs(replicaConnection);
+    }
+    
+    @Test
+    void testFallsBackToPrimaryWhenReplicaUnavailable() throws SQLException {
+        when(replica.getConnection()).thenThrow(new SQLException("connection refused"));
+        beginTransaction(true);
+        
+        assertThat(routing.getConnection()).isSameAs(primaryConnection);
+        assertThat(lagMonitor.getHealthyReplicaKeys()).isEmpty();
+    }
+    
+    @Test
+    void testLaggingReplicaIsTakenOutOfRotation() throws SQLException {
+        lagMonitor.markUnhealthy(ReplicaRoutingDataSource.replicaKey(0));
+        beginTransaction(true);
+        
+        assertThat(routing.getConnection()).isSameAs(primaryConnection);
+    }
+    
+    private void beginTransaction(boolean readOnly) {
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(readOnly);
+    }
+}
@@ -0,0 +1,141 @@
+package com.invoiceme.integration;
+
+import com.invoiceme.domain.common.InvoiceStatus;
+import com.invoiceme.infrastructure.analytics.ReceivablesColumns;
+import com.invoiceme.infrastructure.persistence.ReceivablesRow;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Column store behind the in-memory receivables snapshot. No database needed.
+ */
+public class ReceivablesColumnsTest {
+    
+    private static final LocalDate TODAY = LocalDate.of(2026, 3, 15);
+    
+    private final UUID customerA = UUID.randomUUID();
+    private final UUID customerB = UUID.randomUUID();
+    
+    private static ReceivablesRow row(UUID customerId, InvoiceStatus status, LocalDate issueDate, LocalDate dueDate,
+                                      long balanceCents) {
+        return new ReceivablesRow(UUID.randomUUID(), customerId, status, issueDate, dueDate, balanceCents,
+            status == InvoiceStatus.PAID ? 10_000 : balanceCents);
+    }
+    
+    @Test
+    void testAgingBucketsOpenInvoicesByDaysPastDue() {
+        ReceivablesColumns columns = new ReceivablesColumns(4);
+        columns.upsert(row(customerA, InvoiceStatus.SENT, TODAY.minusDays(40), TODAY.minusDays(10), 100_00));
+        columns.upsert(row(customerA, InvoiceStatus.OVERDUE, TODAY.minusDays(80), TODAY.minusDays(45), 200_00));
+        columns.upsert(row(customerB, InvoiceStatus.OVERDUE, TODAY.minusDays(150), TODAY.minusDays(120), 300_00));
+        columns.upsert(row(customerB, InvoiceStatus.SENT, TODAY, TODAY.plusDays(30), 400_00));
+        columns.upsert(row(customerB, InvoiceStatus.PAID, TODAY.minusDays(100), TODAY.minusDays(70), 0));
+        
+        ReceivablesColumns.Totals[] aging = columns.aging(TODAY);
+        
+        assertThat(aging).hasSize(4);
+        assertThat(aging[0]).isEqualTo(new ReceivablesColumns.Totals(1, 100_00));
+        assertThat(aging[1]).isEqualTo(new ReceivablesColumns.Totals(1, 200_00));
+        assertThat(aging[2]).isEqualTo(new ReceivablesColumns.Totals(0, 0));
+        assertThat(aging[3]).isEqualTo(new ReceivablesColumns.Totals(1, 300_00));
+        assertThat(aging[3].amount().getAmount()).isEqualByComparingTo(new BigDecimal("300.00"));
+    }
+    
+    @Test
+    void testStatusCustomerDueSoonAndIssuedQueries() {
+        ReceivablesColumns columns = new ReceivablesColumns(4);
+        columns.upsert(row(customerA, InvoiceStatus.SENT, TODAY.minusDays(5), TODAY.plusDays(3), 150_00));
+        columns.upsert(row(customerA, InvoiceStatus.OVERDUE, TODAY.minusDays(60), TODAY.minusDays(30), 50_00));
+        columns.upsert(row(customerB, InvoiceStatus.SENT, TODAY.minusDays(1), TODAY.plusDays(29), 75_00));
+        columns.upsert(row(customerB, InvoiceStatus.PAID, TODAY.withDayOfMonth(1), TODAY.plusDays(20), 0));
+        
+        Map<InvoiceStatus, ReceivablesColumns.Totals> byStatus = columns.statusTotals();
+        assertThat(byStatus.get(InvoiceStatus.SENT)).isEqualTo(new ReceivablesColumns.Totals(2, 225_00));
+        assertThat(byStatus.get(InvoiceStatus.OVERDUE)).isEqualTo(new ReceivablesColumns.Totals(1, 50_00));
+        assertThat(byStatus.get(InvoiceStatus.DRAFT)).isEqualTo(new ReceivablesColumns.Totals(0, 0));
+        
+        Map<UUID, ReceivablesColumns.Totals> byCustomer = columns.outstandingByCustomer();
+        assertThat(byCustomer.get(customerA)).isEqualTo(new ReceivablesColumns.Totals(2, 200_00));
+        assertThat(byCustomer.get(customerB)).isEqualTo(new ReceivablesColumns.Totals(1, 75_00));
+        
+        assertThat(columns.dueWithin(TODAY, 7)).isEqualTo(new ReceivablesColumns.Totals(1, 150_00));
+        assertThat(columns.issuedBetween(InvoiceStatus.PAID, TODAY.withDayOfMonth(1), TODAY))
+            .isEqualTo(new ReceivablesColumns.Totals(1, 10_000));
+    }
+    
+    @Test
+    void testUpsertOverwritesAndRemoveKeepsOtherRowsIntact() {
+        ReceivablesColumns columns = new ReceivablesColumns(2);
+        ReceivablesRow first = row(customerA, InvoiceStatus.SENT, TODAY, TODAY.plusDays(10), 100_00);
+        ReceivablesRow second = row(customerB, InvoiceStatus.SENT, TODAY, TODAY.plusDays(10), 200_00);
+        ReceivablesRow third = row(customerB, InvoiceStatus.OVERDUE, TODAY.minusDays(40), TODAY.minusDays(5), 300_00);
+        columns.upsert(first);
+        columns.upsert(second);
+        columns.upsert(third);
+        
+        // Partial payment on the third invoice
+        columns.upsert(new ReceivablesRow(third.invoiceId(), customerB, InvoiceStatus.OVERDUE,
+            third.issueDate(), third.dueDate(), 120_00, third.totalCents()));
+        // Removing the first row moves the last one into its slot
+        assertThat(columns.remove(first.invoiceId())).isTrue();
+        assertThat(columns.remove(first.invoiceId())).isFalse();
+        
+        assertThat(columns.size()).isEqualTo(2);
+        assertThat(columns.contains(third.invoiceId())).isTrue();
+        assertThat(columns.outstandingByCustomer())
+            .containsOnlyKeys(customerB)
+            .containsEntry(customerB, new ReceivablesColumns.Totals(2, 320_00));
+        
+        columns.remove(third.invoiceId());
+        assertThat(columns.statusTotals().get(InvoiceStatus.OVERDUE)).isEqualTo(new ReceivablesColumns.Totals(0, 0));
+    }
+    
+    @Test
+    void testRemoveIssuedBeforeDropsLastMonthsPaidRowsOnly() {
+        LocalDate monthStart = TODAY.withDayOfMonth(1);
+        ReceivablesColumns columns = new ReceivablesColumns(2);
+        ReceivablesRow openOld = row(customerA, InvoiceStatus.OVERDUE, monthStart.minusDays(40),
+            monthStart.minusDays(10), 50_00);
+        ReceivablesRow paidThisMonth = row(customerA, InvoiceStatus.PAID, monthStart, TODAY.plusDays(20), 0);
+        columns.upsert(row(customerB, InvoiceStatus.PAID, monthStart.minusDays(1), TODAY, 0));
+        columns.upsert(openOld);
+        columns.upsert(row(customerB, InvoiceStatus.PAID, monthStart.minusDays(20), TODAY, 0));
+        columns.upsert(paidThisMonth);
+        
+        assertThat(columns.removeIssuedBefore(InvoiceStatus.PAID, monthStart)).isEqualTo(2);
+        
+        assertThat(columns.size()).isEqualTo(2);
+        assertThat(columns.contains(openOld.invoiceId())).isTrue();
+        assertThat(columns.contains(paidThisMonth.invoiceId())).isTrue();
+        assertThat(columns.statusTotals().get(InvoiceStatus.PAID)).isEqualTo(new ReceivablesColumns.Totals(1, 0));
+    }
+    
+    @Test
+    void testParallelScanAcrossChunksMatchesRowCount() {
+        int rows = 200_000;
+        ReceivablesColumns columns = new ReceivablesColumns(1_000);
+        for (int i = 0; i < rows; i++) {
+            columns.upsert(row(i % 2 == 0 ? customerA : customerB, InvoiceStatus.OVERDUE,
+                TODAY.minusDays(60), TODAY.minusDays(1 + i % 120), 1_00));
+        }
+        
+        ReceivablesColumns.Totals[] aging = columns.aging(TODAY);
+        long counted = 0;
+        long cents = 0;
+        for (ReceivablesColumns.Totals bucket : aging) {
+            counted += bucket.count();
+            cents += bucket.cents();
+        }
+        
+        assertThat(counted).isEqualTo(rows);
+        assertThat(cents).isEqualTo(rows * 1_00L);
+        assertThat(columns.outstandingByCustomer().get(customerA).count()).isEqualTo(rows / 2);
+        assertThat(columns.estimatedHeapBytes()).isGreaterThan(rows * 30L);
+    }
+}
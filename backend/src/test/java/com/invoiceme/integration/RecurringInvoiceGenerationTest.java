@@ -0,0 +1,164 @@
+package com.invoiceme.integration;
+
+import com.invoiceme.domain.common.CustomerType;
+import com.invoiceme.domain.common.DiscountType;
+import com.invoiceme.domain.common.Email;
+import com.invoiceme.domain.common.Frequency;
+import com.invoiceme.domain.common.InvoiceStatus;
+import com.invoiceme.domain.common.Money;
+import com.invoiceme.domain.common.PaymentTerms;
+import com.invoiceme.domain.common.TemplateStatus;
+import com.invoiceme.domain.customer.Customer;
+import com.invoiceme.domain.invoice.Invoice;
+import com.invoiceme.domain.recurring.RecurringInvoiceTemplate;
+import com.invoiceme.domain.recurring.TemplateLineItem;
+import com.invoiceme.infrastructure.persistence.CustomerRepository;
+import com.invoiceme.infrastructure.persistence.InvoiceRepository;
+import com.invoiceme.infrastructure.persistence.RecurringInvoiceTemplateRepository;
+import com.invoiceme.recurring.generation.GenerationRunResult;
+import com.invoiceme.recurring.generation.RecurringInvoiceEngine;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Recurring invoice engine: batch claiming, catch-up of missed periods, restartability.
+ * Not @Transactional: the engine commits each batch in its own transaction on worker threads.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+public class RecurringInvoiceGenerationTest {
+    
+    @Autowired
+    private RecurringInvoiceEngine engine;
+    
+    @Autowired
+    private RecurringInvoiceTemplateRepository templateRepository;
+    
+    @Autowired
+    private CustomerRepository customerRepository;
+    
+    @Autowired
+    private InvoiceRepository invoiceRepository;
+    
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    
+    private UUID customerId;
+    
+    @BeforeEach
+    void setUp() {
+        customerId = transactionTemplate.execute(status -> customerRepository.save(Customer.create(
+            "Subscription Company",
+            Email.of("recurring-" + UUID.randomUUID() + "@example.com"),
+            CustomerType.COMMERCIAL
+        )).getId());
+    }
+    
+    @AfterEach
+    void tearDown() {
+        transactionTemplate.executeWithoutResult(status -> {
+            invoiceRepository.deleteAll(invoicesOfCustomer());
+            templateRepository.deleteAll(templateRepository.findAll().stream()
+                .filter(template -> template.getCustomerId().equals(customerId))
+                .toList());
+            customerRepository.deleteById(customerId);
+        });
+    }
+    
+    @Test
+    void testMissedPeriodsAreGeneratedOnceAndRunIsRestartable() {
+        LocalDate today = LocalDate.now();
+        UUID templateId = saveTemplate(today.minusMonths(2), null);
+        
+        GenerationRunResult first = engine.run(today);
+        
+        List<Invoice> invoices = invoicesOfCustomer();
+        assertThat(invoices).hasSize(3);
+        assertThat(invoices).extracting(Invoice::getIssueDate)
+            .containsExactlyInAnyOrder(today.minusMonths(2), today.minusMonths(1), today);
+        assertThat(invoices).extracting(invoice -> invoice.getInvoiceNumber().getValue()).doesNotHaveDuplicates();
+        assertThat(invoices).allSatisfy(invoice -> {
+            assertThat(invoice.getStatus()).isEqualTo(InvoiceStatus.DRAFT);
+            assertThat(invoice.getTotalAmount().getAmount()).isEqualByComparingTo("99.00");
+            assertThat(invoice.getDueDate()).isEqualTo(invoice.getIssueDate().plusDays(30));
+        });
+        assertThat(first.invoicesGenerated()).isGreaterThanOrEqualTo(3);
+        
+        RecurringInvoiceTemplate template = templateRepository.findById(templateId).orElseThrow();
+        assertThat(template.getNextInvoiceDate()).isEqualTo(today.minusMonths(2).plusMonths(3));
+        
+        // A second run (e.g. after a restart) finds nothing due for this template
+        engine.run(today);
+        assertThat(invoicesOfCustomer()).hasSize(3);
+    }
+    
+    @Test
+    void testTemplateCompletesAfterEndDate() {
+        LocalDate today = LocalDate.now();
+        UUID templateId = saveTemplate(today.minusMonths(1), today);
+        
+        engine.run(today);
+        
+        assertThat(invoicesOfCustomer()).hasSize(2);
+        assertThat(templateRepository.findById(templateId).orElseThrow().getStatus()).isEqualTo(TemplateStatus.COMPLETED);
+    }
+    
+    @Test
+    void testInactiveCustomerPausesTemplate() {
+        LocalDate today = LocalDate.now();
+        UUID templateId = saveTemplate(today, null);
+        transactionTemplate.executeWithoutResult(status -> {
+            Customer customer = customerRepository.findById(customerId).orElseThrow();
+            customer.markAsInactive(Money.zero());
+            customerRepository.save(customer);
+        });
+        
+        engine.run(today);
+        
+        assertThat(invoicesOfCustomer()).isEmpty();
+        assertThat(templateRepository.findById(templateId).orElseThrow().getStatus()).isEqualTo(TemplateStatus.PAUSED);
+    }
+    
+    private UUID saveTemplate(LocalDate startDate, LocalDate endDate) {
+        return transactionTemplate.execute(status -> {
+            RecurringInvoiceTemplate template = RecurringInvoiceTemplate.create(
+                customerId,
+                "Monthly subscription",
+                Frequency.MONTHLY,
+                startDate,
+                endDate,
+                PaymentTerms.NET_30,
+                false,
+                null,
+                null
+            );
+            template.addLineItem(TemplateLineItem.create(
+                "Subscription",
+                1,
+                Money.of(99.00),
+                DiscountType.NONE,
+                Money.zero(),
+                BigDecimal.ZERO,
+                0
+            ));
+            return templateRepository.save(template).getId();
+        });
+    }
+    
+    private List<Invoice> invoicesOfCustomer() {
+        return invoiceRepository.findByCustomerId(customerId, Pageable.unpaged()).getContent();
+    }
+}
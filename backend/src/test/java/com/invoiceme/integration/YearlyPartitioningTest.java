@@ -0,0 +1,144 @@
+package com.invoiceme.integration;
+
+import com.invoiceme.domain.common.*;
+import com.invoiceme.domain.customer.Customer;
+import com.invoiceme.domain.invoice.Invoice;
+import com.invoiceme.domain.invoice.LineItem;
+import com.invoiceme.domain.payment.Payment;
+import com.invoiceme.infrastructure.persistence.CustomerRepository;
+import com.invoiceme.infrastructure.persistence.InvoiceRepository;
+import com.invoiceme.infrastructure.persistence.PartitionRepository;
+import com.invoiceme.infrastructure.persistence.PaymentRepository;
+import com.invoiceme.infrastructure.scheduled.PartitionMaintenanceJob;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+public class YearlyPartitioningTest {
+    
+    @Autowired
+    private CustomerRepository customerRepository;
+    
+    @Autowired
+    private InvoiceRepository invoiceRepository;
+    
+    @Autowired
+    private PaymentRepository paymentRepository;
+    
+    @Autowired
+    private PartitionRepository partitionRepository;
+    
+    @Autowired
+    private PartitionMaintenanceJob partitionMaintenanceJob;
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Autowired
+    private EntityManager entityManager;
+    
+    private Customer customer;
+    private static long invoiceNumberCounter = System.nanoTime() + 100000;
+    private final int year = LocalDate.now().getYear();
+    
+    @BeforeEach
+    void setUp() {
+        customer = customerRepository.save(Customer.create(
+            "Partition Test Company",
+            Email.of("partition@test.com"),
+            CustomerType.COMMERCIAL
+        ));
+    }
+    
+    @Test
+    void testCurrentAndNextYearPartitionsExist() {
+        for (String table : PartitionRepository.YEARLY_PARTITIONED_TABLES) {
+            assertThat(partitionRepository.findPartitions(table))
+                .contains(table + "_y" + year, table + "_y" + (year + 1), table + "_default");
+        }
+    }
+    
+    @Test
+    void testDateBoundedQueryPrunesToOneYear() {
+        String plan = String.join("\n", jdbcTemplate.queryForList(
+            "EXPLAIN SELECT id FROM invoices WHERE issue_date >= make_date(?, 1, 1) AND issue_date < make_date(?, 1, 1)",
+            String.class, year, year + 1));
+        
+        assertThat(plan).contains("invoices_y" + year)
+            .doesNotContain("invoices_y" + (year + 1))
+            .doesNotContain("invoices_default");
+    }
+    
+    @Test
+    void testRowsAreRoutedToTheirYearPartition() {
+        Invoice invoice = Invoice.create(
+            customer.getId(),
+            InvoiceNumber.generate((int) ((invoiceNumberCounter++ % 9999) + 1)),
+            LocalDate.now(),
+            LocalDate.now().plusDays(30),
+            PaymentTerms.NET_30
+        );
+        invoice.addLineItem(LineItem.create(
+            "Partitioned Item",
+            1,
+            Money.of(80.00),
+            DiscountType.NONE,
+            Money.zero(),
+            BigDecimal.ZERO,
+            0
+        ));
+        invoice.markAsSent();
+        invoice = invoiceRepository.save(invoice);
+        paymentRepository.save(Payment.record(
+            invoice, customer, Money.of(30.00), PaymentMethod.ACH, LocalDate.now(), null));
+        entityManager.flush();
+        
+        assertThat(partitionOf("invoices", "id", invoice)).isEqualTo("invoices_y" + year);
+        assertThat(partitionOf("line_items", "invoice_id", invoice)).isEqualTo("line_items_y" + year);
+        assertThat(partitionOf("payments", "invoice_id", invoice)).isEqualTo("payments_y" + year);
+    }
+    
+    @Test
+    void testInvoiceNumberStaysUniqueAcrossYears() {
+        InvoiceNumber number = InvoiceNumber.generate((int) ((invoiceNumberCounter++ % 9999) + 1));
+        invoiceRepository.save(Invoice.create(
+            customer.getId(), number, LocalDate.now(), LocalDate.now().plusDays(30), PaymentTerms.NET_30));
+        entityManager.flush();
+        
+        // Lands in another partition, where a partition-local unique index would not see the first one
+        Invoice duplicate = Invoice.create(
+            customer.getId(), number, LocalDate.now().minusYears(1), LocalDate.now().plusDays(30), PaymentTerms.NET_30);
+        assertThatThrownBy(() -> invoiceRepository.saveAndFlush(duplicate))
+            .isInstanceOf(DataIntegrityViolationException.class);
+    }
+    
+    @Test
+    void testMaintenanceJobCreatesUpcomingPartitionsOnce() {
+        LocalDate future = LocalDate.now().plusYears(10);
+        
+        assertThat(partitionMaintenanceJob.ensurePartitions(future)).isPositive();
+        assertThat(partitionRepository.findPartitions("invoices")).contains("invoices_y" + future.getYear());
+        assertThat(partitionMaintenanceJob.ensurePartitions(future)).isZero();
+    }
+    
+    private String partitionOf(String table, String column, Invoice invoice) {
+        return jdbcTemplate.queryForObject(
+            "SELECT DISTINCT tableoid::regclass::text FROM " + table + " WHERE " + column + " = ?",
+            String.class, invoice.getId());
+    }
+}
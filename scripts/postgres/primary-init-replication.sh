@@ -0,0 +1,7 @@
+#!/bin/bash
+# Allows streaming replication connections to the local primary so the
+# "replica" docker-compose profile can clone it with pg_basebackup.
+# Runs once, on first initialisation of the postgres_data volume.
+set -e
+
+echo "host replication all all scram-sha-256" >> "$PGDATA/pg_hba.conf"